@@ -0,0 +1,55 @@
+package com.wealthwise.finance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection pools. The primary pool is configured by the usual {@code spring.datasource.*} properties and serves
+ * interactive work; batch work gets a second, smaller pool against the same database, sized by
+ * {@code wealthwise.workload.batch.pool-size}. When {@link ReplicaRoutingConfig} is active, read-only transactions
+ * are sent to the replicas on top of this split.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource batchDataSource(DataSourceProperties properties,
+                                            @Value("${wealthwise.workload.batch.pool-size:4}") int poolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("batch");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        return dataSource;
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(HikariDataSource primaryDataSource,
+                                                               HikariDataSource batchDataSource) {
+        return new WorkloadRoutingDataSource(primaryDataSource, batchDataSource);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        DataSource target = replicaRoutingDataSource.getIfAvailable();
+        return new LazyConnectionDataSourceProxy(target != null ? target : workloadRoutingDataSource);
+    }
+}
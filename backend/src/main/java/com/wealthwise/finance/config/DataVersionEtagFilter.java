@@ -0,0 +1,127 @@
+package com.wealthwise.finance.config;
+
+import com.wealthwise.finance.service.DataVersionRegistry;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Conditional GET for the read endpoints. The ETag of a response is the data version of the domains it is built
+ * from, taken from {@link DataVersionRegistry}, so a matching If-None-Match is answered with 304 before the
+ * controller, and any repository, is reached. Responses also depend on today's date (projections, "current
+ * month" views), so the date is part of the tag. The version lookup runs after the
+ * {@link WorkloadAdmissionFilter}, so revalidations count against the workload limits like any other read.
+ * <p>
+ * Endpoints reading by row id, tags, sync and the categorization rules are not covered and pass through.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class DataVersionEtagFilter extends OncePerRequestFilter {
+    private static final Long DEFAULT_USER_ID = 1L;
+
+    private static final Pattern USER_PATH = Pattern.compile("^/api/([a-z-]+)/user/(\\d+)(/.*)?$");
+    private static final Pattern MONTHLY_BALANCE_PATH =
+            Pattern.compile("^/api/monthly-balances/(projection/)?\\d+/\\d+$");
+
+    private final DataVersionRegistry dataVersionRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String etag = etagFor(request.getRequestURI().substring(request.getContextPath().length()));
+        if (etag == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            // answered before MVC applies the CORS configuration, which allows every origin
+            if (request.getHeader(HttpHeaders.ORIGIN) != null) {
+                response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+                response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.ETAG);
+            }
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String etagFor(String path) {
+        if (path.startsWith("/api/trades") && !path.matches("^/api/trades/\\d+$")) {
+            return etag(DEFAULT_USER_ID, List.of(Domain.TRADES));
+        }
+        if (MONTHLY_BALANCE_PATH.matcher(path).matches()) {
+            return etag(DEFAULT_USER_ID, List.of(Domain.LEDGER));
+        }
+        Matcher matcher = USER_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        Long userId = Long.valueOf(matcher.group(2));
+        String rest = matcher.group(3) == null ? "" : matcher.group(3);
+        List<Domain> domains = switch (matcher.group(1)) {
+            case "income", "expenses", "categories", "ledger", "analytics", "search" -> List.of(Domain.LEDGER);
+            // generating instances writes the ledger
+            case "recurring" -> rest.startsWith("/generate/") ? null : List.of(Domain.LEDGER);
+            case "assets" -> List.of(Domain.ASSETS);
+            case "networth" -> List.of(Domain.ASSETS, Domain.LEDGER);
+            case "goals" -> List.of(Domain.GOALS);
+            case "budgets" -> List.of(Domain.BUDGETS);
+            default -> null;
+        };
+        return domains == null ? null : etag(userId, domains);
+    }
+
+    private String etag(Long userId, List<Domain> domains) {
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (Domain domain : domains) {
+            tag.append(dataVersionRegistry.version(userId, domain)).append('.');
+        }
+        return tag.append(LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)).append('"').toString();
+    }
+
+    /**
+     * Weak comparison against an If-None-Match list, as required for GET.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,239 @@
+package com.wealthwise.finance.config;
+
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.SyncRepository.SyncTable;
+import com.wealthwise.finance.repository.TransactionSearchRepository;
+import com.wealthwise.finance.service.DataVersionRegistry;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Applies the schema pieces that hibernate.ddl-auto=update cannot express (covering indexes,
+ * data backfills for newly added columns). Every step is idempotent and runs on each startup, except the
+ * data conversions wrapped in {@link #runOnce}, which are recorded in schema_migrations.
+ * <p>
+ * Runs once all singletons exist, which is after Hibernate updated the schema but before the web server and the
+ * schedulers start, so no request sees a half-migrated database.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseMigrationRunner implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseMigrationRunner.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 10000;
+
+    static final String MONTHLY_BALANCE_PERIOD_INDEX = "CREATE INDEX IF NOT EXISTS idx_monthly_balances_user_period " +
+            "ON monthly_balances (user_id, period DESC) INCLUDE (closing_balance)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final DataVersionRegistry dataVersionRegistry;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // the carryover lookup filters on period, so rows without one would be skipped on any database
+        backfillInBatches("monthly_balances.period",
+                "UPDATE monthly_balances SET period = year * 100 + month WHERE id IN " +
+                "(SELECT id FROM monthly_balances WHERE period IS NULL LIMIT " + BACKFILL_BATCH_SIZE + ")");
+
+        if (!isPostgres()) {
+            log.info("Skipping PostgreSQL schema migrations: not running against PostgreSQL");
+            dataVersionRegistry.useCounters(false);
+            return;
+        }
+
+        jdbcTemplate.execute(MONTHLY_BALANCE_PERIOD_INDEX);
+
+        backfillInBatches("recurring_transactions.materialized_through",
+                "UPDATE recurring_transactions rt SET materialized_through = COALESCE(" +
+                "(SELECT MAX(i.income_date) FROM income i WHERE i.recurring_transaction_id = rt.id), " +
+                "(SELECT MAX(e.expense_date) FROM expenses e WHERE e.recurring_transaction_id = rt.id), " +
+                "rt.start_date - 1) WHERE rt.id IN (SELECT id FROM recurring_transactions " +
+                "WHERE materialized_through IS NULL LIMIT " + BACKFILL_BATCH_SIZE + ")");
+
+        // superseded by the (user_id, category_id, date) indexes declared on the entities
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_income_user_category");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_expenses_user_category");
+
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_categories_user_type_lower_name " +
+                "ON categories (user_id, type, lower(name))");
+        runOnce("2026-category-ids", () -> {
+            linkCategories("income", "'INCOME'");
+            linkCategories("expenses", "'EXPENSE'");
+            linkCategories("recurring_transactions", "t.type");
+        });
+        runOnce("2026-category-month-totals", () ->
+                log.info("Built {} category month total cells", categoryRollupRepository.rebuild(null)));
+
+        createSearchIndexes("income", TransactionSearchRepository.INCOME_DOCUMENT);
+        createSearchIndexes("expenses", TransactionSearchRepository.EXPENSE_DOCUMENT);
+
+        installChangeTracking();
+        installDataVersionCounters();
+        dataVersionRegistry.useCounters(true);
+    }
+
+    /**
+     * Stamps every insert and update of a synced table with the owning user's next change version and records
+     * deletes in sync_tombstones, whichever path (JPA, JDBC batches, bulk deletes) does the write. A transaction
+     * takes one version per user, remembered in a transaction-local setting; bumping users.change_version
+     * row-locks the user until commit, so a user's versions become visible in increasing order.
+     */
+    private void installChangeTracking() {
+        jdbcTemplate.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0");
+        jdbcTemplate.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS sync_floor BIGINT NOT NULL DEFAULT 0");
+        // rows written before change tracking all carry version 0, so existing users start at version 1 with a
+        // floor of 1: a client syncing from 0 is told to reload its lists instead of receiving an empty delta
+        runOnce("2026-change-tracking-floor", () ->
+                jdbcTemplate.update("UPDATE users SET change_version = GREATEST(change_version, 1), sync_floor = 1"));
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION wealthwise_next_change_version(p_user_id BIGINT) RETURNS BIGINT AS $$
+                DECLARE
+                    setting TEXT := 'wealthwise.change_version_' || p_user_id;
+                    cached TEXT := current_setting(setting, true);
+                    version BIGINT;
+                BEGIN
+                    IF cached IS NOT NULL AND cached <> '' THEN
+                        RETURN cached::BIGINT;
+                    END IF;
+                    UPDATE users SET change_version = change_version + 1 WHERE id = p_user_id
+                        RETURNING change_version INTO version;
+                    IF version IS NOT NULL THEN
+                        PERFORM set_config(setting, version::TEXT, true);
+                    END IF;
+                    RETURN version;
+                END $$ LANGUAGE plpgsql""");
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION wealthwise_stamp_change() RETURNS trigger AS $$
+                BEGIN
+                    NEW.change_version := COALESCE(wealthwise_next_change_version(NEW.user_id), 0);
+                    RETURN NEW;
+                END $$ LANGUAGE plpgsql""");
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION wealthwise_record_tombstone() RETURNS trigger AS $$
+                DECLARE
+                    version BIGINT := wealthwise_next_change_version(OLD.user_id);
+                BEGIN
+                    IF version IS NOT NULL THEN
+                        INSERT INTO sync_tombstones (user_id, entity_type, entity_id, change_version, deleted_at)
+                        VALUES (OLD.user_id, TG_ARGV[0], OLD.id, version, LOCALTIMESTAMP);
+                    END IF;
+                    RETURN OLD;
+                END $$ LANGUAGE plpgsql""");
+
+        for (SyncTable table : SyncTable.values()) {
+            String name = table.getTable();
+            jdbcTemplate.execute("ALTER TABLE " + name + " ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + name + "_user_change_version ON " + name +
+                    " (user_id, change_version)");
+            createTriggerIfMissing("trg_" + name + "_stamp_change", "BEFORE INSERT OR UPDATE ON " + name +
+                    " FOR EACH ROW EXECUTE FUNCTION wealthwise_stamp_change()");
+            createTriggerIfMissing("trg_" + name + "_tombstone", "AFTER DELETE ON " + name +
+                    " FOR EACH ROW EXECUTE FUNCTION wealthwise_record_tombstone('" + table.getKey() + "')");
+        }
+    }
+
+    /**
+     * Counter columns behind {@link DataVersionRegistry}. They start above every change version stamped so far,
+     * so no ETag handed out while versions were derived from the stamps can match a counter value.
+     */
+    private void installDataVersionCounters() {
+        for (Domain domain : Domain.values()) {
+            jdbcTemplate.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS " + domain.getColumn() +
+                    " BIGINT NOT NULL DEFAULT 0");
+        }
+        runOnce("2026-data-version-counters", () -> jdbcTemplate.update("UPDATE users SET " +
+                String.join(", ", Arrays.stream(Domain.values())
+                        .map(domain -> domain.getColumn() + " = change_version + 1")
+                        .toList())));
+    }
+
+    private void createTriggerIfMissing(String name, String definition) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_trigger WHERE tgname = ? AND NOT tgisinternal", Integer.class, name);
+        if (existing == null || existing == 0) {
+            jdbcTemplate.execute("CREATE TRIGGER " + name + " " + definition);
+        }
+    }
+
+    /**
+     * Full-text and trigram GIN indexes over the searchable text of a ledger table. The trigram index needs the
+     * pg_trgm extension; without it search falls back to full-text prefix matching only.
+     */
+    private void createSearchIndexes(String table, String document) {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_search_tsv ON " + table +
+                " USING GIN (to_tsvector('simple', " + document + "))");
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_search_trgm ON " + table +
+                    " USING GIN ((lower(" + document + ")) gin_trgm_ops)");
+        } catch (DataAccessException ex) {
+            log.warn("pg_trgm is not available, fuzzy search on {} is disabled: {}", table, ex.getMessage());
+        }
+    }
+
+    /**
+     * Creates a category for every distinct category text of {@code table} that has none yet, then points the
+     * rows at it. Only runs once: afterwards rows without a category_id are ones whose category was deleted.
+     */
+    private void linkCategories(String table, String typeExpression) {
+        String match = "c.user_id = t.user_id AND c.type = " + typeExpression +
+                " AND lower(c.name) = lower(btrim(t.category))";
+        int created = jdbcTemplate.update(
+                "INSERT INTO categories (name, type, user_id, created_at, updated_at) " +
+                "SELECT DISTINCT ON (t.user_id, " + typeExpression + ", lower(btrim(t.category))) " +
+                "btrim(t.category), " + typeExpression + ", t.user_id, now(), now() FROM " + table + " t " +
+                "WHERE t.category_id IS NULL AND btrim(t.category) <> '' " +
+                "AND NOT EXISTS (SELECT 1 FROM categories c WHERE " + match + ") " +
+                "ORDER BY t.user_id, " + typeExpression + ", lower(btrim(t.category)), t.id");
+        if (created > 0) {
+            log.info("Created {} categories for {} category names", created, table);
+        }
+
+        backfillInBatches(table + ".category_id",
+                "UPDATE " + table + " t SET category_id = (SELECT MIN(c.id) FROM categories c WHERE " + match + ") " +
+                "WHERE t.id IN (SELECT t.id FROM " + table + " t WHERE t.category_id IS NULL " +
+                "AND EXISTS (SELECT 1 FROM categories c WHERE " + match + ") LIMIT " + BACKFILL_BATCH_SIZE + ")");
+    }
+
+    private void runOnce(String name, Runnable migration) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations " +
+                "(name VARCHAR(100) PRIMARY KEY, applied_at TIMESTAMP NOT NULL DEFAULT now())");
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM schema_migrations WHERE name = ?", Integer.class, name);
+        if (applied != null && applied > 0) {
+            return;
+        }
+        migration.run();
+        jdbcTemplate.update("INSERT INTO schema_migrations (name) VALUES (?) ON CONFLICT DO NOTHING", name);
+        log.info("Applied migration {}", name);
+    }
+
+    private void backfillInBatches(String name, String sql) {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(sql);
+            total += updated;
+        } while (updated == BACKFILL_BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Backfilled {} rows for {}", total, name);
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
@@ -0,0 +1,110 @@
+package com.wealthwise.finance.config;
+
+import com.wealthwise.finance.service.ReadRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Binds read-your-writes state to {@link ReadRouting}, so that a client's reads stay on the primary right after
+ * its own writes:
+ * <ul>
+ *     <li>every write hands the client a short-lived {@value #PRIMARY_UNTIL_COOKIE} cookie holding the end of the
+ *     window, and any request carrying an unexpired one reads from the primary, whatever endpoint it calls;</li>
+ *     <li>the user from the {@code /user/{userId}} path segment is bound as well, which covers writes made by other
+ *     clients and nodes; the trade and monthly balance endpoints act for the default user.</li>
+ * </ul>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@RequiredArgsConstructor
+public class ReadRoutingFilter extends OncePerRequestFilter {
+    static final String PRIMARY_UNTIL_COOKIE = "wealthwise-primary-until";
+
+    private static final Long DEFAULT_USER_ID = 1L;
+    private static final Pattern USER_SEGMENT = Pattern.compile("^/api/[a-z-]+/user/(\\d+)(/.*)?$");
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadRouting readRouting;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration window = readRouting.getWindow();
+        if (!window.isZero()) {
+            if (!READ_METHODS.contains(request.getMethod())) {
+                issueCookie(request, response, window);
+                readRouting.bindClientWrite();
+            } else if (wroteRecently(request, window)) {
+                readRouting.bindClientWrite();
+            }
+        }
+        Long userId = userOf(request.getRequestURI().substring(request.getContextPath().length()));
+        if (userId != null) {
+            readRouting.bindUser(userId);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static void issueCookie(HttpServletRequest request, HttpServletResponse response, Duration window) {
+        long until = System.currentTimeMillis() + window.toMillis();
+        ResponseCookie cookie = ResponseCookie.from(PRIMARY_UNTIL_COOKIE, Long.toString(until))
+                .path(request.getContextPath() + "/api")
+                .maxAge(Duration.ofSeconds(Math.max(1L, (window.toMillis() + 999) / 1000)))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    /**
+     * Whether the request carries an unexpired window cookie. Values reaching further than one window are forged
+     * and ignored, so a client cannot pin itself to the primary.
+     */
+    private static boolean wroteRecently(HttpServletRequest request, Duration window) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (PRIMARY_UNTIL_COOKIE.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    long now = System.currentTimeMillis();
+                    return until > now && until <= now + window.toMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Long userOf(String path) {
+        if (path.startsWith("/api/trades") || path.startsWith("/api/monthly-balances")) {
+            return DEFAULT_USER_ID;
+        }
+        Matcher matcher = USER_SEGMENT.matcher(path);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
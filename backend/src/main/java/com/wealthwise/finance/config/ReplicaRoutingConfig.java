@@ -0,0 +1,58 @@
+package com.wealthwise.finance.config;
+
+import com.wealthwise.finance.service.ReadRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica routing, active when {@code wealthwise.datasource.replica.urls} lists at least one JDBC URL. Writes
+ * and primary reads keep going through the workload pools of {@link DataSourceConfig}; each replica gets its own
+ * pool with the primary's credentials unless {@code wealthwise.datasource.replica.username/password} are set.
+ * <p>
+ * Any two databases will do, e.g. two local PostgreSQL instances or two H2 databases, as long as the replica
+ * receives the primary's data.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wealthwise.datasource.replica.urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            WorkloadRoutingDataSource workloadRoutingDataSource,
+            DataSourceProperties properties,
+            ReadRouting readRouting,
+            MeterRegistry meterRegistry,
+            @Value("${wealthwise.datasource.replica.urls}") List<String> urls,
+            @Value("${wealthwise.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${wealthwise.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${wealthwise.datasource.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maximumPoolSize) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(workloadRoutingDataSource, replicas, readRouting);
+    }
+
+}
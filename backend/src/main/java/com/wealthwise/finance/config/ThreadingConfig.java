@@ -0,0 +1,25 @@
+package com.wealthwise.finance.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads of the application's own worker pools. Requests run on Tomcat's platform threads; how many of them
+ * reach the database at once is bounded by the {@link WorkloadAdmissionFilter}.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    /**
+     * Thread factory of the batch executor, the backfill and the recurring materializer pools. Their threads run as
+     * {@link WorkloadClass#BATCH} and so draw on the batch connection pool.
+     */
+    @Bean
+    public ThreadFactory workerThreadFactory() {
+        ThreadFactory threadFactory = Executors.defaultThreadFactory();
+        return task -> threadFactory.newThread(WorkloadClass.BATCH.wrap(task));
+    }
+}
@@ -0,0 +1,18 @@
+package com.wealthwise.finance.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Classifies an endpoint, or every endpoint of a controller, into a {@link WorkloadClass}. Endpoints without it are
+ * {@link WorkloadClass#INTERACTIVE}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+    WorkloadClass value();
+}
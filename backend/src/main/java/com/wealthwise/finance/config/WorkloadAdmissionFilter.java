@@ -0,0 +1,119 @@
+package com.wealthwise.finance.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wealthwise.finance.exception.WorkloadRejectedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request bulkhead in front of the API: every request takes a permit of its endpoint's {@link WorkloadClass} from
+ * the {@link WorkloadGovernor} before any filter touches the database ({@link ReadRoutingFilter},
+ * {@link DataVersionEtagFilter}) and keeps it until the response is complete. The lanes are sized to their
+ * connection pools, so excess requests wait up to the lane's {@code max-wait} or are rejected with 503 and
+ * Retry-After, instead of piling up threads blocked on connection acquisition.
+ * <p>
+ * The class is taken from the {@link Workload} annotation of the endpoint the request maps to; unmapped requests
+ * are interactive.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 3)
+public class WorkloadAdmissionFilter extends OncePerRequestFilter {
+    private final WorkloadGovernor workloadGovernor;
+    private final ObjectProvider<HandlerMapping> handlerMapping;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<Method, WorkloadClass> classes = new ConcurrentHashMap<>();
+
+    public WorkloadAdmissionFilter(WorkloadGovernor workloadGovernor,
+                                   @Qualifier("requestMappingHandlerMapping") ObjectProvider<HandlerMapping> handlerMapping,
+                                   ObjectMapper objectMapper,
+                                   @Value("${wealthwise.workload.admission.enabled:true}") boolean enabled) {
+        this.workloadGovernor = workloadGovernor;
+        this.handlerMapping = handlerMapping;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        WorkloadGovernor.Admission admission;
+        try {
+            admission = workloadGovernor.admit(classOf(request));
+        } catch (WorkloadRejectedException ex) {
+            reject(request, response, ex);
+            return;
+        }
+        try (admission) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private WorkloadClass classOf(HttpServletRequest request) {
+        HandlerMapping mapping = handlerMapping.getIfAvailable();
+        if (mapping == null) {
+            return WorkloadClass.INTERACTIVE;
+        }
+        RequestPath previous = (RequestPath) request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            HandlerExecutionChain handler = mapping.getHandler(request);
+            if (handler != null && handler.getHandler() instanceof HandlerMethod handlerMethod) {
+                return classes.computeIfAbsent(handlerMethod.getMethod(),
+                        method -> WorkloadConfig.classOf(method, handlerMethod.getBeanType()));
+            }
+        } catch (Exception ex) {
+            // the dispatcher reports the same failure once the request is admitted
+        } finally {
+            ServletRequestPathUtils.setParsedRequestPath(previous, request);
+        }
+        return WorkloadClass.INTERACTIVE;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, WorkloadRejectedException ex)
+            throws IOException {
+        Map<String, Object> error = new HashMap<>();
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.put("message", ex.getMessage());
+        error.put("timestamp", LocalDateTime.now());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        // answered before MVC applies the CORS configuration, which allows every origin
+        if (request.getHeader(HttpHeaders.ORIGIN) != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,54 @@
+package com.wealthwise.finance.config;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Workload classes with separate threads, connection pools and admission limits, so that bulk work cannot starve
+ * interactive requests. The class of the current thread decides which pool its connections come from.
+ */
+public enum WorkloadClass {
+    /**
+     * Dashboard reads and single-row writes, run on the request threads.
+     */
+    INTERACTIVE,
+    /**
+     * Imports, batch writes, recurring regeneration and recalculations, run on the batch executor and workers.
+     */
+    BATCH;
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    public static WorkloadClass current() {
+        WorkloadClass current = CURRENT.get();
+        return current != null ? current : INTERACTIVE;
+    }
+
+    public <T> T call(Callable<T> task) throws Exception {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try {
+                call(() -> {
+                    task.run();
+                    return null;
+                });
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+    }
+}
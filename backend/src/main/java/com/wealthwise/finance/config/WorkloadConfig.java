@@ -0,0 +1,79 @@
+package com.wealthwise.finance.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts every controller endpoint, and any other method annotated with {@link Workload}, under the
+ * {@link WorkloadGovernor}. The advice runs outside transaction advice, so transactions of batch work start on the
+ * batch threads. Requests are normally admitted earlier by the {@link WorkloadAdmissionFilter}, whose permit the
+ * advice then reuses.
+ */
+@Configuration
+public class WorkloadConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor workloadAdvisor(ObjectProvider<WorkloadGovernor> workloadGovernor) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(RestController.class, true))
+                .union(new AnnotationMatchingPointcut(Workload.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Workload.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new WorkloadInterceptor(workloadGovernor));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return advisor;
+    }
+
+    static final class WorkloadInterceptor implements MethodInterceptor {
+        private final ObjectProvider<WorkloadGovernor> workloadGovernor;
+        private final Map<Method, WorkloadClass> classes = new ConcurrentHashMap<>();
+
+        WorkloadInterceptor(ObjectProvider<WorkloadGovernor> workloadGovernor) {
+            this.workloadGovernor = workloadGovernor;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            WorkloadClass workloadClass = classes.computeIfAbsent(invocation.getMethod(), method -> classOf(method,
+                    invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : method.getDeclaringClass()));
+            return workloadGovernor.getObject().execute(workloadClass, () -> {
+                try {
+                    return invocation.proceed();
+                } catch (Exception | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+        }
+    }
+
+    /**
+     * The class of {@code method} invoked on {@code targetClass}: its own {@link Workload}, else that of the class,
+     * else {@link WorkloadClass#INTERACTIVE}.
+     */
+    static WorkloadClass classOf(Method method, Class<?> targetClass) {
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(
+                AopUtils.getMostSpecificMethod(method, targetClass), Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+        }
+        return workload != null ? workload.value() : WorkloadClass.INTERACTIVE;
+    }
+}
@@ -0,0 +1,234 @@
+package com.wealthwise.finance.config;
+
+import com.wealthwise.finance.exception.WorkloadRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control and execution per {@link WorkloadClass}. Each class admits at most {@code max-concurrent}
+ * calls (by default the size of its connection pool); up to {@code max-waiting} more wait up to {@code max-wait}
+ * for a permit and anything beyond is rejected with {@link WorkloadRejectedException}.
+ * <p>
+ * Interactive calls run on the request thread. Batch calls are handed to the batch executor, whose threads draw
+ * connections from the batch pool, while the request thread waits for the result. Requests are admitted up front
+ * through {@link #admit}, and calls of the admitted class on that thread then run on the request's permit.
+ * <p>
+ * Per class, tagged {@code workload}: {@code wealthwise.workload.queue.depth}, {@code wealthwise.workload.wait}
+ * (time to admission, with p50/p99), {@code wealthwise.workload.active} and
+ * {@code wealthwise.workload.rejected}.
+ */
+@Component
+public class WorkloadGovernor implements DisposableBean {
+    private final Map<WorkloadClass, Lane> lanes = new EnumMap<>(WorkloadClass.class);
+    private final ThreadLocal<Boolean> admitted = new ThreadLocal<>();
+    private final ThreadLocal<WorkloadClass> holding = new ThreadLocal<>();
+
+    public WorkloadGovernor(MeterRegistry meterRegistry,
+                            ThreadFactory workerThreadFactory,
+                            @Value("${wealthwise.workload.interactive.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int interactiveConcurrent,
+                            @Value("${wealthwise.workload.interactive.max-waiting:50}") int interactiveWaiting,
+                            @Value("${wealthwise.workload.interactive.max-wait:PT2S}") Duration interactiveWait,
+                            @Value("${wealthwise.workload.batch.max-concurrent:2}") int batchConcurrent,
+                            @Value("${wealthwise.workload.batch.max-waiting:10}") int batchWaiting,
+                            @Value("${wealthwise.workload.batch.max-wait:PT30S}") Duration batchWait) {
+        lanes.put(WorkloadClass.INTERACTIVE, new Lane(WorkloadClass.INTERACTIVE, interactiveConcurrent,
+                interactiveWaiting, interactiveWait, null, meterRegistry));
+        ThreadPoolExecutor batchExecutor = new ThreadPoolExecutor(batchConcurrent, batchConcurrent, 0L,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), workerThreadFactory);
+        lanes.put(WorkloadClass.BATCH, new Lane(WorkloadClass.BATCH, batchConcurrent,
+                batchWaiting, batchWait, batchExecutor, meterRegistry));
+    }
+
+    /**
+     * Takes a permit of {@code workloadClass} for the current thread until the returned admission is closed.
+     *
+     * @throws WorkloadRejectedException if the class is saturated
+     */
+    public Admission admit(WorkloadClass workloadClass) {
+        Lane lane = lanes.get(workloadClass);
+        long start = System.nanoTime();
+        lane.acquire();
+        lane.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        holding.set(workloadClass);
+        return () -> {
+            holding.remove();
+            lane.permits.release();
+        };
+    }
+
+    /**
+     * Runs {@code task} as {@code workloadClass}. Calls made from within an admitted call run directly, and calls
+     * of the class the current thread was admitted to by {@link #admit} run on that permit.
+     */
+    public Object execute(WorkloadClass workloadClass, Callable<Object> task) throws Exception {
+        if (Boolean.TRUE.equals(admitted.get())) {
+            return task.call();
+        }
+        Lane lane = lanes.get(workloadClass);
+        Runnable release;
+        if (workloadClass == holding.get()) {
+            release = () -> { };
+        } else {
+            long start = System.nanoTime();
+            lane.acquire();
+            lane.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            release = lane.permits::release;
+        }
+        if (lane.executor == null) {
+            try {
+                return admittedCall(workloadClass, task);
+            } finally {
+                release.run();
+            }
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Future<Object> result;
+        try {
+            result = lane.executor.submit(() -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                try {
+                    return admittedCall(workloadClass, task);
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                    release.run();
+                }
+            });
+        } catch (RuntimeException ex) {
+            release.run();
+            throw ex;
+        }
+        return await(result);
+    }
+
+    @Override
+    public void destroy() {
+        lanes.values().forEach(lane -> {
+            if (lane.executor != null) {
+                lane.executor.shutdownNow();
+            }
+        });
+    }
+
+    private Object admittedCall(WorkloadClass workloadClass, Callable<Object> task) throws Exception {
+        admitted.set(Boolean.TRUE);
+        try {
+            return workloadClass.call(task);
+        } finally {
+            admitted.remove();
+        }
+    }
+
+    private static Object await(Future<Object> result) throws Exception {
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new WorkloadRejectedException("Interrupted while waiting for a batch task");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * A permit taken by {@link #admit}, given back on close.
+     */
+    public interface Admission extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Lane {
+        private final String name;
+        private final Semaphore permits;
+        private final int maxWaiting;
+        private final Duration maxWait;
+        private final ThreadPoolExecutor executor;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Counter rejected;
+
+        Lane(WorkloadClass workloadClass, int maxConcurrent, int maxWaiting, Duration maxWait,
+             ThreadPoolExecutor executor, MeterRegistry meterRegistry) {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("max-concurrent of the " + workloadClass + " workload must be positive");
+            }
+            this.name = workloadClass.name().toLowerCase(Locale.ROOT);
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.maxWaiting = maxWaiting;
+            this.maxWait = maxWait;
+            this.executor = executor;
+            this.waitTimer = Timer.builder("wealthwise.workload.wait")
+                    .description("Time calls waited for admission")
+                    .tag("workload", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("wealthwise.workload.rejected")
+                    .description("Calls rejected because the workload class was saturated")
+                    .tag("workload", name)
+                    .register(meterRegistry);
+            Gauge.builder("wealthwise.workload.queue.depth", this,
+                            lane -> lane.waiting.get() + (lane.executor != null ? lane.executor.getQueue().size() : 0))
+                    .description("Calls waiting for admission or an executor thread")
+                    .tag("workload", name)
+                    .register(meterRegistry);
+            Gauge.builder("wealthwise.workload.active", permits, p -> maxConcurrent - p.availablePermits())
+                    .description("Admitted calls in progress")
+                    .tag("workload", name)
+                    .register(meterRegistry);
+        }
+
+        void acquire() {
+            if (permits.tryAcquire()) {
+                return;
+            }
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                reject();
+            }
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (!acquired) {
+                reject();
+            }
+        }
+
+        private void reject() {
+            rejected.increment();
+            throw new WorkloadRejectedException("The server is busy with " + name + " work, please retry shortly");
+        }
+    }
+}
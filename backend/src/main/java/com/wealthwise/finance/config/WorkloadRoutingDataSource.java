@@ -0,0 +1,24 @@
+package com.wealthwise.finance.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the current thread's {@link WorkloadClass}, so batch work cannot drain the
+ * connections interactive requests need.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(DataSource interactive, DataSource batch) {
+        setTargetDataSources(Map.of(WorkloadClass.INTERACTIVE, interactive, WorkloadClass.BATCH, batch));
+        setDefaultTargetDataSource(interactive);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadClass.current();
+    }
+}
@@ -0,0 +1,59 @@
+package com.wealthwise.finance.controller;
+
+import com.wealthwise.finance.dto.CategorizationRuleDto;
+import com.wealthwise.finance.service.CategorizationRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/categorization-rules")
+@RequiredArgsConstructor
+public class CategorizationRuleController {
+    private final CategorizationRuleService categorizationRuleService;
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<CategorizationRuleDto>> getRulesByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(categorizationRuleService.getRulesByUser(userId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CategorizationRuleDto> getRuleById(@PathVariable Long id) {
+        return ResponseEntity.ok(categorizationRuleService.getRuleById(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<CategorizationRuleDto> createRule(@Valid @RequestBody CategorizationRuleDto dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(categorizationRuleService.createRule(dto));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<CategorizationRuleDto> updateRule(@PathVariable Long id, @Valid @RequestBody CategorizationRuleDto dto) {
+        return ResponseEntity.ok(categorizationRuleService.updateRule(id, dto));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        categorizationRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/user/{userId}/categorize")
+    public ResponseEntity<Map<String, Object>> categorize(
+            @PathVariable Long userId,
+            @RequestParam String description,
+            @RequestParam BigDecimal amount) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("description", description);
+        response.put("amount", amount);
+        response.put("category", categorizationRuleService.categorize(userId, description, amount));
+        return ResponseEntity.ok(response);
+    }
+}
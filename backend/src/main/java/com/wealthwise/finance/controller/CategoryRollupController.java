@@ -0,0 +1,48 @@
+package com.wealthwise.finance.controller;
+
+import com.wealthwise.finance.config.Workload;
+import com.wealthwise.finance.config.WorkloadClass;
+import com.wealthwise.finance.dto.CategoryMonthTotalDto;
+import com.wealthwise.finance.dto.CategoryRollupCheckDto;
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.service.CategoryRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class CategoryRollupController {
+    private final CategoryRollupService categoryRollupService;
+
+    @GetMapping("/user/{userId}/category-totals")
+    public ResponseEntity<List<CategoryMonthTotalDto>> getTotals(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(defaultValue = "EXPENSE") RecurringTransaction.TransactionType type) {
+        return ResponseEntity.ok(categoryRollupService.getTotals(userId, from, to, type));
+    }
+
+    @GetMapping("/user/{userId}/category-totals/verify")
+    public ResponseEntity<CategoryRollupCheckDto> verify(@PathVariable Long userId) {
+        return ResponseEntity.ok(categoryRollupService.verify(userId));
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @PostMapping("/user/{userId}/category-totals/rebuild")
+    public ResponseEntity<CategoryRollupCheckDto> rebuild(@PathVariable Long userId) {
+        return ResponseEntity.ok(categoryRollupService.rebuild(userId));
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @PostMapping("/category-totals/rebuild")
+    public ResponseEntity<CategoryRollupCheckDto> rebuildAll() {
+        return ResponseEntity.ok(categoryRollupService.rebuildAll());
+    }
+}
@@ -1,6 +1,11 @@
 package com.wealthwise.finance.controller;
 
+import com.wealthwise.finance.config.Workload;
+import com.wealthwise.finance.config.WorkloadClass;
+import com.wealthwise.finance.dto.BatchResultDto;
 import com.wealthwise.finance.dto.ExpenseDto;
+import com.wealthwise.finance.dto.PageDto;
+import com.wealthwise.finance.dto.TransactionFilterDto;
 import com.wealthwise.finance.service.ExpenseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +28,17 @@ public class ExpenseController {
         return ResponseEntity.ok(expenseService.getAllExpensesByUser(userId));
     }
 
+    @GetMapping("/user/{userId}/filter")
+    public ResponseEntity<PageDto<ExpenseDto>> filterExpenses(
+            @PathVariable Long userId,
+            TransactionFilterDto filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "date") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        return ResponseEntity.ok(expenseService.filterExpenses(userId, filter, page, size, sort, direction));
+    }
+
     @GetMapping("/user/{userId}/range")
     public ResponseEntity<List<ExpenseDto>> getExpensesByDateRange(
             @PathVariable Long userId,
@@ -51,4 +67,22 @@ public class ExpenseController {
         expenseService.deleteExpense(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Workload(WorkloadClass.BATCH)
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> createExpenses(@RequestBody List<ExpenseDto> dtos) {
+        return ResponseEntity.ok(expenseService.createExpenses(dtos));
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDto> updateExpenses(@RequestBody List<ExpenseDto> dtos) {
+        return ResponseEntity.ok(expenseService.updateExpenses(dtos));
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDto> deleteExpenses(@RequestParam Long userId, @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(expenseService.deleteExpenses(userId, ids));
+    }
 }
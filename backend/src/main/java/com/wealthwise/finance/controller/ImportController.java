@@ -0,0 +1,27 @@
+package com.wealthwise.finance.controller;
+
+import com.wealthwise.finance.config.Workload;
+import com.wealthwise.finance.config.WorkloadClass;
+import com.wealthwise.finance.dto.ImportResultDto;
+import com.wealthwise.finance.service.StatementImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+    private final StatementImportService statementImportService;
+
+    @Workload(WorkloadClass.BATCH)
+    @PostMapping(value = "/statement", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResultDto> importStatement(
+            @RequestParam Long userId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) {
+        return ResponseEntity.ok(statementImportService.importStatement(userId, file, format));
+    }
+}
@@ -1,6 +1,11 @@
 package com.wealthwise.finance.controller;
 
+import com.wealthwise.finance.config.Workload;
+import com.wealthwise.finance.config.WorkloadClass;
+import com.wealthwise.finance.dto.BatchResultDto;
 import com.wealthwise.finance.dto.IncomeDto;
+import com.wealthwise.finance.dto.PageDto;
+import com.wealthwise.finance.dto.TransactionFilterDto;
 import com.wealthwise.finance.service.IncomeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +28,17 @@ public class IncomeController {
         return ResponseEntity.ok(incomeService.getAllIncomeByUser(userId));
     }
 
+    @GetMapping("/user/{userId}/filter")
+    public ResponseEntity<PageDto<IncomeDto>> filterIncome(
+            @PathVariable Long userId,
+            TransactionFilterDto filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "date") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        return ResponseEntity.ok(incomeService.filterIncome(userId, filter, page, size, sort, direction));
+    }
+
     @GetMapping("/user/{userId}/range")
     public ResponseEntity<List<IncomeDto>> getIncomeByDateRange(
             @PathVariable Long userId,
@@ -51,4 +67,22 @@ public class IncomeController {
         incomeService.deleteIncome(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Workload(WorkloadClass.BATCH)
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> createIncomes(@RequestBody List<IncomeDto> dtos) {
+        return ResponseEntity.ok(incomeService.createIncomes(dtos));
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDto> updateIncomes(@RequestBody List<IncomeDto> dtos) {
+        return ResponseEntity.ok(incomeService.updateIncomes(dtos));
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDto> deleteIncomes(@RequestParam Long userId, @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(incomeService.deleteIncomes(userId, ids));
+    }
 }
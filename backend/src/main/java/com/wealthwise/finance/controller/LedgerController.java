@@ -0,0 +1,26 @@
+package com.wealthwise.finance.controller;
+
+import com.wealthwise.finance.dto.LedgerPageDto;
+import com.wealthwise.finance.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/ledger")
+@RequiredArgsConstructor
+public class LedgerController {
+    private final LedgerService ledgerService;
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<LedgerPageDto> getLedgerPage(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ledgerService.getLedgerPage(userId, month, cursor, limit));
+    }
+}
@@ -1,9 +1,14 @@
 package com.wealthwise.finance.controller;
 
+import com.wealthwise.finance.config.Workload;
+import com.wealthwise.finance.config.WorkloadClass;
+import com.wealthwise.finance.dto.BackfillJobDto;
 import com.wealthwise.finance.entity.MonthlyBalance;
 import com.wealthwise.finance.entity.User;
+import com.wealthwise.finance.service.MonthlyBalanceBackfillService;
 import com.wealthwise.finance.service.MonthlyBalanceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +24,7 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class MonthlyBalanceController {
     private final MonthlyBalanceService monthlyBalanceService;
+    private final MonthlyBalanceBackfillService monthlyBalanceBackfillService;
 
     @GetMapping("/{year}/{month}")
     public ResponseEntity<Map<String, Object>> getMonthlyBalance(
@@ -70,6 +76,7 @@ public class MonthlyBalanceController {
         return ResponseEntity.ok(balances);
     }
 
+    @Workload(WorkloadClass.BATCH)
     @PostMapping("/recalculate/{year}/{month}")
     public ResponseEntity<Map<String, Object>> recalculateMonthlyBalance(
             @PathVariable Integer year,
@@ -91,4 +98,21 @@ public class MonthlyBalanceController {
         
         return ResponseEntity.ok(response);
     }
+
+    @Workload(WorkloadClass.BATCH)
+    @PostMapping("/backfill")
+    public ResponseEntity<BackfillJobDto> startBackfill(@RequestBody(required = false) List<Long> userIds) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(monthlyBalanceBackfillService.startJob(userIds));
+    }
+
+    @GetMapping("/backfill/{jobId}")
+    public ResponseEntity<BackfillJobDto> getBackfillJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(monthlyBalanceBackfillService.getJob(jobId));
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    @PostMapping("/backfill/{jobId}/resume")
+    public ResponseEntity<BackfillJobDto> resumeBackfill(@PathVariable String jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(monthlyBalanceBackfillService.resumeJob(jobId));
+    }
 }
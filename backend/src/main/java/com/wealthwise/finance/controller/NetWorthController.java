@@ -1,6 +1,8 @@
 package com.wealthwise.finance.controller;
 
 import com.wealthwise.finance.dto.NetWorthDto;
+import com.wealthwise.finance.dto.NetWorthProjectionDto;
+import com.wealthwise.finance.service.NetWorthProjectionService;
 import com.wealthwise.finance.service.NetWorthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,12 +17,20 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NetWorthController {
     private final NetWorthService netWorthService;
+    private final NetWorthProjectionService netWorthProjectionService;
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<NetWorthDto>> getAllNetWorthByUser(@PathVariable Long userId) {
         return ResponseEntity.ok(netWorthService.getAllNetWorthByUser(userId));
     }
 
+    @GetMapping("/user/{userId}/projection")
+    public ResponseEntity<NetWorthProjectionDto> getNetWorthProjection(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "12") int months) {
+        return ResponseEntity.ok(netWorthProjectionService.projectNetWorth(userId, months));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<NetWorthDto> getNetWorthById(@PathVariable Long id) {
         return ResponseEntity.ok(netWorthService.getNetWorthById(id));
@@ -1,13 +1,17 @@
 package com.wealthwise.finance.controller;
 
+import com.wealthwise.finance.dto.OccurrenceOverrideDto;
+import com.wealthwise.finance.dto.RecurringInstanceDto;
 import com.wealthwise.finance.dto.RecurringTransactionDto;
 import com.wealthwise.finance.service.RecurringTransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -55,4 +59,20 @@ public class RecurringTransactionController {
             @PathVariable int month) {
         return ResponseEntity.ok(recurringTransactionService.generateInstances(userId, year, month));
     }
+
+    @GetMapping("/user/{userId}/instances")
+    public ResponseEntity<List<RecurringInstanceDto>> getInstances(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(recurringTransactionService.getInstances(userId, from, to));
+    }
+
+    @PostMapping("/{id}/occurrences/{date}/confirm")
+    public ResponseEntity<RecurringInstanceDto> confirmOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody(required = false) OccurrenceOverrideDto overrides) {
+        return ResponseEntity.ok(recurringTransactionService.confirmOccurrence(id, date, overrides));
+    }
 }
@@ -0,0 +1,24 @@
+package com.wealthwise.finance.controller;
+
+import com.wealthwise.finance.dto.SearchPageDto;
+import com.wealthwise.finance.service.TransactionSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+    private final TransactionSearchService transactionSearchService;
+
+    @GetMapping("/user/{userId}/transactions")
+    public ResponseEntity<SearchPageDto> searchTransactions(
+            @PathVariable Long userId,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "25") int limit,
+            @RequestParam(defaultValue = "true") boolean fuzzy) {
+        return ResponseEntity.ok(transactionSearchService.search(userId, q, cursor, limit, fuzzy));
+    }
+}
@@ -0,0 +1,27 @@
+package com.wealthwise.finance.controller;
+
+import com.wealthwise.finance.dto.SpendingMatrixDto;
+import com.wealthwise.finance.service.SpendingAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class SpendingAnalyticsController {
+    private final SpendingAnalyticsService spendingAnalyticsService;
+
+    @GetMapping("/user/{userId}/spending")
+    public ResponseEntity<SpendingMatrixDto> getSpending(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String bucket,
+            @RequestParam(defaultValue = "category") String groupBy) {
+        return ResponseEntity.ok(spendingAnalyticsService.getSpending(userId, from, to, bucket, groupBy));
+    }
+}
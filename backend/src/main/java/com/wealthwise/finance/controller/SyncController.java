@@ -0,0 +1,22 @@
+package com.wealthwise.finance.controller;
+
+import com.wealthwise.finance.dto.SyncDto;
+import com.wealthwise.finance.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+    private final SyncService syncService;
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<SyncDto> sync(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(syncService.changesSince(userId, since, limit));
+    }
+}
@@ -0,0 +1,47 @@
+package com.wealthwise.finance.controller;
+
+import com.wealthwise.finance.dto.TagCountDto;
+import com.wealthwise.finance.dto.TagMatchDto;
+import com.wealthwise.finance.entity.TransactionTag.Target;
+import com.wealthwise.finance.service.TagService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/tags")
+@RequiredArgsConstructor
+public class TagController {
+    private final TagService tagService;
+
+    @GetMapping("/user/{userId}/{target}")
+    public ResponseEntity<List<TagCountDto>> getTagCounts(@PathVariable Long userId, @PathVariable String target) {
+        return ResponseEntity.ok(tagService.getTagCounts(userId, Target.parse(target)));
+    }
+
+    @GetMapping("/user/{userId}/{target}/match")
+    public ResponseEntity<TagMatchDto> match(
+            @PathVariable Long userId,
+            @PathVariable String target,
+            @RequestParam(required = false) Set<String> all,
+            @RequestParam(required = false) Set<String> any,
+            @RequestParam(required = false) Set<String> none,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(tagService.match(userId, Target.parse(target), all, any, none, limit));
+    }
+
+    @GetMapping("/user/{userId}/{target}/{id}")
+    public ResponseEntity<List<String>> getTags(@PathVariable Long userId, @PathVariable String target,
+                                                @PathVariable Long id) {
+        return ResponseEntity.ok(tagService.getTags(userId, Target.parse(target), id));
+    }
+
+    @PutMapping("/user/{userId}/{target}/{id}")
+    public ResponseEntity<List<String>> setTags(@PathVariable Long userId, @PathVariable String target,
+                                                @PathVariable Long id, @RequestBody List<String> tags) {
+        return ResponseEntity.ok(tagService.setTags(userId, Target.parse(target), id, tags));
+    }
+}
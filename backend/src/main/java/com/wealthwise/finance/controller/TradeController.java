@@ -1,6 +1,8 @@
 package com.wealthwise.finance.controller;
 
+import com.wealthwise.finance.dto.PageDto;
 import com.wealthwise.finance.dto.TradeDTO;
+import com.wealthwise.finance.dto.TradeFilterDto;
 import com.wealthwise.finance.service.TradeService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +38,16 @@ public class TradeController {
         return ResponseEntity.ok(trades);
     }
     
+    @GetMapping("/filter")
+    public ResponseEntity<PageDto<TradeDTO>> filterTrades(
+            TradeFilterDto filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "date") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        return ResponseEntity.ok(tradeService.filterTrades(DEFAULT_USER_ID, filter, page, size, sort, direction));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<TradeDTO> getTradeById(@PathVariable Long id) {
         TradeDTO trade = tradeService.getTradeById(id, DEFAULT_USER_ID);
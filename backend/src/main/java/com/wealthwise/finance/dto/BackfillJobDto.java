@@ -0,0 +1,31 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillJobDto {
+    private String jobId;
+
+    private String status; // RUNNING, COMPLETED, COMPLETED_WITH_ERRORS
+
+    private int totalUsers;
+
+    private int completedUsers;
+
+    private int failedUsers;
+
+    private long monthsWritten;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private Map<Long, String> errors;
+}
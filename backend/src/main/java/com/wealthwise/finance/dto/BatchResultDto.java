@@ -0,0 +1,48 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto {
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND
+    }
+
+    private int total;
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private int index; // position in the request body
+
+        private Long id;
+
+        private Status status;
+
+        private List<String> errors;
+    }
+
+    public static BatchResultDto of(List<Item> items) {
+        int succeeded = 0;
+        for (Item item : items) {
+            if (item.getStatus() != Status.INVALID && item.getStatus() != Status.NOT_FOUND) {
+                succeeded++;
+            }
+        }
+        return new BatchResultDto(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
@@ -0,0 +1,40 @@
+package com.wealthwise.finance.dto;
+
+import com.wealthwise.finance.entity.CategorizationRule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationRuleDto {
+    private Long id;
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Category ID is required")
+    private Long categoryId;
+
+    private String categoryName;
+
+    @NotNull(message = "Match type is required")
+    private CategorizationRule.MatchType matchType;
+
+    @Size(max = 500, message = "Pattern must not exceed 500 characters")
+    private String pattern;
+
+    @PositiveOrZero(message = "Minimum amount must not be negative")
+    private BigDecimal minAmount;
+
+    @PositiveOrZero(message = "Maximum amount must not be negative")
+    private BigDecimal maxAmount;
+
+    private Integer priority;
+}
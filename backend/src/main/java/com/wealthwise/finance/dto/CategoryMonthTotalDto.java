@@ -0,0 +1,27 @@
+package com.wealthwise.finance.dto;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthTotalDto {
+    private Integer year;
+
+    private Integer month;
+
+    private RecurringTransaction.TransactionType type;
+
+    private Long categoryId; // null for entries without a category
+
+    private String category;
+
+    private BigDecimal total;
+
+    private Long count;
+}
@@ -0,0 +1,41 @@
+package com.wealthwise.finance.dto;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRollupCheckDto {
+    private Long userId; // null when every user was checked
+
+    private List<Mismatch> mismatches;
+
+    private Integer rebuiltCells; // null when only verified
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mismatch {
+        private Integer year;
+
+        private Integer month;
+
+        private RecurringTransaction.TransactionType type;
+
+        private Long categoryId;
+
+        private BigDecimal expectedTotal;
+
+        private BigDecimal storedTotal;
+
+        private Long expectedCount;
+
+        private Long storedCount;
+    }
+}
@@ -28,9 +28,15 @@ public class ExpenseDto {
     
     @NotBlank(message = "Category is required")
     private String category;
+
+    private Long categoryId;
     
     @NotNull(message = "Expense date is required")
     private LocalDate expenseDate;
     
     private String description;
+
+    private Boolean isRecurring;
+
+    private Long recurringTransactionId;
 }
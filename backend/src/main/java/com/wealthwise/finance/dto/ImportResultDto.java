@@ -0,0 +1,27 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDto {
+    private String format;
+
+    private int rows;
+
+    private int incomes;
+
+    private int expenses;
+
+    private int duplicates;
+
+    private int errorCount;
+
+    private List<String> errors = new ArrayList<>(); // first few parse errors, prefixed with the line number
+}
@@ -28,9 +28,15 @@ public class IncomeDto {
     
     @NotBlank(message = "Category is required")
     private String category;
+
+    private Long categoryId;
     
     @NotNull(message = "Income date is required")
     private LocalDate incomeDate;
     
     private String description;
+
+    private Boolean isRecurring;
+
+    private Long recurringTransactionId;
 }
@@ -0,0 +1,30 @@
+package com.wealthwise.finance.dto;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryDto {
+    private Long id;
+
+    private RecurringTransaction.TransactionType type;
+
+    private LocalDate date;
+
+    private String description;
+
+    private String category;
+
+    private BigDecimal amount;
+
+    private BigDecimal balance; // running balance after this entry
+
+    private Boolean isRecurring;
+}
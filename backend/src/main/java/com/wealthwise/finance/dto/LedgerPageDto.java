@@ -0,0 +1,29 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerPageDto {
+    private Long userId;
+
+    private Integer year;
+
+    private Integer month;
+
+    private BigDecimal openingBalance;
+
+    private BigDecimal totalIncome;
+
+    private BigDecimal totalExpense;
+
+    private List<LedgerEntryDto> entries;
+
+    private String nextCursor; // null on the last page
+}
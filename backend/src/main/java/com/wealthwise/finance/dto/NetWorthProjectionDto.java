@@ -0,0 +1,36 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NetWorthProjectionDto {
+    private Long userId;
+
+    private BigDecimal currentNetWorth;
+
+    private int months;
+
+    private List<Point> points;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private int year;
+
+        private int month;
+
+        private BigDecimal monthlyChange;
+
+        private BigDecimal cumulativeChange;
+
+        private BigDecimal netWorth;
+    }
+}
@@ -0,0 +1,18 @@
+package com.wealthwise.finance.dto;
+
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccurrenceOverrideDto {
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    private String description;
+}
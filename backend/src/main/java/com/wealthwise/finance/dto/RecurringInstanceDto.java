@@ -0,0 +1,30 @@
+package com.wealthwise.finance.dto;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringInstanceDto {
+    private Long recurringId;
+
+    private RecurringTransaction.TransactionType type;
+
+    private String name;
+
+    private BigDecimal amount;
+
+    private String category;
+
+    private LocalDate date;
+
+    private String description;
+
+    private Long entryId; // persisted income/expense id once the occurrence is confirmed
+}
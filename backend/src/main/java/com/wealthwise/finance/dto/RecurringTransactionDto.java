@@ -11,7 +11,9 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -34,6 +36,8 @@ public class RecurringTransactionDto {
     
     @NotBlank(message = "Category is required")
     private String category;
+
+    private Long categoryId;
     
     @NotNull(message = "Frequency is required")
     private RecurringTransaction.Frequency frequency;
@@ -42,6 +46,15 @@ public class RecurringTransactionDto {
     @Min(value = 1, message = "Day of month must be between 1 and 31")
     @Max(value = 31, message = "Day of month must be between 1 and 31")
     private Integer dayOfMonth;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    private Integer interval;
+
+    private Set<DayOfWeek> weekdays;
+
+    @Min(value = -1, message = "Week of month must be between 1 and 5, or -1 for the last week")
+    @Max(value = 5, message = "Week of month must be between 1 and 5, or -1 for the last week")
+    private Integer weekOfMonth;
     
     @NotNull(message = "Start date is required")
     private LocalDate startDate;
@@ -0,0 +1,32 @@
+package com.wealthwise.finance.dto;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+    private Long id;
+
+    private RecurringTransaction.TransactionType type;
+
+    private LocalDate date;
+
+    private String title; // income source or expense name
+
+    private String description;
+
+    private Long categoryId;
+
+    private String category;
+
+    private BigDecimal amount;
+
+    private Float score;
+}
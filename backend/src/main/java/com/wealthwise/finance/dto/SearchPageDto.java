@@ -0,0 +1,18 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageDto {
+    private String query;
+
+    private List<SearchHitDto> hits;
+
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,72 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spending over a date range as a dense matrix: one row per category, one column per bucket. Column i of every
+ * row's amounts belongs to buckets[i].
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingMatrixDto {
+    public enum Bucket {
+        DAY, WEEK, MONTH
+    }
+
+    private Long userId;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private Bucket bucket;
+
+    private List<LocalDate> buckets; // first day of each bucket; weeks start on Monday
+
+    private List<Row> rows;
+
+    private List<BigDecimal> bucketTotals;
+
+    private BigDecimal total;
+
+    private long count;
+
+    private List<TopExpense> topExpenses;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private Long categoryId; // null for the ungrouped total and for uncategorized spending
+
+        private String category;
+
+        private BigDecimal total;
+
+        private long count;
+
+        private List<BigDecimal> amounts;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TopExpense {
+        private Long id;
+
+        private LocalDate date;
+
+        private String name;
+
+        private String category;
+
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,30 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of changes after {@code since}. Clients apply the upserts and deletes, then sync again from
+ * {@code version} (immediately while {@code hasMore} is set). When {@code reset} is set the changes cannot be
+ * expressed as a delta: the client reloads its full lists and continues from {@code version}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncDto {
+    private Long since;
+
+    private Long version;
+
+    private Boolean hasMore;
+
+    private Boolean reset;
+
+    private Map<String, List<?>> upserts; // entity type -> DTOs, as returned by that type's endpoints
+
+    private Map<String, List<Long>> deletes; // entity type -> ids
+}
@@ -0,0 +1,19 @@
+package com.wealthwise.finance.dto;
+
+import com.wealthwise.finance.entity.TransactionTag;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagMatchDto {
+    private TransactionTag.Target target;
+
+    private Integer count; // all matching rows, even when ids is truncated
+
+    private List<Long> ids; // ascending, at most the requested limit
+}
@@ -0,0 +1,43 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Criteria for filtering trades. Every field is optional and set fields are combined with AND. The profit
+ * range applies to profitLoss.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeFilterDto {
+    private Set<String> assets;
+
+    private String orderType;
+
+    private Set<String> sessions;
+
+    private Set<String> strategyTags;
+
+    private BigDecimal minProfit;
+
+    private BigDecimal maxProfit;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private Set<String> tagsAll; // rows must carry every one of these tags
+
+    private Set<String> tagsAny; // ... at least one of these
+
+    private Set<String> tagsNone; // ... and none of these
+}
@@ -0,0 +1,41 @@
+package com.wealthwise.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Criteria for filtering income or expenses. Every field is optional and set fields are combined with AND;
+ * categoryIds and categories are combined with OR.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFilterDto {
+    private Set<Long> categoryIds;
+
+    private Set<String> categories; // names, case-insensitive
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private Boolean recurring;
+
+    private Set<String> tagsAll; // rows must carry every one of these tags
+
+    private Set<String> tagsAny; // ... at least one of these
+
+    private Set<String> tagsNone; // ... and none of these
+}
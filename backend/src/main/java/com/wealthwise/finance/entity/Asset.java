@@ -1,5 +1,6 @@
 package com.wealthwise.finance.entity;
 
+import com.wealthwise.finance.service.DataVersionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -9,6 +10,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
 @Table(name = "assets")
 public class Asset {
 
@@ -0,0 +1,53 @@
+package com.wealthwise.finance.entity;
+
+import com.wealthwise.finance.service.DataVersionListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@EntityListeners(DataVersionListener.class)
+@Table(name = "categorization_rules", indexes = {
+    @Index(name = "idx_categorization_rules_user", columnList = "user_id, priority, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationRule {
+    public enum MatchType {
+        KEYWORD, REGEX, AMOUNT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_type", nullable = false)
+    private MatchType matchType;
+
+    @Column(length = 500)
+    private String pattern; // keyword or regex, unused for AMOUNT rules
+
+    @Column(name = "min_amount", precision = 12, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(name = "max_amount", precision = 12, scale = 2)
+    private BigDecimal maxAmount;
+
+    @Column(nullable = false)
+    private Integer priority = 0; // lower wins when several rules match
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
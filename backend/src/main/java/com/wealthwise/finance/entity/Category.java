@@ -1,11 +1,13 @@
 package com.wealthwise.finance.entity;
 
+import com.wealthwise.finance.service.DataVersionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
 @Table(name = "categories")
 public class Category {
     
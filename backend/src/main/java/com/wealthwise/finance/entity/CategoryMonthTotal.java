@@ -0,0 +1,58 @@
+package com.wealthwise.finance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Running total of a user's income or expense entries per category and month. Rows are maintained as deltas by
+ * {@link com.wealthwise.finance.repository.CategoryRollupRepository} in the same transaction as the ledger
+ * write. Entries without a category reference are counted under category id 0.
+ */
+@Entity
+@Table(name = "category_month_totals")
+@IdClass(CategoryMonthTotal.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthTotal {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "period")
+    private Integer period; // yyyymm
+
+    @Id
+    @Column(length = 10)
+    @Enumerated(EnumType.STRING)
+    private RecurringTransaction.TransactionType type;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+
+        private Integer period;
+
+        private RecurringTransaction.TransactionType type;
+
+        private Long categoryId;
+    }
+}
@@ -1,5 +1,6 @@
 package com.wealthwise.finance.entity;
 
+import com.wealthwise.finance.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,7 +11,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "expenses")
+@EntityListeners(DataVersionListener.class)
+@Table(name = "expenses", indexes = {
+    @Index(name = "idx_expenses_user_date_id", columnList = "user_id, expense_date, id"),
+    @Index(name = "idx_expenses_user_category_date", columnList = "user_id, category_id, expense_date"),
+    @Index(name = "idx_expenses_user_amount", columnList = "user_id, amount")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_expenses_user_import_hash", columnNames = {"user_id", "import_hash"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,7 +38,14 @@ public class Expense {
     private BigDecimal amount;
 
     @Column(nullable = false)
-    private String category;
+    private String category; // name as entered; the category_id reference is authoritative when set
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    private Category categoryRef;
 
     @Column(name = "expense_date", nullable = false)
     private LocalDate expenseDate;
@@ -44,6 +59,9 @@ public class Expense {
     @Column(name = "recurring_transaction_id")
     private Long recurringTransactionId;
 
+    @Column(name = "import_hash")
+    private Long importHash; // content hash of the statement row this entry was imported from
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 }
@@ -1,5 +1,6 @@
 package com.wealthwise.finance.entity;
 
+import com.wealthwise.finance.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +11,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
 @Table(name = "goals")
 @Data
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.wealthwise.finance.entity;
 
+import com.wealthwise.finance.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +10,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
 @Table(name = "monthly_balances", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "year", "month"})
 })
@@ -30,6 +32,9 @@ public class MonthlyBalance {
     @Column(nullable = false)
     private Integer month;
 
+    @Column(name = "period")
+    private Integer period;
+
     @Column(name = "opening_balance", nullable = false, precision = 12, scale = 2)
     private BigDecimal openingBalance;
 
@@ -47,4 +52,14 @@ public class MonthlyBalance {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PrePersist
+    @PreUpdate
+    protected void syncPeriod() {
+        period = periodOf(year, month);
+    }
+
+    public static int periodOf(int year, int month) {
+        return year * 100 + month;
+    }
 }
@@ -1,5 +1,6 @@
 package com.wealthwise.finance.entity;
 
+import com.wealthwise.finance.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,7 +11,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "recurring_transactions")
+@EntityListeners(DataVersionListener.class)
+@Table(name = "recurring_transactions", indexes = {
+    @Index(name = "idx_recurring_transactions_user_category", columnList = "user_id, category_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,7 +38,14 @@ public class RecurringTransaction {
     private BigDecimal amount;
 
     @Column(nullable = false)
-    private String category;
+    private String category; // name as entered; the category_id reference is authoritative when set
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    private Category categoryRef;
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
@@ -43,6 +54,21 @@ public class RecurringTransaction {
     @Column(name = "day_of_month", nullable = false)
     private Integer dayOfMonth;
 
+    @Column(name = "recurrence_interval")
+    private Integer interval = 1;
+
+    @Column(name = "weekday_mask")
+    private Integer weekdayMask; // bit (dayOfWeek - 1) set for each selected weekday
+
+    @Column(name = "week_of_month")
+    private Integer weekOfMonth; // 1-5, or -1 for the last weekday of the month
+
+    @Column(name = "revision")
+    private Integer revision = 0;
+
+    @Column(name = "materialized_through")
+    private LocalDate materializedThrough;
+
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
 
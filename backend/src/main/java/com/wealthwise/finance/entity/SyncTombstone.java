@@ -0,0 +1,43 @@
+package com.wealthwise.finance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted row for delta sync. Rows are written by the database triggers installed by
+ * {@link com.wealthwise.finance.config.DatabaseMigrationRunner}, never by the application, and purged after the
+ * retention period by {@link com.wealthwise.finance.service.SyncService}.
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+    @Index(name = "idx_sync_tombstones_user_version", columnList = "user_id, change_version"),
+    @Index(name = "idx_sync_tombstones_user_type_version", columnList = "user_id, entity_type, change_version"),
+    @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "entity_type", nullable = false, length = 30)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
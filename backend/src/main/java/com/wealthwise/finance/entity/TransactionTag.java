@@ -0,0 +1,68 @@
+package com.wealthwise.finance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * One free-form tag on an income entry, expense entry or trade. The target row is referenced by type and id
+ * without a foreign key, so the services deleting those rows also delete their tags.
+ */
+@Entity
+@Table(name = "transaction_tags", indexes = {
+    @Index(name = "idx_transaction_tags_user_target", columnList = "user_id, target_type, target_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_transaction_tags_target_tag", columnNames = {"target_type", "target_id", "tag"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionTag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 10)
+    private Target target;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(nullable = false, length = 50)
+    private String tag; // normalized: trimmed and lower-case
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public TransactionTag(Long userId, Target target, Long targetId, String tag) {
+        this.userId = userId;
+        this.target = target;
+        this.targetId = targetId;
+        this.tag = tag;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum Target {
+        INCOME, EXPENSE, TRADE;
+
+        public static Target parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported tag target '" + value + "', expected income, expense or trade");
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.wealthwise.finance.exception;
+
+public class WorkloadRejectedException extends RuntimeException {
+    public WorkloadRejectedException(String message) {
+        super(message);
+    }
+}
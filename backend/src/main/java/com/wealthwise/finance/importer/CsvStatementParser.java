@@ -0,0 +1,156 @@
+package com.wealthwise.finance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads delimited statements record by record. The delimiter (comma, semicolon or tab) is sniffed from the
+ * header line, which must name a date column and either an amount column or debit/credit columns. Quoted
+ * fields may contain delimiters, doubled quotes and line breaks.
+ */
+public class CsvStatementParser implements StatementParser {
+    private static final List<String> DATE_HEADERS = List.of(
+            "date", "transaction date", "posted date", "posting date", "booking date", "value date");
+    private static final List<String> AMOUNT_HEADERS = List.of("amount", "transaction amount", "value");
+    private static final List<String> DEBIT_HEADERS = List.of("debit", "withdrawal", "withdrawals", "money out", "paid out");
+    private static final List<String> CREDIT_HEADERS = List.of("credit", "deposit", "deposits", "money in", "paid in");
+    private static final List<String> DESCRIPTION_HEADERS = List.of(
+            "description", "transaction description", "payee", "name", "merchant", "details", "narrative", "memo");
+    private static final List<String> CATEGORY_HEADERS = List.of("category");
+
+    private BufferedReader in;
+    private char delimiter;
+    private int line;
+
+    @Override
+    public void parse(Reader reader, StatementRowHandler handler) throws IOException {
+        in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        in.mark(64 * 1024);
+        String headerLine = in.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        in.reset();
+        delimiter = sniffDelimiter(headerLine);
+        line = 1;
+
+        List<String> header = readRecord();
+        int date = indexOf(header, DATE_HEADERS);
+        int amount = indexOf(header, AMOUNT_HEADERS);
+        int debit = indexOf(header, DEBIT_HEADERS);
+        int credit = indexOf(header, CREDIT_HEADERS);
+        int description = indexOf(header, DESCRIPTION_HEADERS);
+        int category = indexOf(header, CATEGORY_HEADERS);
+        if (date < 0 || (amount < 0 && debit < 0 && credit < 0)) {
+            throw new IllegalArgumentException("CSV header must contain a date column and an amount or debit/credit column");
+        }
+
+        List<String> record;
+        while (true) {
+            int recordLine = line;
+            record = readRecord();
+            if (record == null) {
+                break;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                BigDecimal value = amount >= 0 && !field(record, amount).isBlank()
+                        ? StatementValues.parseAmount(field(record, amount))
+                        : signed(field(record, credit)).abs().subtract(signed(field(record, debit)).abs());
+                handler.onRow(new StatementRow(recordLine,
+                        StatementValues.parseDate(field(record, date)),
+                        value,
+                        StatementValues.clean(field(record, description)),
+                        StatementValues.clean(field(record, category))));
+            } catch (IllegalArgumentException ex) {
+                handler.onError(recordLine, ex.getMessage());
+            }
+        }
+    }
+
+    private BigDecimal signed(String value) {
+        return value.isBlank() ? BigDecimal.ZERO : StatementValues.parseAmount(value);
+    }
+
+    private String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index) : "";
+    }
+
+    private int indexOf(List<String> header, List<String> candidates) {
+        for (String candidate : candidates) {
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT).equals(candidate)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private char sniffDelimiter(String headerLine) {
+        char best = ',';
+        long bestCount = 0;
+        for (char candidate : new char[] {',', ';', '\t'}) {
+            long count = headerLine.chars().filter(c -> c == candidate).count();
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Reads one logical record, or returns null at end of input.
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = in.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        field.append('"');
+                    } else {
+                        in.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,100 @@
+package com.wealthwise.finance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams {@code <STMTTRN>} blocks out of OFX/QFX files. Both the SGML flavour (OFX 1.x, leaf elements without
+ * closing tags) and the XML flavour (OFX 2.x) are handled by treating the text after a start tag as that
+ * element's value until the next tag.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    @Override
+    public void parse(Reader reader, StatementRowHandler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        StringBuilder text = new StringBuilder();
+        StringBuilder tag = new StringBuilder();
+        Map<String, String> transaction = null;
+        String openElement = null;
+        int line = 1;
+        int transactionLine = 0;
+
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                line++;
+            }
+            if (c != '<') {
+                text.append((char) c);
+                continue;
+            }
+
+            if (transaction != null && openElement != null) {
+                String value = text.toString().trim();
+                if (!value.isEmpty()) {
+                    transaction.put(openElement, value);
+                }
+            }
+            text.setLength(0);
+
+            tag.setLength(0);
+            while ((c = in.read()) != -1 && c != '>') {
+                if (c == '\n') {
+                    line++;
+                }
+                tag.append((char) c);
+            }
+            String name = tag.toString().trim().toUpperCase(Locale.ROOT);
+
+            if (name.equals("STMTTRN")) {
+                transaction = new HashMap<>();
+                transactionLine = line;
+                openElement = null;
+            } else if (name.equals("/STMTTRN")) {
+                if (transaction != null) {
+                    emit(transaction, transactionLine, handler);
+                }
+                transaction = null;
+                openElement = null;
+            } else {
+                openElement = name.startsWith("/") ? null : name;
+            }
+        }
+    }
+
+    private void emit(Map<String, String> transaction, int line, StatementRowHandler handler) {
+        String posted = transaction.get("DTPOSTED");
+        String amount = transaction.get("TRNAMT");
+        if (posted == null || posted.length() < 8 || amount == null) {
+            handler.onError(line, "Transaction is missing DTPOSTED or TRNAMT");
+            return;
+        }
+        try {
+            LocalDate date = LocalDate.of(
+                    Integer.parseInt(posted.substring(0, 4)),
+                    Integer.parseInt(posted.substring(4, 6)),
+                    Integer.parseInt(posted.substring(6, 8)));
+            String description = StatementValues.clean(decode(transaction.get("NAME")));
+            if (description == null) {
+                description = StatementValues.clean(decode(transaction.get("MEMO")));
+            }
+            handler.onRow(new StatementRow(line, date, StatementValues.parseAmount(amount), description, null));
+        } catch (RuntimeException ex) {
+            handler.onError(line, "Invalid transaction: " + ex.getMessage());
+        }
+    }
+
+    private String decode(String value) {
+        if (value == null || value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,84 @@
+package com.wealthwise.finance.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads Quicken interchange files line by line. Each record is a run of single-letter fields terminated by
+ * {@code ^}; only D (date), T/U (amount), P (payee), M (memo) and L (category) are used. Transfers written as
+ * {@code [Account]} categories are not treated as categories.
+ */
+public class QifStatementParser implements StatementParser {
+
+    @Override
+    public void parse(Reader reader, StatementRowHandler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        Record record = new Record();
+        int lineNumber = 0;
+
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("!")) {
+                continue;
+            }
+            if (record.line == 0) {
+                record.line = lineNumber;
+            }
+
+            String value = line.substring(1).trim();
+            switch (line.charAt(0)) {
+                case 'D' -> record.date = value;
+                case 'T' -> record.amount = value;
+                case 'U' -> {
+                    if (record.amount == null) {
+                        record.amount = value;
+                    }
+                }
+                case 'P' -> record.payee = value;
+                case 'M' -> record.memo = value;
+                case 'L' -> record.category = value.startsWith("[") ? null : value;
+                case '^' -> {
+                    emit(record, handler);
+                    record = new Record();
+                }
+                default -> {
+                    // split lines, addresses, cleared flags etc. are not needed
+                }
+            }
+        }
+        if (record.date != null || record.amount != null) {
+            emit(record, handler);
+        }
+    }
+
+    private void emit(Record record, StatementRowHandler handler) {
+        if (record.date == null || record.amount == null) {
+            handler.onError(record.line, "Record is missing a date or amount");
+            return;
+        }
+        try {
+            String description = StatementValues.clean(record.payee);
+            if (description == null) {
+                description = StatementValues.clean(record.memo);
+            }
+            handler.onRow(new StatementRow(record.line,
+                    StatementValues.parseDate(record.date),
+                    StatementValues.parseAmount(record.amount),
+                    description,
+                    StatementValues.clean(record.category)));
+        } catch (IllegalArgumentException ex) {
+            handler.onError(record.line, ex.getMessage());
+        }
+    }
+
+    private static class Record {
+        private int line;
+        private String date;
+        private String amount;
+        private String payee;
+        private String memo;
+        private String category;
+    }
+}
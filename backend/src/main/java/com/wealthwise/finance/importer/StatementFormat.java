@@ -0,0 +1,39 @@
+package com.wealthwise.finance.importer;
+
+import java.util.Locale;
+
+public enum StatementFormat {
+    CSV, OFX, QIF;
+
+    /**
+     * Resolves the format from an explicit value, falling back to the file extension (.qfx is OFX).
+     */
+    public static StatementFormat resolve(String declared, String filename) {
+        if (declared != null && !declared.isBlank()) {
+            try {
+                return valueOf(declared.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported statement format: " + declared);
+            }
+        }
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return CSV;
+        }
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            return OFX;
+        }
+        if (name.endsWith(".qif")) {
+            return QIF;
+        }
+        throw new IllegalArgumentException("Cannot determine statement format of '" + filename + "', pass format=CSV|OFX|QIF");
+    }
+
+    public StatementParser newParser() {
+        return switch (this) {
+            case CSV -> new CsvStatementParser();
+            case OFX -> new OfxStatementParser();
+            case QIF -> new QifStatementParser();
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.wealthwise.finance.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public interface StatementParser {
+    void parse(Reader reader, StatementRowHandler handler) throws IOException;
+}
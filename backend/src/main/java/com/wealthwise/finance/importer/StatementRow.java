@@ -0,0 +1,11 @@
+package com.wealthwise.finance.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One transaction read from a bank statement. {@code amount} is signed: money in is positive, money out negative.
+ * {@code category} is only set when the file carries one.
+ */
+public record StatementRow(int line, LocalDate date, BigDecimal amount, String description, String category) {
+}
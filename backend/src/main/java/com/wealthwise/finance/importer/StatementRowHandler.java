@@ -0,0 +1,13 @@
+package com.wealthwise.finance.importer;
+
+/**
+ * Receives rows as a parser reads them, so a statement never has to be held in memory as a whole.
+ */
+public interface StatementRowHandler {
+    void onRow(StatementRow row);
+
+    /**
+     * Called for a record that could not be parsed. The parser skips it and carries on.
+     */
+    void onError(int line, String message);
+}
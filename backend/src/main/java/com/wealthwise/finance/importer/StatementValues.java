@@ -0,0 +1,91 @@
+package com.wealthwise.finance.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lenient parsing of the date and amount notations found in bank exports.
+ */
+final class StatementValues {
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.BASIC_ISO_DATE,
+            DateTimeFormatter.ofPattern("M/d/uuuu"),
+            DateTimeFormatter.ofPattern("M/d/uu"),
+            DateTimeFormatter.ofPattern("d.M.uuuu"),
+            DateTimeFormatter.ofPattern("d-MMM-uuuu", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("d MMM uuuu", Locale.ENGLISH));
+
+    private StatementValues() {
+    }
+
+    static LocalDate parseDate(String value) {
+        String text = value.trim().replace('\'', '/').replace("\u00A0", " ");
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next notation
+            }
+        }
+        throw new IllegalArgumentException("Unrecognized date '" + value + "'");
+    }
+
+    /**
+     * Parses amounts such as {@code -1,234.56}, {@code 1.234,56}, {@code $12.00} or {@code (12.00)}. When both
+     * separators are present the last one is the decimal mark; a lone comma followed by two digits is one too.
+     */
+    static BigDecimal parseAmount(String value) {
+        String text = value.trim();
+        boolean negative = false;
+        if (text.startsWith("(") && text.endsWith(")")) {
+            negative = true;
+            text = text.substring(1, text.length() - 1);
+        }
+
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '-') {
+                negative = !negative;
+            } else if (Character.isDigit(c) || c == '.' || c == ',') {
+                digits.append(c);
+            }
+        }
+        String number = digits.toString();
+        if (number.isEmpty()) {
+            throw new IllegalArgumentException("Unrecognized amount '" + value + "'");
+        }
+
+        int lastDot = number.lastIndexOf('.');
+        int lastComma = number.lastIndexOf(',');
+        if (lastDot >= 0 && lastComma >= 0) {
+            number = lastComma > lastDot
+                    ? number.replace(".", "").replace(',', '.')
+                    : number.replace(",", "");
+        } else if (lastComma >= 0) {
+            number = number.length() - lastComma == 3 && number.indexOf(',') == lastComma
+                    ? number.replace(',', '.')
+                    : number.replace(",", "");
+        }
+
+        try {
+            BigDecimal amount = new BigDecimal(number);
+            return negative ? amount.negate() : amount;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Unrecognized amount '" + value + "'");
+        }
+    }
+
+    static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
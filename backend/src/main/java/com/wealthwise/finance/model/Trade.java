@@ -1,5 +1,6 @@
 package com.wealthwise.finance.model;
 
+import com.wealthwise.finance.service.DataVersionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,7 +9,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trades")
+@EntityListeners(DataVersionListener.class)
+@Table(name = "trades", indexes = {
+    @Index(name = "idx_trades_user_date", columnList = "user_id, trade_date"),
+    @Index(name = "idx_trades_user_asset_date", columnList = "user_id, asset_name, trade_date")
+})
 public class Trade {
     
     @Id
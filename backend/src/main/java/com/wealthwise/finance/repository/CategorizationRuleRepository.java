@@ -0,0 +1,19 @@
+package com.wealthwise.finance.repository;
+
+import com.wealthwise.finance.entity.CategorizationRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategorizationRuleRepository extends JpaRepository<CategorizationRule, Long> {
+    List<CategorizationRule> findByUserIdOrderByPriorityAscIdAsc(Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CategorizationRule r WHERE r.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,143 @@
+package com.wealthwise.finance.repository;
+
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains category_month_totals. Deltas are computed in SQL from the ledger rows themselves, so callers add
+ * rows after inserting or updating them and subtract rows before updating or deleting them, all inside the
+ * transaction doing the write. Upserts are grouped and ordered by key, so concurrent writers lock cells in the
+ * same order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryRollupRepository {
+    public static final long UNCATEGORIZED = 0L;
+
+    private static final String UPSERT =
+            "INSERT INTO category_month_totals AS cmt (user_id, category_id, period, type, total, entry_count) ";
+
+    private static final String ON_CONFLICT =
+            " ON CONFLICT (user_id, period, type, category_id) DO UPDATE SET " +
+            "total = cmt.total + EXCLUDED.total, entry_count = cmt.entry_count + EXCLUDED.entry_count";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void add(TransactionType type, Collection<Long> ids) {
+        applyIds(type, ids, 1);
+    }
+
+    public void subtract(TransactionType type, Collection<Long> ids) {
+        applyIds(type, ids, -1);
+    }
+
+    /**
+     * Subtracts every materialized entry of a recurring rule, ahead of a bulk delete of those entries.
+     */
+    public void subtractRecurringEntries(Long recurringTransactionId) {
+        for (TransactionType type : TransactionType.values()) {
+            jdbcTemplate.update(UPSERT + aggregate(type, "t.recurring_transaction_id = ?", -1) + ON_CONFLICT,
+                    recurringTransactionId);
+        }
+    }
+
+    /**
+     * Moves the totals of a category that is being deleted to the uncategorized cell of the same month.
+     */
+    public void moveToUncategorized(Long categoryId) {
+        jdbcTemplate.update(UPSERT + "SELECT user_id, " + UNCATEGORIZED + ", period, type, total, entry_count " +
+                "FROM category_month_totals WHERE category_id = ? ORDER BY user_id, period, type" + ON_CONFLICT, categoryId);
+        jdbcTemplate.update("DELETE FROM category_month_totals WHERE category_id = ?", categoryId);
+    }
+
+    public List<Cell> findByUser(Long userId, int fromPeriod, int toPeriod, TransactionType type) {
+        return jdbcTemplate.query(
+                "SELECT period, category_id, total, entry_count FROM category_month_totals " +
+                "WHERE user_id = ? AND type = ? AND period BETWEEN ? AND ? AND entry_count <> 0 " +
+                "ORDER BY period, category_id",
+                (rs, rowNum) -> new Cell(rs.getInt(1), rs.getLong(2), type, rs.getBigDecimal(3), rs.getLong(4)),
+                userId, type.name(), fromPeriod, toPeriod);
+    }
+
+    /**
+     * Compares the stored totals of a user with totals recomputed from the ledger and returns every cell that
+     * differs, with the recomputed values. Cells reduced to zero entries count as absent.
+     */
+    public List<Mismatch> findMismatches(Long userId) {
+        String sql = "WITH expected AS ((" + aggregate(TransactionType.INCOME, "t.user_id = ?", 1) +
+                ") UNION ALL (" + aggregate(TransactionType.EXPENSE, "t.user_id = ?", 1) + ")), " +
+                "stored AS (SELECT user_id, category_id, period, type, total, entry_count FROM category_month_totals " +
+                "WHERE user_id = ? AND entry_count <> 0) " +
+                "SELECT COALESCE(e.period, s.period), COALESCE(e.type, s.type), COALESCE(e.category_id, s.category_id), " +
+                "COALESCE(e.total, 0), COALESCE(s.total, 0), COALESCE(e.entry_count, 0), COALESCE(s.entry_count, 0) " +
+                "FROM expected e FULL OUTER JOIN stored s ON e.period = s.period AND e.type = s.type " +
+                "AND e.category_id = s.category_id " +
+                "WHERE e.total IS DISTINCT FROM s.total OR e.entry_count IS DISTINCT FROM s.entry_count " +
+                "ORDER BY 1, 2, 3";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Mismatch(rs.getInt(1),
+                        TransactionType.valueOf(rs.getString(2)), rs.getLong(3),
+                        rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getLong(6), rs.getLong(7)),
+                userId, userId, userId);
+    }
+
+    /**
+     * Replaces the stored totals of one user, or of every user when {@code userId} is null, with totals
+     * recomputed from the ledger. Returns the number of cells written.
+     */
+    public int rebuild(Long userId) {
+        String where = userId != null ? "t.user_id = ?" : "TRUE";
+        Object[] args = userId != null ? new Object[] {userId} : new Object[0];
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM category_month_totals WHERE user_id = ?", userId);
+        } else {
+            jdbcTemplate.update("DELETE FROM category_month_totals");
+        }
+        int written = 0;
+        for (TransactionType type : TransactionType.values()) {
+            written += jdbcTemplate.update(UPSERT + aggregate(type, where, 1) + ON_CONFLICT, args);
+        }
+        return written;
+    }
+
+    private void applyIds(TransactionType type, Collection<Long> ids, int sign) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String sql = UPSERT + aggregate(type, "t.id = ANY(?)", sign) + ON_CONFLICT;
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            ps.setArray(1, array);
+            return ps;
+        });
+    }
+
+    /**
+     * SELECT producing (user_id, category_id, period, type, total, entry_count) cells for the ledger rows of
+     * {@code type} matching {@code where}, with totals and counts multiplied by {@code sign}.
+     */
+    private static String aggregate(TransactionType type, String where, int sign) {
+        String table = type == TransactionType.INCOME ? "income" : "expenses";
+        String date = type == TransactionType.INCOME ? "t.income_date" : "t.expense_date";
+        return "SELECT t.user_id, COALESCE(t.category_id, " + UNCATEGORIZED + ") AS category_id, " +
+                "CAST(EXTRACT(YEAR FROM " + date + ") * 100 + EXTRACT(MONTH FROM " + date + ") AS INTEGER) AS period, " +
+                "CAST('" + type.name() + "' AS VARCHAR(10)) AS type, " +
+                sign + " * SUM(t.amount) AS total, " + sign + " * COUNT(*) AS entry_count " +
+                "FROM " + table + " t WHERE " + where + " GROUP BY 1, 2, 3 ORDER BY 1, 2, 3";
+    }
+
+    public record Cell(int period, long categoryId, TransactionType type, BigDecimal total, long count) {
+    }
+
+    public record Mismatch(int period, TransactionType type, long categoryId, BigDecimal expectedTotal,
+                           BigDecimal storedTotal, long expectedCount, long storedCount) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.wealthwise.finance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-user data version counters, kept in one column per domain on the users row. Incrementing a counter locks
+ * the users row until commit, the same lock the change tracking triggers take, so a write adds no lock of its own.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DataVersionRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The user's committed counter in {@code column}, 0 for an unknown user.
+     */
+    public long find(Long userId, String column) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT " + column + " FROM users WHERE id = ?", Long.class, userId);
+        return versions.isEmpty() ? 0L : versions.get(0);
+    }
+
+    public void increment(Long userId, String column) {
+        jdbcTemplate.update("UPDATE users SET " + column + " = " + column + " + 1 WHERE id = ?", userId);
+    }
+
+    public void incrementAll(String column) {
+        jdbcTemplate.update("UPDATE users SET " + column + " = " + column + " + 1");
+    }
+
+    /**
+     * Returns those of {@code columns} that the users table in the current schema does not have.
+     */
+    public List<String> findMissingColumns(Collection<String> columns) {
+        List<String> existing = jdbcTemplate.queryForList("SELECT lower(column_name) FROM information_schema.columns " +
+                "WHERE lower(table_name) = 'users' AND table_schema = current_schema()", String.class);
+        List<String> missing = new ArrayList<>();
+        for (String column : columns) {
+            if (!existing.contains(column.toLowerCase(Locale.ROOT))) {
+                missing.add(column);
+            }
+        }
+        return missing;
+    }
+}
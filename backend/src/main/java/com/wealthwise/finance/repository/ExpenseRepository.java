@@ -1,21 +1,60 @@
 package com.wealthwise.finance.repository;
 
 import com.wealthwise.finance.entity.Expense;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {
     List<Expense> findByUserId(Long userId);
     List<Expense> findByUserIdAndExpenseDateBetween(Long userId, LocalDate start, LocalDate end);
+    List<Expense> findTop5ByUserIdAndExpenseDateBetweenOrderByAmountDescIdAsc(Long userId, LocalDate start, LocalDate end);
     List<Expense> findByUserIdAndIsRecurring(Long userId, Boolean isRecurring);
     List<Expense> findByRecurringTransactionId(Long recurringTransactionId);
-    
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.category = :category")
-    List<Expense> findByUserIdAndCategory(@Param("userId") Long userId, @Param("category") String category);
+    Optional<Expense> findByRecurringTransactionIdAndExpenseDate(Long recurringTransactionId, LocalDate date);
+
+    /**
+     * Detaches rows from a category that is being deleted, keeping its last name as the stored text.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Expense e SET e.category = :name, e.categoryId = null WHERE e.categoryId = :categoryId")
+    int detachCategory(@Param("categoryId") Long categoryId, @Param("name") String name);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Expense e WHERE e.recurringTransactionId = :recurringTransactionId")
+    int deleteByRecurringTransactionId(@Param("recurringTransactionId") Long recurringTransactionId);
+
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.expenseDate <= :end " +
+           "AND (e.expenseDate > :afterDate OR (e.expenseDate = :afterDate AND e.id > :afterId)) ORDER BY e.expenseDate, e.id")
+    List<Expense> findLedgerPage(@Param("userId") Long userId, @Param("afterDate") LocalDate afterDate,
+                                @Param("afterId") Long afterId, @Param("end") LocalDate end, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId AND e.expenseDate >= :start " +
+           "AND (e.expenseDate < :throughDate OR (e.expenseDate = :throughDate AND e.id <= :throughId))")
+    BigDecimal sumThrough(@Param("userId") Long userId, @Param("start") LocalDate start,
+                           @Param("throughDate") LocalDate throughDate, @Param("throughId") Long throughId);
+
+    /**
+     * Returns the owner of each of {@code ids} that exists, as (id, user id) pairs.
+     */
+    @Query("SELECT e.id, e.user.id FROM Expense e WHERE e.id IN :ids")
+    List<Object[]> findOwners(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.importHash FROM Expense e WHERE e.user.id = :userId AND e.importHash IS NOT NULL")
+    List<Long> findImportHashes(@Param("userId") Long userId);
+
+    @Query("SELECT e.importHash FROM Expense e WHERE e.user.id = :userId AND e.importHash IN :hashes")
+    Set<Long> findExistingImportHashes(@Param("userId") Long userId, @Param("hashes") Collection<Long> hashes);
 }
@@ -1,21 +1,59 @@
 package com.wealthwise.finance.repository;
 
 import com.wealthwise.finance.entity.Income;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface IncomeRepository extends JpaRepository<Income, Long> {
+public interface IncomeRepository extends JpaRepository<Income, Long>, JpaSpecificationExecutor<Income> {
     List<Income> findByUserId(Long userId);
     List<Income> findByUserIdAndIncomeDateBetween(Long userId, LocalDate start, LocalDate end);
     List<Income> findByUserIdAndIsRecurring(Long userId, Boolean isRecurring);
     List<Income> findByRecurringTransactionId(Long recurringTransactionId);
-    
-    @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND i.category = :category")
-    List<Income> findByUserIdAndCategory(@Param("userId") Long userId, @Param("category") String category);
+    Optional<Income> findByRecurringTransactionIdAndIncomeDate(Long recurringTransactionId, LocalDate date);
+
+    /**
+     * Detaches rows from a category that is being deleted, keeping its last name as the stored text.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Income i SET i.category = :name, i.categoryId = null WHERE i.categoryId = :categoryId")
+    int detachCategory(@Param("categoryId") Long categoryId, @Param("name") String name);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Income i WHERE i.recurringTransactionId = :recurringTransactionId")
+    int deleteByRecurringTransactionId(@Param("recurringTransactionId") Long recurringTransactionId);
+
+    @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND i.incomeDate <= :end " +
+           "AND (i.incomeDate > :afterDate OR (i.incomeDate = :afterDate AND i.id > :afterId)) ORDER BY i.incomeDate, i.id")
+    List<Income> findLedgerPage(@Param("userId") Long userId, @Param("afterDate") LocalDate afterDate,
+                               @Param("afterId") Long afterId, @Param("end") LocalDate end, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(i.amount), 0) FROM Income i WHERE i.user.id = :userId AND i.incomeDate >= :start " +
+           "AND (i.incomeDate < :throughDate OR (i.incomeDate = :throughDate AND i.id <= :throughId))")
+    BigDecimal sumThrough(@Param("userId") Long userId, @Param("start") LocalDate start,
+                          @Param("throughDate") LocalDate throughDate, @Param("throughId") Long throughId);
+
+    /**
+     * Returns the owner of each of {@code ids} that exists, as (id, user id) pairs.
+     */
+    @Query("SELECT i.id, i.user.id FROM Income i WHERE i.id IN :ids")
+    List<Object[]> findOwners(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.importHash FROM Income i WHERE i.user.id = :userId AND i.importHash IS NOT NULL")
+    List<Long> findImportHashes(@Param("userId") Long userId);
+
+    @Query("SELECT i.importHash FROM Income i WHERE i.user.id = :userId AND i.importHash IN :hashes")
+    Set<Long> findExistingImportHashes(@Param("userId") Long userId, @Param("hashes") Collection<Long> hashes);
 }
@@ -0,0 +1,209 @@
+package com.wealthwise.finance.repository;
+
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Income;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes income and expense rows with JDBC batches. The entities use IDENTITY ids, which stops Hibernate from
+ * batching inserts, so bulk paths go through here and read the generated ids back into the entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerBatchWriter {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_INCOME_SQL =
+            "INSERT INTO income (user_id, source, amount, category, income_date, description, " +
+            "is_recurring, recurring_transaction_id, created_at, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_EXPENSE_SQL =
+            "INSERT INTO expenses (user_id, name, amount, category, expense_date, description, " +
+            "is_recurring, recurring_transaction_id, created_at, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // (user_id, import_hash) is the only unique key these inserts can hit, so no conflict target is named
+    private static final String IMPORT_INCOME_SQL =
+            "INSERT INTO income (user_id, source, amount, category, income_date, description, is_recurring, " +
+            "import_hash, created_at, category_id) VALUES (?, ?, ?, ?, ?, ?, false, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String IMPORT_EXPENSE_SQL =
+            "INSERT INTO expenses (user_id, name, amount, category, expense_date, description, is_recurring, " +
+            "import_hash, created_at, category_id) VALUES (?, ?, ?, ?, ?, ?, false, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String UPDATE_INCOME_SQL =
+            "UPDATE income SET source = ?, amount = ?, category = ?, income_date = ?, description = ?, category_id = ? WHERE id = ? AND user_id = ?";
+
+    private static final String UPDATE_EXPENSE_SQL =
+            "UPDATE expenses SET name = ?, amount = ?, category = ?, expense_date = ?, description = ?, category_id = ? WHERE id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> insertIncomes(List<Income> incomes) {
+        return insert(INSERT_INCOME_SQL, incomes, (ps, income) -> {
+            ps.setLong(1, income.getUser().getId());
+            ps.setString(2, income.getSource());
+            ps.setBigDecimal(3, income.getAmount());
+            ps.setString(4, income.getCategory());
+            ps.setDate(5, Date.valueOf(income.getIncomeDate()));
+            ps.setString(6, income.getDescription());
+            ps.setBoolean(7, Boolean.TRUE.equals(income.getIsRecurring()));
+            ps.setObject(8, income.getRecurringTransactionId(), Types.BIGINT);
+            ps.setTimestamp(9, Timestamp.valueOf(income.getCreatedAt()));
+            ps.setObject(10, income.getCategoryId(), Types.BIGINT);
+        }, Income::setId);
+    }
+
+    public List<Long> insertExpenses(List<Expense> expenses) {
+        return insert(INSERT_EXPENSE_SQL, expenses, (ps, expense) -> {
+            ps.setLong(1, expense.getUser().getId());
+            ps.setString(2, expense.getName());
+            ps.setBigDecimal(3, expense.getAmount());
+            ps.setString(4, expense.getCategory());
+            ps.setDate(5, Date.valueOf(expense.getExpenseDate()));
+            ps.setString(6, expense.getDescription());
+            ps.setBoolean(7, Boolean.TRUE.equals(expense.getIsRecurring()));
+            ps.setObject(8, expense.getRecurringTransactionId(), Types.BIGINT);
+            ps.setTimestamp(9, Timestamp.valueOf(expense.getCreatedAt()));
+            ps.setObject(10, expense.getCategoryId(), Types.BIGINT);
+        }, Expense::setId);
+    }
+
+    /**
+     * Inserts imported rows, silently skipping any whose (user, import hash) already exists, and returns the ids
+     * of the rows actually inserted. Ids are not set on the entities because skipped rows would shift the
+     * generated key list.
+     */
+    public List<Long> insertImportedIncomes(List<Income> incomes) {
+        return insert(IMPORT_INCOME_SQL, incomes, (ps, income) -> {
+            ps.setLong(1, income.getUser().getId());
+            ps.setString(2, income.getSource());
+            ps.setBigDecimal(3, income.getAmount());
+            ps.setString(4, income.getCategory());
+            ps.setDate(5, Date.valueOf(income.getIncomeDate()));
+            ps.setString(6, income.getDescription());
+            ps.setLong(7, income.getImportHash());
+            ps.setTimestamp(8, Timestamp.valueOf(income.getCreatedAt()));
+            ps.setObject(9, income.getCategoryId(), Types.BIGINT);
+        }, null);
+    }
+
+    public List<Long> insertImportedExpenses(List<Expense> expenses) {
+        return insert(IMPORT_EXPENSE_SQL, expenses, (ps, expense) -> {
+            ps.setLong(1, expense.getUser().getId());
+            ps.setString(2, expense.getName());
+            ps.setBigDecimal(3, expense.getAmount());
+            ps.setString(4, expense.getCategory());
+            ps.setDate(5, Date.valueOf(expense.getExpenseDate()));
+            ps.setString(6, expense.getDescription());
+            ps.setLong(7, expense.getImportHash());
+            ps.setTimestamp(8, Timestamp.valueOf(expense.getCreatedAt()));
+            ps.setObject(9, expense.getCategoryId(), Types.BIGINT);
+        }, null);
+    }
+
+    /**
+     * Updates the editable columns of each income row and returns the affected row count per item. Rows only
+     * match when they belong to the user set on the entity.
+     */
+    public int[] updateIncomes(List<Income> incomes) {
+        return update(UPDATE_INCOME_SQL, incomes, (ps, income) -> {
+            ps.setString(1, income.getSource());
+            ps.setBigDecimal(2, income.getAmount());
+            ps.setString(3, income.getCategory());
+            ps.setDate(4, Date.valueOf(income.getIncomeDate()));
+            ps.setString(5, income.getDescription());
+            ps.setObject(6, income.getCategoryId(), Types.BIGINT);
+            ps.setLong(7, income.getId());
+            ps.setLong(8, income.getUser().getId());
+        });
+    }
+
+    public int[] updateExpenses(List<Expense> expenses) {
+        return update(UPDATE_EXPENSE_SQL, expenses, (ps, expense) -> {
+            ps.setString(1, expense.getName());
+            ps.setBigDecimal(2, expense.getAmount());
+            ps.setString(3, expense.getCategory());
+            ps.setDate(4, Date.valueOf(expense.getExpenseDate()));
+            ps.setString(5, expense.getDescription());
+            ps.setObject(6, expense.getCategoryId(), Types.BIGINT);
+            ps.setLong(7, expense.getId());
+            ps.setLong(8, expense.getUser().getId());
+        });
+    }
+
+    public int[] deleteIncomes(Long userId, List<Long> ids) {
+        return update("DELETE FROM income WHERE id = ? AND user_id = ?", ids, (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setLong(2, userId);
+        });
+    }
+
+    public int[] deleteExpenses(Long userId, List<Long> ids) {
+        return update("DELETE FROM expenses WHERE id = ? AND user_id = ?", ids, (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setLong(2, userId);
+        });
+    }
+
+    private <T> int[] update(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        int[] counts = new int[rows.size()];
+        int offset = 0;
+        for (int[] batch : jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, setter)) {
+            System.arraycopy(batch, 0, counts, offset, batch.length);
+            offset += batch.length;
+        }
+        return counts;
+    }
+
+    /**
+     * Inserts rows in chunks and returns the generated ids. When {@code idSetter} is given the ids are also
+     * written back to the rows, which requires every row to be inserted.
+     */
+    private <T> List<Long> insert(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter,
+                                  BiConsumer<T, Long> idSetter) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<T> chunk = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setter.setValues(ps, chunk.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < keys.size(); i++) {
+                long id = ((Number) keys.get(i).get("id")).longValue();
+                ids.add(id);
+                if (idSetter != null && i < chunk.size()) {
+                    idSetter.accept(chunk.get(i), id);
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -1,26 +1,24 @@
 package com.wealthwise.finance.repository;
 
 import com.wealthwise.finance.entity.MonthlyBalance;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MonthlyBalanceRepository extends JpaRepository<MonthlyBalance, Long> {
+    String PREVIOUS_CLOSING_BALANCE_SQL = "SELECT mb.closing_balance FROM monthly_balances mb WHERE mb.user_id = :userId " +
+            "AND mb.period < :period ORDER BY mb.period DESC LIMIT 1";
+
     Optional<MonthlyBalance> findByUserIdAndYearAndMonth(Long userId, Integer year, Integer month);
     
     List<MonthlyBalance> findByUserIdOrderByYearDescMonthDesc(Long userId);
     
-    @Query(value = "SELECT * FROM monthly_balances mb WHERE mb.user_id = :userId " +
-           "AND (mb.year < :year OR (mb.year = :year AND mb.month < :month)) " +
-           "ORDER BY mb.year DESC, mb.month DESC LIMIT 1", nativeQuery = true)
-    Optional<MonthlyBalance> findFirstByUserIdAndYearAndMonthBefore(@Param("userId") Long userId, 
-                                                                      @Param("year") Integer year, 
-                                                                      @Param("month") Integer month);
+    @Query(value = PREVIOUS_CLOSING_BALANCE_SQL, nativeQuery = true)
+    Optional<BigDecimal> findPreviousClosingBalance(@Param("userId") Long userId, @Param("period") Integer period);
 }
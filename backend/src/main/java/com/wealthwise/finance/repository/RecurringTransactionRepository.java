@@ -1,11 +1,14 @@
 package com.wealthwise.finance.repository;
 
 import com.wealthwise.finance.entity.RecurringTransaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -15,4 +18,15 @@ public interface RecurringTransactionRepository extends JpaRepository<RecurringT
     
     @Query("SELECT rt FROM RecurringTransaction rt WHERE rt.user.id = :userId AND rt.type = :type AND rt.isActive = true")
     List<RecurringTransaction> findByUserIdAndTypeAndActive(@Param("userId") Long userId, @Param("type") RecurringTransaction.TransactionType type);
+
+    @Query("SELECT rt FROM RecurringTransaction rt WHERE rt.isActive = true AND rt.id > :afterId ORDER BY rt.id")
+    List<RecurringTransaction> findActiveAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT MIN(rt.materializedThrough) FROM RecurringTransaction rt WHERE rt.isActive = true " +
+           "AND (rt.endDate IS NULL OR rt.endDate > rt.materializedThrough)")
+    LocalDate findOldestMaterializedThrough();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RecurringTransaction rt SET rt.category = :name, rt.categoryId = null WHERE rt.categoryId = :categoryId")
+    int detachCategory(@Param("categoryId") Long categoryId, @Param("name") String name);
 }
@@ -0,0 +1,43 @@
+package com.wealthwise.finance.repository;
+
+import com.wealthwise.finance.dto.SpendingMatrixDto.Bucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aggregates expenses in the database so analytics never ship individual transactions to the client.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SpendingAnalyticsRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sums the user's expenses in [from, to] per bucket and, when {@code byCategory} is set, per category. Rows
+     * without a category_id, including those whose category was deleted, form a single uncategorized group with a
+     * null category id, matching the uncategorized cell of the category rollup.
+     */
+    public List<Cell> sumByBucket(Long userId, LocalDate from, LocalDate to, Bucket bucket, boolean byCategory) {
+        String category = byCategory ? "e.category_id" : "CAST(NULL AS BIGINT)";
+        String sql = "SELECT CAST(date_trunc(?, CAST(e.expense_date AS TIMESTAMP)) AS DATE), " + category + ", " +
+                "SUM(e.amount), COUNT(*) FROM expenses e " +
+                "WHERE e.user_id = ? AND e.expense_date BETWEEN ? AND ? " +
+                "GROUP BY 1, 2";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Cell(
+                        rs.getDate(1).toLocalDate(),
+                        rs.getObject(2, Long.class),
+                        rs.getBigDecimal(3),
+                        rs.getLong(4)),
+                bucket.name().toLowerCase(Locale.ROOT), userId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public record Cell(LocalDate bucket, Long categoryId, BigDecimal amount, long count) {
+    }
+}
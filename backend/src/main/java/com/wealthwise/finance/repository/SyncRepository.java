@@ -0,0 +1,119 @@
+package com.wealthwise.finance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the change versions stamped by the change tracking triggers. Every write to a synced table stamps the
+ * row with the owning user's next change version (one version per user and transaction, taken under the lock of
+ * the users row so versions become visible in order), and every delete leaves a row in sync_tombstones.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The user's latest committed change version and the highest tombstone version purged so far, or null for
+     * an unknown user.
+     */
+    public Versions findVersions(Long userId) {
+        List<Versions> versions = jdbcTemplate.query(
+                "SELECT change_version, sync_floor FROM users WHERE id = ?",
+                (rs, rowNum) -> new Versions(rs.getLong(1), rs.getLong(2)), userId);
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    /**
+     * Returns the {@code (offset + 1)}-th smallest change version after {@code since} across every synced table
+     * and the tombstones, counting one per changed row, or null when there are no more than {@code offset}.
+     */
+    public Long findVersionAt(Long userId, long since, int offset) {
+        List<Object> args = new ArrayList<>();
+        List<String> branches = new ArrayList<>();
+        for (SyncTable table : SyncTable.values()) {
+            branches.add("(SELECT change_version FROM " + table.getTable() + " WHERE user_id = ? AND change_version > ? " +
+                    "ORDER BY change_version LIMIT ?)");
+            args.addAll(List.of(userId, since, offset + 1));
+        }
+        branches.add("(SELECT change_version FROM sync_tombstones WHERE user_id = ? AND change_version > ? " +
+                "ORDER BY change_version LIMIT ?)");
+        args.addAll(List.of(userId, since, offset + 1));
+        args.add(offset);
+
+        List<Long> versions = jdbcTemplate.queryForList("SELECT change_version FROM (" +
+                String.join(" UNION ALL ", branches) + ") v ORDER BY change_version LIMIT 1 OFFSET ?",
+                Long.class, args.toArray());
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    public List<Long> findChangedIds(SyncTable table, Long userId, long since, long upTo) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table.getTable() +
+                " WHERE user_id = ? AND change_version > ? AND change_version <= ? ORDER BY change_version, id",
+                Long.class, userId, since, upTo);
+    }
+
+    public List<Tombstone> findTombstones(Long userId, long since, long upTo) {
+        return jdbcTemplate.query("SELECT entity_type, entity_id FROM sync_tombstones " +
+                        "WHERE user_id = ? AND change_version > ? AND change_version <= ? ORDER BY change_version, id",
+                (rs, rowNum) -> new Tombstone(rs.getString(1), rs.getLong(2)), userId, since, upTo);
+    }
+
+    /**
+     * Deletes tombstones recorded before {@code cutoff} and raises each affected user's sync floor to the highest
+     * purged version, so clients syncing from before it know they missed deletes. Returns the rows purged.
+     */
+    public int purgeTombstones(LocalDateTime cutoff) {
+        Integer purged = jdbcTemplate.queryForObject(
+                "WITH purged AS (DELETE FROM sync_tombstones WHERE deleted_at < ? RETURNING user_id, change_version), " +
+                "floors AS (SELECT user_id, MAX(change_version) AS version, COUNT(*) AS purged FROM purged GROUP BY user_id), " +
+                "raised AS (UPDATE users u SET sync_floor = GREATEST(u.sync_floor, f.version) FROM floors f " +
+                "WHERE u.id = f.user_id RETURNING 1) " +
+                "SELECT CAST(COALESCE(SUM(purged), 0) AS INTEGER) FROM floors",
+                Integer.class, Timestamp.valueOf(cutoff));
+        return purged != null ? purged : 0;
+    }
+
+    /**
+     * Tables whose rows are delta-synced, keyed by the name used in sync responses and tombstones.
+     */
+    public enum SyncTable {
+        INCOME("income", "income"),
+        EXPENSES("expenses", "expenses"),
+        RECURRING("recurring", "recurring_transactions"),
+        TRADES("trades", "trades"),
+        GOALS("goals", "goals"),
+        ASSETS("assets", "assets"),
+        BUDGETS("budgets", "budgets"),
+        CATEGORIES("categories", "categories"),
+        NET_WORTH("netWorth", "net_worth");
+
+        private final String key;
+        private final String table;
+
+        SyncTable(String key, String table) {
+            this.key = key;
+            this.table = table;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getTable() {
+            return table;
+        }
+    }
+
+    public record Versions(long current, long floor) {
+    }
+
+    public record Tombstone(String entityType, long entityId) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.wealthwise.finance.repository;
+
+import com.wealthwise.finance.dto.TradeFilterDto;
+import com.wealthwise.finance.entity.TransactionTag;
+import com.wealthwise.finance.model.Trade;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JPA specifications behind the filter endpoints. Every filter starts with the owning user, so each query is
+ * served from one of the (user_id, ...) composite indexes declared on the entities:
+ * <ul>
+ *     <li>(user_id, date, id) for date ranges and the default newest-first order,</li>
+ *     <li>(user_id, category_id, date) for category sets, optionally with a date range,</li>
+ *     <li>(user_id, amount) for amount ranges and amount ordering.</li>
+ * </ul>
+ * Amount and recurring predicates are applied as residual filters on whichever index is chosen. Tag criteria
+ * usually arrive already evaluated against the in-memory tag bitmaps as a list of row ids.
+ */
+public final class TransactionFilters {
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private TransactionFilters() {
+    }
+
+    /**
+     * Filter over income or expenses. {@code dateField} names the entity's date attribute. Category names that
+     * did not resolve to an id still match rows without a category reference by their stored text.
+     */
+    public static <T> Specification<T> ledger(Long userId, String dateField, Collection<Long> categoryIds,
+                                              Collection<String> unresolvedCategories, BigDecimal minAmount,
+                                              BigDecimal maxAmount, LocalDate from, LocalDate to, Boolean recurring) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (!categoryIds.isEmpty() || !unresolvedCategories.isEmpty()) {
+                List<Predicate> categories = new ArrayList<>();
+                if (!categoryIds.isEmpty()) {
+                    categories.add(root.get("categoryId").in(categoryIds));
+                }
+                if (!unresolvedCategories.isEmpty()) {
+                    categories.add(cb.and(cb.isNull(root.get("categoryId")),
+                            cb.lower(root.get("category")).in(lowerCase(unresolvedCategories))));
+                }
+                predicates.add(cb.or(categories.toArray(new Predicate[0])));
+            }
+            if (minAmount != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), minAmount));
+            }
+            if (maxAmount != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), maxAmount));
+            }
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get(dateField), from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get(dateField), to));
+            }
+            if (recurring != null) {
+                predicates.add(recurring
+                        ? cb.isTrue(root.get("isRecurring"))
+                        : cb.or(cb.isNull(root.get("isRecurring")), cb.isFalse(root.get("isRecurring"))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Trade> trades(Long userId, TradeFilterDto filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("userId"), userId));
+            if (filter.getAssets() != null && !filter.getAssets().isEmpty()) {
+                predicates.add(root.get("assetName").in(filter.getAssets()));
+            }
+            if (filter.getOrderType() != null && !filter.getOrderType().isBlank()) {
+                predicates.add(cb.equal(root.get("orderType"), filter.getOrderType().toUpperCase(Locale.ROOT)));
+            }
+            if (filter.getSessions() != null && !filter.getSessions().isEmpty()) {
+                predicates.add(root.get("session").in(filter.getSessions()));
+            }
+            if (filter.getStrategyTags() != null && !filter.getStrategyTags().isEmpty()) {
+                predicates.add(root.get("strategyTag").in(filter.getStrategyTags()));
+            }
+            if (filter.getMinProfit() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("profitLoss"), filter.getMinProfit()));
+            }
+            if (filter.getMaxProfit() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("profitLoss"), filter.getMaxProfit()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("tradeDate"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("tradeDate"), filter.getTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Restricts rows to {@code ids}, or excludes them when {@code exclude} is set.
+     */
+    public static <T> Specification<T> ids(long[] ids, boolean exclude) {
+        List<Long> values = Arrays.stream(ids).boxed().toList();
+        return (root, query, cb) -> {
+            if (values.isEmpty()) {
+                return exclude ? cb.conjunction() : cb.disjunction();
+            }
+            return exclude ? cb.not(root.get("id").in(values)) : root.get("id").in(values);
+        };
+    }
+
+    /**
+     * Rows of {@code target} carrying every tag of {@code all}, one of {@code any} and none of {@code none},
+     * evaluated by the database against transaction_tags. Used when a tag match has too many ids to send as a
+     * parameter list.
+     */
+    public static <T> Specification<T> tagged(TransactionTag.Target target, Collection<String> all,
+                                              Collection<String> any, Collection<String> none) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (String tag : all) {
+                predicates.add(cb.exists(tagSubquery(root, query, cb, target, List.of(tag))));
+            }
+            if (!any.isEmpty()) {
+                predicates.add(cb.exists(tagSubquery(root, query, cb, target, any)));
+            }
+            if (!none.isEmpty()) {
+                predicates.add(cb.not(cb.exists(tagSubquery(root, query, cb, target, none))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Builds the page request for a filter endpoint. {@code sort} is "date" or "amount"; ties are broken by id
+     * in the same direction so pages are stable.
+     */
+    public static PageRequest pageRequest(int page, int size, String sort, String direction,
+                                          String dateField, String amountField) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String property = switch (sort.toLowerCase(Locale.ROOT)) {
+            case "date" -> dateField;
+            case "amount" -> amountField;
+            default -> throw new IllegalArgumentException("Unsupported sort '" + sort + "', expected date or amount");
+        };
+        Sort.Direction order = switch (direction.toLowerCase(Locale.ROOT)) {
+            case "asc" -> Sort.Direction.ASC;
+            case "desc" -> Sort.Direction.DESC;
+            default -> throw new IllegalArgumentException("Unsupported direction '" + direction + "', expected asc or desc");
+        };
+        return PageRequest.of(page, size, Sort.by(order, property).and(Sort.by(order, "id")));
+    }
+
+    private static Subquery<Long> tagSubquery(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                              TransactionTag.Target target, Collection<String> tags) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<TransactionTag> tag = subquery.from(TransactionTag.class);
+        return subquery.select(tag.get("targetId")).where(
+                cb.equal(tag.get("target"), target),
+                cb.equal(tag.get("targetId"), root.get("id")),
+                tag.get("tag").in(tags));
+    }
+
+    private static List<String> lowerCase(Collection<String> values) {
+        return values.stream().map(value -> value.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+}
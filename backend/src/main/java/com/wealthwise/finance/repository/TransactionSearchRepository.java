@@ -0,0 +1,92 @@
+package com.wealthwise.finance.repository;
+
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL search over income and expense texts. The document of a row is its title (source or name) plus
+ * its description; the expressions below must stay identical to the GIN indexes created by
+ * {@link com.wealthwise.finance.config.DatabaseMigrationRunner} for the planner to use them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionSearchRepository {
+    public static final String INCOME_DOCUMENT = "coalesce(source, '') || ' ' || coalesce(description, '')";
+    public static final String EXPENSE_DOCUMENT = "coalesce(name, '') || ' ' || coalesce(description, '')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns up to {@code limit} hits ordered by (score, date, type, id) descending, strictly after
+     * {@code after} when given. A row matches when its tsvector matches every term as a prefix or, with
+     * {@code fuzzy}, when the query is trigram-similar to a word sequence of the row.
+     */
+    public List<Hit> search(Long userId, String prefixQuery, String rawQuery, boolean fuzzy, Hit after, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT type, id, entry_date, title, description, category_id, category, amount, score FROM (");
+        sql.append(branch("INCOME", "income", "income_date", "source", INCOME_DOCUMENT, fuzzy, userId, prefixQuery, rawQuery, args));
+        sql.append(" UNION ALL ");
+        sql.append(branch("EXPENSE", "expenses", "expense_date", "name", EXPENSE_DOCUMENT, fuzzy, userId, prefixQuery, rawQuery, args));
+        sql.append(") s");
+        if (after != null) {
+            sql.append(" WHERE (s.score, s.entry_date, s.type, s.id) < (CAST(? AS REAL), ?, ?, ?)");
+            args.add(after.score());
+            args.add(Date.valueOf(after.date()));
+            args.add(after.type().name());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY s.score DESC, s.entry_date DESC, s.type DESC, s.id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new Hit(
+                TransactionType.valueOf(rs.getString(1)),
+                rs.getLong(2),
+                rs.getDate(3).toLocalDate(),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getObject(6, Long.class),
+                rs.getString(7),
+                rs.getBigDecimal(8),
+                rs.getFloat(9)), args.toArray());
+    }
+
+    public boolean hasTrigramSupport() {
+        Integer installed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class);
+        return installed != null && installed > 0;
+    }
+
+    private static String branch(String type, String table, String dateColumn, String titleColumn, String document,
+                                 boolean fuzzy, Long userId, String prefixQuery, String rawQuery, List<Object> args) {
+        String tsvector = "to_tsvector('simple', " + document + ")";
+        String lowered = "lower(" + document + ")";
+        String score = "ts_rank(" + tsvector + ", to_tsquery('simple', ?))" +
+                (fuzzy ? " + word_similarity(?, " + lowered + ")" : "");
+        String match = tsvector + " @@ to_tsquery('simple', ?)" + (fuzzy ? " OR ? <% " + lowered : "");
+
+        args.add(prefixQuery);
+        if (fuzzy) {
+            args.add(rawQuery);
+        }
+        args.add(userId);
+        args.add(prefixQuery);
+        if (fuzzy) {
+            args.add(rawQuery);
+        }
+        return "SELECT CAST('" + type + "' AS VARCHAR(10)) AS type, id, " + dateColumn + " AS entry_date, " +
+                titleColumn + " AS title, description, category_id, category, amount, CAST(" + score + " AS REAL) AS score " +
+                "FROM " + table + " WHERE user_id = ? AND (" + match + ")";
+    }
+
+    public record Hit(TransactionType type, long id, LocalDate date, String title, String description,
+                      Long categoryId, String category, BigDecimal amount, float score) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.wealthwise.finance.repository;
+
+import com.wealthwise.finance.entity.TransactionTag;
+import com.wealthwise.finance.entity.TransactionTag.Target;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TransactionTagRepository extends JpaRepository<TransactionTag, Long> {
+    List<TransactionTag> findByTargetAndTargetIdOrderByTag(Target target, Long targetId);
+
+    /**
+     * (target id, tag) pairs of every tag the user put on rows of {@code target}, in target id order.
+     */
+    @Query("SELECT t.targetId, t.tag FROM TransactionTag t WHERE t.userId = :userId AND t.target = :target ORDER BY t.targetId")
+    List<Object[]> findPairs(@Param("userId") Long userId, @Param("target") Target target);
+
+    @Query("SELECT DISTINCT t.userId FROM TransactionTag t WHERE t.target = :target AND t.targetId IN :targetIds")
+    List<Long> findUserIds(@Param("target") Target target, @Param("targetIds") Collection<Long> targetIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TransactionTag t WHERE t.target = :target AND t.targetId IN :targetIds")
+    int deleteByTargetIds(@Param("target") Target target, @Param("targetIds") Collection<Long> targetIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM transaction_tags WHERE target_type = 'INCOME' AND target_id IN " +
+            "(SELECT id FROM income WHERE recurring_transaction_id = :recurringTransactionId)", nativeQuery = true)
+    int deleteRecurringIncomeTags(@Param("recurringTransactionId") Long recurringTransactionId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM transaction_tags WHERE target_type = 'EXPENSE' AND target_id IN " +
+            "(SELECT id FROM expenses WHERE recurring_transaction_id = :recurringTransactionId)", nativeQuery = true)
+    int deleteRecurringExpenseTags(@Param("recurringTransactionId") Long recurringTransactionId);
+}
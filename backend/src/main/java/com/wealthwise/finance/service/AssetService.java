@@ -5,8 +5,10 @@ import com.wealthwise.finance.entity.Asset;
 import com.wealthwise.finance.entity.User;
 import com.wealthwise.finance.repository.AssetRepository;
 import com.wealthwise.finance.repository.UserRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -23,14 +25,23 @@ public class AssetService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReadCache readCache;
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<AssetDto> getAssetsByUserId(Long userId) {
-        List<Asset> assets = assetRepository.findByUserId(userId);
-        return assets.stream().map(this::convertToDto).collect(Collectors.toList());
+        return readCache.get(userId, Domain.ASSETS, "assets", () -> {
+            List<Asset> assets = assetRepository.findByUserId(userId);
+            return assets.stream().map(this::convertToDto).collect(Collectors.toList());
+        });
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<AssetDto> getAssetsByUserIdAndType(Long userId, Boolean isAsset) {
-        List<Asset> assets = assetRepository.findByUserIdAndIsAsset(userId, isAsset);
-        return assets.stream().map(this::convertToDto).collect(Collectors.toList());
+        return readCache.get(userId, Domain.ASSETS, "assets-by-type", () -> {
+            List<Asset> assets = assetRepository.findByUserIdAndIsAsset(userId, isAsset);
+            return assets.stream().map(this::convertToDto).collect(Collectors.toList());
+        }, isAsset);
     }
 
     public AssetDto getAssetById(Long id) {
@@ -76,23 +87,30 @@ public class AssetService {
         assetRepository.deleteById(id);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getTotalAssets(Long userId) {
-        BigDecimal total = assetRepository.getTotalAssetsByUserId(userId);
-        return total != null ? total : BigDecimal.ZERO;
+        return readCache.get(userId, Domain.ASSETS, "total-assets", () -> {
+            BigDecimal total = assetRepository.getTotalAssetsByUserId(userId);
+            return total != null ? total : BigDecimal.ZERO;
+        });
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getTotalLiabilities(Long userId) {
-        BigDecimal total = assetRepository.getTotalLiabilitiesByUserId(userId);
-        return total != null ? total : BigDecimal.ZERO;
+        return readCache.get(userId, Domain.ASSETS, "total-liabilities", () -> {
+            BigDecimal total = assetRepository.getTotalLiabilitiesByUserId(userId);
+            return total != null ? total : BigDecimal.ZERO;
+        });
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getNetWorth(Long userId) {
         BigDecimal assets = getTotalAssets(userId);
         BigDecimal liabilities = getTotalLiabilities(userId);
         return assets.subtract(liabilities);
     }
 
-    private AssetDto convertToDto(Asset asset) {
+    AssetDto convertToDto(Asset asset) {
         return new AssetDto(
                 asset.getId(),
                 asset.getUser().getId(),
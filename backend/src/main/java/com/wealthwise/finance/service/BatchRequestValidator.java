@@ -0,0 +1,75 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.User;
+import com.wealthwise.finance.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shared up-front checks for the income/expense batch endpoints: bean validation of every row plus a single
+ * existence query for all referenced users, which are then handed out as lazy references.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchRequestValidator {
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private final Validator validator;
+    private final UserRepository userRepository;
+
+    public void checkSize(List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (rows.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must not contain more than " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    /**
+     * Returns the validation errors per row index. Rows that reference an unknown user are reported as well.
+     */
+    public <T> Map<Integer, List<String>> validate(List<T> rows, Function<T, Long> userIdOf) {
+        Map<Integer, List<String>> errors = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            T row = rows.get(i);
+            if (row == null) {
+                errors.put(i, List.of("Item is required"));
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                List<String> messages = new ArrayList<>(violations.size());
+                for (ConstraintViolation<T> violation : violations) {
+                    messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+                errors.put(i, messages);
+            } else {
+                userIds.add(userIdOf.apply(row));
+            }
+        }
+
+        Set<Long> knownUsers = userIds.isEmpty() ? Set.of() : userRepository.findExistingIds(userIds);
+        for (int i = 0; i < rows.size(); i++) {
+            if (!errors.containsKey(i) && !knownUsers.contains(userIdOf.apply(rows.get(i)))) {
+                errors.put(i, List.of("User not found with id: " + userIdOf.apply(rows.get(i))));
+            }
+        }
+        return errors;
+    }
+
+    public User userReference(Long userId) {
+        return userRepository.getReferenceById(userId);
+    }
+}
@@ -6,8 +6,10 @@ import com.wealthwise.finance.entity.User;
 import com.wealthwise.finance.exception.ResourceNotFoundException;
 import com.wealthwise.finance.repository.BudgetRepository;
 import com.wealthwise.finance.repository.UserRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -20,12 +22,14 @@ import java.util.stream.Collectors;
 public class BudgetService {
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
+    private final ReadCache readCache;
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BudgetDto> getAllBudgetsByUser(Long userId) {
-        return budgetRepository.findByUserIdOrderByMonthYearDesc(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return readCache.get(userId, Domain.BUDGETS, "budgets", () ->
+                budgetRepository.findByUserIdOrderByMonthYearDesc(userId).stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()));
     }
 
     @Transactional(readOnly = true)
@@ -72,7 +76,7 @@ public class BudgetService {
         budgetRepository.deleteById(id);
     }
 
-    private BudgetDto convertToDto(Budget budget) {
+    BudgetDto convertToDto(Budget budget) {
         BudgetDto dto = new BudgetDto();
         dto.setId(budget.getId());
         dto.setUserId(budget.getUser().getId());
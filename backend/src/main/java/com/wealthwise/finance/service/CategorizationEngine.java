@@ -0,0 +1,227 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.CategorizationRule;
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.repository.CategorizationRuleRepository;
+import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import com.wealthwise.finance.service.InvalidationBus.DataChange;
+import com.wealthwise.finance.util.AhoCorasick;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles a user's categorization rules into a {@link Categorizer} and caches it until the rules or the
+ * user's categories change. Rule and category writes bump the ledger version, so other nodes drop their compiled
+ * rules when the change arrives over the {@link InvalidationBus}.
+ */
+@Component
+public class CategorizationEngine {
+    private static final int MIN_LITERAL_LENGTH = 3;
+
+    private final CategorizationRuleRepository categorizationRuleRepository;
+    private final CategoryRepository categoryRepository;
+
+    private final Map<Long, Categorizer> categorizers = new ConcurrentHashMap<>();
+
+    public CategorizationEngine(CategorizationRuleRepository categorizationRuleRepository,
+                                CategoryRepository categoryRepository,
+                                InvalidationBus invalidationBus) {
+        this.categorizationRuleRepository = categorizationRuleRepository;
+        this.categoryRepository = categoryRepository;
+        invalidationBus.subscribe(this::evict);
+    }
+
+    public Categorizer forUser(Long userId) {
+        return categorizers.computeIfAbsent(userId, this::compile);
+    }
+
+    /**
+     * Drops the compiled rules of a user now and again after the current transaction commits, so a concurrent
+     * reader cannot cache the pre-commit state.
+     */
+    public void invalidate(Long userId) {
+        categorizers.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categorizers.remove(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(DataChange change) {
+        categorizers.keySet().removeIf(userId -> change.affects(userId, Domain.LEDGER));
+    }
+
+    private Categorizer compile(Long userId) {
+        Map<Long, Category> categories = categoryRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<CompiledRule> rules = new ArrayList<>();
+        AhoCorasick.Builder builder = new AhoCorasick.Builder();
+        List<Integer> unindexed = new ArrayList<>();
+        for (CategorizationRule rule : categorizationRuleRepository.findByUserIdOrderByPriorityAscIdAsc(userId)) {
+            Category category = categories.get(rule.getCategoryId());
+            if (category == null) {
+                continue;
+            }
+            int index = rules.size();
+            Pattern regex = rule.getMatchType() == CategorizationRule.MatchType.REGEX
+                    ? Pattern.compile(rule.getPattern(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+                    : null;
+            rules.add(new CompiledRule(category.getName(), category.getType(), regex, rule.getMinAmount(), rule.getMaxAmount()));
+
+            String literal = switch (rule.getMatchType()) {
+                case KEYWORD -> rule.getPattern();
+                case REGEX -> requiredLiteral(rule.getPattern());
+                case AMOUNT -> null;
+            };
+            if (literal != null && !literal.isBlank()) {
+                builder.add(literal, index);
+            } else {
+                unindexed.add(index);
+            }
+        }
+
+        return new Categorizer(rules.toArray(new CompiledRule[0]), builder.build(),
+                unindexed.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Returns the longest literal run that every match of {@code regex} must contain, or null when none can be
+     * derived safely (alternations, or only short/optional literals). Text inside groups and classes is never
+     * used, and a character followed by an optional quantifier is dropped from its run.
+     */
+    static String requiredLiteral(String regex) {
+        if (regex.indexOf('|') >= 0) {
+            return null;
+        }
+        String best = "";
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+                best = longer(best, run);
+                continue;
+            }
+            if (c == '(' || c == '[') {
+                best = longer(best, run);
+                depth++;
+                continue;
+            }
+            if (c == ')' || c == ']') {
+                depth = Math.max(0, depth - 1);
+                continue;
+            }
+            if (depth > 0) {
+                continue;
+            }
+            if (c == '?' || c == '*' || c == '{') {
+                if (!run.isEmpty()) {
+                    run.setLength(run.length() - 1);
+                }
+                best = longer(best, run);
+                if (c == '{') {
+                    i = Math.max(i, regex.indexOf('}', i));
+                }
+                continue;
+            }
+            if (c == '.' || c == '^' || c == '$' || c == '+') {
+                best = longer(best, run);
+                continue;
+            }
+            run.append(c);
+        }
+        best = longer(best, run);
+        return best.length() >= MIN_LITERAL_LENGTH ? best : null;
+    }
+
+    private static String longer(String best, StringBuilder run) {
+        String candidate = run.toString();
+        run.setLength(0);
+        return candidate.length() > best.length() ? candidate : best;
+    }
+
+    private record CompiledRule(String categoryName, String categoryType, Pattern regex,
+                                BigDecimal minAmount, BigDecimal maxAmount) {
+    }
+
+    /**
+     * A user's rules, ordered by priority. Keywords and the required literals of regex rules live in one
+     * Aho–Corasick automaton, so a description is scanned once whatever the number of rules; regexes are only
+     * evaluated for rules whose literal occurred. Rules without a usable literal are checked directly.
+     */
+    public static class Categorizer {
+        private final CompiledRule[] rules;
+        private final AhoCorasick automaton;
+        private final int[] unindexed;
+
+        private Categorizer(CompiledRule[] rules, AhoCorasick automaton, int[] unindexed) {
+            this.rules = rules;
+            this.automaton = automaton;
+            this.unindexed = unindexed;
+        }
+
+        /**
+         * Returns the category name of the highest-priority matching rule, or null. {@code amount} is signed:
+         * positive amounts only match income categories, negative ones expense categories.
+         */
+        public String categorize(String description, BigDecimal amount) {
+            if (rules.length == 0) {
+                return null;
+            }
+            String text = description != null ? description : "";
+            String type = amount.signum() > 0 ? "INCOME" : "EXPENSE";
+            BigDecimal magnitude = amount.abs();
+
+            int[] best = {Integer.MAX_VALUE};
+            automaton.forEachMatch(text, index -> {
+                if (index < best[0] && accepts(rules[index], text, type, magnitude)) {
+                    best[0] = index;
+                }
+            });
+            for (int index : unindexed) {
+                if (index >= best[0]) {
+                    break;
+                }
+                if (accepts(rules[index], text, type, magnitude)) {
+                    best[0] = index;
+                    break;
+                }
+            }
+            return best[0] == Integer.MAX_VALUE ? null : rules[best[0]].categoryName();
+        }
+
+        public int size() {
+            return rules.length;
+        }
+
+        private boolean accepts(CompiledRule rule, String text, String type, BigDecimal magnitude) {
+            if (!type.equalsIgnoreCase(rule.categoryType())) {
+                return false;
+            }
+            if (rule.minAmount() != null && magnitude.compareTo(rule.minAmount()) < 0) {
+                return false;
+            }
+            if (rule.maxAmount() != null && magnitude.compareTo(rule.maxAmount()) > 0) {
+                return false;
+            }
+            return rule.regex() == null || rule.regex().matcher(text).find();
+        }
+    }
+}
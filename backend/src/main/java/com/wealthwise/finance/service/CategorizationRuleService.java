@@ -0,0 +1,143 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.CategorizationRuleDto;
+import com.wealthwise.finance.entity.CategorizationRule;
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.exception.ResourceNotFoundException;
+import com.wealthwise.finance.repository.CategorizationRuleRepository;
+import com.wealthwise.finance.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CategorizationRuleService {
+    private final CategorizationRuleRepository categorizationRuleRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategorizationEngine categorizationEngine;
+
+    @Transactional(readOnly = true)
+    public List<CategorizationRuleDto> getRulesByUser(Long userId) {
+        Map<Long, Category> categories = categoryRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        return categorizationRuleRepository.findByUserIdOrderByPriorityAscIdAsc(userId).stream()
+                .map(rule -> convertToDto(rule, categories.get(rule.getCategoryId())))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public CategorizationRuleDto getRuleById(Long id) {
+        CategorizationRule rule = findRule(id);
+        return convertToDto(rule, categoryRepository.findById(rule.getCategoryId()).orElse(null));
+    }
+
+    @Transactional
+    public CategorizationRuleDto createRule(CategorizationRuleDto dto) {
+        Category category = validate(dto);
+        CategorizationRule rule = new CategorizationRule();
+        rule.setUserId(dto.getUserId());
+        apply(rule, dto);
+        CategorizationRule saved = categorizationRuleRepository.save(rule);
+        categorizationEngine.invalidate(saved.getUserId());
+        return convertToDto(saved, category);
+    }
+
+    @Transactional
+    public CategorizationRuleDto updateRule(Long id, CategorizationRuleDto dto) {
+        CategorizationRule rule = findRule(id);
+        dto.setUserId(rule.getUserId());
+        Category category = validate(dto);
+        apply(rule, dto);
+        CategorizationRule updated = categorizationRuleRepository.save(rule);
+        categorizationEngine.invalidate(updated.getUserId());
+        return convertToDto(updated, category);
+    }
+
+    @Transactional
+    public void deleteRule(Long id) {
+        CategorizationRule rule = findRule(id);
+        categorizationRuleRepository.delete(rule);
+        categorizationEngine.invalidate(rule.getUserId());
+    }
+
+    /**
+     * Runs the user's compiled rules against a sample description/amount, e.g. to preview a new rule.
+     */
+    @Transactional(readOnly = true)
+    public String categorize(Long userId, String description, BigDecimal amount) {
+        return categorizationEngine.forUser(userId).categorize(description, amount);
+    }
+
+    private CategorizationRule findRule(Long id) {
+        return categorizationRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Categorization rule not found with id: " + id));
+    }
+
+    private Category validate(CategorizationRuleDto dto) {
+        Category category = categoryRepository.findById(dto.getCategoryId())
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + dto.getCategoryId()));
+        if (!category.getUserId().equals(dto.getUserId())) {
+            throw new IllegalArgumentException("Category " + dto.getCategoryId() + " does not belong to user " + dto.getUserId());
+        }
+
+        boolean hasPattern = dto.getPattern() != null && !dto.getPattern().isBlank();
+        switch (dto.getMatchType()) {
+            case KEYWORD -> {
+                if (!hasPattern) {
+                    throw new IllegalArgumentException("Keyword rules need a pattern");
+                }
+            }
+            case REGEX -> {
+                if (!hasPattern) {
+                    throw new IllegalArgumentException("Regex rules need a pattern");
+                }
+                try {
+                    Pattern.compile(dto.getPattern());
+                } catch (PatternSyntaxException ex) {
+                    throw new IllegalArgumentException("Invalid regex: " + ex.getDescription());
+                }
+            }
+            case AMOUNT -> {
+                if (dto.getMinAmount() == null && dto.getMaxAmount() == null) {
+                    throw new IllegalArgumentException("Amount rules need a minimum or maximum amount");
+                }
+            }
+        }
+        if (dto.getMinAmount() != null && dto.getMaxAmount() != null && dto.getMinAmount().compareTo(dto.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("Minimum amount must not exceed maximum amount");
+        }
+        return category;
+    }
+
+    private void apply(CategorizationRule rule, CategorizationRuleDto dto) {
+        rule.setCategoryId(dto.getCategoryId());
+        rule.setMatchType(dto.getMatchType());
+        rule.setPattern(dto.getMatchType() == CategorizationRule.MatchType.AMOUNT ? null : dto.getPattern());
+        rule.setMinAmount(dto.getMinAmount());
+        rule.setMaxAmount(dto.getMaxAmount());
+        rule.setPriority(dto.getPriority() != null ? dto.getPriority() : 0);
+    }
+
+    private CategorizationRuleDto convertToDto(CategorizationRule rule, Category category) {
+        CategorizationRuleDto dto = new CategorizationRuleDto();
+        dto.setId(rule.getId());
+        dto.setUserId(rule.getUserId());
+        dto.setCategoryId(rule.getCategoryId());
+        dto.setCategoryName(category != null ? category.getName() : null);
+        dto.setMatchType(rule.getMatchType());
+        dto.setPattern(rule.getPattern());
+        dto.setMinAmount(rule.getMinAmount());
+        dto.setMaxAmount(rule.getMaxAmount());
+        dto.setPriority(rule.getPriority());
+        return dto;
+    }
+}
@@ -0,0 +1,195 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import com.wealthwise.finance.service.InvalidationBus.DataChange;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached per-user view of the categories table: id to name for rendering ledger rows, and (type, name) to id
+ * for resolving the category names clients send. Ledger rows store the category id, so a rename only has to
+ * invalidate this cache instead of rewriting rows. Category writes bump the ledger version, and a user's entry is
+ * dropped on every node when such a change arrives over the {@link InvalidationBus}.
+ * <p>
+ * Categories created by {@link #resolveId} inside a transaction stay bound to that transaction and only reach the
+ * shared cache after it commits, so no other transaction can reference a category that may still roll back.
+ */
+@Component
+public class CategoryDirectory {
+    private final CategoryRepository categoryRepository;
+
+    private final Map<Long, UserCategories> byUser = new ConcurrentHashMap<>();
+
+    public CategoryDirectory(CategoryRepository categoryRepository, InvalidationBus invalidationBus) {
+        this.categoryRepository = categoryRepository;
+        invalidationBus.subscribe(this::evict);
+    }
+
+    /**
+     * Returns the current name of {@code categoryId}, or {@code fallback} (the stored text) when the row has no
+     * category reference.
+     */
+    public String nameOf(Long userId, Long categoryId, String fallback) {
+        if (categoryId == null) {
+            return fallback;
+        }
+        String name = categoriesOf(userId).names().get(categoryId);
+        if (name == null) {
+            Category created = createdInTransaction(userId, categoryId);
+            name = created != null ? created.getName() : null;
+        }
+        return name != null ? name : fallback;
+    }
+
+    /**
+     * Returns the id of the user's category with this type and name (case-insensitive), creating the category
+     * when it does not exist yet.
+     */
+    public Long resolveId(Long userId, String type, String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String key = key(type, name);
+        Map<String, Category> pending = createdInTransaction(userId);
+        if (pending != null && pending.containsKey(key)) {
+            return pending.get(key).getId();
+        }
+        Long id = categoriesOf(userId).ids().get(key);
+        if (id != null) {
+            return id;
+        }
+
+        Category created = categoryRepository.save(new Category(name.trim(), type, userId));
+        if (pending != null) {
+            pending.put(key, created);
+        } else {
+            publish(userId, created);
+        }
+        return created.getId();
+    }
+
+    /**
+     * Returns the id of the user's category with this type and name (case-insensitive), or null.
+     */
+    public Long findId(Long userId, String type, String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return categoriesOf(userId).ids().get(key(type, name));
+    }
+
+    /**
+     * Resolves a client-supplied reference: an explicit id wins, otherwise the name is looked up or created. An
+     * explicit id must be one of the user's categories of this type.
+     */
+    public Long resolveId(Long userId, String type, Long categoryId, String name) {
+        if (categoryId != null) {
+            String categoryType = categoriesOf(userId).types().get(categoryId);
+            if (categoryType == null) {
+                Category created = createdInTransaction(userId, categoryId);
+                categoryType = created != null ? created.getType() : null;
+            }
+            if (categoryType == null) {
+                throw new IllegalArgumentException("Category " + categoryId + " does not belong to user " + userId);
+            }
+            if (!categoryType.equalsIgnoreCase(type)) {
+                throw new IllegalArgumentException("Category " + categoryId + " is not an " + type + " category");
+            }
+            return categoryId;
+        }
+        return resolveId(userId, type, name);
+    }
+
+    public void invalidate(Long userId) {
+        byUser.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    byUser.remove(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(DataChange change) {
+        byUser.keySet().removeIf(userId -> change.affects(userId, Domain.LEDGER));
+    }
+
+    /**
+     * Returns the categories of the user created in the current transaction by type and name key, binding an empty
+     * map on first use that is published after commit and dropped otherwise. Null outside of transactions.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Category> createdInTransaction(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, Map<String, Category>> created =
+                (Map<Long, Map<String, Category>>) TransactionSynchronizationManager.getResource(this);
+        if (created == null) {
+            Map<Long, Map<String, Category>> bound = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bound.forEach((id, categories) -> categories.values().forEach(category -> publish(id, category)));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CategoryDirectory.this);
+                }
+            });
+            created = bound;
+        }
+        return created.computeIfAbsent(userId, id -> new HashMap<>());
+    }
+
+    private Category createdInTransaction(Long userId, Long categoryId) {
+        if (TransactionSynchronizationManager.getResource(this) == null) {
+            return null;
+        }
+        return createdInTransaction(userId).values().stream()
+                .filter(category -> categoryId.equals(category.getId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void publish(Long userId, Category category) {
+        UserCategories categories = byUser.get(userId);
+        if (categories != null) {
+            categories.names().put(category.getId(), category.getName());
+            categories.types().put(category.getId(), category.getType());
+            categories.ids().merge(key(category.getType(), category.getName()), category.getId(), Math::min);
+        }
+    }
+
+    private UserCategories categoriesOf(Long userId) {
+        return byUser.computeIfAbsent(userId, id -> {
+            UserCategories categories = new UserCategories(
+                    new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+            for (Category category : categoryRepository.findByUserId(id)) {
+                categories.names().put(category.getId(), category.getName());
+                categories.types().put(category.getId(), category.getType());
+                categories.ids().merge(key(category.getType(), category.getName()), category.getId(), Math::min);
+            }
+            return categories;
+        });
+    }
+
+    private static String key(String type, String name) {
+        return type.toUpperCase(Locale.ROOT) + "|" + name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record UserCategories(Map<Long, String> names, Map<Long, String> types, Map<String, Long> ids) {
+    }
+}
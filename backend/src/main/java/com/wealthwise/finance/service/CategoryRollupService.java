@@ -0,0 +1,84 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.CategoryMonthTotalDto;
+import com.wealthwise.finance.dto.CategoryRollupCheckDto;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CategoryRollupService {
+    private static final Logger log = LoggerFactory.getLogger(CategoryRollupService.class);
+
+    static final String UNCATEGORIZED_NAME = "Uncategorized";
+
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final CategoryDirectory categoryDirectory;
+    private final DataVersionRegistry dataVersionRegistry;
+
+    @Transactional(readOnly = true)
+    public List<CategoryMonthTotalDto> getTotals(Long userId, YearMonth from, YearMonth to, TransactionType type) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        return categoryRollupRepository.findByUser(userId, period(from), period(to), type).stream()
+                .map(cell -> {
+                    Long categoryId = categoryIdOf(cell);
+                    return new CategoryMonthTotalDto(cell.period() / 100, cell.period() % 100, type, categoryId,
+                            categoryDirectory.nameOf(userId, categoryId, UNCATEGORIZED_NAME), cell.total(), cell.count());
+                })
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public CategoryRollupCheckDto verify(Long userId) {
+        return new CategoryRollupCheckDto(userId, mismatches(userId), null);
+    }
+
+    /**
+     * Recomputes the user's totals from the ledger, reporting the cells that were out of date.
+     */
+    @Transactional
+    public CategoryRollupCheckDto rebuild(Long userId) {
+        List<CategoryRollupCheckDto.Mismatch> mismatches = mismatches(userId);
+        int cells = categoryRollupRepository.rebuild(userId);
+        dataVersionRegistry.bump(userId, Domain.LEDGER);
+        if (!mismatches.isEmpty()) {
+            log.warn("Rebuilt category totals of user {}: {} cells were out of date", userId, mismatches.size());
+        }
+        return new CategoryRollupCheckDto(userId, mismatches, cells);
+    }
+
+    @Transactional
+    public CategoryRollupCheckDto rebuildAll() {
+        int cells = categoryRollupRepository.rebuild(null);
+        dataVersionRegistry.bumpAll(Domain.LEDGER);
+        log.info("Rebuilt {} category total cells for all users", cells);
+        return new CategoryRollupCheckDto(null, List.of(), cells);
+    }
+
+    static int period(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    static Long categoryIdOf(CategoryRollupRepository.Cell cell) {
+        return cell.categoryId() == CategoryRollupRepository.UNCATEGORIZED ? null : cell.categoryId();
+    }
+
+    private List<CategoryRollupCheckDto.Mismatch> mismatches(Long userId) {
+        return categoryRollupRepository.findMismatches(userId).stream()
+                .map(m -> new CategoryRollupCheckDto.Mismatch(m.period() / 100, m.period() % 100, m.type(),
+                        m.categoryId() == CategoryRollupRepository.UNCATEGORIZED ? null : m.categoryId(),
+                        m.expectedTotal(), m.storedTotal(), m.expectedCount(), m.storedCount()))
+                .toList();
+    }
+}
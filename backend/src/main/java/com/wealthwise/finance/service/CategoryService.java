@@ -2,9 +2,16 @@ package com.wealthwise.finance.service;
 
 import com.wealthwise.finance.dto.CategoryDto;
 import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.repository.CategorizationRuleRepository;
 import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -17,16 +24,44 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private CategorizationRuleRepository categorizationRuleRepository;
+    
+    @Autowired
+    private CategorizationEngine categorizationEngine;
+    
+    @Autowired
+    private CategoryDirectory categoryDirectory;
+    
+    @Autowired
+    private IncomeRepository incomeRepository;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+    
+    @Autowired
+    private CategoryRollupRepository categoryRollupRepository;
+    
+    @Autowired
+    private ReadCache readCache;
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CategoryDto> getAllCategoriesByUserId(Long userId) {
-        return categoryRepository.findByUserId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return readCache.get(userId, Domain.LEDGER, "categories", () ->
+                categoryRepository.findByUserId(userId).stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()));
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CategoryDto> getCategoriesByUserIdAndType(Long userId, String type) {
-        return categoryRepository.findByUserIdAndType(userId, type).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return readCache.get(userId, Domain.LEDGER, "categories-by-type", () ->
+                categoryRepository.findByUserIdAndType(userId, type).stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()), type);
     }
     
     public CategoryDto getCategoryById(Long id) {
@@ -38,6 +73,8 @@ public class CategoryService {
     public CategoryDto createCategory(CategoryDto categoryDto) {
         Category category = convertToEntity(categoryDto);
         Category savedCategory = categoryRepository.save(category);
+        categorizationEngine.invalidate(savedCategory.getUserId());
+        categoryDirectory.invalidate(savedCategory.getUserId());
         return convertToDto(savedCategory);
     }
     
@@ -49,17 +86,25 @@ public class CategoryService {
         category.setType(categoryDto.getType());
         
         Category updatedCategory = categoryRepository.save(category);
+        categorizationEngine.invalidate(updatedCategory.getUserId());
+        categoryDirectory.invalidate(updatedCategory.getUserId());
         return convertToDto(updatedCategory);
     }
     
     public void deleteCategory(Long id) {
-        if (!categoryRepository.existsById(id)) {
-            throw new RuntimeException("Category not found with id: " + id);
-        }
-        categoryRepository.deleteById(id);
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
+        categorizationRuleRepository.deleteByCategoryId(id);
+        incomeRepository.detachCategory(id, category.getName());
+        expenseRepository.detachCategory(id, category.getName());
+        recurringTransactionRepository.detachCategory(id, category.getName());
+        categoryRollupRepository.moveToUncategorized(id);
+        categoryRepository.delete(category);
+        categorizationEngine.invalidate(category.getUserId());
+        categoryDirectory.invalidate(category.getUserId());
     }
     
-    private CategoryDto convertToDto(Category category) {
+    CategoryDto convertToDto(Category category) {
         return new CategoryDto(
             category.getId(),
             category.getName(),
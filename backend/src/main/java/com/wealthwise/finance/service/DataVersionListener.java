@@ -0,0 +1,59 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.Asset;
+import com.wealthwise.finance.entity.Budget;
+import com.wealthwise.finance.entity.CategorizationRule;
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Goal;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.entity.MonthlyBalance;
+import com.wealthwise.finance.entity.NetWorth;
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.model.Trade;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener bumping the data version of the owning user whenever an entity of a versioned domain is
+ * written through the entity manager. JDBC batch writes and bulk JPQL statements bypass it and bump the
+ * registry themselves.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionListener {
+    private final DataVersionRegistry dataVersionRegistry;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        if (entity instanceof Income income) {
+            dataVersionRegistry.bump(income.getUser().getId(), Domain.LEDGER);
+        } else if (entity instanceof Expense expense) {
+            dataVersionRegistry.bump(expense.getUser().getId(), Domain.LEDGER);
+        } else if (entity instanceof RecurringTransaction rt) {
+            dataVersionRegistry.bump(rt.getUser().getId(), Domain.LEDGER);
+        } else if (entity instanceof MonthlyBalance balance) {
+            dataVersionRegistry.bump(balance.getUser().getId(), Domain.LEDGER);
+        } else if (entity instanceof Category category) {
+            dataVersionRegistry.bump(category.getUserId(), Domain.LEDGER);
+        } else if (entity instanceof CategorizationRule rule) {
+            dataVersionRegistry.bump(rule.getUserId(), Domain.LEDGER);
+        } else if (entity instanceof Trade trade) {
+            dataVersionRegistry.bump(trade.getUserId(), Domain.TRADES);
+        } else if (entity instanceof Asset asset) {
+            dataVersionRegistry.bump(asset.getUser().getId(), Domain.ASSETS);
+        } else if (entity instanceof NetWorth netWorth) {
+            dataVersionRegistry.bump(netWorth.getUser().getId(), Domain.ASSETS);
+        } else if (entity instanceof Goal goal) {
+            dataVersionRegistry.bump(goal.getUser().getId(), Domain.GOALS);
+        } else if (entity instanceof Budget budget) {
+            dataVersionRegistry.bump(budget.getUser().getId(), Domain.BUDGETS);
+        }
+    }
+}
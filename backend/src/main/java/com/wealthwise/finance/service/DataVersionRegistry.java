@@ -0,0 +1,199 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.repository.DataVersionRepository;
+import com.wealthwise.finance.service.InvalidationBus.DataChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Current data version per user and domain, used as the ETag of read endpoints and in the keys of
+ * {@link ReadCache}. A version is an explicit counter on the users row that every write path increments through
+ * {@link #bump}, in the writing transaction, so every node and every restart agrees on it; it is read from the
+ * database once and then served from memory until a change to the domain arrives.
+ * <p>
+ * Changes are published over the {@link InvalidationBus} when the writing transaction completes, so the versions
+ * cached by other nodes are dropped as well. The counter columns are only installed on PostgreSQL; elsewhere
+ * versions come from a local sequence seeded with the clock, which keeps them unique across restarts of a single
+ * node. Which of the two is used is decided once at startup through {@link #useCounters}.
+ */
+@Component
+public class DataVersionRegistry {
+    private static final Logger log = LoggerFactory.getLogger(DataVersionRegistry.class);
+
+    private final DataVersionRepository dataVersionRepository;
+    private final InvalidationBus invalidationBus;
+
+    private final Map<Key, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong drops = new AtomicLong();
+    private final AtomicLong localSequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private volatile boolean databaseVersions = true;
+
+    public DataVersionRegistry(DataVersionRepository dataVersionRepository, InvalidationBus invalidationBus) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::drop);
+    }
+
+    /**
+     * Chooses where versions come from, called once at startup after the schema migrations ran. With
+     * {@code counters} every counter column has to exist, so a missing one fails startup instead of the first
+     * write that bumps it.
+     */
+    public void useCounters(boolean counters) {
+        if (counters) {
+            List<String> missing = dataVersionRepository.findMissingColumns(
+                    Arrays.stream(Domain.values()).map(Domain::getColumn).toList());
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Data version counter columns are missing on users: " + missing);
+            }
+        } else {
+            log.info("Using node-local data versions: the counter columns are only installed on PostgreSQL");
+        }
+        databaseVersions = counters;
+        versions.clear();
+    }
+
+    public long version(Long userId, Domain domain) {
+        Key key = new Key(userId, domain);
+        Long cached = versions.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (hasPendingChange(userId, domain)) {
+            // the counter read here is not committed yet
+            return load(key);
+        }
+        long dropsBefore = drops.get();
+        long version = load(key);
+        Long existing = versions.putIfAbsent(key, version);
+        if (existing != null) {
+            return existing;
+        }
+        // a change that arrived while loading may predate the value read; keep it out of the map
+        if (drops.get() != dropsBefore) {
+            versions.remove(key, version);
+        }
+        return version;
+    }
+
+    /**
+     * Whether the current transaction has bumped the domain for the user. Its reads see uncommitted data, which
+     * must not be shared with other callers.
+     */
+    public boolean hasPendingChange(Long userId, Domain domain) {
+        Set<DataChange> pending = pendingChanges();
+        if (pending == null) {
+            return false;
+        }
+        for (DataChange change : pending) {
+            if (change.affects(userId, domain)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks the domain as changed for the user: the counter is incremented in the current transaction, once per
+     * transaction, and the change is published once the transaction completes.
+     */
+    public void bump(Long userId, Domain domain) {
+        record(new DataChange(userId, domain));
+    }
+
+    /**
+     * Bumps the domain for every user, for maintenance writes spanning all users. Besides dropping every cached
+     * version this pins all users' reads to the primary for the read-your-writes window, so regular write paths
+     * bump the users they touched instead.
+     */
+    public void bumpAll(Domain domain) {
+        record(new DataChange(null, domain));
+    }
+
+    private void record(DataChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(change);
+            invalidationBus.publish(change);
+            return;
+        }
+        // entity listeners bump once per written row; count and publish each change once per transaction
+        Set<DataChange> pending = pendingChanges();
+        if (pending == null) {
+            Set<DataChange> changes = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionRegistry.this);
+                    changes.forEach(invalidationBus::publish);
+                }
+            });
+            pending = changes;
+        }
+        if (pending.add(change)) {
+            increment(change);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<DataChange> pendingChanges() {
+        return (Set<DataChange>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private void increment(DataChange change) {
+        if (!databaseVersions) {
+            return;
+        }
+        if (change.userId() == null) {
+            dataVersionRepository.incrementAll(change.domain().getColumn());
+        } else {
+            dataVersionRepository.increment(change.userId(), change.domain().getColumn());
+        }
+    }
+
+    private void drop(DataChange change) {
+        drops.incrementAndGet();
+        versions.keySet().removeIf(key -> change.affects(key.userId(), key.domain()));
+    }
+
+    private long load(Key key) {
+        return databaseVersions
+                ? dataVersionRepository.find(key.userId(), key.domain().getColumn())
+                : localSequence.incrementAndGet();
+    }
+
+    /**
+     * Groups of tables whose changes invalidate the same read endpoints, each with its counter column on users.
+     */
+    public enum Domain {
+        TRADES("trades_version"),
+        LEDGER("ledger_version"),
+        ASSETS("assets_version"),
+        GOALS("goals_version"),
+        BUDGETS("budgets_version");
+
+        private final String column;
+
+        Domain(String column) {
+            this.column = column;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+    }
+
+    private record Key(Long userId, Domain domain) {
+    }
+}
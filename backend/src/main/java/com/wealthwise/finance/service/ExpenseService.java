@@ -1,17 +1,32 @@
 package com.wealthwise.finance.service;
 
+import com.wealthwise.finance.dto.BatchResultDto;
 import com.wealthwise.finance.dto.ExpenseDto;
+import com.wealthwise.finance.dto.PageDto;
+import com.wealthwise.finance.dto.TransactionFilterDto;
 import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.entity.TransactionTag.Target;
 import com.wealthwise.finance.entity.User;
 import com.wealthwise.finance.exception.ResourceNotFoundException;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
 import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.TransactionFilters;
 import com.wealthwise.finance.repository.UserRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +34,13 @@ import java.util.stream.Collectors;
 public class ExpenseService {
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
+    private final RecurringTransactionService recurringTransactionService;
+    private final LedgerBatchWriter ledgerBatchWriter;
+    private final BatchRequestValidator batchRequestValidator;
+    private final CategoryDirectory categoryDirectory;
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final TagService tagService;
+    private final DataVersionRegistry dataVersionRegistry;
 
     @Transactional(readOnly = true)
     public List<ExpenseDto> getAllExpensesByUser(Long userId) {
@@ -27,11 +49,38 @@ public class ExpenseService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns one page of the user's expense entries matching {@code filter}, filtered and sorted in the database.
+     */
+    @Transactional(readOnly = true)
+    public PageDto<ExpenseDto> filterExpenses(Long userId, TransactionFilterDto filter, int page, int size,
+                                          String sort, String direction) {
+        Set<Long> categoryIds = new HashSet<>(filter.getCategoryIds() != null ? filter.getCategoryIds() : Set.of());
+        Set<String> unresolved = new HashSet<>();
+        if (filter.getCategories() != null) {
+            for (String name : filter.getCategories()) {
+                Long id = categoryDirectory.findId(userId, "EXPENSE", name);
+                if (id != null) {
+                    categoryIds.add(id);
+                } else if (name != null && !name.isBlank()) {
+                    unresolved.add(name);
+                }
+            }
+        }
+        Specification<Expense> specification = TransactionFilters.ledger(userId, "expenseDate", categoryIds, unresolved,
+                filter.getMinAmount(), filter.getMaxAmount(), filter.getFrom(), filter.getTo(), filter.getRecurring());
+        specification = specification.and(tagService.specification(userId, Target.EXPENSE,
+                filter.getTagsAll(), filter.getTagsAny(), filter.getTagsNone()));
+        return PageDto.of(expenseRepository.findAll(specification,
+                TransactionFilters.pageRequest(page, size, sort, direction, "expenseDate", "amount")), this::convertToDto);
+    }
+
     @Transactional(readOnly = true)
     public List<ExpenseDto> getExpensesByDateRange(Long userId, LocalDate start, LocalDate end) {
-        return expenseRepository.findByUserIdAndExpenseDateBetween(userId, start, end).stream()
+        List<ExpenseDto> persisted = expenseRepository.findByUserIdAndExpenseDateBetween(userId, start, end).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        return recurringTransactionService.mergeVirtualExpenses(userId, start, end, persisted);
     }
 
     @Transactional(readOnly = true)
@@ -48,7 +97,9 @@ public class ExpenseService {
         
         Expense expense = convertToEntity(expenseDto);
         expense.setUser(user);
+        applyCategory(expense, user.getId(), expenseDto);
         Expense saved = expenseRepository.save(expense);
+        categoryRollupRepository.add(TransactionType.EXPENSE, List.of(saved.getId()));
         return convertToDto(saved);
     }
 
@@ -56,14 +107,16 @@ public class ExpenseService {
     public ExpenseDto updateExpense(Long id, ExpenseDto expenseDto) {
         Expense expense = expenseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
+        categoryRollupRepository.subtract(TransactionType.EXPENSE, List.of(id));
         
         expense.setName(expenseDto.getName());
         expense.setAmount(expenseDto.getAmount());
-        expense.setCategory(expenseDto.getCategory());
+        applyCategory(expense, expense.getUser().getId(), expenseDto);
         expense.setExpenseDate(expenseDto.getExpenseDate());
         expense.setDescription(expenseDto.getDescription());
         
-        Expense updated = expenseRepository.save(expense);
+        Expense updated = expenseRepository.saveAndFlush(expense);
+        categoryRollupRepository.add(TransactionType.EXPENSE, List.of(id));
         return convertToDto(updated);
     }
 
@@ -72,18 +125,170 @@ public class ExpenseService {
         if (!expenseRepository.existsById(id)) {
             throw new ResourceNotFoundException("Expense not found with id: " + id);
         }
+        categoryRollupRepository.subtract(TransactionType.EXPENSE, List.of(id));
+        tagService.detach(Target.EXPENSE, List.of(id));
         expenseRepository.deleteById(id);
     }
 
-    private ExpenseDto convertToDto(Expense expense) {
+    /**
+     * Validates every row up front, then inserts the valid ones in one transaction with JDBC batches. Users are
+     * checked with a single query and attached as references. Invalid rows are reported per item and skipped.
+     */
+    @Transactional
+    public BatchResultDto createExpenses(List<ExpenseDto> dtos) {
+        batchRequestValidator.checkSize(dtos);
+        Map<Integer, List<String>> errors = batchRequestValidator.validate(dtos, ExpenseDto::getUserId);
+
+        List<BatchResultDto.Item> items = new ArrayList<>(dtos.size());
+        List<BatchResultDto.Item> created = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        Map<Long, User> users = new HashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (errors.containsKey(i)) {
+                items.add(new BatchResultDto.Item(i, null, BatchResultDto.Status.INVALID, errors.get(i)));
+                continue;
+            }
+            ExpenseDto dto = dtos.get(i);
+            Expense expense = convertToEntity(dto);
+            expense.setUser(users.computeIfAbsent(dto.getUserId(), batchRequestValidator::userReference));
+            applyCategory(expense, dto.getUserId(), dto);
+            expenses.add(expense);
+
+            BatchResultDto.Item item = new BatchResultDto.Item(i, null, BatchResultDto.Status.CREATED, null);
+            items.add(item);
+            created.add(item);
+        }
+
+        categoryRollupRepository.add(TransactionType.EXPENSE, ledgerBatchWriter.insertExpenses(expenses));
+        users.keySet().forEach(userId -> dataVersionRegistry.bump(userId, Domain.LEDGER));
+        for (int i = 0; i < created.size(); i++) {
+            created.get(i).setId(expenses.get(i).getId());
+        }
+        return BatchResultDto.of(items);
+    }
+
+    @Transactional
+    public BatchResultDto updateExpenses(List<ExpenseDto> dtos) {
+        batchRequestValidator.checkSize(dtos);
+        Map<Integer, List<String>> errors = batchRequestValidator.validate(dtos, ExpenseDto::getUserId);
+
+        Map<Long, Long> owners = ownersOf(dtos.stream()
+                .filter(dto -> dto != null && dto.getId() != null)
+                .map(ExpenseDto::getId)
+                .toList());
+
+        List<BatchResultDto.Item> items = new ArrayList<>(dtos.size());
+        List<BatchResultDto.Item> pending = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        Map<Long, User> users = new HashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            ExpenseDto dto = dtos.get(i);
+            if (dto != null && dto.getId() == null) {
+                errors.computeIfAbsent(i, k -> new ArrayList<>()).add("id: must not be null");
+            }
+            if (errors.containsKey(i)) {
+                items.add(new BatchResultDto.Item(i, dto != null ? dto.getId() : null, BatchResultDto.Status.INVALID, errors.get(i)));
+                continue;
+            }
+            // rows of other users are reported as missing, before any category is resolved for them
+            if (!dto.getUserId().equals(owners.get(dto.getId()))) {
+                items.add(new BatchResultDto.Item(i, dto.getId(), BatchResultDto.Status.NOT_FOUND,
+                        List.of("Expense not found with id: " + dto.getId())));
+                continue;
+            }
+            Expense expense = convertToEntity(dto);
+            expense.setId(dto.getId());
+            expense.setUser(users.computeIfAbsent(dto.getUserId(), batchRequestValidator::userReference));
+            applyCategory(expense, dto.getUserId(), dto);
+            expenses.add(expense);
+
+            BatchResultDto.Item item = new BatchResultDto.Item(i, dto.getId(), BatchResultDto.Status.UPDATED, null);
+            items.add(item);
+            pending.add(item);
+        }
+
+        List<Long> ids = expenses.stream().map(Expense::getId).toList();
+        categoryRollupRepository.subtract(TransactionType.EXPENSE, ids);
+        int[] counts = ledgerBatchWriter.updateExpenses(expenses);
+        categoryRollupRepository.add(TransactionType.EXPENSE, ids);
+        users.keySet().forEach(userId -> dataVersionRegistry.bump(userId, Domain.LEDGER));
+        for (int i = 0; i < pending.size(); i++) {
+            if (counts[i] == 0) {
+                pending.get(i).setStatus(BatchResultDto.Status.NOT_FOUND);
+                pending.get(i).setErrors(List.of("Expense not found with id: " + pending.get(i).getId()));
+            }
+        }
+        return BatchResultDto.of(items);
+    }
+
+    /**
+     * Deletes the given rows of {@code userId}. Ids that do not exist or belong to another user are reported as
+     * not found and left untouched.
+     */
+    @Transactional
+    public BatchResultDto deleteExpenses(Long userId, List<Long> ids) {
+        batchRequestValidator.checkSize(ids);
+        Map<Long, Long> owners = ownersOf(ids.stream().filter(id -> id != null).toList());
+
+        List<BatchResultDto.Item> items = new ArrayList<>(ids.size());
+        List<BatchResultDto.Item> pending = new ArrayList<>();
+        List<Long> toDelete = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                items.add(new BatchResultDto.Item(i, null, BatchResultDto.Status.INVALID, List.of("id: must not be null")));
+                continue;
+            }
+            if (!userId.equals(owners.get(ids.get(i)))) {
+                items.add(new BatchResultDto.Item(i, ids.get(i), BatchResultDto.Status.NOT_FOUND,
+                        List.of("Expense not found with id: " + ids.get(i))));
+                continue;
+            }
+            BatchResultDto.Item item = new BatchResultDto.Item(i, ids.get(i), BatchResultDto.Status.DELETED, null);
+            items.add(item);
+            pending.add(item);
+            toDelete.add(ids.get(i));
+        }
+
+        categoryRollupRepository.subtract(TransactionType.EXPENSE, toDelete);
+        tagService.detach(Target.EXPENSE, toDelete);
+        int[] counts = ledgerBatchWriter.deleteExpenses(userId, toDelete);
+        dataVersionRegistry.bump(userId, Domain.LEDGER);
+        for (int i = 0; i < pending.size(); i++) {
+            if (counts[i] == 0) {
+                pending.get(i).setStatus(BatchResultDto.Status.NOT_FOUND);
+                pending.get(i).setErrors(List.of("Expense not found with id: " + pending.get(i).getId()));
+            }
+        }
+        return BatchResultDto.of(items);
+    }
+
+    private Map<Long, Long> ownersOf(List<Long> ids) {
+        Map<Long, Long> owners = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : expenseRepository.findOwners(ids)) {
+                owners.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return owners;
+    }
+
+    private void applyCategory(Expense expense, Long userId, ExpenseDto dto) {
+        expense.setCategoryId(categoryDirectory.resolveId(userId, "EXPENSE", dto.getCategoryId(), dto.getCategory()));
+        expense.setCategory(categoryDirectory.nameOf(userId, expense.getCategoryId(), dto.getCategory()));
+    }
+
+    ExpenseDto convertToDto(Expense expense) {
         ExpenseDto dto = new ExpenseDto();
         dto.setId(expense.getId());
         dto.setUserId(expense.getUser().getId());
         dto.setName(expense.getName());
         dto.setAmount(expense.getAmount());
-        dto.setCategory(expense.getCategory());
+        dto.setCategory(categoryDirectory.nameOf(expense.getUser().getId(), expense.getCategoryId(), expense.getCategory()));
+        dto.setCategoryId(expense.getCategoryId());
         dto.setExpenseDate(expense.getExpenseDate());
         dto.setDescription(expense.getDescription());
+        dto.setIsRecurring(expense.getIsRecurring());
+        dto.setRecurringTransactionId(expense.getRecurringTransactionId());
         return dto;
     }
 
@@ -6,8 +6,10 @@ import com.wealthwise.finance.entity.User;
 import com.wealthwise.finance.exception.ResourceNotFoundException;
 import com.wealthwise.finance.repository.GoalRepository;
 import com.wealthwise.finance.repository.UserRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -19,12 +21,14 @@ import java.util.stream.Collectors;
 public class GoalService {
     private final GoalRepository goalRepository;
     private final UserRepository userRepository;
+    private final ReadCache readCache;
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<GoalDto> getAllGoalsByUser(Long userId) {
-        return goalRepository.findByUserIdOrderByTargetDateAsc(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return readCache.get(userId, Domain.GOALS, "goals", () ->
+                goalRepository.findByUserIdOrderByTargetDateAsc(userId).stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()));
     }
 
     @Transactional(readOnly = true)
@@ -73,7 +77,7 @@ public class GoalService {
         goalRepository.deleteById(id);
     }
 
-    private GoalDto convertToDto(Goal goal) {
+    GoalDto convertToDto(Goal goal) {
         GoalDto dto = new GoalDto();
         dto.setId(goal.getId());
         dto.setUserId(goal.getUser().getId());
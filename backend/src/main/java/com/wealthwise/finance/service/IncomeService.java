@@ -1,17 +1,32 @@
 package com.wealthwise.finance.service;
 
+import com.wealthwise.finance.dto.BatchResultDto;
 import com.wealthwise.finance.dto.IncomeDto;
+import com.wealthwise.finance.dto.PageDto;
+import com.wealthwise.finance.dto.TransactionFilterDto;
 import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.entity.TransactionTag.Target;
 import com.wealthwise.finance.entity.User;
 import com.wealthwise.finance.exception.ResourceNotFoundException;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
 import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.TransactionFilters;
 import com.wealthwise.finance.repository.UserRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +34,13 @@ import java.util.stream.Collectors;
 public class IncomeService {
     private final IncomeRepository incomeRepository;
     private final UserRepository userRepository;
+    private final RecurringTransactionService recurringTransactionService;
+    private final LedgerBatchWriter ledgerBatchWriter;
+    private final BatchRequestValidator batchRequestValidator;
+    private final CategoryDirectory categoryDirectory;
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final TagService tagService;
+    private final DataVersionRegistry dataVersionRegistry;
 
     @Transactional(readOnly = true)
     public List<IncomeDto> getAllIncomeByUser(Long userId) {
@@ -27,11 +49,38 @@ public class IncomeService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns one page of the user's income entries matching {@code filter}, filtered and sorted in the database.
+     */
+    @Transactional(readOnly = true)
+    public PageDto<IncomeDto> filterIncome(Long userId, TransactionFilterDto filter, int page, int size,
+                                          String sort, String direction) {
+        Set<Long> categoryIds = new HashSet<>(filter.getCategoryIds() != null ? filter.getCategoryIds() : Set.of());
+        Set<String> unresolved = new HashSet<>();
+        if (filter.getCategories() != null) {
+            for (String name : filter.getCategories()) {
+                Long id = categoryDirectory.findId(userId, "INCOME", name);
+                if (id != null) {
+                    categoryIds.add(id);
+                } else if (name != null && !name.isBlank()) {
+                    unresolved.add(name);
+                }
+            }
+        }
+        Specification<Income> specification = TransactionFilters.ledger(userId, "incomeDate", categoryIds, unresolved,
+                filter.getMinAmount(), filter.getMaxAmount(), filter.getFrom(), filter.getTo(), filter.getRecurring());
+        specification = specification.and(tagService.specification(userId, Target.INCOME,
+                filter.getTagsAll(), filter.getTagsAny(), filter.getTagsNone()));
+        return PageDto.of(incomeRepository.findAll(specification,
+                TransactionFilters.pageRequest(page, size, sort, direction, "incomeDate", "amount")), this::convertToDto);
+    }
+
     @Transactional(readOnly = true)
     public List<IncomeDto> getIncomeByDateRange(Long userId, LocalDate start, LocalDate end) {
-        return incomeRepository.findByUserIdAndIncomeDateBetween(userId, start, end).stream()
+        List<IncomeDto> persisted = incomeRepository.findByUserIdAndIncomeDateBetween(userId, start, end).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        return recurringTransactionService.mergeVirtualIncomes(userId, start, end, persisted);
     }
 
     @Transactional(readOnly = true)
@@ -48,7 +97,9 @@ public class IncomeService {
         
         Income income = convertToEntity(incomeDto);
         income.setUser(user);
+        applyCategory(income, user.getId(), incomeDto);
         Income saved = incomeRepository.save(income);
+        categoryRollupRepository.add(TransactionType.INCOME, List.of(saved.getId()));
         return convertToDto(saved);
     }
 
@@ -56,14 +107,16 @@ public class IncomeService {
     public IncomeDto updateIncome(Long id, IncomeDto incomeDto) {
         Income income = incomeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Income not found with id: " + id));
+        categoryRollupRepository.subtract(TransactionType.INCOME, List.of(id));
         
         income.setSource(incomeDto.getSource());
         income.setAmount(incomeDto.getAmount());
-        income.setCategory(incomeDto.getCategory());
+        applyCategory(income, income.getUser().getId(), incomeDto);
         income.setIncomeDate(incomeDto.getIncomeDate());
         income.setDescription(incomeDto.getDescription());
         
-        Income updated = incomeRepository.save(income);
+        Income updated = incomeRepository.saveAndFlush(income);
+        categoryRollupRepository.add(TransactionType.INCOME, List.of(id));
         return convertToDto(updated);
     }
 
@@ -72,18 +125,170 @@ public class IncomeService {
         if (!incomeRepository.existsById(id)) {
             throw new ResourceNotFoundException("Income not found with id: " + id);
         }
+        categoryRollupRepository.subtract(TransactionType.INCOME, List.of(id));
+        tagService.detach(Target.INCOME, List.of(id));
         incomeRepository.deleteById(id);
     }
 
-    private IncomeDto convertToDto(Income income) {
+    /**
+     * Validates every row up front, then inserts the valid ones in one transaction with JDBC batches. Users are
+     * checked with a single query and attached as references. Invalid rows are reported per item and skipped.
+     */
+    @Transactional
+    public BatchResultDto createIncomes(List<IncomeDto> dtos) {
+        batchRequestValidator.checkSize(dtos);
+        Map<Integer, List<String>> errors = batchRequestValidator.validate(dtos, IncomeDto::getUserId);
+
+        List<BatchResultDto.Item> items = new ArrayList<>(dtos.size());
+        List<BatchResultDto.Item> created = new ArrayList<>();
+        List<Income> incomes = new ArrayList<>();
+        Map<Long, User> users = new HashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (errors.containsKey(i)) {
+                items.add(new BatchResultDto.Item(i, null, BatchResultDto.Status.INVALID, errors.get(i)));
+                continue;
+            }
+            IncomeDto dto = dtos.get(i);
+            Income income = convertToEntity(dto);
+            income.setUser(users.computeIfAbsent(dto.getUserId(), batchRequestValidator::userReference));
+            applyCategory(income, dto.getUserId(), dto);
+            incomes.add(income);
+
+            BatchResultDto.Item item = new BatchResultDto.Item(i, null, BatchResultDto.Status.CREATED, null);
+            items.add(item);
+            created.add(item);
+        }
+
+        categoryRollupRepository.add(TransactionType.INCOME, ledgerBatchWriter.insertIncomes(incomes));
+        users.keySet().forEach(userId -> dataVersionRegistry.bump(userId, Domain.LEDGER));
+        for (int i = 0; i < created.size(); i++) {
+            created.get(i).setId(incomes.get(i).getId());
+        }
+        return BatchResultDto.of(items);
+    }
+
+    @Transactional
+    public BatchResultDto updateIncomes(List<IncomeDto> dtos) {
+        batchRequestValidator.checkSize(dtos);
+        Map<Integer, List<String>> errors = batchRequestValidator.validate(dtos, IncomeDto::getUserId);
+
+        Map<Long, Long> owners = ownersOf(dtos.stream()
+                .filter(dto -> dto != null && dto.getId() != null)
+                .map(IncomeDto::getId)
+                .toList());
+
+        List<BatchResultDto.Item> items = new ArrayList<>(dtos.size());
+        List<BatchResultDto.Item> pending = new ArrayList<>();
+        List<Income> incomes = new ArrayList<>();
+        Map<Long, User> users = new HashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            IncomeDto dto = dtos.get(i);
+            if (dto != null && dto.getId() == null) {
+                errors.computeIfAbsent(i, k -> new ArrayList<>()).add("id: must not be null");
+            }
+            if (errors.containsKey(i)) {
+                items.add(new BatchResultDto.Item(i, dto != null ? dto.getId() : null, BatchResultDto.Status.INVALID, errors.get(i)));
+                continue;
+            }
+            // rows of other users are reported as missing, before any category is resolved for them
+            if (!dto.getUserId().equals(owners.get(dto.getId()))) {
+                items.add(new BatchResultDto.Item(i, dto.getId(), BatchResultDto.Status.NOT_FOUND,
+                        List.of("Income not found with id: " + dto.getId())));
+                continue;
+            }
+            Income income = convertToEntity(dto);
+            income.setId(dto.getId());
+            income.setUser(users.computeIfAbsent(dto.getUserId(), batchRequestValidator::userReference));
+            applyCategory(income, dto.getUserId(), dto);
+            incomes.add(income);
+
+            BatchResultDto.Item item = new BatchResultDto.Item(i, dto.getId(), BatchResultDto.Status.UPDATED, null);
+            items.add(item);
+            pending.add(item);
+        }
+
+        List<Long> ids = incomes.stream().map(Income::getId).toList();
+        categoryRollupRepository.subtract(TransactionType.INCOME, ids);
+        int[] counts = ledgerBatchWriter.updateIncomes(incomes);
+        categoryRollupRepository.add(TransactionType.INCOME, ids);
+        users.keySet().forEach(userId -> dataVersionRegistry.bump(userId, Domain.LEDGER));
+        for (int i = 0; i < pending.size(); i++) {
+            if (counts[i] == 0) {
+                pending.get(i).setStatus(BatchResultDto.Status.NOT_FOUND);
+                pending.get(i).setErrors(List.of("Income not found with id: " + pending.get(i).getId()));
+            }
+        }
+        return BatchResultDto.of(items);
+    }
+
+    /**
+     * Deletes the given rows of {@code userId}. Ids that do not exist or belong to another user are reported as
+     * not found and left untouched.
+     */
+    @Transactional
+    public BatchResultDto deleteIncomes(Long userId, List<Long> ids) {
+        batchRequestValidator.checkSize(ids);
+        Map<Long, Long> owners = ownersOf(ids.stream().filter(id -> id != null).toList());
+
+        List<BatchResultDto.Item> items = new ArrayList<>(ids.size());
+        List<BatchResultDto.Item> pending = new ArrayList<>();
+        List<Long> toDelete = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                items.add(new BatchResultDto.Item(i, null, BatchResultDto.Status.INVALID, List.of("id: must not be null")));
+                continue;
+            }
+            if (!userId.equals(owners.get(ids.get(i)))) {
+                items.add(new BatchResultDto.Item(i, ids.get(i), BatchResultDto.Status.NOT_FOUND,
+                        List.of("Income not found with id: " + ids.get(i))));
+                continue;
+            }
+            BatchResultDto.Item item = new BatchResultDto.Item(i, ids.get(i), BatchResultDto.Status.DELETED, null);
+            items.add(item);
+            pending.add(item);
+            toDelete.add(ids.get(i));
+        }
+
+        categoryRollupRepository.subtract(TransactionType.INCOME, toDelete);
+        tagService.detach(Target.INCOME, toDelete);
+        int[] counts = ledgerBatchWriter.deleteIncomes(userId, toDelete);
+        dataVersionRegistry.bump(userId, Domain.LEDGER);
+        for (int i = 0; i < pending.size(); i++) {
+            if (counts[i] == 0) {
+                pending.get(i).setStatus(BatchResultDto.Status.NOT_FOUND);
+                pending.get(i).setErrors(List.of("Income not found with id: " + pending.get(i).getId()));
+            }
+        }
+        return BatchResultDto.of(items);
+    }
+
+    private Map<Long, Long> ownersOf(List<Long> ids) {
+        Map<Long, Long> owners = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : incomeRepository.findOwners(ids)) {
+                owners.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return owners;
+    }
+
+    private void applyCategory(Income income, Long userId, IncomeDto dto) {
+        income.setCategoryId(categoryDirectory.resolveId(userId, "INCOME", dto.getCategoryId(), dto.getCategory()));
+        income.setCategory(categoryDirectory.nameOf(userId, income.getCategoryId(), dto.getCategory()));
+    }
+
+    IncomeDto convertToDto(Income income) {
         IncomeDto dto = new IncomeDto();
         dto.setId(income.getId());
         dto.setUserId(income.getUser().getId());
         dto.setSource(income.getSource());
         dto.setAmount(income.getAmount());
-        dto.setCategory(income.getCategory());
+        dto.setCategory(categoryDirectory.nameOf(income.getUser().getId(), income.getCategoryId(), income.getCategory()));
+        dto.setCategoryId(income.getCategoryId());
         dto.setIncomeDate(income.getIncomeDate());
         dto.setDescription(income.getDescription());
+        dto.setIsRecurring(income.getIsRecurring());
+        dto.setRecurringTransactionId(income.getRecurringTransactionId());
         return dto;
     }
 
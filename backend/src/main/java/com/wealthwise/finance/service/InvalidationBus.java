@@ -0,0 +1,26 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries data changes to every in-memory view of the data (data versions, the read cache) on every node. An
+ * implementation spanning several nodes delivers each published change to the subscribers of all of them,
+ * including the publishing node.
+ */
+public interface InvalidationBus {
+
+    void publish(DataChange change);
+
+    void subscribe(Consumer<DataChange> subscriber);
+
+    /**
+     * The data of {@code domain} changed for {@code userId}, or for every user when {@code userId} is null.
+     */
+    record DataChange(Long userId, Domain domain) {
+        public boolean affects(Long otherUserId, Domain otherDomain) {
+            return domain == otherDomain && (userId == null || userId.equals(otherUserId));
+        }
+    }
+}
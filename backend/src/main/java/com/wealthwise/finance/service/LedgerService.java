@@ -0,0 +1,123 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.LedgerEntryDto;
+import com.wealthwise.finance.dto.LedgerPageDto;
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final MonthlyBalanceService monthlyBalanceService;
+    private final CategoryDirectory categoryDirectory;
+
+    /**
+     * Returns one page of the month's ledger ordered by (date, type, id), income before expense on the same day.
+     * Both tables are read with keyset scans over (user_id, date, id) and merged, and the running balance starts
+     * from the stored opening balance plus the month's entries before the cursor, so a page costs O(limit)
+     * regardless of the user's history.
+     */
+    @Transactional(readOnly = true)
+    public LedgerPageDto getLedgerPage(Long userId, YearMonth month, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        BigDecimal openingBalance = monthlyBalanceService.getPreviousMonthClosingBalance(
+                userId, month.getYear(), month.getMonthValue());
+
+        Position income = new Position(start.minusDays(1), Long.MAX_VALUE);
+        Position expense = income;
+        BigDecimal balance = openingBalance;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = decodeCursor(cursor, month);
+            income = new Position(position.date(), position.type() == TransactionType.INCOME ? position.id() : Long.MAX_VALUE);
+            expense = new Position(position.date(), position.type() == TransactionType.EXPENSE ? position.id() : 0L);
+            balance = balance
+                    .add(incomeRepository.sumThrough(userId, start, income.date(), income.id()))
+                    .subtract(expenseRepository.sumThrough(userId, start, expense.date(), expense.id()));
+        }
+
+        PageRequest fetch = PageRequest.of(0, limit + 1);
+        List<Income> incomes = incomeRepository.findLedgerPage(userId, income.date(), income.id(), end, fetch);
+        List<Expense> expenses = expenseRepository.findLedgerPage(userId, expense.date(), expense.id(), end, fetch);
+
+        List<LedgerEntryDto> entries = new ArrayList<>(limit);
+        int i = 0;
+        int e = 0;
+        while (entries.size() < limit && (i < incomes.size() || e < expenses.size())) {
+            boolean takeIncome = e >= expenses.size()
+                    || (i < incomes.size() && !incomes.get(i).getIncomeDate().isAfter(expenses.get(e).getExpenseDate()));
+            LedgerEntryDto entry;
+            if (takeIncome) {
+                Income row = incomes.get(i++);
+                balance = balance.add(row.getAmount());
+                entry = new LedgerEntryDto(row.getId(), TransactionType.INCOME, row.getIncomeDate(),
+                        row.getDescription() != null ? row.getDescription() : row.getSource(),
+                        categoryDirectory.nameOf(userId, row.getCategoryId(), row.getCategory()), row.getAmount(), balance, row.getIsRecurring());
+            } else {
+                Expense row = expenses.get(e++);
+                balance = balance.subtract(row.getAmount());
+                entry = new LedgerEntryDto(row.getId(), TransactionType.EXPENSE, row.getExpenseDate(),
+                        row.getDescription() != null ? row.getDescription() : row.getName(),
+                        categoryDirectory.nameOf(userId, row.getCategoryId(), row.getCategory()), row.getAmount(), balance, row.getIsRecurring());
+            }
+            entries.add(entry);
+        }
+
+        boolean hasMore = i < incomes.size() || e < expenses.size();
+        String nextCursor = hasMore ? encodeCursor(entries.get(entries.size() - 1)) : null;
+
+        BigDecimal totalIncome = incomeRepository.sumThrough(userId, start, end, Long.MAX_VALUE);
+        BigDecimal totalExpense = expenseRepository.sumThrough(userId, start, end, Long.MAX_VALUE);
+
+        return new LedgerPageDto(userId, month.getYear(), month.getMonthValue(), openingBalance,
+                totalIncome, totalExpense, entries, nextCursor);
+    }
+
+    private String encodeCursor(LedgerEntryDto entry) {
+        String raw = entry.getDate() + "|" + entry.getType() + "|" + entry.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor, YearMonth month) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            Cursor decoded = new Cursor(LocalDate.parse(parts[0]), TransactionType.valueOf(parts[1]), Long.parseLong(parts[2]));
+            if (!YearMonth.from(decoded.date()).equals(month)) {
+                throw new IllegalArgumentException("Cursor does not belong to " + month);
+            }
+            return decoded;
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid ledger cursor", ex);
+        }
+    }
+
+    private record Position(LocalDate date, Long id) {
+    }
+
+    private record Cursor(LocalDate date, TransactionType type, Long id) {
+    }
+}
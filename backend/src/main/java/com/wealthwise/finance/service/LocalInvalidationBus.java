@@ -0,0 +1,29 @@
+package com.wealthwise.finance.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationBus} delivering changes to the subscribers of this node only, synchronously on the
+ * publishing thread. It is the default for single-node deployments; setting
+ * {@code wealthwise.cache.invalidation-bus} to another value disables it in favour of a cross-node bus bean.
+ */
+@Component
+@ConditionalOnProperty(name = "wealthwise.cache.invalidation-bus", havingValue = "local", matchIfMissing = true)
+public class LocalInvalidationBus implements InvalidationBus {
+    private final List<Consumer<DataChange>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(DataChange change) {
+        subscribers.forEach(subscriber -> subscriber.accept(change));
+    }
+
+    @Override
+    public void subscribe(Consumer<DataChange> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
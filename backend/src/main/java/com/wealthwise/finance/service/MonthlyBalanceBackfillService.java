@@ -0,0 +1,269 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.BackfillJobDto;
+import com.wealthwise.finance.entity.MonthlyBalance;
+import com.wealthwise.finance.exception.ResourceNotFoundException;
+import com.wealthwise.finance.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds monthly_balances for whole user histories. Each user's ledger is read once in date order,
+ * folded into month buckets with the carryover applied in memory, and written back with batched upserts.
+ * <p>
+ * Job progress lives in memory only: a job can be polled and resumed on the node that started it until that
+ * process stops. After a restart, or on another node, the job id is unknown and a new job has to be started;
+ * this is safe because rebuilding a user replaces all of their rows.
+ */
+@Service
+public class MonthlyBalanceBackfillService {
+    private static final Logger log = LoggerFactory.getLogger(MonthlyBalanceBackfillService.class);
+
+    private static final String LEDGER_STREAM_SQL =
+            "SELECT income_date AS entry_date, amount, 1 AS direction FROM income WHERE user_id = ? " +
+            "UNION ALL " +
+            "SELECT expense_date AS entry_date, amount, -1 AS direction FROM expenses WHERE user_id = ? " +
+            "ORDER BY entry_date";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO monthly_balances (user_id, year, month, period, opening_balance, closing_balance, " +
+            "total_income, total_expense, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, year, month) DO UPDATE SET period = EXCLUDED.period, " +
+            "opening_balance = EXCLUDED.opening_balance, closing_balance = EXCLUDED.closing_balance, " +
+            "total_income = EXCLUDED.total_income, total_expense = EXCLUDED.total_expense, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_OUTSIDE_SQL =
+            "DELETE FROM monthly_balances WHERE user_id = ? AND year * 100 + month NOT BETWEEN ? AND ?";
+
+    private final UserRepository userRepository;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final Map<String, BackfillJob> jobs = new ConcurrentHashMap<>();
+
+    public MonthlyBalanceBackfillService(UserRepository userRepository,
+                                         DataVersionRegistry dataVersionRegistry,
+                                         DataSource dataSource,
+                                         TransactionTemplate transactionTemplate,
+                                         ThreadFactory workerThreadFactory,
+                                         @Value("${wealthwise.backfill.parallelism:2}") int parallelism,
+                                         @Value("${wealthwise.backfill.batch-size:500}") int batchSize,
+                                         @Value("${wealthwise.backfill.fetch-size:1000}") int fetchSize) {
+        this.userRepository = userRepository;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = transactionTemplate;
+        this.executor = Executors.newFixedThreadPool(parallelism, workerThreadFactory);
+        this.batchSize = batchSize;
+    }
+
+    public BackfillJobDto startJob(List<Long> userIds) {
+        List<Long> targets = (userIds == null || userIds.isEmpty()) ? userRepository.findAllIds() : userIds;
+        BackfillJob job = new BackfillJob(UUID.randomUUID().toString(), targets);
+        jobs.put(job.id, job);
+        submitPending(job);
+        return toDto(job);
+    }
+
+    /**
+     * Resubmits the users a finished job has not completed. Only jobs started by this process can be resumed.
+     */
+    public BackfillJobDto resumeJob(String jobId) {
+        BackfillJob job = findJob(jobId);
+        if (job.finishedAt == null) {
+            return toDto(job);
+        }
+        job.failed.clear();
+        job.finishedAt = null;
+        submitPending(job);
+        return toDto(job);
+    }
+
+    public BackfillJobDto getJob(String jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    /**
+     * Recomputes every month between the user's first and last ledger entry, deletes the user's rows outside that
+     * range and returns the number of rows written.
+     */
+    public int backfillUser(Long userId) {
+        Integer written = transactionTemplate.execute(status -> {
+            List<MonthBucket> buckets = accumulateMonths(userId);
+            writeBuckets(userId, buckets);
+            deleteOutside(userId, buckets);
+            dataVersionRegistry.bump(userId, DataVersionRegistry.Domain.LEDGER);
+            return buckets.size();
+        });
+        return written != null ? written : 0;
+    }
+
+    private List<MonthBucket> accumulateMonths(Long userId) {
+        List<MonthBucket> buckets = new ArrayList<>();
+        jdbcTemplate.query(LEDGER_STREAM_SQL, rs -> {
+            YearMonth month = YearMonth.from(rs.getDate("entry_date").toLocalDate());
+            MonthBucket current = buckets.isEmpty() ? null : buckets.get(buckets.size() - 1);
+
+            if (current == null) {
+                current = new MonthBucket(month, BigDecimal.ZERO);
+                buckets.add(current);
+            }
+            while (current.month.isBefore(month)) {
+                current = new MonthBucket(current.month.plusMonths(1), current.closingBalance());
+                buckets.add(current);
+            }
+
+            BigDecimal amount = rs.getBigDecimal("amount");
+            if (rs.getInt("direction") > 0) {
+                current.totalIncome = current.totalIncome.add(amount);
+            } else {
+                current.totalExpense = current.totalExpense.add(amount);
+            }
+        }, userId, userId);
+        return buckets;
+    }
+
+    private void writeBuckets(Long userId, List<MonthBucket> buckets) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, buckets, batchSize, (ps, bucket) -> {
+            ps.setLong(1, userId);
+            ps.setInt(2, bucket.month.getYear());
+            ps.setInt(3, bucket.month.getMonthValue());
+            ps.setInt(4, MonthlyBalance.periodOf(bucket.month.getYear(), bucket.month.getMonthValue()));
+            ps.setBigDecimal(5, bucket.openingBalance);
+            ps.setBigDecimal(6, bucket.closingBalance());
+            ps.setBigDecimal(7, bucket.totalIncome);
+            ps.setBigDecimal(8, bucket.totalExpense);
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+
+    /**
+     * Drops rows left from months that no longer have ledger entries before the first or after the last one,
+     * or every row when the user has no entries at all.
+     */
+    private void deleteOutside(Long userId, List<MonthBucket> buckets) {
+        if (buckets.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM monthly_balances WHERE user_id = ?", userId);
+            return;
+        }
+        YearMonth first = buckets.get(0).month;
+        YearMonth last = buckets.get(buckets.size() - 1).month;
+        jdbcTemplate.update(DELETE_OUTSIDE_SQL, userId,
+                MonthlyBalance.periodOf(first.getYear(), first.getMonthValue()),
+                MonthlyBalance.periodOf(last.getYear(), last.getMonthValue()));
+    }
+
+    private void submitPending(BackfillJob job) {
+        List<Long> pending = job.userIds.stream()
+                .filter(userId -> !job.completed.contains(userId))
+                .toList();
+        job.remaining.set(pending.size());
+        if (pending.isEmpty()) {
+            job.finishedAt = LocalDateTime.now();
+            return;
+        }
+
+        for (Long userId : pending) {
+            executor.submit(() -> {
+                try {
+                    job.monthsWritten.addAndGet(backfillUser(userId));
+                    job.completed.add(userId);
+                } catch (RuntimeException ex) {
+                    log.warn("Monthly balance backfill failed for user {} in job {}", userId, job.id, ex);
+                    job.failed.put(userId, ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+                } finally {
+                    if (job.remaining.decrementAndGet() == 0) {
+                        job.finishedAt = LocalDateTime.now();
+                        log.info("Monthly balance backfill job {} finished: {}/{} users, {} months",
+                                job.id, job.completed.size(), job.userIds.size(), job.monthsWritten.get());
+                    }
+                }
+            });
+        }
+    }
+
+    private BackfillJob findJob(String jobId) {
+        BackfillJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Backfill job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private BackfillJobDto toDto(BackfillJob job) {
+        String status;
+        if (job.finishedAt == null) {
+            status = "RUNNING";
+        } else {
+            status = job.failed.isEmpty() ? "COMPLETED" : "COMPLETED_WITH_ERRORS";
+        }
+        return new BackfillJobDto(job.id, status, job.userIds.size(), job.completed.size(), job.failed.size(),
+                job.monthsWritten.get(), job.startedAt, job.finishedAt, new LinkedHashMap<>(job.failed));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class MonthBucket {
+        private final YearMonth month;
+        private final BigDecimal openingBalance;
+        private BigDecimal totalIncome = BigDecimal.ZERO;
+        private BigDecimal totalExpense = BigDecimal.ZERO;
+
+        private MonthBucket(YearMonth month, BigDecimal openingBalance) {
+            this.month = month;
+            this.openingBalance = openingBalance;
+        }
+
+        private BigDecimal closingBalance() {
+            return openingBalance.add(totalIncome).subtract(totalExpense);
+        }
+    }
+
+    private static class BackfillJob {
+        private final String id;
+        private final List<Long> userIds;
+        private final Set<Long> completed = ConcurrentHashMap.newKeySet();
+        private final Map<Long, String> failed = new ConcurrentHashMap<>();
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicLong monthsWritten = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+
+        private BackfillJob(String id, List<Long> userIds) {
+            this.id = id;
+            this.userIds = List.copyOf(userIds);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.wealthwise.finance.repository.ExpenseRepository;
 import com.wealthwise.finance.repository.IncomeRepository;
 import com.wealthwise.finance.repository.MonthlyBalanceRepository;
 import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import com.wealthwise.finance.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,7 +17,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +27,9 @@ public class MonthlyBalanceService {
     private final IncomeRepository incomeRepository;
     private final ExpenseRepository expenseRepository;
     private final RecurringTransactionRepository recurringTransactionRepository;
+    private final RecurrenceEngine recurrenceEngine;
+
+    private final SingleFlight<Projection, BigDecimal> projections = new SingleFlight<>();
 
     @Transactional
     public MonthlyBalance calculateAndSaveMonthlyBalance(User user, int year, int month) {
@@ -77,10 +80,8 @@ public class MonthlyBalanceService {
     }
 
     public BigDecimal getPreviousMonthClosingBalance(Long userId, int year, int month) {
-        Optional<MonthlyBalance> previousBalance = monthlyBalanceRepository
-            .findFirstByUserIdAndYearAndMonthBefore(userId, year, month);
-        
-        return previousBalance.map(MonthlyBalance::getClosingBalance)
+        return monthlyBalanceRepository
+            .findPreviousClosingBalance(userId, MonthlyBalance.periodOf(year, month))
             .orElse(BigDecimal.ZERO);
     }
 
@@ -92,7 +93,15 @@ public class MonthlyBalanceService {
         return monthlyBalanceRepository.findByUserIdOrderByYearDescMonthDesc(userId);
     }
 
+    /**
+     * Projected closing balance of the month. Concurrent requests for the same month share one computation.
+     */
     public BigDecimal getProjectedMonthlyBalance(Long userId, int year, int month) {
+        return projections.execute(new Projection(userId, year, month),
+            () -> computeProjectedMonthlyBalance(userId, year, month));
+    }
+
+    private BigDecimal computeProjectedMonthlyBalance(Long userId, int year, int month) {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
@@ -118,12 +127,15 @@ public class MonthlyBalanceService {
         BigDecimal projectedRecurringExpense = BigDecimal.ZERO;
 
         for (RecurringTransaction rt : recurringTransactions) {
-            if (isTransactionInMonth(rt, year, month)) {
-                if ("INCOME".equals(rt.getType())) {
-                    projectedRecurringIncome = projectedRecurringIncome.add(rt.getAmount());
-                } else {
-                    projectedRecurringExpense = projectedRecurringExpense.add(rt.getAmount());
-                }
+            int occurrences = recurrenceEngine.countOccurrences(rt, startDate, endDate);
+            if (occurrences == 0) {
+                continue;
+            }
+            BigDecimal amount = rt.getAmount().multiply(BigDecimal.valueOf(occurrences));
+            if (rt.getType() == RecurringTransaction.TransactionType.INCOME) {
+                projectedRecurringIncome = projectedRecurringIncome.add(amount);
+            } else {
+                projectedRecurringExpense = projectedRecurringExpense.add(amount);
             }
         }
 
@@ -134,19 +146,6 @@ public class MonthlyBalanceService {
         return openingBalance.add(totalIncome).subtract(totalExpense);
     }
 
-    private boolean isTransactionInMonth(RecurringTransaction rt, int year, int month) {
-        YearMonth targetMonth = YearMonth.of(year, month);
-        YearMonth startMonth = YearMonth.from(rt.getStartDate());
-        YearMonth endMonth = rt.getEndDate() != null ? YearMonth.from(rt.getEndDate()) : null;
-
-        if (targetMonth.isBefore(startMonth)) {
-            return false;
-        }
-
-        if (endMonth != null && targetMonth.isAfter(endMonth)) {
-            return false;
-        }
-
-        return true;
+    private record Projection(Long userId, int year, int month) {
     }
 }
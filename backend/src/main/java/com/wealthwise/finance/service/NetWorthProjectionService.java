@@ -0,0 +1,78 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.NetWorthProjectionDto;
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class NetWorthProjectionService {
+    public static final int MAX_MONTHS = 360;
+
+    private final AssetService assetService;
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final RecurrenceEngine recurrenceEngine;
+
+    /**
+     * Projects net worth month by month from the current asset/liability position plus the cash flow of the
+     * user's active recurring rules. Rule occurrences after today are expanded once over the whole horizon and
+     * bucketed into a primitive array, so the curve costs O(occurrences + months) with no per-month queries.
+     */
+    @Transactional(readOnly = true)
+    public NetWorthProjectionDto projectNetWorth(Long userId, int months) {
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new IllegalArgumentException("Projection horizon must be between 1 and " + MAX_MONTHS + " months");
+        }
+
+        BigDecimal currentNetWorth = assetService.getNetWorth(userId);
+        LocalDate today = LocalDate.now();
+        YearMonth firstMonth = YearMonth.from(today);
+        LocalDate horizonEnd = firstMonth.plusMonths(months - 1L).atEndOfMonth();
+
+        long[] monthlyCents = new long[months];
+        for (RecurringTransaction rt : recurringTransactionRepository.findByUserIdAndIsActive(userId, true)) {
+            long cents = toCents(rt.getAmount());
+            if (rt.getType() == RecurringTransaction.TransactionType.EXPENSE) {
+                cents = -cents;
+            }
+            for (LocalDate date : recurrenceEngine.expand(rt, today.plusDays(1), horizonEnd)) {
+                monthlyCents[(int) ChronoUnit.MONTHS.between(firstMonth, YearMonth.from(date))] += cents;
+            }
+        }
+
+        long startCents = toCents(currentNetWorth);
+        long cumulativeCents = 0;
+        List<NetWorthProjectionDto.Point> points = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            cumulativeCents += monthlyCents[i];
+            YearMonth month = firstMonth.plusMonths(i);
+            points.add(new NetWorthProjectionDto.Point(
+                    month.getYear(),
+                    month.getMonthValue(),
+                    fromCents(monthlyCents[i]),
+                    fromCents(cumulativeCents),
+                    fromCents(startCents + cumulativeCents)));
+        }
+
+        return new NetWorthProjectionDto(userId, currentNetWorth, months, points);
+    }
+
+    private long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -6,8 +6,10 @@ import com.wealthwise.finance.entity.User;
 import com.wealthwise.finance.exception.ResourceNotFoundException;
 import com.wealthwise.finance.repository.NetWorthRepository;
 import com.wealthwise.finance.repository.UserRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -18,12 +20,14 @@ import java.util.stream.Collectors;
 public class NetWorthService {
     private final NetWorthRepository netWorthRepository;
     private final UserRepository userRepository;
+    private final ReadCache readCache;
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<NetWorthDto> getAllNetWorthByUser(Long userId) {
-        return netWorthRepository.findByUserIdOrderByRecordDateDesc(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return readCache.get(userId, Domain.ASSETS, "net-worth-records", () ->
+                netWorthRepository.findByUserIdOrderByRecordDateDesc(userId).stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()));
     }
 
     @Transactional(readOnly = true)
@@ -70,7 +74,7 @@ public class NetWorthService {
         netWorthRepository.deleteById(id);
     }
 
-    private NetWorthDto convertToDto(NetWorth netWorth) {
+    NetWorthDto convertToDto(NetWorth netWorth) {
         NetWorthDto dto = new NetWorthDto();
         dto.setId(netWorth.getId());
         dto.setUserId(netWorth.getUser().getId());
@@ -0,0 +1,97 @@
+package com.wealthwise.finance.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import com.wealthwise.finance.service.InvalidationBus.DataChange;
+import com.wealthwise.finance.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for per-user service reads, evicting by Caffeine's W-TinyLFU policy. Entries are
+ * keyed by user, domain, the domain's current data version and the read with its arguments.
+ * <p>
+ * A write to a domain bumps its data version in {@link DataVersionRegistry}, after which lookups miss; the entries
+ * of the old version are dropped eagerly when the change arrives over the {@link InvalidationBus}. Keying by
+ * version also keeps a load that raced with a write from serving its result once the write committed.
+ * <p>
+ * Cached values are shared between callers and must be treated as read-only. Cached service reads run with
+ * SUPPORTS propagation so that a hit does not borrow a pooled connection. Loads read from the primary: their results
+ * are keyed by a version read there, and a lagging replica could otherwise file pre-write data under it.
+ * <p>
+ * Metrics are published as {@code cache.gets}, {@code cache.evictions} and {@code cache.size} with
+ * {@code cache=wealthwise.read-cache}, plus {@code wealthwise.read-cache.invalidations}.
+ */
+@Component
+public class ReadCache {
+    private static final String CACHE_NAME = "wealthwise.read-cache";
+
+    private final DataVersionRegistry dataVersionRegistry;
+    private final ReadRouting readRouting;
+    private final Cache<Key, Object> cache;
+    private final Counter invalidations;
+    private final SingleFlight<Key, Object> loads = new SingleFlight<>();
+
+    public ReadCache(DataVersionRegistry dataVersionRegistry,
+                     ReadRouting readRouting,
+                     InvalidationBus invalidationBus,
+                     MeterRegistry meterRegistry,
+                     @Value("${wealthwise.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${wealthwise.cache.expire-after-write:PT30M}") Duration expireAfterWrite) {
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.readRouting = readRouting;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder(CACHE_NAME + ".invalidations")
+                .description("Data changes that dropped cached reads")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        meterRegistry.gauge(CACHE_NAME + ".loads.in-flight", loads, SingleFlight::inFlight);
+        invalidationBus.subscribe(this::evict);
+    }
+
+    /**
+     * Returns the cached result of the read {@code name} with {@code args} for the user, loading it with
+     * {@code loader} on a miss. Concurrent misses on the same key share one load, which runs outside the cache's
+     * own locks so a slow load does not hold up other keys.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, Domain domain, String name, Supplier<T> loader, Object... args) {
+        if (dataVersionRegistry.hasPendingChange(userId, domain)) {
+            // the caller's transaction wrote the domain and reads its own uncommitted data
+            return loader.get();
+        }
+        Key key = new Key(userId, domain, dataVersionRegistry.version(userId, domain), name, Arrays.asList(args));
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        return (T) loads.execute(key, () -> {
+            Object value = readRouting.onPrimary(loader);
+            if (value != null) {
+                cache.put(key, value);
+            }
+            return value;
+        });
+    }
+
+    private void evict(DataChange change) {
+        invalidations.increment();
+        cache.asMap().keySet().removeIf(key -> change.affects(key.userId(), key.domain()));
+    }
+
+    private record Key(Long userId, Domain domain, long version, String name, List<Object> args) {
+    }
+}
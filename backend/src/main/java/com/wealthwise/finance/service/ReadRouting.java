@@ -0,0 +1,111 @@
+package com.wealthwise.finance.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wealthwise.finance.service.InvalidationBus.DataChange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether the read-only transactions of the current thread may be served by a read replica. Reads stay on
+ * the primary for work that must observe the latest committed state (see {@link #onPrimary}) and, during the
+ * read-your-writes window that follows a write, for requests of the client that wrote or acting for the user whose
+ * data was written.
+ * <p>
+ * The request bindings are kept as request attributes, so they follow the request onto the batch executor.
+ * Writes are learned from the {@link InvalidationBus}, so the per-user window also covers writes made through other
+ * nodes. A window of zero turns read-your-writes off.
+ */
+@Component
+public class ReadRouting {
+    private static final String USER_ATTRIBUTE = ReadRouting.class.getName() + ".user";
+    private static final String CLIENT_WRITE_ATTRIBUTE = ReadRouting.class.getName() + ".clientWrite";
+
+    private final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+    private final Duration window;
+    private final Cache<Long, Boolean> recentWriters;
+    private volatile long allUsersWindowEnd = System.nanoTime();
+
+    public ReadRouting(InvalidationBus invalidationBus,
+                       @Value("${wealthwise.datasource.read-your-writes-window:PT5S}") Duration window) {
+        this.window = window;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window.isZero() ? Duration.ofNanos(1) : window)
+                .build();
+        invalidationBus.subscribe(this::written);
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Binds the user the current request acts for.
+     */
+    public void bindUser(Long userId) {
+        bind(USER_ATTRIBUTE, userId);
+    }
+
+    /**
+     * Marks the current request as coming from a client that wrote within the read-your-writes window.
+     */
+    public void bindClientWrite() {
+        bind(CLIENT_WRITE_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    /**
+     * Runs {@code work} with every transaction it starts routed to the primary.
+     */
+    public <T> T onPrimary(Supplier<T> work) {
+        if (Boolean.TRUE.equals(primaryOnly.get())) {
+            return work.get();
+        }
+        primaryOnly.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            primaryOnly.remove();
+        }
+    }
+
+    public boolean requiresPrimary() {
+        if (Boolean.TRUE.equals(primaryOnly.get())) {
+            return true;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || window.isZero()) {
+            return false;
+        }
+        if (attributes.getAttribute(CLIENT_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        Long userId = (Long) attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (userId == null) {
+            return false;
+        }
+        return System.nanoTime() - allUsersWindowEnd < 0 || recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static void bind(String name, Object value) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(name, value, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private void written(DataChange change) {
+        if (window.isZero()) {
+            return;
+        }
+        if (change.userId() == null) {
+            allUsersWindowEnd = System.nanoTime() + window.toNanos();
+        } else {
+            recentWriters.put(change.userId(), Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expands recurring rules into concrete dates with RRULE-like semantics:
+ * <ul>
+ *     <li>WEEKLY every {@code interval} weeks on the rule's weekdays (default: the start date's weekday)</li>
+ *     <li>MONTHLY every {@code interval} months on {@code dayOfMonth}, clamped to the month's last day, or on
+ *     the nth weekday when {@code weekOfMonth} is set (1-5, -1 for the last one)</li>
+ *     <li>YEARLY every {@code interval} years in the start date's month, with the same day rules as MONTHLY</li>
+ * </ul>
+ * The first period inside a window is computed arithmetically, so an expansion costs O(occurrences) regardless
+ * of how far the window is from the rule's start date. Results are cached per (schedule, window), so an edit that
+ * is rolled back or not yet visible can never leave dates behind under a key another version of the rule reuses.
+ */
+@Component
+public class RecurrenceEngine {
+    private static final int CACHE_SIZE = 10000;
+
+    private final Map<ExpansionKey, List<LocalDate>> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ExpansionKey, List<LocalDate>> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    /**
+     * Returns the occurrence dates of {@code rt} inside [from, to] in ascending order.
+     */
+    public List<LocalDate> expand(RecurringTransaction rt, LocalDate from, LocalDate to) {
+        ExpansionKey key = new ExpansionKey(rt.getFrequency(), rt.getInterval(), rt.getDayOfMonth(),
+                rt.getWeekdayMask(), rt.getWeekOfMonth(), rt.getStartDate(), rt.getEndDate(), from, to);
+        List<LocalDate> cached = cache.get(key);
+        if (cached == null) {
+            cached = Collections.unmodifiableList(compute(rt, from, to));
+            cache.put(key, cached);
+        }
+        return cached;
+    }
+
+    public int countOccurrences(RecurringTransaction rt, LocalDate from, LocalDate to) {
+        return expand(rt, from, to).size();
+    }
+
+    private List<LocalDate> compute(RecurringTransaction rt, LocalDate from, LocalDate to) {
+        LocalDate effectiveFrom = from.isBefore(rt.getStartDate()) ? rt.getStartDate() : from;
+        LocalDate effectiveTo = rt.getEndDate() != null && rt.getEndDate().isBefore(to) ? rt.getEndDate() : to;
+        List<LocalDate> dates = new ArrayList<>();
+        if (effectiveFrom.isAfter(effectiveTo)) {
+            return dates;
+        }
+
+        int interval = rt.getInterval() != null && rt.getInterval() > 0 ? rt.getInterval() : 1;
+        switch (rt.getFrequency()) {
+            case WEEKLY -> expandWeekly(rt, interval, effectiveFrom, effectiveTo, dates);
+            case MONTHLY -> expandMonthly(rt, 1, interval, effectiveFrom, effectiveTo, dates);
+            case YEARLY -> expandMonthly(rt, 12, interval, effectiveFrom, effectiveTo, dates);
+        }
+        return dates;
+    }
+
+    private void expandWeekly(RecurringTransaction rt, int interval, LocalDate from, LocalDate to, List<LocalDate> dates) {
+        List<DayOfWeek> weekdays = weekdaysOf(rt.getWeekdayMask());
+        if (weekdays.isEmpty()) {
+            weekdays = List.of(rt.getStartDate().getDayOfWeek());
+        }
+
+        LocalDate anchor = rt.getStartDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        long weeksToWindow = ChronoUnit.WEEKS.between(anchor, from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+        long period = ceilDiv(weeksToWindow, interval);
+
+        for (LocalDate week = anchor.plusWeeks(period * interval); !week.isAfter(to); week = week.plusWeeks(interval)) {
+            for (DayOfWeek weekday : weekdays) {
+                LocalDate date = week.plusDays(weekday.getValue() - 1L);
+                if (!date.isBefore(from) && !date.isAfter(to)) {
+                    dates.add(date);
+                }
+            }
+        }
+    }
+
+    private void expandMonthly(RecurringTransaction rt, int monthsPerUnit, int interval, LocalDate from, LocalDate to,
+                               List<LocalDate> dates) {
+        int step = monthsPerUnit * interval;
+        YearMonth anchor = YearMonth.from(rt.getStartDate());
+        YearMonth lastMonth = YearMonth.from(to);
+        long monthsToWindow = ChronoUnit.MONTHS.between(anchor, YearMonth.from(from));
+        long period = ceilDiv(monthsToWindow, step);
+
+        for (YearMonth month = anchor.plusMonths(period * step); !month.isAfter(lastMonth); month = month.plusMonths(step)) {
+            for (LocalDate date : datesInMonth(rt, month)) {
+                if (!date.isBefore(from) && !date.isAfter(to)) {
+                    dates.add(date);
+                }
+            }
+        }
+    }
+
+    private List<LocalDate> datesInMonth(RecurringTransaction rt, YearMonth month) {
+        List<DayOfWeek> weekdays = weekdaysOf(rt.getWeekdayMask());
+        if (rt.getWeekOfMonth() == null || weekdays.isEmpty()) {
+            return List.of(month.atDay(Math.min(rt.getDayOfMonth(), month.lengthOfMonth())));
+        }
+
+        List<LocalDate> dates = new ArrayList<>(weekdays.size());
+        for (DayOfWeek weekday : weekdays) {
+            LocalDate date = rt.getWeekOfMonth() < 0
+                    ? month.atEndOfMonth().with(TemporalAdjusters.lastInMonth(weekday))
+                    : month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(rt.getWeekOfMonth(), weekday));
+            if (YearMonth.from(date).equals(month)) {
+                dates.add(date);
+            }
+        }
+        Collections.sort(dates);
+        return dates;
+    }
+
+    private long ceilDiv(long value, long divisor) {
+        return value <= 0 ? 0 : (value + divisor - 1) / divisor;
+    }
+
+    public static Integer toWeekdayMask(Collection<DayOfWeek> weekdays) {
+        if (weekdays == null || weekdays.isEmpty()) {
+            return null;
+        }
+        int mask = 0;
+        for (DayOfWeek weekday : weekdays) {
+            mask |= 1 << (weekday.getValue() - 1);
+        }
+        return mask;
+    }
+
+    public static List<DayOfWeek> weekdaysOf(Integer mask) {
+        if (mask == null || mask == 0) {
+            return List.of();
+        }
+        List<DayOfWeek> weekdays = new ArrayList<>(7);
+        for (DayOfWeek weekday : DayOfWeek.values()) {
+            if ((mask & (1 << (weekday.getValue() - 1))) != 0) {
+                weekdays.add(weekday);
+            }
+        }
+        return weekdays;
+    }
+
+    private record ExpansionKey(RecurringTransaction.Frequency frequency, Integer interval, Integer dayOfMonth,
+                                Integer weekdayMask, Integer weekOfMonth, LocalDate startDate, LocalDate endDate,
+                                LocalDate from, LocalDate to) {
+    }
+}
@@ -0,0 +1,292 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps materialized recurring entries topped up to a rolling horizon. Rules are read in keyset-paginated
+ * chunks; each chunk is expanded and written with batched inserts on a bounded worker pool, in one transaction
+ * per user. Only the node holding the scheduler lease runs the job, so it is safe to schedule on every node.
+ */
+@Service
+public class RecurringMaterializerService {
+    private static final Logger log = LoggerFactory.getLogger(RecurringMaterializerService.class);
+
+    private static final String LEASE_NAME = "recurring-materializer";
+
+    private static final String CLAIM_SQL =
+            "UPDATE recurring_transactions SET materialized_through = ? WHERE id = ? AND COALESCE(revision, 0) = ? " +
+            "AND is_active = true AND materialized_through IS NOT DISTINCT FROM ?";
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final LedgerBatchWriter ledgerBatchWriter;
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final RecurrenceEngine recurrenceEngine;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+
+    private final int horizonMonths;
+    private final int chunkSize;
+    private final Duration leaseTtl;
+    private final boolean enabled;
+    private final boolean virtualExpansion;
+
+    private final Timer runTimer;
+    private final Counter rulesCounter;
+    private final Counter entriesCounter;
+    private final AtomicLong lastRunThroughput = new AtomicLong();
+    private final AtomicLong lagDays = new AtomicLong();
+
+    public RecurringMaterializerService(RecurringTransactionRepository recurringTransactionRepository,
+                                        LedgerBatchWriter ledgerBatchWriter,
+                                        CategoryRollupRepository categoryRollupRepository,
+                                        DataVersionRegistry dataVersionRegistry,
+                                        RecurrenceEngine recurrenceEngine,
+                                        SchedulerLeaseService schedulerLeaseService,
+                                        ThreadFactory workerThreadFactory,
+                                        JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${wealthwise.recurring.materializer.enabled:true}") boolean enabled,
+                                        @Value("${wealthwise.recurring.materializer.horizon-months:12}") int horizonMonths,
+                                        @Value("${wealthwise.recurring.materializer.chunk-size:200}") int chunkSize,
+                                        @Value("${wealthwise.recurring.materializer.workers:2}") int workerCount,
+                                        @Value("${wealthwise.recurring.materializer.lease-ttl:PT10M}") Duration leaseTtl,
+                                        @Value("${wealthwise.recurring.virtual-expansion:false}") boolean virtualExpansion) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.ledgerBatchWriter = ledgerBatchWriter;
+        this.categoryRollupRepository = categoryRollupRepository;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.recurrenceEngine = recurrenceEngine;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.horizonMonths = horizonMonths;
+        this.chunkSize = chunkSize;
+        this.leaseTtl = leaseTtl;
+        this.enabled = enabled;
+        this.virtualExpansion = virtualExpansion;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount), workerThreadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.runTimer = Timer.builder("wealthwise.recurring.materializer.run")
+                .description("Duration of recurring materializer runs")
+                .register(meterRegistry);
+        this.rulesCounter = Counter.builder("wealthwise.recurring.materializer.rules")
+                .description("Recurring rules topped up by the materializer")
+                .register(meterRegistry);
+        this.entriesCounter = Counter.builder("wealthwise.recurring.materializer.entries")
+                .description("Ledger entries written by the materializer")
+                .register(meterRegistry);
+        meterRegistry.gauge("wealthwise.recurring.materializer.throughput", lastRunThroughput);
+        meterRegistry.gauge("wealthwise.recurring.materializer.lag.days", lagDays);
+    }
+
+    @Scheduled(cron = "${wealthwise.recurring.materializer.cron:0 0 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled || virtualExpansion) {
+            return;
+        }
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+            log.debug("Recurring materializer lease is held by another node, skipping run");
+            return;
+        }
+        try {
+            materializeAll();
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Tops up every active rule to the configured horizon and returns the number of entries written.
+     */
+    public long materializeAll() {
+        long started = System.nanoTime();
+        LocalDate horizonEnd = YearMonth.now().plusMonths(horizonMonths - 1L).atEndOfMonth();
+        AtomicLong entries = new AtomicLong();
+        Deque<Future<?>> pending = new ArrayDeque<>();
+
+        long afterId = 0L;
+        List<RecurringTransaction> chunk;
+        do {
+            chunk = recurringTransactionRepository.findActiveAfterId(afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+
+            List<RecurringTransaction> rules = chunk;
+            pending.add(workers.submit(() -> entries.addAndGet(materializeChunk(rules, horizonEnd))));
+            rulesCounter.increment(rules.size());
+
+            if (!awaitChunks(pending, false)) {
+                log.warn("Stopping recurring materializer after rule {}", afterId);
+                break;
+            }
+        } while (chunk.size() == chunkSize);
+        awaitChunks(pending, true);
+
+        long elapsedNanos = System.nanoTime() - started;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        entriesCounter.increment(entries.get());
+        lastRunThroughput.set(entries.get() * 1_000_000_000L / Math.max(elapsedNanos, 1L));
+
+        LocalDate oldest = recurringTransactionRepository.findOldestMaterializedThrough();
+        lagDays.set(oldest != null ? Math.max(0L, ChronoUnit.DAYS.between(oldest, horizonEnd)) : 0L);
+
+        log.info("Recurring materializer wrote {} entries through {} in {} ms", entries.get(), horizonEnd,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return entries.get();
+    }
+
+    /**
+     * Collects the chunks at the head of {@code pending} that have finished, or waits for all of them when
+     * {@code all} is set, and renews the lease after each one, so the lease only outlives the last chunk that
+     * actually completed. Once the lease is lost or the caller is interrupted, the chunks that have not started
+     * are cancelled and false is returned; chunks already running finish on their own, and the claim on each rule
+     * keeps them from writing anything another node has written meanwhile.
+     */
+    private boolean awaitChunks(Deque<Future<?>> pending, boolean all) {
+        while (!pending.isEmpty() && (all || pending.peekFirst().isDone())) {
+            try {
+                pending.pollFirst().get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancel(pending);
+                return false;
+            } catch (ExecutionException ex) {
+                log.error("Recurring materializer chunk failed", ex.getCause());
+            }
+            if (!schedulerLeaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                log.warn("Lost recurring materializer lease, cancelling {} pending chunks", pending.size());
+                cancel(pending);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void cancel(Deque<Future<?>> pending) {
+        for (Future<?> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Materializes a chunk one user at a time, in user id order, so no transaction holds locks of more than one
+     * user and the change tracking lock on each users row is taken in a consistent order.
+     */
+    private long materializeChunk(List<RecurringTransaction> rules, LocalDate horizonEnd) {
+        Map<Long, List<RecurringTransaction>> byUser = rules.stream()
+                .collect(Collectors.groupingBy(rt -> rt.getUser().getId(), TreeMap::new, Collectors.toList()));
+        long written = 0;
+        for (Map.Entry<Long, List<RecurringTransaction>> entry : byUser.entrySet()) {
+            Long count = transactionTemplate.execute(status -> materializeUser(entry.getKey(), entry.getValue(), horizonEnd));
+            written += count != null ? count : 0L;
+        }
+        return written;
+    }
+
+    /**
+     * Claims each rule by advancing its materialized_through, guarded by the revision, active flag and marker
+     * the chunk was read with, and only writes entries for the rules it claimed. A rule edited, deactivated,
+     * deleted or topped up by someone else since it was read matches no row and is left alone; an edit still in
+     * flight holds the row lock, so the claim waits for it and then sees the new revision.
+     */
+    private long materializeUser(Long userId, List<RecurringTransaction> rules, LocalDate horizonEnd) {
+        LocalDate firstOfMonth = YearMonth.now().atDay(1);
+        List<RecurringTransaction> due = new ArrayList<>();
+        List<LocalDate> froms = new ArrayList<>();
+        for (RecurringTransaction rt : rules) {
+            LocalDate from = rt.getMaterializedThrough() != null ? rt.getMaterializedThrough().plusDays(1) : firstOfMonth;
+            if (from.isBefore(firstOfMonth)) {
+                from = firstOfMonth;
+            }
+            if (!from.isAfter(horizonEnd)) {
+                due.add(rt);
+                froms.add(from);
+            }
+        }
+        if (due.isEmpty()) {
+            return 0L;
+        }
+
+        int[][] claimed = jdbcTemplate.batchUpdate(CLAIM_SQL, due, due.size(), (ps, rt) -> {
+            ps.setDate(1, Date.valueOf(horizonEnd));
+            ps.setLong(2, rt.getId());
+            ps.setInt(3, rt.getRevision() != null ? rt.getRevision() : 0);
+            ps.setObject(4, rt.getMaterializedThrough() != null ? Date.valueOf(rt.getMaterializedThrough()) : null, Types.DATE);
+        });
+
+        List<Income> incomes = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < due.size(); i++) {
+            if (claimed[0][i] == 0) {
+                log.debug("Recurring rule {} changed since it was read, skipping", due.get(i).getId());
+                continue;
+            }
+            RecurringTransaction rt = due.get(i);
+            for (LocalDate date : recurrenceEngine.expand(rt, froms.get(i), horizonEnd)) {
+                if (rt.getType() == RecurringTransaction.TransactionType.INCOME) {
+                    incomes.add(RecurringTransactionService.newRecurringIncome(rt, date));
+                } else {
+                    expenses.add(RecurringTransactionService.newRecurringExpense(rt, date));
+                }
+            }
+        }
+
+        categoryRollupRepository.add(RecurringTransaction.TransactionType.INCOME, ledgerBatchWriter.insertIncomes(incomes));
+        categoryRollupRepository.add(RecurringTransaction.TransactionType.EXPENSE, ledgerBatchWriter.insertExpenses(expenses));
+        if (!incomes.isEmpty() || !expenses.isEmpty()) {
+            dataVersionRegistry.bump(userId, DataVersionRegistry.Domain.LEDGER);
+        }
+        return incomes.size() + expenses.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -1,5 +1,9 @@
 package com.wealthwise.finance.service;
 
+import com.wealthwise.finance.dto.ExpenseDto;
+import com.wealthwise.finance.dto.IncomeDto;
+import com.wealthwise.finance.dto.OccurrenceOverrideDto;
+import com.wealthwise.finance.dto.RecurringInstanceDto;
 import com.wealthwise.finance.dto.RecurringTransactionDto;
 import com.wealthwise.finance.entity.RecurringTransaction;
 import com.wealthwise.finance.entity.Income;
@@ -8,29 +12,50 @@ import com.wealthwise.finance.entity.User;
 import com.wealthwise.finance.exception.ResourceNotFoundException;
 import com.wealthwise.finance.repository.RecurringTransactionRepository;
 import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
 import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
 import com.wealthwise.finance.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RecurringTransactionService {
+    public static final int MAX_INSTANCE_RANGE_DAYS = 3 * 366;
+
     private final RecurringTransactionRepository recurringTransactionRepository;
     private final UserRepository userRepository;
     private final IncomeRepository incomeRepository;
     private final ExpenseRepository expenseRepository;
+    private final LedgerBatchWriter ledgerBatchWriter;
+    private final RecurrenceEngine recurrenceEngine;
+    private final CategoryDirectory categoryDirectory;
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final TagService tagService;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final ReadCache readCache;
+
+    @Value("${wealthwise.recurring.virtual-expansion:false}")
+    private boolean virtualExpansion;
 
     @Transactional(readOnly = true)
     public List<RecurringTransactionDto> getAllByUser(Long userId) {
@@ -55,14 +80,16 @@ public class RecurringTransactionService {
 
     @Transactional
     public RecurringTransactionDto create(RecurringTransactionDto dto) {
+        validateSchedule(dto);
         User user = userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + dto.getUserId()));
         
         RecurringTransaction recurringTransaction = convertToEntity(dto);
         recurringTransaction.setUser(user);
+        applyCategory(recurringTransaction, dto);
         RecurringTransaction saved = recurringTransactionRepository.save(recurringTransaction);
         
-        if (saved.getIsActive()) {
+        if (saved.getIsActive() && !virtualExpansion) {
             generateFutureEntries(saved, 12);
         }
         
@@ -71,26 +98,34 @@ public class RecurringTransactionService {
 
     @Transactional
     public RecurringTransactionDto update(Long id, RecurringTransactionDto dto) {
+        validateSchedule(dto);
         RecurringTransaction recurringTransaction = recurringTransactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found with id: " + id));
         
         recurringTransaction.setType(dto.getType());
         recurringTransaction.setName(dto.getName());
         recurringTransaction.setAmount(dto.getAmount());
-        recurringTransaction.setCategory(dto.getCategory());
+        applyCategory(recurringTransaction, dto);
         recurringTransaction.setFrequency(dto.getFrequency());
         recurringTransaction.setDayOfMonth(dto.getDayOfMonth());
+        recurringTransaction.setInterval(dto.getInterval() != null ? dto.getInterval() : 1);
+        recurringTransaction.setWeekdayMask(RecurrenceEngine.toWeekdayMask(dto.getWeekdays()));
+        recurringTransaction.setWeekOfMonth(dto.getWeekOfMonth());
         recurringTransaction.setStartDate(dto.getStartDate());
         recurringTransaction.setEndDate(dto.getEndDate());
         recurringTransaction.setIsActive(dto.getIsActive());
         recurringTransaction.setDescription(dto.getDescription());
+        recurringTransaction.setRevision(recurringTransaction.getRevision() != null ? recurringTransaction.getRevision() + 1 : 1);
         
         RecurringTransaction updated = recurringTransactionRepository.save(recurringTransaction);
         
+        if (virtualExpansion) {
+            return convertToDto(updated);
+        }
         if (updated.getIsActive()) {
             generateFutureEntries(updated, 12);
         } else {
-            deleteExistingRecurringEntries(updated.getId());
+            deleteExistingRecurringEntries(updated);
         }
         
         return convertToDto(updated);
@@ -98,111 +133,262 @@ public class RecurringTransactionService {
 
     @Transactional
     public void delete(Long id) {
-        if (!recurringTransactionRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Recurring transaction not found with id: " + id);
+        RecurringTransaction recurringTransaction = recurringTransactionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found with id: " + id));
+        deleteExistingRecurringEntries(recurringTransaction);
+        recurringTransactionRepository.delete(recurringTransaction);
+    }
+
+    /**
+     * Expands every active rule of the user over [from, to] in one pass and returns the occurrences sorted by
+     * date. Results are cached in the {@link ReadCache} under the user's ledger version, which every rule and
+     * category write bumps.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RecurringInstanceDto> getInstances(Long userId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_INSTANCE_RANGE_DAYS) {
+            throw new IllegalArgumentException("Instance range must not exceed " + MAX_INSTANCE_RANGE_DAYS + " days");
         }
-        deleteExistingRecurringEntries(id);
-        recurringTransactionRepository.deleteById(id);
+
+        return readCache.get(userId, DataVersionRegistry.Domain.LEDGER, "recurring-instances", () -> {
+            List<RecurringInstanceDto> instances = new ArrayList<>();
+            for (RecurringTransaction rt : recurringTransactionRepository.findByUserIdAndIsActive(userId, true)) {
+                for (LocalDate date : recurrenceEngine.expand(rt, from, to)) {
+                    instances.add(new RecurringInstanceDto(rt.getId(), rt.getType(), rt.getName(), rt.getAmount(),
+                            categoryNameOf(rt), date, rt.getDescription(), null));
+                }
+            }
+            instances.sort(Comparator.comparing(RecurringInstanceDto::getDate)
+                    .thenComparing(RecurringInstanceDto::getRecurringId));
+            return Collections.unmodifiableList(instances);
+        }, from, to);
     }
 
     public List<Map<String, Object>> generateInstances(Long userId, int year, int month) {
-        List<RecurringTransaction> activeTransactions = recurringTransactionRepository.findByUserIdAndIsActive(userId, true);
+        YearMonth yearMonth = YearMonth.of(year, month);
         List<Map<String, Object>> instances = new ArrayList<>();
         
-        YearMonth yearMonth = YearMonth.of(year, month);
-        int daysInMonth = yearMonth.lengthOfMonth();
+        for (RecurringInstanceDto dto : getInstances(userId, yearMonth.atDay(1), yearMonth.atEndOfMonth())) {
+            Map<String, Object> instance = new HashMap<>();
+            instance.put("recurringId", dto.getRecurringId());
+            instance.put("type", dto.getType().toString());
+            instance.put("name", dto.getName());
+            instance.put("amount", dto.getAmount());
+            instance.put("category", dto.getCategory());
+            instance.put("date", dto.getDate().toString());
+            instance.put("description", dto.getDescription());
+            instance.put("isRecurring", true);
+            
+            instances.add(instance);
+        }
         
-        for (RecurringTransaction rt : activeTransactions) {
-            if (rt.getFrequency() == RecurringTransaction.Frequency.MONTHLY) {
-                LocalDate transactionDate = LocalDate.of(year, month, Math.min(rt.getDayOfMonth(), daysInMonth));
-                
-                if (!transactionDate.isBefore(rt.getStartDate()) && 
-                    (rt.getEndDate() == null || !transactionDate.isAfter(rt.getEndDate()))) {
-                    
-                    Map<String, Object> instance = new HashMap<>();
-                    instance.put("recurringId", rt.getId());
-                    instance.put("type", rt.getType().toString());
-                    instance.put("name", rt.getName());
-                    instance.put("amount", rt.getAmount());
-                    instance.put("category", rt.getCategory());
-                    instance.put("date", transactionDate.toString());
-                    instance.put("description", rt.getDescription());
-                    instance.put("isRecurring", true);
-                    
-                    instances.add(instance);
+        return instances;
+    }
+
+    /**
+     * In virtual-expansion mode, adds the rule occurrences in [start, end] that have not been confirmed as
+     * persisted income rows. Outside that mode the persisted rows are returned unchanged.
+     */
+    public List<IncomeDto> mergeVirtualIncomes(Long userId, LocalDate start, LocalDate end, List<IncomeDto> persisted) {
+        if (!virtualExpansion) {
+            return persisted;
+        }
+
+        Set<String> confirmed = persisted.stream()
+                .filter(dto -> dto.getRecurringTransactionId() != null)
+                .map(dto -> occurrenceKey(dto.getRecurringTransactionId(), dto.getIncomeDate()))
+                .collect(Collectors.toSet());
+
+        List<IncomeDto> merged = new ArrayList<>(persisted);
+        for (RecurringTransaction rt : recurringTransactionRepository.findByUserIdAndTypeAndActive(userId, RecurringTransaction.TransactionType.INCOME)) {
+            for (LocalDate date : recurrenceEngine.expand(rt, start, end)) {
+                if (!confirmed.contains(occurrenceKey(rt.getId(), date))) {
+                    IncomeDto dto = new IncomeDto();
+                    dto.setUserId(userId);
+                    dto.setSource(rt.getName());
+                    dto.setAmount(rt.getAmount());
+                    dto.setCategory(categoryNameOf(rt));
+                    dto.setCategoryId(rt.getCategoryId());
+                    dto.setIncomeDate(date);
+                    dto.setDescription(rt.getDescription());
+                    dto.setIsRecurring(true);
+                    dto.setRecurringTransactionId(rt.getId());
+                    merged.add(dto);
                 }
             }
         }
-        
-        return instances;
+        merged.sort(Comparator.comparing(IncomeDto::getIncomeDate));
+        return merged;
+    }
+
+    public List<ExpenseDto> mergeVirtualExpenses(Long userId, LocalDate start, LocalDate end, List<ExpenseDto> persisted) {
+        if (!virtualExpansion) {
+            return persisted;
+        }
+
+        Set<String> confirmed = persisted.stream()
+                .filter(dto -> dto.getRecurringTransactionId() != null)
+                .map(dto -> occurrenceKey(dto.getRecurringTransactionId(), dto.getExpenseDate()))
+                .collect(Collectors.toSet());
+
+        List<ExpenseDto> merged = new ArrayList<>(persisted);
+        for (RecurringTransaction rt : recurringTransactionRepository.findByUserIdAndTypeAndActive(userId, RecurringTransaction.TransactionType.EXPENSE)) {
+            for (LocalDate date : recurrenceEngine.expand(rt, start, end)) {
+                if (!confirmed.contains(occurrenceKey(rt.getId(), date))) {
+                    ExpenseDto dto = new ExpenseDto();
+                    dto.setUserId(userId);
+                    dto.setName(rt.getName());
+                    dto.setAmount(rt.getAmount());
+                    dto.setCategory(categoryNameOf(rt));
+                    dto.setCategoryId(rt.getCategoryId());
+                    dto.setExpenseDate(date);
+                    dto.setDescription(rt.getDescription());
+                    dto.setIsRecurring(true);
+                    dto.setRecurringTransactionId(rt.getId());
+                    merged.add(dto);
+                }
+            }
+        }
+        merged.sort(Comparator.comparing(ExpenseDto::getExpenseDate));
+        return merged;
+    }
+
+    /**
+     * Persists a single occurrence of a rule, optionally overriding its amount or description. Confirming an
+     * occurrence that is already persisted applies the overrides to the existing row.
+     */
+    @Transactional
+    public RecurringInstanceDto confirmOccurrence(Long id, LocalDate date, OccurrenceOverrideDto overrides) {
+        RecurringTransaction rt = recurringTransactionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found with id: " + id));
+        if (recurrenceEngine.expand(rt, date, date).isEmpty()) {
+            throw new IllegalArgumentException("Recurring transaction " + id + " has no occurrence on " + date);
+        }
+
+        BigDecimal amount = overrides != null && overrides.getAmount() != null ? overrides.getAmount() : rt.getAmount();
+        String description = overrides != null && overrides.getDescription() != null ? overrides.getDescription() : rt.getDescription();
+
+        Long entryId;
+        if (rt.getType() == RecurringTransaction.TransactionType.INCOME) {
+            Income income = incomeRepository.findByRecurringTransactionIdAndIncomeDate(id, date)
+                    .orElseGet(() -> newRecurringIncome(rt, date));
+            if (income.getId() != null) {
+                categoryRollupRepository.subtract(RecurringTransaction.TransactionType.INCOME, List.of(income.getId()));
+            }
+            income.setAmount(amount);
+            income.setDescription(description);
+            entryId = incomeRepository.saveAndFlush(income).getId();
+            categoryRollupRepository.add(RecurringTransaction.TransactionType.INCOME, List.of(entryId));
+        } else {
+            Expense expense = expenseRepository.findByRecurringTransactionIdAndExpenseDate(id, date)
+                    .orElseGet(() -> newRecurringExpense(rt, date));
+            if (expense.getId() != null) {
+                categoryRollupRepository.subtract(RecurringTransaction.TransactionType.EXPENSE, List.of(expense.getId()));
+            }
+            expense.setAmount(amount);
+            expense.setDescription(description);
+            entryId = expenseRepository.saveAndFlush(expense).getId();
+            categoryRollupRepository.add(RecurringTransaction.TransactionType.EXPENSE, List.of(entryId));
+        }
+
+        return new RecurringInstanceDto(rt.getId(), rt.getType(), rt.getName(), amount, categoryNameOf(rt),
+                date, description, entryId);
     }
 
     @Transactional
     public void generateFutureEntries(RecurringTransaction rt, int monthsAhead) {
-        deleteExistingRecurringEntries(rt.getId());
+        deleteExistingRecurringEntries(rt);
         
         LocalDate currentDate = LocalDate.now();
         LocalDate startDate = rt.getStartDate().isAfter(currentDate) ? rt.getStartDate() : currentDate;
-        LocalDate endDate = rt.getEndDate();
+        YearMonth firstMonth = YearMonth.from(startDate);
+        YearMonth lastMonth = firstMonth.plusMonths(monthsAhead - 1);
+        List<LocalDate> dates = recurrenceEngine.expand(rt, firstMonth.atDay(1), lastMonth.atEndOfMonth());
+        rt.setMaterializedThrough(lastMonth.atEndOfMonth());
         
-        for (int i = 0; i < monthsAhead; i++) {
-            YearMonth yearMonth = YearMonth.from(startDate.plusMonths(i));
-            int daysInMonth = yearMonth.lengthOfMonth();
-            
-            if (rt.getFrequency() == RecurringTransaction.Frequency.MONTHLY) {
-                LocalDate transactionDate = LocalDate.of(yearMonth.getYear(), yearMonth.getMonthValue(), 
-                    Math.min(rt.getDayOfMonth(), daysInMonth));
-                
-                if (!transactionDate.isBefore(rt.getStartDate()) && 
-                    (endDate == null || !transactionDate.isAfter(endDate))) {
-                    
-                    if (rt.getType() == RecurringTransaction.TransactionType.INCOME) {
-                        Income income = new Income();
-                        income.setUser(rt.getUser());
-                        income.setSource(rt.getName());
-                        income.setAmount(rt.getAmount());
-                        income.setCategory(rt.getCategory());
-                        income.setIncomeDate(transactionDate);
-                        income.setDescription(rt.getDescription());
-                        income.setIsRecurring(true);
-                        income.setRecurringTransactionId(rt.getId());
-                        incomeRepository.save(income);
-                    } else {
-                        Expense expense = new Expense();
-                        expense.setUser(rt.getUser());
-                        expense.setName(rt.getName());
-                        expense.setAmount(rt.getAmount());
-                        expense.setCategory(rt.getCategory());
-                        expense.setExpenseDate(transactionDate);
-                        expense.setDescription(rt.getDescription());
-                        expense.setIsRecurring(true);
-                        expense.setRecurringTransactionId(rt.getId());
-                        expenseRepository.save(expense);
-                    }
-                }
-            }
+        if (rt.getType() == RecurringTransaction.TransactionType.INCOME) {
+            categoryRollupRepository.add(rt.getType(),
+                    ledgerBatchWriter.insertIncomes(dates.stream().map(date -> newRecurringIncome(rt, date)).toList()));
+        } else {
+            categoryRollupRepository.add(rt.getType(),
+                    ledgerBatchWriter.insertExpenses(dates.stream().map(date -> newRecurringExpense(rt, date)).toList()));
         }
     }
 
     @Transactional
-    public void deleteExistingRecurringEntries(Long recurringTransactionId) {
-        List<Income> incomes = incomeRepository.findByRecurringTransactionId(recurringTransactionId);
-        incomeRepository.deleteAll(incomes);
-        
-        List<Expense> expenses = expenseRepository.findByRecurringTransactionId(recurringTransactionId);
-        expenseRepository.deleteAll(expenses);
+    public void deleteExistingRecurringEntries(RecurringTransaction rt) {
+        categoryRollupRepository.subtractRecurringEntries(rt.getId());
+        tagService.detachRecurringEntries(rt.getUser().getId(), rt.getId());
+        incomeRepository.deleteByRecurringTransactionId(rt.getId());
+        expenseRepository.deleteByRecurringTransactionId(rt.getId());
+        dataVersionRegistry.bump(rt.getUser().getId(), DataVersionRegistry.Domain.LEDGER);
+    }
+
+    static Income newRecurringIncome(RecurringTransaction rt, LocalDate date) {
+        Income income = new Income();
+        income.setUser(rt.getUser());
+        income.setSource(rt.getName());
+        income.setAmount(rt.getAmount());
+        income.setCategory(rt.getCategory());
+        income.setCategoryId(rt.getCategoryId());
+        income.setIncomeDate(date);
+        income.setDescription(rt.getDescription());
+        income.setIsRecurring(true);
+        income.setRecurringTransactionId(rt.getId());
+        return income;
+    }
+
+    static Expense newRecurringExpense(RecurringTransaction rt, LocalDate date) {
+        Expense expense = new Expense();
+        expense.setUser(rt.getUser());
+        expense.setName(rt.getName());
+        expense.setAmount(rt.getAmount());
+        expense.setCategory(rt.getCategory());
+        expense.setCategoryId(rt.getCategoryId());
+        expense.setExpenseDate(date);
+        expense.setDescription(rt.getDescription());
+        expense.setIsRecurring(true);
+        expense.setRecurringTransactionId(rt.getId());
+        return expense;
+    }
+
+    private void validateSchedule(RecurringTransactionDto dto) {
+        if (dto.getWeekOfMonth() != null && dto.getWeekOfMonth() == 0) {
+            throw new IllegalArgumentException("Week of month must be between 1 and 5, or -1 for the last week");
+        }
+    }
+
+    private void applyCategory(RecurringTransaction rt, RecurringTransactionDto dto) {
+        Long userId = rt.getUser().getId();
+        rt.setCategoryId(categoryDirectory.resolveId(userId, dto.getType().name(), dto.getCategoryId(), dto.getCategory()));
+        rt.setCategory(categoryDirectory.nameOf(userId, rt.getCategoryId(), dto.getCategory()));
+    }
+
+    private String categoryNameOf(RecurringTransaction rt) {
+        return categoryDirectory.nameOf(rt.getUser().getId(), rt.getCategoryId(), rt.getCategory());
+    }
+
+    private String occurrenceKey(Long recurringTransactionId, LocalDate date) {
+        return recurringTransactionId + "|" + date;
     }
 
-    private RecurringTransactionDto convertToDto(RecurringTransaction entity) {
+    RecurringTransactionDto convertToDto(RecurringTransaction entity) {
         RecurringTransactionDto dto = new RecurringTransactionDto();
         dto.setId(entity.getId());
         dto.setUserId(entity.getUser().getId());
         dto.setType(entity.getType());
         dto.setName(entity.getName());
         dto.setAmount(entity.getAmount());
-        dto.setCategory(entity.getCategory());
+        dto.setCategory(categoryNameOf(entity));
+        dto.setCategoryId(entity.getCategoryId());
         dto.setFrequency(entity.getFrequency());
         dto.setDayOfMonth(entity.getDayOfMonth());
+        dto.setInterval(entity.getInterval() != null ? entity.getInterval() : 1);
+        dto.setWeekdays(new LinkedHashSet<>(RecurrenceEngine.weekdaysOf(entity.getWeekdayMask())));
+        dto.setWeekOfMonth(entity.getWeekOfMonth());
         dto.setStartDate(entity.getStartDate());
         dto.setEndDate(entity.getEndDate());
         dto.setIsActive(entity.getIsActive());
@@ -218,6 +404,9 @@ public class RecurringTransactionService {
         entity.setCategory(dto.getCategory());
         entity.setFrequency(dto.getFrequency());
         entity.setDayOfMonth(dto.getDayOfMonth());
+        entity.setInterval(dto.getInterval() != null ? dto.getInterval() : 1);
+        entity.setWeekdayMask(RecurrenceEngine.toWeekdayMask(dto.getWeekdays()));
+        entity.setWeekOfMonth(dto.getWeekOfMonth());
         entity.setStartDate(dto.getStartDate());
         entity.setEndDate(dto.getEndDate());
         entity.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
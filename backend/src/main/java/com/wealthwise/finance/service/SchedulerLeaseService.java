@@ -0,0 +1,54 @@
+package com.wealthwise.finance.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Leader election for scheduled jobs through a row in scheduler_leases. A node holds a named lease until it
+ * expires; any node may take over an expired lease. Expiry is evaluated with the database clock so node clock
+ * skew cannot produce two leaders.
+ */
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+    private static final String NODE_ID = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private static final String TAKE_OVER_SQL =
+            "UPDATE scheduler_leases SET owner = ?, expires_at = LOCALTIMESTAMP + make_interval(secs => ?) " +
+            "WHERE name = ? AND (owner = ? OR expires_at < LOCALTIMESTAMP)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO scheduler_leases (name, owner, expires_at) " +
+            "VALUES (?, ?, LOCALTIMESTAMP + make_interval(secs => ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Acquires or renews the named lease for this node. Returns false while another node holds it.
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        long seconds = ttl.toSeconds();
+        if (jdbcTemplate.update(TAKE_OVER_SQL, NODE_ID, seconds, name, NODE_ID) == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_SQL, name, NODE_ID, seconds) == 1;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        jdbcTemplate.update("DELETE FROM scheduler_leases WHERE name = ? AND owner = ?", name, NODE_ID);
+    }
+
+    public String getNodeId() {
+        return NODE_ID;
+    }
+}
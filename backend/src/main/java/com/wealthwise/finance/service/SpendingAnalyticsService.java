@@ -0,0 +1,180 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.SpendingMatrixDto;
+import com.wealthwise.finance.dto.SpendingMatrixDto.Bucket;
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.SpendingAnalyticsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class SpendingAnalyticsService {
+    public static final int MAX_BUCKETS = 1000;
+
+    private final SpendingAnalyticsRepository spendingAnalyticsRepository;
+    private final ExpenseRepository expenseRepository;
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final CategoryDirectory categoryDirectory;
+
+    /**
+     * Returns the user's spending in [from, to] as a category-by-bucket matrix. Day and week buckets come from a
+     * single grouped query; month buckets read whole months from category_month_totals and only aggregate the
+     * partial months at either end. Every bucket of the range gets a column, empty ones included, and rows are
+     * ordered by total.
+     */
+    @Transactional(readOnly = true)
+    public SpendingMatrixDto getSpending(Long userId, LocalDate from, LocalDate to, String bucketName, String groupBy) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        Bucket bucket = parseBucket(bucketName);
+        boolean byCategory = parseGroupBy(groupBy);
+
+        List<LocalDate> buckets = new ArrayList<>();
+        for (LocalDate start = truncate(from, bucket); !start.isAfter(to); start = next(start, bucket)) {
+            if (buckets.size() == MAX_BUCKETS) {
+                throw new IllegalArgumentException("Range spans more than " + MAX_BUCKETS + " buckets, use a larger bucket");
+            }
+            buckets.add(start);
+        }
+        Map<LocalDate, Integer> column = new HashMap<>();
+        for (int i = 0; i < buckets.size(); i++) {
+            column.put(buckets.get(i), i);
+        }
+
+        Map<Long, RowBuilder> rows = new LinkedHashMap<>();
+        BigDecimal[] bucketTotals = zeros(buckets.size());
+        List<SpendingAnalyticsRepository.Cell> cells = bucket == Bucket.MONTH
+                ? monthlyCells(userId, from, to, byCategory)
+                : spendingAnalyticsRepository.sumByBucket(userId, from, to, bucket, byCategory);
+        for (SpendingAnalyticsRepository.Cell cell : cells) {
+            RowBuilder row = rows.computeIfAbsent(cell.categoryId(), k -> new RowBuilder(cell.categoryId(),
+                    byCategory ? categoryDirectory.nameOf(userId, cell.categoryId(), CategoryRollupService.UNCATEGORIZED_NAME) : "Total",
+                    buckets.size()));
+            int i = column.get(cell.bucket());
+            row.amounts[i] = row.amounts[i].add(cell.amount());
+            row.count += cell.count();
+            bucketTotals[i] = bucketTotals[i].add(cell.amount());
+        }
+
+        List<SpendingMatrixDto.Row> result = new ArrayList<>(rows.size());
+        BigDecimal total = BigDecimal.ZERO;
+        long count = 0;
+        for (RowBuilder row : rows.values()) {
+            BigDecimal rowTotal = BigDecimal.ZERO;
+            for (BigDecimal amount : row.amounts) {
+                rowTotal = rowTotal.add(amount);
+            }
+            total = total.add(rowTotal);
+            count += row.count;
+            result.add(new SpendingMatrixDto.Row(row.categoryId, row.category, rowTotal, row.count, List.of(row.amounts)));
+        }
+        result.sort(Comparator.comparing(SpendingMatrixDto.Row::getTotal).reversed());
+
+        List<SpendingMatrixDto.TopExpense> topExpenses = new ArrayList<>();
+        for (Expense expense : expenseRepository.findTop5ByUserIdAndExpenseDateBetweenOrderByAmountDescIdAsc(userId, from, to)) {
+            topExpenses.add(new SpendingMatrixDto.TopExpense(expense.getId(), expense.getExpenseDate(), expense.getName(),
+                    categoryDirectory.nameOf(userId, expense.getCategoryId(), expense.getCategory()), expense.getAmount()));
+        }
+
+        return new SpendingMatrixDto(userId, from, to, bucket, Collections.unmodifiableList(buckets), result,
+                List.of(bucketTotals), total, count, topExpenses);
+    }
+
+    private List<SpendingAnalyticsRepository.Cell> monthlyCells(Long userId, LocalDate from, LocalDate to, boolean byCategory) {
+        LocalDate fullFrom = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+        LocalDate fullTo = to.equals(YearMonth.from(to).atEndOfMonth()) ? to : to.withDayOfMonth(1).minusDays(1);
+        if (fullFrom.isAfter(fullTo)) {
+            return spendingAnalyticsRepository.sumByBucket(userId, from, to, Bucket.MONTH, byCategory);
+        }
+
+        List<SpendingAnalyticsRepository.Cell> cells = new ArrayList<>();
+        if (from.isBefore(fullFrom)) {
+            cells.addAll(spendingAnalyticsRepository.sumByBucket(userId, from, fullFrom.minusDays(1), Bucket.MONTH, byCategory));
+        }
+        for (CategoryRollupRepository.Cell cell : categoryRollupRepository.findByUser(userId,
+                CategoryRollupService.period(YearMonth.from(fullFrom)), CategoryRollupService.period(YearMonth.from(fullTo)),
+                TransactionType.EXPENSE)) {
+            Long categoryId = byCategory ? CategoryRollupService.categoryIdOf(cell) : null;
+            cells.add(new SpendingAnalyticsRepository.Cell(LocalDate.of(cell.period() / 100, cell.period() % 100, 1),
+                    categoryId, cell.total(), cell.count()));
+        }
+        if (to.isAfter(fullTo)) {
+            cells.addAll(spendingAnalyticsRepository.sumByBucket(userId, fullTo.plusDays(1), to, Bucket.MONTH, byCategory));
+        }
+        return cells;
+    }
+
+    static LocalDate truncate(LocalDate date, Bucket bucket) {
+        return switch (bucket) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate next(LocalDate start, Bucket bucket) {
+        return switch (bucket) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+
+    private static Bucket parseBucket(String bucket) {
+        try {
+            return Bucket.valueOf(bucket.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported bucket '" + bucket + "', expected day, week or month");
+        }
+    }
+
+    private static boolean parseGroupBy(String groupBy) {
+        if ("category".equalsIgnoreCase(groupBy)) {
+            return true;
+        }
+        if ("none".equalsIgnoreCase(groupBy)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported groupBy '" + groupBy + "', expected category or none");
+    }
+
+    private static BigDecimal[] zeros(int size) {
+        BigDecimal[] values = new BigDecimal[size];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+
+    private static class RowBuilder {
+        private final Long categoryId;
+        private final String category;
+        private final BigDecimal[] amounts;
+        private long count;
+
+        private RowBuilder(Long categoryId, String category, int buckets) {
+            this.categoryId = categoryId;
+            this.category = category;
+            this.amounts = zeros(buckets);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.ImportResultDto;
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.entity.User;
+import com.wealthwise.finance.exception.ResourceNotFoundException;
+import com.wealthwise.finance.importer.StatementFormat;
+import com.wealthwise.finance.importer.StatementRow;
+import com.wealthwise.finance.importer.StatementRowHandler;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.UserRepository;
+import com.wealthwise.finance.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Imports bank statements without creating duplicates when overlapping periods are imported again. Every row
+ * gets a content hash of (date, amount, normalized description, ordinal), where the ordinal tells apart
+ * identical rows within one statement. A per-user Bloom filter answers "definitely new" for most rows without
+ * touching the database; only its positives are checked against the unique (user_id, import_hash) index, and
+ * the inserts themselves use ON CONFLICT DO NOTHING so a stale filter can never let a duplicate through.
+ * Rows without a category in the file are categorized with the user's compiled rules.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatementImportService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final long MIN_FILTER_CAPACITY = 10_000;
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final String DEFAULT_CATEGORY = "Uncategorized";
+    private static final String DEFAULT_DESCRIPTION = "Imported transaction";
+
+    private final UserRepository userRepository;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final LedgerBatchWriter ledgerBatchWriter;
+    private final CategoryRollupRepository categoryRollupRepository;
+    private final CategorizationEngine categorizationEngine;
+    private final CategoryDirectory categoryDirectory;
+    private final DataVersionRegistry dataVersionRegistry;
+
+    private final Map<Long, BloomFilter> filters = new ConcurrentHashMap<>();
+
+    @Transactional
+    public ImportResultDto importStatement(Long userId, MultipartFile file, String declaredFormat) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        StatementFormat format = StatementFormat.resolve(declaredFormat, file.getOriginalFilename());
+
+        ImportResultDto result = new ImportResultDto();
+        result.setFormat(format.name());
+        ImportRun run = new ImportRun(userRepository.getReferenceById(userId), filterFor(userId),
+                categorizationEngine.forUser(userId), result);
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            format.newParser().parse(reader, run);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read statement", ex);
+        }
+        run.flush();
+        dataVersionRegistry.bump(userId, DataVersionRegistry.Domain.LEDGER);
+        return result;
+    }
+
+    private BloomFilter filterFor(Long userId) {
+        BloomFilter filter = filters.get(userId);
+        if (filter == null || filter.isSaturated()) {
+            filter = loadFilter(userId);
+            filters.put(userId, filter);
+        }
+        return filter;
+    }
+
+    private BloomFilter loadFilter(Long userId) {
+        List<Long> incomeHashes = incomeRepository.findImportHashes(userId);
+        List<Long> expenseHashes = expenseRepository.findImportHashes(userId);
+        long known = (long) incomeHashes.size() + expenseHashes.size();
+        BloomFilter filter = new BloomFilter(Math.max(MIN_FILTER_CAPACITY, known * 2), FILTER_FALSE_POSITIVE_RATE);
+        incomeHashes.forEach(filter::put);
+        expenseHashes.forEach(filter::put);
+        return filter;
+    }
+
+    private class ImportRun implements StatementRowHandler {
+        private final User user;
+        private final BloomFilter filter;
+        private final CategorizationEngine.Categorizer categorizer;
+        private final ImportResultDto result;
+        private final MessageDigest digest;
+        private final Map<String, Integer> occurrences = new HashMap<>();
+        private final List<PendingRow> pending = new ArrayList<>(CHUNK_SIZE);
+
+        ImportRun(User user, BloomFilter filter, CategorizationEngine.Categorizer categorizer, ImportResultDto result) {
+            this.user = user;
+            this.filter = filter;
+            this.categorizer = categorizer;
+            this.result = result;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void onRow(StatementRow row) {
+            result.setRows(result.getRows() + 1);
+            BigDecimal amount = row.amount().setScale(2, RoundingMode.HALF_UP);
+            if (amount.signum() == 0) {
+                onError(row.line(), "Zero amount");
+                return;
+            }
+
+            String description = row.description() != null ? row.description() : DEFAULT_DESCRIPTION;
+            String content = row.date() + "|" + amount.toPlainString() + "|" + normalize(description);
+            int ordinal = occurrences.merge(content, 1, Integer::sum);
+            pending.add(new PendingRow(row, amount, description, hash(content + "|" + ordinal)));
+
+            if (pending.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onError(int line, String message) {
+            result.setErrorCount(result.getErrorCount() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add("Line " + line + ": " + message);
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<Long> maybeIncome = new ArrayList<>();
+            List<Long> maybeExpense = new ArrayList<>();
+            for (PendingRow row : pending) {
+                if (filter.mightContain(row.hash())) {
+                    (row.amount().signum() > 0 ? maybeIncome : maybeExpense).add(row.hash());
+                }
+            }
+            Set<Long> existingIncome = maybeIncome.isEmpty() ? Set.of() : incomeRepository.findExistingImportHashes(user.getId(), maybeIncome);
+            Set<Long> existingExpense = maybeExpense.isEmpty() ? Set.of() : expenseRepository.findExistingImportHashes(user.getId(), maybeExpense);
+
+            List<Income> incomes = new ArrayList<>();
+            List<Expense> expenses = new ArrayList<>();
+            for (PendingRow row : pending) {
+                boolean isIncome = row.amount().signum() > 0;
+                if ((isIncome ? existingIncome : existingExpense).contains(row.hash())) {
+                    result.setDuplicates(result.getDuplicates() + 1);
+                    continue;
+                }
+                String category = categoryFor(row);
+                if (isIncome) {
+                    Income income = new Income();
+                    income.setUser(user);
+                    income.setSource(truncate(row.description(), 255));
+                    income.setAmount(row.amount());
+                    income.setCategoryId(categoryDirectory.resolveId(user.getId(), "INCOME", category));
+                    income.setCategory(category);
+                    income.setIncomeDate(row.row().date());
+                    income.setDescription(truncate(row.description(), 500));
+                    income.setImportHash(row.hash());
+                    incomes.add(income);
+                } else {
+                    Expense expense = new Expense();
+                    expense.setUser(user);
+                    expense.setName(truncate(row.description(), 255));
+                    expense.setAmount(row.amount().negate());
+                    expense.setCategoryId(categoryDirectory.resolveId(user.getId(), "EXPENSE", category));
+                    expense.setCategory(category);
+                    expense.setExpenseDate(row.row().date());
+                    expense.setDescription(truncate(row.description(), 500));
+                    expense.setImportHash(row.hash());
+                    expenses.add(expense);
+                }
+                filter.put(row.hash());
+            }
+
+            categoryRollupRepository.add(TransactionType.INCOME, ledgerBatchWriter.insertImportedIncomes(incomes));
+            categoryRollupRepository.add(TransactionType.EXPENSE, ledgerBatchWriter.insertImportedExpenses(expenses));
+            result.setIncomes(result.getIncomes() + incomes.size());
+            result.setExpenses(result.getExpenses() + expenses.size());
+            pending.clear();
+        }
+
+        private String categoryFor(PendingRow row) {
+            if (row.row().category() != null) {
+                return truncate(row.row().category(), 255);
+            }
+            String matched = categorizer.categorize(row.description(), row.amount());
+            return matched != null ? matched : DEFAULT_CATEGORY;
+        }
+
+        private long hash(String content) {
+            byte[] sha = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(sha, 0, Long.BYTES).getLong();
+        }
+    }
+
+    private static String normalize(String description) {
+        return description.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private record PendingRow(StatementRow row, BigDecimal amount, String description, long hash) {
+    }
+}
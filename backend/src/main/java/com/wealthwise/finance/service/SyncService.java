@@ -0,0 +1,170 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.SyncDto;
+import com.wealthwise.finance.entity.Asset;
+import com.wealthwise.finance.entity.Budget;
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Goal;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.entity.NetWorth;
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.exception.ResourceNotFoundException;
+import com.wealthwise.finance.model.Trade;
+import com.wealthwise.finance.repository.AssetRepository;
+import com.wealthwise.finance.repository.BudgetRepository;
+import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.GoalRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.NetWorthRepository;
+import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import com.wealthwise.finance.repository.SyncRepository;
+import com.wealthwise.finance.repository.SyncRepository.SyncTable;
+import com.wealthwise.finance.repository.TradeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Delta sync: returns the rows a user changed and deleted after a given change version, so warm clients fetch
+ * only what changed instead of their full lists. Versions are stamped by the database (see
+ * {@link SyncRepository}); this service only pages through them.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    public static final int MAX_LIMIT = 2000;
+
+    private static final String LEASE_NAME = "sync-tombstone-purge";
+
+    private final SyncRepository syncRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final TradeRepository tradeRepository;
+    private final GoalRepository goalRepository;
+    private final AssetRepository assetRepository;
+    private final BudgetRepository budgetRepository;
+    private final CategoryRepository categoryRepository;
+    private final NetWorthRepository netWorthRepository;
+    private final IncomeService incomeService;
+    private final ExpenseService expenseService;
+    private final RecurringTransactionService recurringTransactionService;
+    private final TradeService tradeService;
+    private final GoalService goalService;
+    private final AssetService assetService;
+    private final BudgetService budgetService;
+    private final CategoryService categoryService;
+    private final NetWorthService netWorthService;
+
+    @Value("${wealthwise.sync.tombstone-retention:P90D}")
+    private Duration tombstoneRetention;
+
+    /**
+     * Returns the changes after {@code since}, about {@code limit} rows at most. A page always ends on a version
+     * boundary so a transaction's changes are never split; a single transaction larger than the limit is
+     * returned whole. A null {@code since} asks for the current version only.
+     */
+    @Transactional(readOnly = true)
+    public SyncDto changesSince(Long userId, Long since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        SyncRepository.Versions versions = syncRepository.findVersions(userId);
+        if (versions == null) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        if (since == null || since < versions.floor() || since > versions.current()) {
+            return new SyncDto(since, versions.current(), false, true, Map.of(), Map.of());
+        }
+
+        long upTo = versions.current();
+        Long boundary = syncRepository.findVersionAt(userId, since, limit);
+        if (boundary != null) {
+            Long first = syncRepository.findVersionAt(userId, since, 0);
+            upTo = Math.min(upTo, boundary.equals(first) ? boundary : boundary - 1);
+        }
+
+        Map<String, List<?>> upserts = new LinkedHashMap<>();
+        if (upTo > since) {
+            for (SyncTable table : SyncTable.values()) {
+                List<?> rows = load(table, syncRepository.findChangedIds(table, userId, since, upTo));
+                if (!rows.isEmpty()) {
+                    upserts.put(table.getKey(), rows);
+                }
+            }
+        }
+        Map<String, List<Long>> deletes = new LinkedHashMap<>();
+        if (upTo > since) {
+            for (SyncRepository.Tombstone tombstone : syncRepository.findTombstones(userId, since, upTo)) {
+                deletes.computeIfAbsent(tombstone.entityType(), type -> new ArrayList<>()).add(tombstone.entityId());
+            }
+        }
+        return new SyncDto(since, upTo, upTo < versions.current(), false, upserts, deletes);
+    }
+
+    @Scheduled(cron = "${wealthwise.sync.tombstone-purge.cron:0 30 3 * * *}")
+    public void purgeTombstones() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(10))) {
+            return;
+        }
+        try {
+            int purged = syncRepository.purgeTombstones(LocalDateTime.now().minus(tombstoneRetention));
+            if (purged > 0) {
+                log.info("Purged {} sync tombstones older than {}", purged, tombstoneRetention);
+            }
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    private List<?> load(SyncTable table, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return switch (table) {
+            case INCOME -> inOrder(ids, incomeRepository.findAllById(ids), Income::getId, incomeService::convertToDto);
+            case EXPENSES -> inOrder(ids, expenseRepository.findAllById(ids), Expense::getId, expenseService::convertToDto);
+            case RECURRING -> inOrder(ids, recurringTransactionRepository.findAllById(ids), RecurringTransaction::getId,
+                    recurringTransactionService::convertToDto);
+            case TRADES -> inOrder(ids, tradeRepository.findAllById(ids), Trade::getId, tradeService::convertToDTO);
+            case GOALS -> inOrder(ids, goalRepository.findAllById(ids), Goal::getId, goalService::convertToDto);
+            case ASSETS -> inOrder(ids, assetRepository.findAllById(ids), Asset::getId, assetService::convertToDto);
+            case BUDGETS -> inOrder(ids, budgetRepository.findAllById(ids), Budget::getId, budgetService::convertToDto);
+            case CATEGORIES -> inOrder(ids, categoryRepository.findAllById(ids), Category::getId, categoryService::convertToDto);
+            case NET_WORTH -> inOrder(ids, netWorthRepository.findAllById(ids), NetWorth::getId, netWorthService::convertToDto);
+        };
+    }
+
+    /**
+     * Converts {@code entities} in the order of {@code ids} (change version order).
+     */
+    private static <E, D> List<D> inOrder(List<Long> ids, List<E> entities, Function<E, Long> idOf, Function<E, D> convert) {
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return entities.stream()
+                .sorted(Comparator.comparing(entity -> positions.get(idOf.apply(entity))))
+                .map(convert)
+                .toList();
+    }
+}
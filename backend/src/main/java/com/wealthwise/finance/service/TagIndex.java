@@ -0,0 +1,175 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.TransactionTag.Target;
+import com.wealthwise.finance.repository.TransactionTagRepository;
+import com.wealthwise.finance.service.InvalidationBus.DataChange;
+import com.wealthwise.finance.util.RoaringBitmap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory bitmap index over transaction_tags, per user and target type. Every tagged row gets a dense ordinal
+ * in the order it was first seen, and every tag keeps a {@link RoaringBitmap} of the ordinals carrying it, so a
+ * boolean tag query is a handful of bitmap AND/OR/ANDNOT operations before any ledger row is read.
+ * <p>
+ * Indexes are built lazily from the table and dropped when a change to the user's ledger or trades arrives over
+ * the {@link InvalidationBus}, which tag writes publish by bumping the data version, so every node rebuilds from
+ * the committed tags.
+ */
+@Component
+public class TagIndex {
+    private final TransactionTagRepository transactionTagRepository;
+
+    private final Map<Key, UserTags> byUser = new ConcurrentHashMap<>();
+
+    public TagIndex(TransactionTagRepository transactionTagRepository, InvalidationBus invalidationBus) {
+        this.transactionTagRepository = transactionTagRepository;
+        invalidationBus.subscribe(this::evict);
+    }
+
+    /**
+     * Evaluates {@code query} against the user's tags. Returns null when the query has no criteria.
+     */
+    public Match match(Long userId, Target target, Query query) {
+        if (query.isEmpty()) {
+            return null;
+        }
+        return tagsOf(userId, target).match(query);
+    }
+
+    /**
+     * Number of rows carrying each tag, most used first.
+     */
+    public Map<String, Integer> counts(Long userId, Target target) {
+        return tagsOf(userId, target).counts();
+    }
+
+    public void invalidate(Long userId) {
+        byUser.keySet().removeIf(key -> key.userId().equals(userId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    byUser.keySet().removeIf(key -> key.userId().equals(userId));
+                }
+            });
+        }
+    }
+
+    private void evict(DataChange change) {
+        byUser.keySet().removeIf(key -> change.affects(key.userId(), TagService.domainOf(key.target())));
+    }
+
+    private UserTags tagsOf(Long userId, Target target) {
+        return byUser.computeIfAbsent(new Key(userId, target), key -> {
+            UserTags tags = new UserTags();
+            for (Object[] pair : transactionTagRepository.findPairs(userId, target)) {
+                tags.add((Long) pair[0], (String) pair[1]);
+            }
+            return tags;
+        });
+    }
+
+    /**
+     * Normalized tag criteria: rows must carry every tag of {@code all}, at least one of {@code any} and none of
+     * {@code none}. Empty sets do not constrain.
+     */
+    public record Query(Set<String> all, Set<String> any, Set<String> none) {
+        public static Query of(Collection<String> all, Collection<String> any, Collection<String> none) {
+            return new Query(TagService.normalize(all), TagService.normalize(any), TagService.normalize(none));
+        }
+
+        public boolean isEmpty() {
+            return all.isEmpty() && any.isEmpty() && none.isEmpty();
+        }
+    }
+
+    /**
+     * Result of a tag query as sorted row ids. Queries with only {@code none} criteria cannot enumerate the
+     * untagged rows, so they come back as the ids to exclude instead.
+     */
+    public record Match(boolean exclude, long[] ids) {
+        public boolean matchesNothing() {
+            return !exclude && ids.length == 0;
+        }
+    }
+
+    private record Key(Long userId, Target target) {
+    }
+
+    private static final class UserTags {
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private long[] ids = new long[16];
+        private final Map<String, RoaringBitmap> bitmaps = new HashMap<>();
+
+        synchronized void add(Long targetId, String tag) {
+            bitmaps.computeIfAbsent(tag, t -> new RoaringBitmap()).add(ordinalOf(targetId));
+        }
+
+        synchronized Match match(Query query) {
+            RoaringBitmap result = null;
+            for (String tag : query.all()) {
+                RoaringBitmap bitmap = bitmaps.getOrDefault(tag, new RoaringBitmap());
+                result = result == null ? bitmap : RoaringBitmap.and(result, bitmap);
+            }
+            if (!query.any().isEmpty()) {
+                RoaringBitmap union = union(query.any());
+                result = result == null ? union : RoaringBitmap.and(result, union);
+            }
+            RoaringBitmap excluded = union(query.none());
+            if (result == null) {
+                return new Match(true, idsOf(excluded));
+            }
+            return new Match(false, idsOf(RoaringBitmap.andNot(result, excluded)));
+        }
+
+        synchronized Map<String, Integer> counts() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            bitmaps.entrySet().stream()
+                    .sorted(Map.Entry.<String, RoaringBitmap>comparingByValue(
+                            (a, b) -> Integer.compare(b.cardinality(), a.cardinality()))
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> counts.put(entry.getKey(), entry.getValue().cardinality()));
+            return counts;
+        }
+
+        private RoaringBitmap union(Set<String> tags) {
+            RoaringBitmap union = new RoaringBitmap();
+            for (String tag : tags) {
+                RoaringBitmap bitmap = bitmaps.get(tag);
+                if (bitmap != null) {
+                    union = RoaringBitmap.or(union, bitmap);
+                }
+            }
+            return union;
+        }
+
+        private long[] idsOf(RoaringBitmap bitmap) {
+            long[] result = new long[bitmap.cardinality()];
+            int[] position = {0};
+            bitmap.forEach(ordinal -> result[position[0]++] = ids[ordinal]);
+            Arrays.sort(result);
+            return result;
+        }
+
+        private int ordinalOf(Long targetId) {
+            return ordinals.computeIfAbsent(targetId, id -> {
+                int ordinal = ordinals.size();
+                if (ordinal == ids.length) {
+                    ids = Arrays.copyOf(ids, ordinal * 2);
+                }
+                ids[ordinal] = id;
+                return ordinal;
+            });
+        }
+    }
+}
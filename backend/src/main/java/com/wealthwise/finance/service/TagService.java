@@ -0,0 +1,196 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.TagCountDto;
+import com.wealthwise.finance.dto.TagMatchDto;
+import com.wealthwise.finance.entity.TransactionTag;
+import com.wealthwise.finance.entity.TransactionTag.Target;
+import com.wealthwise.finance.exception.ResourceNotFoundException;
+import com.wealthwise.finance.model.Trade;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.TradeRepository;
+import com.wealthwise.finance.repository.TransactionFilters;
+import com.wealthwise.finance.repository.TransactionTagRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Free-form tags on income entries, expense entries and trades. Tags are stored in transaction_tags and
+ * queried through the bitmaps of {@link TagIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+public class TagService {
+    public static final int MAX_TAG_LENGTH = 50;
+    public static final int MAX_TAGS_PER_ROW = 20;
+    public static final int MAX_MATCH_LIMIT = 10000;
+
+    /**
+     * Largest id list sent to the database as an IN list; bigger matches are re-evaluated there with EXISTS
+     * subqueries on transaction_tags.
+     */
+    private static final int MAX_ID_LIST = 5000;
+
+    private final TransactionTagRepository transactionTagRepository;
+    private final TagIndex tagIndex;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final TradeRepository tradeRepository;
+    private final DataVersionRegistry dataVersionRegistry;
+
+    @Transactional(readOnly = true)
+    public List<String> getTags(Long userId, Target target, Long targetId) {
+        checkOwner(userId, target, targetId);
+        return transactionTagRepository.findByTargetAndTargetIdOrderByTag(target, targetId).stream()
+                .map(TransactionTag::getTag)
+                .toList();
+    }
+
+    /**
+     * Replaces the tags of one row and returns them in sorted order.
+     */
+    @Transactional
+    public List<String> setTags(Long userId, Target target, Long targetId, Collection<String> tags) {
+        checkOwner(userId, target, targetId);
+        Set<String> wanted = normalize(tags);
+        if (wanted.size() > MAX_TAGS_PER_ROW) {
+            throw new IllegalArgumentException("A row can carry at most " + MAX_TAGS_PER_ROW + " tags");
+        }
+
+        Set<String> removed = new HashSet<>();
+        Set<String> added = new HashSet<>(wanted);
+        for (TransactionTag existing : transactionTagRepository.findByTargetAndTargetIdOrderByTag(target, targetId)) {
+            if (!added.remove(existing.getTag())) {
+                removed.add(existing.getTag());
+                transactionTagRepository.delete(existing);
+            }
+        }
+        transactionTagRepository.flush();
+        transactionTagRepository.saveAll(added.stream()
+                .map(tag -> new TransactionTag(userId, target, targetId, tag))
+                .toList());
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            dataVersionRegistry.bump(userId, domainOf(target));
+        }
+        return List.copyOf(wanted);
+    }
+
+    public List<TagCountDto> getTagCounts(Long userId, Target target) {
+        return tagIndex.counts(userId, target).entrySet().stream()
+                .map(entry -> new TagCountDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public TagMatchDto match(Long userId, Target target, Collection<String> all, Collection<String> any,
+                             Collection<String> none, int limit) {
+        if (limit < 1 || limit > MAX_MATCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_MATCH_LIMIT);
+        }
+        TagIndex.Query query = TagIndex.Query.of(all, any, none);
+        if (query.all().isEmpty() && query.any().isEmpty()) {
+            throw new IllegalArgumentException("At least one tag in 'all' or 'any' is required");
+        }
+        TagIndex.Match match = tagIndex.match(userId, target, query);
+        List<Long> ids = Arrays.stream(match.ids()).limit(limit).boxed().toList();
+        return new TagMatchDto(target, match.ids().length, ids);
+    }
+
+    /**
+     * Specification restricting rows of {@code target} to the tag criteria, or null when there are none. The
+     * criteria are evaluated against the in-memory bitmaps first; only the resulting ids reach the query.
+     */
+    public <T> Specification<T> specification(Long userId, Target target, Collection<String> all,
+                                              Collection<String> any, Collection<String> none) {
+        TagIndex.Query query = TagIndex.Query.of(all, any, none);
+        TagIndex.Match match = tagIndex.match(userId, target, query);
+        if (match == null) {
+            return null;
+        }
+        if (match.ids().length > MAX_ID_LIST) {
+            return TransactionFilters.tagged(target, query.all(), query.any(), query.none());
+        }
+        return TransactionFilters.ids(match.ids(), match.exclude());
+    }
+
+    /**
+     * Deletes the tags of rows that are being deleted. Must run in the transaction deleting the rows.
+     */
+    public void detach(Target target, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = transactionTagRepository.findUserIds(target, targetIds);
+        if (userIds.isEmpty()) {
+            return;
+        }
+        transactionTagRepository.deleteByTargetIds(target, targetIds);
+        for (Long userId : userIds) {
+            tagIndex.invalidate(userId);
+            dataVersionRegistry.bump(userId, domainOf(target));
+        }
+    }
+
+    /**
+     * Deletes the tags of the materialized entries of a recurring rule, ahead of a bulk delete of those entries.
+     */
+    public void detachRecurringEntries(Long userId, Long recurringTransactionId) {
+        int deleted = transactionTagRepository.deleteRecurringIncomeTags(recurringTransactionId)
+                + transactionTagRepository.deleteRecurringExpenseTags(recurringTransactionId);
+        if (deleted > 0) {
+            tagIndex.invalidate(userId);
+            dataVersionRegistry.bump(userId, Domain.LEDGER);
+        }
+    }
+
+    /**
+     * Trims and lower-cases tags, dropping blanks. Null means no tags. Commas are rejected because tag lists
+     * travel comma-separated in query strings.
+     */
+    public static Set<String> normalize(Collection<String> tags) {
+        Set<String> normalized = new TreeSet<>();
+        if (tags == null) {
+            return normalized;
+        }
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) {
+                continue;
+            }
+            String value = tag.trim().toLowerCase(Locale.ROOT);
+            if (value.length() > MAX_TAG_LENGTH) {
+                throw new IllegalArgumentException("Tags are limited to " + MAX_TAG_LENGTH + " characters: " + tag);
+            }
+            if (value.indexOf(',') >= 0) {
+                throw new IllegalArgumentException("Tags must not contain commas: " + tag);
+            }
+            normalized.add(value);
+        }
+        return normalized;
+    }
+
+    static Domain domainOf(Target target) {
+        return target == Target.TRADE ? Domain.TRADES : Domain.LEDGER;
+    }
+
+    private void checkOwner(Long userId, Target target, Long targetId) {
+        Long ownerId = switch (target) {
+            case INCOME -> incomeRepository.findById(targetId).map(income -> income.getUser().getId()).orElse(null);
+            case EXPENSE -> expenseRepository.findById(targetId).map(expense -> expense.getUser().getId()).orElse(null);
+            case TRADE -> tradeRepository.findById(targetId).map(Trade::getUserId).orElse(null);
+        };
+        if (ownerId == null || !ownerId.equals(userId)) {
+            throw new ResourceNotFoundException(target.name().charAt(0) + target.name().substring(1).toLowerCase(Locale.ROOT)
+                    + " not found with id: " + targetId);
+        }
+    }
+}
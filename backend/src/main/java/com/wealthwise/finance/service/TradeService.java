@@ -1,9 +1,15 @@
 package com.wealthwise.finance.service;
 
+import com.wealthwise.finance.dto.PageDto;
 import com.wealthwise.finance.dto.TradeDTO;
+import com.wealthwise.finance.dto.TradeFilterDto;
+import com.wealthwise.finance.entity.TransactionTag.Target;
 import com.wealthwise.finance.model.Trade;
 import com.wealthwise.finance.repository.TradeRepository;
+import com.wealthwise.finance.repository.TransactionFilters;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +28,12 @@ public class TradeService {
     @Autowired
     private TradeRepository tradeRepository;
     
+    @Autowired
+    private TagService tagService;
+    
+    @Autowired
+    private ReadCache readCache;
+    
     private String detectSession(LocalDateTime openTime) {
         int hour = openTime.atZone(ZoneOffset.UTC).getHour();
         
@@ -63,6 +75,15 @@ public class TradeService {
                 .collect(Collectors.toList());
     }
     
+    public PageDto<TradeDTO> filterTrades(Long userId, TradeFilterDto filter, int page, int size,
+                                          String sort, String direction) {
+        Specification<Trade> specification = TransactionFilters.trades(userId, filter)
+                .and(tagService.specification(userId, Target.TRADE,
+                        filter.getTagsAll(), filter.getTagsAny(), filter.getTagsNone()));
+        return PageDto.of(tradeRepository.findAll(specification,
+                TransactionFilters.pageRequest(page, size, sort, direction, "tradeDate", "profitLoss")), this::convertToDTO);
+    }
+    
     public TradeDTO getTradeById(Long id, Long userId) {
         Trade trade = tradeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Trade not found"));
@@ -108,6 +129,7 @@ public class TradeService {
             throw new RuntimeException("Unauthorized access to trade");
         }
         
+        tagService.detach(Target.TRADE, List.of(id));
         tradeRepository.delete(trade);
     }
     
@@ -119,6 +141,10 @@ public class TradeService {
     }
     
     public Map<String, Object> getBehavioralBias(Long userId) {
+        return readCache.get(userId, Domain.TRADES, "behavioral-bias", () -> computeBehavioralBias(userId));
+    }
+    
+    private Map<String, Object> computeBehavioralBias(Long userId) {
         Long buyCount = tradeRepository.countBuyOrdersByUserId(userId);
         Long sellCount = tradeRepository.countSellOrdersByUserId(userId);
         Long totalCount = buyCount + sellCount;
@@ -155,6 +181,10 @@ public class TradeService {
     }
     
     public Map<String, Object> getProfitabilityStats(Long userId) {
+        return readCache.get(userId, Domain.TRADES, "profitability", () -> computeProfitabilityStats(userId));
+    }
+    
+    private Map<String, Object> computeProfitabilityStats(Long userId) {
         Long winCount = tradeRepository.countWinningTradesByUserId(userId);
         Long lossCount = tradeRepository.countLosingTradesByUserId(userId);
         Long totalCount = winCount + lossCount;
@@ -187,6 +217,10 @@ public class TradeService {
     }
     
     public List<Map<String, Object>> getMostTradedInstruments(Long userId, int limit) {
+        return readCache.get(userId, Domain.TRADES, "most-traded", () -> computeMostTradedInstruments(userId, limit), limit);
+    }
+    
+    private List<Map<String, Object>> computeMostTradedInstruments(Long userId, int limit) {
         List<Trade> allTrades = tradeRepository.findByUserId(userId);
         
         Map<String, Map<String, Object>> instrumentStats = new HashMap<>();
@@ -220,6 +254,10 @@ public class TradeService {
     }
     
     public Map<String, BigDecimal> getTradingDayPerformance(Long userId, LocalDate startDate, LocalDate endDate) {
+        return readCache.get(userId, Domain.TRADES, "trading-day-performance", () -> computeTradingDayPerformance(userId, startDate, endDate), startDate, endDate);
+    }
+    
+    private Map<String, BigDecimal> computeTradingDayPerformance(Long userId, LocalDate startDate, LocalDate endDate) {
         List<Trade> trades = tradeRepository.findByUserIdAndDateRange(userId, startDate, endDate);
         
         Map<String, BigDecimal> dailyPerformance = new HashMap<>();
@@ -237,7 +275,7 @@ public class TradeService {
         return dailyPerformance;
     }
     
-    private TradeDTO convertToDTO(Trade trade) {
+    TradeDTO convertToDTO(Trade trade) {
         TradeDTO dto = new TradeDTO();
         dto.setId(trade.getId());
         dto.setAssetName(trade.getAssetName());
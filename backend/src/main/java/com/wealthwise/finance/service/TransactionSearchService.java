@@ -0,0 +1,146 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.SearchHitDto;
+import com.wealthwise.finance.dto.SearchPageDto;
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.TransactionSearchRepository;
+import com.wealthwise.finance.repository.TransactionSearchRepository.Hit;
+import com.wealthwise.finance.util.InvertedIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionSearchService {
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TERMS = 8;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble((Hit hit) -> hit.score())
+            .thenComparing(Hit::date)
+            .thenComparing(hit -> hit.type().name())
+            .thenComparingLong(Hit::id)
+            .reversed();
+
+    private final TransactionSearchRepository transactionSearchRepository;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final CategoryDirectory categoryDirectory;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+    private volatile Boolean trigram;
+
+    /**
+     * Searches the titles and descriptions of a user's income and expenses. Every query word must match a word
+     * of the entry as a prefix; with {@code fuzzy}, entries similar to the query are matched as well. Hits are
+     * ranked by relevance, then newest first, and paged with an opaque keyset cursor.
+     * <p>
+     * On PostgreSQL this runs against the tsvector and trigram GIN indexes. Other databases get an in-memory
+     * inverted index built from the user's entries per request, which is only meant for development setups.
+     */
+    @Transactional(readOnly = true)
+    public SearchPageDto search(Long userId, String query, String cursor, int limit, boolean fuzzy) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<String> terms = InvertedIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        if (terms.size() > MAX_TERMS) {
+            terms = terms.subList(0, MAX_TERMS);
+        }
+        Hit after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+
+        List<Hit> hits = isPostgres()
+                ? transactionSearchRepository.search(userId,
+                        terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & ")),
+                        String.join(" ", terms), fuzzy && hasTrigram(), after, limit + 1)
+                : searchInMemory(userId, terms, fuzzy, after, limit + 1);
+
+        boolean hasMore = hits.size() > limit;
+        List<Hit> page = hasMore ? hits.subList(0, limit) : hits;
+        List<SearchHitDto> dtos = page.stream()
+                .map(hit -> new SearchHitDto(hit.id(), hit.type(), hit.date(), hit.title(), hit.description(),
+                        hit.categoryId(), categoryDirectory.nameOf(userId, hit.categoryId(), hit.category()),
+                        hit.amount(), hit.score()))
+                .toList();
+        return new SearchPageDto(query, dtos, hasMore ? encodeCursor(page.get(page.size() - 1)) : null);
+    }
+
+    private List<Hit> searchInMemory(Long userId, List<String> terms, boolean fuzzy, Hit after, int limit) {
+        List<Hit> documents = new ArrayList<>();
+        InvertedIndex index = new InvertedIndex();
+        for (Income income : incomeRepository.findByUserId(userId)) {
+            index.add(documents.size(), income.getSource() + " " + Objects.toString(income.getDescription(), ""));
+            documents.add(new Hit(TransactionType.INCOME, income.getId(), income.getIncomeDate(), income.getSource(),
+                    income.getDescription(), income.getCategoryId(), income.getCategory(), income.getAmount(), 0f));
+        }
+        for (Expense expense : expenseRepository.findByUserId(userId)) {
+            index.add(documents.size(), expense.getName() + " " + Objects.toString(expense.getDescription(), ""));
+            documents.add(new Hit(TransactionType.EXPENSE, expense.getId(), expense.getExpenseDate(), expense.getName(),
+                    expense.getDescription(), expense.getCategoryId(), expense.getCategory(), expense.getAmount(), 0f));
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<Integer, Float> match : index.search(terms, fuzzy).entrySet()) {
+            Hit document = documents.get(match.getKey());
+            Hit hit = new Hit(document.type(), document.id(), document.date(), document.title(), document.description(),
+                    document.categoryId(), document.category(), document.amount(), match.getValue());
+            if (after == null || RANKING.compare(hit, after) > 0) {
+                hits.add(hit);
+            }
+        }
+        hits.sort(RANKING);
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+
+    private boolean hasTrigram() {
+        if (trigram == null) {
+            trigram = transactionSearchRepository.hasTrigramSupport();
+        }
+        return trigram;
+    }
+
+    private String encodeCursor(Hit hit) {
+        String raw = hit.score() + "|" + hit.date() + "|" + hit.type() + "|" + hit.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Hit decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new Hit(TransactionType.valueOf(parts[2]), Long.parseLong(parts[3]), LocalDate.parse(parts[1]),
+                    null, null, null, null, null, Float.parseFloat(parts[0]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid search cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.wealthwise.finance.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable Aho–Corasick automaton for case-insensitive multi-pattern matching. Each pattern carries an int
+ * value; {@link #forEachMatch} reports the value of every pattern occurring in a text in a single pass over the
+ * text, independent of the number of patterns. Transitions are stored per state as sorted char/target arrays,
+ * which keeps large dictionaries compact.
+ */
+public class AhoCorasick {
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[] dictionaryLink;
+    private final int[][] outputs;
+
+    private AhoCorasick(char[][] labels, int[][] targets, int[] fail, int[] dictionaryLink, int[][] outputs) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.dictionaryLink = dictionaryLink;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Calls {@code consumer} with the value of each pattern occurrence in {@code text}. A value is reported once
+     * per occurrence, so patterns that occur repeatedly are reported repeatedly.
+     */
+    public void forEachMatch(CharSequence text, IntConsumer consumer) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+
+            for (int s = outputs[state].length > 0 ? state : dictionaryLink[state]; s > 0; s = dictionaryLink[s]) {
+                for (int value : outputs[s]) {
+                    consumer.accept(value);
+                }
+            }
+        }
+    }
+
+    public int stateCount() {
+        return fail.length;
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+
+    public static class Builder {
+        private final List<Map<Character, Integer>> trie = new ArrayList<>();
+        private final List<List<Integer>> values = new ArrayList<>();
+
+        public Builder() {
+            newState();
+        }
+
+        /**
+         * Adds a pattern; blank patterns are ignored. Matching is case-insensitive.
+         */
+        public Builder add(String pattern, int value) {
+            if (pattern == null || pattern.isEmpty()) {
+                return this;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = Character.toLowerCase(pattern.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = newState();
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            values.get(state).add(value);
+            return this;
+        }
+
+        public AhoCorasick build() {
+            int size = trie.size();
+            char[][] labels = new char[size][];
+            int[][] targets = new int[size][];
+            int[][] outputs = new int[size][];
+            for (int state = 0; state < size; state++) {
+                Map<Character, Integer> edges = trie.get(state);
+                char[] stateLabels = new char[edges.size()];
+                int i = 0;
+                for (char c : edges.keySet()) {
+                    stateLabels[i++] = c;
+                }
+                Arrays.sort(stateLabels);
+                int[] stateTargets = new int[stateLabels.length];
+                for (i = 0; i < stateLabels.length; i++) {
+                    stateTargets[i] = edges.get(stateLabels[i]);
+                }
+                labels[state] = stateLabels;
+                targets[state] = stateTargets;
+                outputs[state] = values.get(state).isEmpty()
+                        ? NO_OUTPUT
+                        : values.get(state).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            int[] fail = new int[size];
+            int[] dictionaryLink = new int[size];
+            AhoCorasick automaton = new AhoCorasick(labels, targets, fail, dictionaryLink, outputs);
+
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[0]) {
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < labels[state].length; i++) {
+                    char c = labels[state][i];
+                    int child = targets[state][i];
+                    int f = fail[state];
+                    int next;
+                    while ((next = automaton.transition(f, c)) < 0 && f != 0) {
+                        f = fail[f];
+                    }
+                    fail[child] = next >= 0 && next != child ? next : 0;
+                    dictionaryLink[child] = outputs[fail[child]].length > 0 ? fail[child] : dictionaryLink[fail[child]];
+                    queue.add(child);
+                }
+            }
+
+            trie.clear();
+            values.clear();
+            return automaton;
+        }
+
+        private int newState() {
+            trie.add(new HashMap<>());
+            values.add(new ArrayList<>());
+            return trie.size() - 1;
+        }
+    }
+}
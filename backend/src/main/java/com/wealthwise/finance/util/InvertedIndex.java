@@ -0,0 +1,129 @@
+package com.wealthwise.finance.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over short texts, addressed by dense int document ids. Every query term has to match
+ * some token of a document, either exactly, as a prefix, or (when fuzzy matching is on) within a small edit
+ * distance. Scores add up per term: 1 for an exact token, 0.75 for a prefix and 0.5 for a fuzzy match.
+ */
+public class InvertedIndex {
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.75f;
+    private static final float FUZZY = 0.5f;
+
+    private final NavigableMap<String, BitSet> postings = new TreeMap<>();
+
+    public void add(int document, String text) {
+        for (String token : tokenize(text)) {
+            postings.computeIfAbsent(token, t -> new BitSet()).set(document);
+        }
+    }
+
+    /**
+     * Returns the score of every document matching all {@code terms}; documents missing a term are absent.
+     */
+    public Map<Integer, Float> search(List<String> terms, boolean fuzzy) {
+        Map<Integer, Float> scores = null;
+        for (String term : terms) {
+            Map<Integer, Float> termScores = new HashMap<>();
+            for (Map.Entry<String, BitSet> entry : postings.tailMap(term, true).entrySet()) {
+                if (!entry.getKey().startsWith(term)) {
+                    break;
+                }
+                merge(termScores, entry.getValue(), entry.getKey().equals(term) ? EXACT : PREFIX);
+            }
+            if (fuzzy && term.length() >= 4) {
+                int maxDistance = term.length() >= 8 ? 2 : 1;
+                for (Map.Entry<String, BitSet> entry : postings.entrySet()) {
+                    String token = entry.getKey();
+                    if (!token.startsWith(term) && Math.abs(token.length() - term.length()) <= maxDistance
+                            && editDistance(term, token, maxDistance) <= maxDistance) {
+                        merge(termScores, entry.getValue(), FUZZY);
+                    }
+                }
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Integer, Float> both = new HashMap<>();
+                for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+                    Float score = termScores.get(entry.getKey());
+                    if (score != null) {
+                        both.put(entry.getKey(), entry.getValue() + score);
+                    }
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores != null ? scores : Map.of();
+    }
+
+    /**
+     * Splits text into lower-case runs of letters and digits.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString().toLowerCase(Locale.ROOT));
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    private static void merge(Map<Integer, Float> scores, BitSet documents, float score) {
+        for (int document = documents.nextSetBit(0); document >= 0; document = documents.nextSetBit(document + 1)) {
+            scores.merge(document, score, Math::max);
+        }
+    }
+
+    /**
+     * Levenshtein distance, giving up with {@code limit + 1} as soon as every cell of a row exceeds the limit.
+     */
+    static int editDistance(String a, String b, int limit) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,432 @@
+package com.wealthwise.finance.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap of non-negative ints in the Roaring layout: values are split by their high 16 bits into
+ * chunks, and each chunk stores its low 16 bits either as a sorted char array (up to 4096 values) or as a
+ * 65536-bit bitmap. Sparse sets stay small and dense sets get word-parallel AND/OR/ANDNOT.
+ * <p>
+ * Instances are mutable and not thread-safe; the set operations return new bitmaps and leave their inputs
+ * unchanged.
+ */
+public class RoaringBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+
+    public void add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertAt(index, key, new ArrayContainer());
+        }
+        containers[index] = containers[index].add((char) value);
+    }
+
+    public void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int index = indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) value);
+        if (container.cardinality() == 0) {
+            removeAt(index);
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Calls {@code consumer} with every value in ascending order.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container container = a.containers[i].and(b.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.append(a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || a.keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            Container container = j < b.size && b.keys[j] == a.keys[i]
+                    ? a.containers[i].andNot(b.containers[j])
+                    : a.containers[i].copy();
+            if (container.cardinality() > 0) {
+                result.append(a.keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values are not supported: " + value);
+        }
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void append(char key, Container container) {
+        insertAt(size, key, container);
+    }
+
+    private void insertAt(int index, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private abstract static class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract Container copy();
+
+        Container and(Container other) {
+            if (this instanceof BitmapContainer a && other instanceof BitmapContainer b) {
+                long[] words = new long[WORDS];
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] = a.words[i] & b.words[i];
+                }
+                return BitmapContainer.of(words).shrink();
+            }
+            ArrayContainer array = this instanceof ArrayContainer a ? a : (ArrayContainer) other;
+            Container probe = array == this ? other : this;
+            char[] values = new char[array.cardinality];
+            int count = 0;
+            for (int i = 0; i < array.cardinality; i++) {
+                if (probe.contains(array.values[i])) {
+                    values[count++] = array.values[i];
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+
+        Container or(Container other) {
+            if (this instanceof ArrayContainer a && other instanceof ArrayContainer b
+                    && a.cardinality + b.cardinality <= ARRAY_MAX) {
+                char[] values = new char[a.cardinality + b.cardinality];
+                int i = 0;
+                int j = 0;
+                int count = 0;
+                while (i < a.cardinality || j < b.cardinality) {
+                    if (j >= b.cardinality || (i < a.cardinality && a.values[i] < b.values[j])) {
+                        values[count++] = a.values[i++];
+                    } else if (i >= a.cardinality || a.values[i] > b.values[j]) {
+                        values[count++] = b.values[j++];
+                    } else {
+                        values[count++] = a.values[i++];
+                        j++;
+                    }
+                }
+                return new ArrayContainer(values, count);
+            }
+            BitmapContainer result = toBitmap();
+            if (other instanceof BitmapContainer b) {
+                for (int i = 0; i < WORDS; i++) {
+                    result.words[i] |= b.words[i];
+                }
+                result.cardinality = BitmapContainer.count(result.words);
+            } else {
+                ArrayContainer b = (ArrayContainer) other;
+                for (int i = 0; i < b.cardinality; i++) {
+                    result.add(b.values[i]);
+                }
+            }
+            return result;
+        }
+
+        Container andNot(Container other) {
+            if (this instanceof BitmapContainer a) {
+                long[] words = a.words.clone();
+                if (other instanceof BitmapContainer b) {
+                    for (int i = 0; i < WORDS; i++) {
+                        words[i] &= ~b.words[i];
+                    }
+                } else {
+                    ArrayContainer b = (ArrayContainer) other;
+                    for (int i = 0; i < b.cardinality; i++) {
+                        words[b.values[i] >>> 6] &= ~(1L << b.values[i]);
+                    }
+                }
+                return BitmapContainer.of(words).shrink();
+            }
+            ArrayContainer a = (ArrayContainer) this;
+            char[] values = new char[a.cardinality];
+            int count = 0;
+            for (int i = 0; i < a.cardinality; i++) {
+                if (!other.contains(a.values[i])) {
+                    values[count++] = a.values[i];
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+
+        private BitmapContainer toBitmap() {
+            if (this instanceof BitmapContainer bitmap) {
+                return (BitmapContainer) bitmap.copy();
+            }
+            ArrayContainer array = (ArrayContainer) this;
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < array.cardinality; i++) {
+                bitmap.add(array.values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return super.toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, values.length * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[WORDS], 0);
+        }
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static BitmapContainer of(long[] words) {
+            return new BitmapContainer(words, count(words));
+        }
+
+        static int count(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return shrink();
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        /**
+         * Converts back to an array container once the cardinality fits one.
+         */
+        Container shrink() {
+            if (cardinality > ARRAY_MAX) {
+                return this;
+            }
+            char[] values = new char[Math.max(cardinality, 1)];
+            int[] count = {0};
+            forEach(0, value -> values[count[0]++] = (char) value);
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+}
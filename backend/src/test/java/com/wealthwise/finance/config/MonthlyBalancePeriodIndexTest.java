@@ -0,0 +1,72 @@
+package com.wealthwise.finance.config;
+
+import com.wealthwise.finance.repository.MonthlyBalanceRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the plan PostgreSQL picks for the carryover lookup: a single-row, index-only seek on the covering period
+ * index. Runs against the database named by the PG* environment variables, in a temporary table shadowing
+ * monthly_balances, and is skipped when they are not set.
+ */
+@EnabledIfEnvironmentVariable(named = "PGHOST", matches = ".+")
+class MonthlyBalancePeriodIndexTest {
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createTable() {
+        dataSource = new SingleConnectionDataSource("jdbc:postgresql://" + System.getenv("PGHOST") + ":" +
+                System.getenv().getOrDefault("PGPORT", "5432") + "/" + System.getenv("PGDATABASE"),
+                System.getenv("PGUSER"), System.getenv("PGPASSWORD"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE monthly_balances (id BIGSERIAL PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, year INT NOT NULL, month INT NOT NULL, period INT, " +
+                "opening_balance NUMERIC(12, 2) NOT NULL, closing_balance NUMERIC(12, 2) NOT NULL, " +
+                "total_income NUMERIC(12, 2), total_expense NUMERIC(12, 2))");
+        jdbcTemplate.update("INSERT INTO monthly_balances (user_id, year, month, period, opening_balance, " +
+                "closing_balance, total_income, total_expense) " +
+                "SELECT u, 2000 + m / 12, m % 12 + 1, (2000 + m / 12) * 100 + m % 12 + 1, 0, m, m, 0 " +
+                "FROM generate_series(1, 500) u, generate_series(0, 239) m");
+        jdbcTemplate.execute(DatabaseMigrationRunner.MONTHLY_BALANCE_PERIOD_INDEX);
+        jdbcTemplate.execute("VACUUM ANALYZE monthly_balances");
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void previousClosingBalanceIsAnIndexOnlySeek() {
+        String sql = MonthlyBalanceRepository.PREVIOUS_CLOSING_BALANCE_SQL
+                .replace(":userId", "42")
+                .replace(":period", "201006");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+
+        assertThat(plan).contains("Limit");
+        assertThat(plan).contains("Index Only Scan using idx_monthly_balances_user_period");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void previousClosingBalanceFindsTheLatestEarlierMonth() {
+        String sql = MonthlyBalanceRepository.PREVIOUS_CLOSING_BALANCE_SQL
+                .replace(":userId", "?")
+                .replace(":period", "?");
+
+        List<Integer> balances = jdbcTemplate.queryForList(sql, Integer.class, 42L, 201006);
+
+        // 2010-05 is month index 124
+        assertThat(balances).containsExactly(124);
+    }
+}
@@ -0,0 +1,128 @@
+package com.wealthwise.finance.config;
+
+import com.wealthwise.finance.service.InvalidationBus;
+import com.wealthwise.finance.service.InvalidationBus.DataChange;
+import com.wealthwise.finance.service.LocalInvalidationBus;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import com.wealthwise.finance.service.ReadRouting;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes reads between two H2 databases, one standing in for the primary and one for a replica, each holding a
+ * row naming itself, and checks where read-only transactions land.
+ */
+class ReadRoutingTest {
+    private final InvalidationBus bus = new LocalInvalidationBus();
+    private final ReadRouting readRouting = new ReadRouting(bus, Duration.ofSeconds(5));
+    private final ReadRoutingFilter filter = new ReadRoutingFilter(readRouting);
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private TransactionTemplate readOnly;
+    private JdbcTemplate readOnlyJdbc;
+
+    @BeforeEach
+    void createDatabases() {
+        primary = database("primary");
+        replica = database("replica");
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), readRouting);
+        routing.afterPropertiesSet();
+        DataSource lazy = new LazyConnectionDataSourceProxy(routing);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(lazy));
+        readOnly.setReadOnly(true);
+        readOnlyJdbc = new JdbcTemplate(lazy);
+    }
+
+    @AfterEach
+    void dropDatabases() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readsGoToTheReplicaByDefault() throws Exception {
+        assertThat(readThrough(get("/api/income/5"))).isEqualTo("replica");
+    }
+
+    @Test
+    void clientThatWroteReadsByIdFromThePrimary() throws Exception {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/income"), writeResponse, (req, res) -> { });
+        String setCookie = writeResponse.getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie).startsWith(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE + "=").contains("Max-Age=5");
+        String until = setCookie.substring(setCookie.indexOf('=') + 1, setCookie.indexOf(';'));
+
+        MockHttpServletRequest byId = get("/api/income/5");
+        byId.setCookies(new Cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE, until));
+        assertThat(readThrough(byId)).isEqualTo("primary");
+
+        // another client, without the cookie, still reads from the replica
+        assertThat(readThrough(get("/api/income/5"))).isEqualTo("replica");
+    }
+
+    @Test
+    void expiredOrForgedCookiesAreIgnored() throws Exception {
+        MockHttpServletRequest expired = get("/api/income/5");
+        expired.setCookies(new Cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        assertThat(readThrough(expired)).isEqualTo("replica");
+
+        MockHttpServletRequest forged = get("/api/income/5");
+        forged.setCookies(new Cookie(ReadRoutingFilter.PRIMARY_UNTIL_COOKIE, Long.toString(Long.MAX_VALUE)));
+        assertThat(readThrough(forged)).isEqualTo("replica");
+    }
+
+    @Test
+    void userWrittenElsewhereReadsFromThePrimary() throws Exception {
+        bus.publish(new DataChange(7L, Domain.LEDGER));
+
+        assertThat(readThrough(get("/api/income/user/7"))).isEqualTo("primary");
+        assertThat(readThrough(get("/api/income/user/8"))).isEqualTo("replica");
+    }
+
+    private String readThrough(MockHttpServletRequest request) throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        AtomicReference<String> source = new AtomicReference<>();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> source.set(readOnly.execute(
+                    status -> readOnlyJdbc.queryForObject("SELECT name FROM source", String.class))));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        return source.get();
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE source (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO source VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,164 @@
+package com.wealthwise.finance.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load comparison of the {@link WorkloadAdmissionFilter} against running without it. A burst of concurrent
+ * requests, each holding one of three pooled H2 connections for a while, is run in both modes; the throughput and
+ * p99 latency of each mode are logged, and the assertions check what the bulkhead is for: with admission threads
+ * queue on the governor rather than on the connection pool and every request is served, while without it threads
+ * pile up waiting for a connection and the overflow times out with a connection error.
+ */
+class WorkloadAdmissionLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(WorkloadAdmissionLoadTest.class);
+    private static final int POOL_SIZE = 3;
+    private static final int REQUESTS = 30;
+    private static final long HOLD_MILLIS = 40;
+    private static final Duration MAX_WAIT = Duration.ofSeconds(10);
+
+    private HikariDataSource dataSource;
+    private WorkloadGovernor workloadGovernor;
+    private ExecutorService clients;
+
+    @BeforeEach
+    void startPool() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:admission-load;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        config.setConnectionTimeout(250);
+        dataSource = new HikariDataSource(config);
+        workloadGovernor = new WorkloadGovernor(new SimpleMeterRegistry(), Executors.defaultThreadFactory(),
+                POOL_SIZE, REQUESTS, MAX_WAIT, 1, 1, Duration.ofSeconds(1));
+        clients = Executors.newFixedThreadPool(REQUESTS);
+    }
+
+    @AfterEach
+    void stopPool() {
+        clients.shutdownNow();
+        workloadGovernor.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    void admissionKeepsThreadsOffTheConnectionPool() throws Exception {
+        Result withoutAdmission = run(false);
+        Result withAdmission = run(true);
+        log.info("without admission: {}", withoutAdmission);
+        log.info("with admission:    {}", withAdmission);
+
+        assertThat(withAdmission.failed()).isZero();
+        assertThat(withAdmission.peakAwaitingConnection()).isLessThan(POOL_SIZE);
+        assertThat(withoutAdmission.peakAwaitingConnection()).isGreaterThan(POOL_SIZE);
+        assertThat(withoutAdmission.failed()).isGreaterThan(0);
+    }
+
+    @Test
+    void overflowBeyondTheQueueIsRejectedFast() throws Exception {
+        workloadGovernor.destroy();
+        workloadGovernor = new WorkloadGovernor(new SimpleMeterRegistry(), Executors.defaultThreadFactory(),
+                POOL_SIZE, 2, MAX_WAIT, 1, 1, Duration.ofSeconds(1));
+
+        Result result = run(true);
+        log.info("with a queue of two: {}", result);
+
+        assertThat(result.failed()).isZero();
+        assertThat(result.rejected()).isGreaterThan(REQUESTS / 2);
+        assertThat(result.served() + result.rejected()).isEqualTo(REQUESTS);
+        // turned away at once rather than after waiting out max-wait
+        assertThat(result.slowestRejectionMillis()).isLessThan(MAX_WAIT.toMillis() / 10);
+    }
+
+    private Result run(boolean admission) throws Exception {
+        WorkloadAdmissionFilter filter = new WorkloadAdmissionFilter(workloadGovernor,
+                new StaticListableBeanFactory().getBeanProvider(HandlerMapping.class),
+                new ObjectMapper().findAndRegisterModules(), admission);
+        AtomicInteger peakAwaiting = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> requests = new ArrayList<>();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Long> rejections = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(clients.submit(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                start.await();
+                long begin = System.nanoTime();
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/expenses/user/1"), response,
+                        (req, res) -> {
+                            try (Connection connection = dataSource.getConnection()) {
+                                connection.createStatement().execute("SELECT 1");
+                                Thread.sleep(HOLD_MILLIS);
+                            } catch (SQLException ex) {
+                                failed.incrementAndGet();
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+                if (response.getStatus() == 503) {
+                    rejected.incrementAndGet();
+                    synchronized (rejections) {
+                        rejections.add(millis);
+                    }
+                    return null;
+                }
+                return millis;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        while (!requests.stream().allMatch(Future::isDone)) {
+            peakAwaiting.accumulateAndGet(dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection(), Math::max);
+            Thread.onSpinWait();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        List<Long> latencies = new ArrayList<>();
+        for (Future<Long> request : requests) {
+            if (request.get() != null) {
+                latencies.add(request.get());
+            }
+        }
+        latencies.sort(null);
+        int served = latencies.size() - failed.get();
+        long p99 = latencies.isEmpty() ? 0 : latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+        return new Result(served, rejected.get(), failed.get(), served / seconds, p99, peakAwaiting.get(),
+                rejections.stream().mapToLong(Long::longValue).max().orElse(0));
+    }
+
+    private record Result(int served, int rejected, int failed, double throughput, long p99Millis,
+                          int peakAwaitingConnection, long slowestRejectionMillis) {
+        @Override
+        public String toString() {
+            return String.format("%d served, %d rejected, %d failed, %.1f req/s, p99 %d ms, peak %d threads awaiting a connection",
+                    served, rejected, failed, throughput, p99Millis, peakAwaitingConnection);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.wealthwise.finance.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Interactive latency under a bulk job. Dashboard reads run through the admission filter and the workload advice
+ * against a {@link WorkloadRoutingDataSource} over two H2 pools, first alone and then while batch clients keep the
+ * batch lane saturated with long-running imports. The p99 of the reads must stay flat, since batch work waits for
+ * batch permits and batch connections only.
+ */
+class WorkloadIsolationScenarioTest {
+    private static final Logger log = LoggerFactory.getLogger(WorkloadIsolationScenarioTest.class);
+    private static final int INTERACTIVE_CLIENTS = 4;
+    private static final int READS_PER_CLIENT = 40;
+    private static final int BATCH_CLIENTS = 6;
+    private static final long READ_MILLIS = 5;
+    private static final long IMPORT_MILLIS = 150;
+
+    private HikariDataSource interactivePool;
+    private HikariDataSource batchPool;
+    private WorkloadGovernor workloadGovernor;
+    private WorkloadAdmissionFilter filter;
+    private ScenarioController controller;
+    private ExecutorService clients;
+
+    @BeforeEach
+    void start() throws Exception {
+        interactivePool = pool("interactive", 3);
+        batchPool = pool("batch", 2);
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(interactivePool, batchPool);
+        dataSource.afterPropertiesSet();
+        workloadGovernor = new WorkloadGovernor(new SimpleMeterRegistry(), Executors.defaultThreadFactory(),
+                3, 50, Duration.ofSeconds(2), 2, 20, Duration.ofSeconds(30));
+
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("workloadGovernor", workloadGovernor);
+        ProxyFactory proxyFactory = new ProxyFactory(new ScenarioController(dataSource));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new WorkloadConfig.WorkloadInterceptor(beans.getBeanProvider(WorkloadGovernor.class)));
+        controller = (ScenarioController) proxyFactory.getProxy();
+
+        ScenarioController target = new ScenarioController(dataSource);
+        HandlerMapping mapping = request -> new HandlerExecutionChain(new HandlerMethod(target,
+                request.getRequestURI().startsWith("/api/import") ? "importRows" : "dashboard"));
+        beans.registerSingleton("requestMappingHandlerMapping", mapping);
+        filter = new WorkloadAdmissionFilter(workloadGovernor, beans.getBeanProvider(HandlerMapping.class),
+                new ObjectMapper().findAndRegisterModules(), true);
+        clients = Executors.newFixedThreadPool(INTERACTIVE_CLIENTS + BATCH_CLIENTS);
+    }
+
+    @AfterEach
+    void stop() {
+        clients.shutdownNow();
+        workloadGovernor.destroy();
+        interactivePool.close();
+        batchPool.close();
+    }
+
+    @Test
+    void interactiveP99StaysFlatWhileABulkJobRuns() throws Exception {
+        interactiveP99(); // warm-up
+        long idleP99 = interactiveP99();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger imports = new AtomicInteger();
+        List<Future<?>> batchClients = new ArrayList<>();
+        for (int i = 0; i < BATCH_CLIENTS; i++) {
+            batchClients.add(clients.submit(() -> {
+                while (running.get()) {
+                    MockHttpServletResponse response = call("POST", "/api/import");
+                    if (response.getStatus() == 200) {
+                        imports.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        while (batchPool.getHikariPoolMXBean().getActiveConnections() < 2) {
+            Thread.onSpinWait();
+        }
+        long loadedP99 = interactiveP99();
+        int batchPeak = batchPool.getHikariPoolMXBean().getActiveConnections();
+        running.set(false);
+        for (Future<?> batchClient : batchClients) {
+            batchClient.get();
+        }
+        log.info("interactive p99 idle {} ms, under batch load {} ms, {} imports run", idleP99, loadedP99, imports.get());
+
+        assertThat(imports.get()).isGreaterThan(0);
+        assertThat(batchPeak).isLessThanOrEqualTo(2);
+        // a read queued behind an import would take at least IMPORT_MILLIS
+        assertThat(loadedP99).isLessThan(idleP99 + IMPORT_MILLIS / 2);
+    }
+
+    @Test
+    void admissionRunsBeforeTheFiltersThatReadTheDatabase() {
+        int admission = OrderUtils.getOrder(WorkloadAdmissionFilter.class, 0);
+        assertThat(admission).isLessThan(OrderUtils.getOrder(ReadRoutingFilter.class, 0));
+        assertThat(admission).isLessThan(OrderUtils.getOrder(DataVersionEtagFilter.class, 0));
+    }
+
+    private long interactiveP99() throws Exception {
+        List<Future<List<Long>>> readers = new ArrayList<>();
+        for (int i = 0; i < INTERACTIVE_CLIENTS; i++) {
+            readers.add(clients.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                for (int n = 0; n < READS_PER_CLIENT; n++) {
+                    long begin = System.nanoTime();
+                    MockHttpServletResponse response = call("GET", "/api/dashboard");
+                    assertThat(response.getStatus()).isEqualTo(200);
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+                }
+                return latencies;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> reader : readers) {
+            latencies.addAll(reader.get());
+        }
+        latencies.sort(null);
+        return latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+    }
+
+    private MockHttpServletResponse call(String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, (req, res) -> {
+            if (path.startsWith("/api/import")) {
+                controller.importRows();
+            } else {
+                controller.dashboard();
+            }
+        });
+        return response;
+    }
+
+    private static HikariDataSource pool(String name, int size) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl("jdbc:h2:mem:workload-isolation;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(size);
+        return new HikariDataSource(config);
+    }
+
+    static class ScenarioController {
+        private final DataSource dataSource;
+
+        ScenarioController(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public void dashboard() {
+            query(READ_MILLIS);
+        }
+
+        @Workload(WorkloadClass.BATCH)
+        public void importRows() {
+            query(IMPORT_MILLIS);
+        }
+
+        private void query(long holdMillis) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.createStatement().execute("SELECT 1");
+                Thread.sleep(holdMillis);
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.wealthwise.finance.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementParserTest {
+
+    @Test
+    void csvHandlesQuotesEmbeddedLineBreaksAndSniffedDelimiter() throws IOException {
+        Rows rows = parse(new CsvStatementParser(), """
+                ﻿Booking Date;Description;Amount;Category
+                2026-01-05;"Rent; January";-1.200,00;Housing
+                2026-01-06;"Cafe ""Blue""\nsecond line";-3,50;
+
+                06.01.2026;Salary;2.500,00;Salary
+                """);
+
+        assertThat(rows.errors).isEmpty();
+        assertThat(rows.rows).containsExactly(
+                new StatementRow(2, LocalDate.of(2026, 1, 5), new BigDecimal("-1200.00"), "Rent; January", "Housing"),
+                new StatementRow(3, LocalDate.of(2026, 1, 6), new BigDecimal("-3.50"), "Cafe \"Blue\"\nsecond line", null),
+                new StatementRow(6, LocalDate.of(2026, 1, 6), new BigDecimal("2500.00"), "Salary", "Salary"));
+    }
+
+    @Test
+    void csvCombinesDebitAndCreditColumnsAndSkipsBadRecords() throws IOException {
+        Rows rows = parse(new CsvStatementParser(), """
+                Date,Payee,Debit,Credit
+                1/5/2026,Grocer,"$1,234.56",
+                1/6/2026,Refund,,(12.00)
+                not a date,Broken,1.00,
+                1/7/2026,Coffee,4.00,
+                """);
+
+        assertThat(rows.rows).extracting(StatementRow::amount).containsExactly(
+                new BigDecimal("-1234.56"), new BigDecimal("12.00"), new BigDecimal("-4.00"));
+        assertThat(rows.rows).extracting(StatementRow::line).containsExactly(2, 3, 5);
+        assertThat(rows.errors).containsExactly("4: Unrecognized date 'not a date'");
+    }
+
+    @Test
+    void csvWithoutDateOrAmountColumnIsRejected() {
+        assertThatThrownBy(() -> parse(new CsvStatementParser(), "Payee,Memo\nGrocer,weekly\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ofxReadsSgmlAndXmlTransactions() throws IOException {
+        Rows sgml = parse(new OfxStatementParser(), """
+                OFXHEADER:100
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20260105120000[-5:EST]
+                <TRNAMT>-42.10
+                <NAME>AT&amp;T Wireless
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>CREDIT
+                <DTPOSTED>20260106
+                <TRNAMT>1500.00
+                <MEMO>Payroll
+                </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """);
+        Rows xml = parse(new OfxStatementParser(), """
+                <?xml version="1.0"?>
+                <OFX><STMTTRN><DTPOSTED>20260107</DTPOSTED><TRNAMT>-9.99</TRNAMT><NAME>Music</NAME></STMTTRN>
+                <STMTTRN><DTPOSTED>20260108</DTPOSTED><NAME>No amount</NAME></STMTTRN></OFX>
+                """);
+
+        assertThat(sgml.errors).isEmpty();
+        assertThat(sgml.rows).containsExactly(
+                new StatementRow(3, LocalDate.of(2026, 1, 5), new BigDecimal("-42.10"), "AT&T Wireless", null),
+                new StatementRow(9, LocalDate.of(2026, 1, 6), new BigDecimal("1500.00"), "Payroll", null));
+        assertThat(xml.rows).containsExactly(
+                new StatementRow(2, LocalDate.of(2026, 1, 7), new BigDecimal("-9.99"), "Music", null));
+        assertThat(xml.errors).containsExactly("3: Transaction is missing DTPOSTED or TRNAMT");
+    }
+
+    @Test
+    void qifReadsRecordsAndIgnoresTransferCategories() throws IOException {
+        Rows rows = parse(new QifStatementParser(), """
+                !Type:Bank
+                D1/5'26
+                T-1,200.00
+                PLandlord
+                LHousing
+                ^
+                D01/06/2026
+                U250.00
+                MSavings sweep
+                L[Savings]
+                ^
+                D1/7/2026
+                PNo amount
+                ^
+                D1/8/2026
+                T-5.00
+                PTrailing record without terminator
+                """);
+
+        assertThat(rows.rows).containsExactly(
+                new StatementRow(2, LocalDate.of(2026, 1, 5), new BigDecimal("-1200.00"), "Landlord", "Housing"),
+                new StatementRow(7, LocalDate.of(2026, 1, 6), new BigDecimal("250.00"), "Savings sweep", null),
+                new StatementRow(15, LocalDate.of(2026, 1, 8), new BigDecimal("-5.00"),
+                        "Trailing record without terminator", null));
+        assertThat(rows.errors).containsExactly("12: Record is missing a date or amount");
+    }
+
+    @Test
+    void amountsAcceptCommonBankNotations() {
+        assertThat(StatementValues.parseAmount("1.234,56")).isEqualByComparingTo("1234.56");
+        assertThat(StatementValues.parseAmount("-1,234.56")).isEqualByComparingTo("-1234.56");
+        assertThat(StatementValues.parseAmount("1,234")).isEqualByComparingTo("1234");
+        assertThat(StatementValues.parseAmount("12,50 EUR")).isEqualByComparingTo("12.50");
+        assertThat(StatementValues.parseAmount("($12.00)")).isEqualByComparingTo("-12.00");
+        assertThatThrownBy(() -> StatementValues.parseAmount("n/a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Rows parse(StatementParser parser, String text) throws IOException {
+        Rows rows = new Rows();
+        parser.parse(new StringReader(text), rows);
+        return rows;
+    }
+
+    private static class Rows implements StatementRowHandler {
+        private final List<StatementRow> rows = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void onRow(StatementRow row) {
+            rows.add(row);
+        }
+
+        @Override
+        public void onError(int line, String message) {
+            errors.add(line + ": " + message);
+        }
+    }
+}
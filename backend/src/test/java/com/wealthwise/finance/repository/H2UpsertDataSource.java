@@ -0,0 +1,80 @@
+package com.wealthwise.finance.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Lets H2 run PostgreSQL upserts: every {@code INSERT INTO t AS a (cols) SELECT ... ON CONFLICT (keys) DO UPDATE
+ * SET ...}, as used by {@link CategoryRollupRepository}, is prepared as the equivalent
+ * {@code MERGE INTO t a USING (SELECT ...) ...}, and every {@code INSERT INTO t (cols) VALUES (...) ON CONFLICT
+ * (keys) DO UPDATE SET ...} as {@code MERGE INTO t (cols) KEY (keys) VALUES (...)}, which overwrites every column
+ * rather than just the ones in the SET list. Either way it is still one statement; everything else passes through
+ * unchanged.
+ */
+public class H2UpsertDataSource extends DelegatingDataSource {
+    private static final Pattern UPSERT = Pattern.compile(
+            "INSERT INTO (\\w+) AS (\\w+) \\(([^)]*)\\) (SELECT .*) ON CONFLICT \\(([^)]*)\\) DO UPDATE SET (.*)",
+            Pattern.DOTALL);
+
+    private static final Pattern VALUES_UPSERT = Pattern.compile(
+            "INSERT INTO (\\w+) (\\([^)]*\\) VALUES \\([^)]*\\)) ON CONFLICT (\\([^)]*\\)) DO UPDATE SET .*",
+            Pattern.DOTALL);
+
+    public H2UpsertDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return translating(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return translating(super.getConnection(username, password));
+    }
+
+    static String translate(String sql) {
+        Matcher row = VALUES_UPSERT.matcher(sql);
+        if (row.matches()) {
+            return "MERGE INTO " + row.group(1) + " " + row.group(2).replaceFirst(" VALUES ",
+                    " KEY " + row.group(3) + " VALUES ");
+        }
+        Matcher matcher = UPSERT.matcher(sql);
+        if (!matcher.matches()) {
+            return sql;
+        }
+        String alias = matcher.group(2);
+        String[] columns = matcher.group(3).split(",\\s*");
+        String on = Arrays.stream(matcher.group(5).split(",\\s*"))
+                .map(key -> alias + "." + key + " = s." + key)
+                .collect(Collectors.joining(" AND "));
+        String values = Arrays.stream(columns).map(column -> "s." + column).collect(Collectors.joining(", "));
+        return "MERGE INTO " + matcher.group(1) + " " + alias + " USING (" + matcher.group(4) + ") s ON (" + on + ")" +
+                " WHEN MATCHED THEN UPDATE SET " + matcher.group(6).replace("EXCLUDED.", "s.") +
+                " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ") VALUES (" + values + ")";
+    }
+
+    private Connection translating(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                        args[0] = translate(sql);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package com.wealthwise.finance.repository;
+
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerBatchWriterTest {
+    private StatementCountingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LedgerBatchWriter writer;
+
+    @BeforeEach
+    void createTables() {
+        dataSource = new StatementCountingDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:ledger-batch;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("ledger-schema.sql")).execute(dataSource);
+        writer = new LedgerBatchWriter(jdbcTemplate);
+        dataSource.reset();
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void insertsTwelveHundredIncomesInThreeBatches() {
+        List<Income> incomes = IntStream.range(0, 1200).mapToObj(i -> income(1L, LocalDate.of(2026, 1, 1).plusDays(i))).toList();
+
+        List<Long> ids = writer.insertIncomes(incomes);
+
+        assertThat(dataSource.executions()).isEqualTo(3);
+        assertThat(ids).hasSize(1200).doesNotHaveDuplicates();
+        assertThat(incomes).extracting(Income::getId).containsExactlyElementsOf(ids);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM income", Integer.class)).isEqualTo(1200);
+    }
+
+    @Test
+    void updatesAndDeletesInOneBatchEachAndOnlyTouchTheOwnersRows() {
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            expenses.add(expense(i % 2 == 0 ? 1L : 2L, LocalDate.of(2026, 3, 1).plusDays(i)));
+        }
+        writer.insertExpenses(expenses);
+        dataSource.reset();
+
+        expenses.forEach(expense -> {
+            expense.setAmount(new BigDecimal("99.00"));
+            expense.setUser(user(1L));
+        });
+        int[] updated = writer.updateExpenses(expenses);
+
+        assertThat(dataSource.executions()).isEqualTo(1);
+        assertThat(IntStream.of(updated).sum()).isEqualTo(20);
+
+        dataSource.reset();
+        int[] deleted = writer.deleteExpenses(2L, expenses.stream().map(Expense::getId).toList());
+
+        assertThat(dataSource.executions()).isEqualTo(1);
+        assertThat(IntStream.of(deleted).sum()).isEqualTo(20);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses WHERE amount = 99.00", Integer.class))
+                .isEqualTo(20);
+    }
+
+    private static Income income(Long userId, LocalDate date) {
+        Income income = new Income();
+        income.setUser(user(userId));
+        income.setSource("Salary");
+        income.setAmount(new BigDecimal("100.00"));
+        income.setCategory("Salary");
+        income.setIncomeDate(date);
+        income.setIsRecurring(false);
+        return income;
+    }
+
+    private static Expense expense(Long userId, LocalDate date) {
+        Expense expense = new Expense();
+        expense.setUser(user(userId));
+        expense.setName("Rent");
+        expense.setAmount(new BigDecimal("50.00"));
+        expense.setCategory("Housing");
+        expense.setExpenseDate(date);
+        expense.setIsRecurring(false);
+        return expense;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
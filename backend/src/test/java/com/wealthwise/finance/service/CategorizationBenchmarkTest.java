@@ -0,0 +1,116 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.CategorizationRule;
+import com.wealthwise.finance.entity.CategorizationRule.MatchType;
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.repository.CategorizationRuleRepository;
+import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.service.CategorizationEngine.Categorizer;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Categorizes one million descriptions against ten thousand keyword rules, logging the compile time and the
+ * throughput, and checks a sample of the results against a naive scan of every rule.
+ */
+class CategorizationBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(CategorizationBenchmarkTest.class);
+    private static final Long USER_ID = 1L;
+    private static final int RULES = 10_000;
+    private static final int ROWS = 1_000_000;
+    private static final int DISTINCT_DESCRIPTIONS = 50_000;
+    private static final BigDecimal AMOUNT = new BigDecimal("-12.34");
+
+    @Test
+    void categorizesAMillionRowsAgainstTenThousandRules() {
+        Random random = new Random(10_000);
+        List<String> keywords = new ArrayList<>(keywords(random));
+        List<Category> categories = new ArrayList<>();
+        List<CategorizationRule> rules = new ArrayList<>();
+        for (int i = 0; i < RULES; i++) {
+            categories.add(CategorizationEngineTest.category((long) i, "Category " + i, "EXPENSE"));
+            rules.add(CategorizationEngineTest.rule((long) i, MatchType.KEYWORD, keywords.get(i), i));
+        }
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        CategorizationRuleRepository categorizationRuleRepository = mock(CategorizationRuleRepository.class);
+        when(categoryRepository.findByUserId(USER_ID)).thenReturn(categories);
+        when(categorizationRuleRepository.findByUserIdOrderByPriorityAscIdAsc(USER_ID)).thenReturn(rules);
+        String[] descriptions = descriptions(random, keywords);
+
+        long compileStart = System.nanoTime();
+        Categorizer categorizer = new CategorizationEngine(categorizationRuleRepository, categoryRepository,
+                new LocalInvalidationBus()).forUser(USER_ID);
+        long compileMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - compileStart);
+
+        long matchStart = System.nanoTime();
+        int categorized = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (categorizer.categorize(descriptions[i % DISTINCT_DESCRIPTIONS], AMOUNT) != null) {
+                categorized++;
+            }
+        }
+        long matchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - matchStart);
+        log.info("{} rules compiled in {} ms; {} rows categorized in {} ms ({} matched)",
+                RULES, compileMillis, ROWS, matchMillis, categorized);
+
+        assertThat(categorizer.size()).isEqualTo(RULES);
+        assertThat(categorized).isGreaterThan(ROWS / 2);
+        for (int i = 0; i < 2_000; i++) {
+            String description = descriptions[i];
+            assertThat(categorizer.categorize(description, AMOUNT)).isEqualTo(naive(keywords, description));
+        }
+    }
+
+    private static String naive(List<String> keywords, String description) {
+        String lower = description.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < keywords.size(); i++) {
+            if (lower.contains(keywords.get(i))) {
+                return "Category " + i;
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> keywords(Random random) {
+        Set<String> keywords = new LinkedHashSet<>();
+        while (keywords.size() < RULES) {
+            keywords.add(word(random, 5 + random.nextInt(6)));
+        }
+        return keywords;
+    }
+
+    private static String[] descriptions(Random random, List<String> keywords) {
+        String[] descriptions = new String[DISTINCT_DESCRIPTIONS];
+        for (int i = 0; i < DISTINCT_DESCRIPTIONS; i++) {
+            StringBuilder description = new StringBuilder(word(random, 4)).append(' ');
+            if (random.nextInt(4) != 0) {
+                description.append(keywords.get(random.nextInt(RULES)).toUpperCase(Locale.ROOT)).append(' ');
+            }
+            description.append("#").append(random.nextInt(10_000)).append(' ').append(word(random, 8));
+            descriptions[i] = description.toString();
+        }
+        return descriptions;
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
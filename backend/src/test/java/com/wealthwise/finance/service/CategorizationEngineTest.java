@@ -0,0 +1,138 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.CategorizationRule;
+import com.wealthwise.finance.entity.CategorizationRule.MatchType;
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.repository.CategorizationRuleRepository;
+import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.service.CategorizationEngine.Categorizer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategorizationEngineTest {
+    private static final Long USER_ID = 1L;
+
+    private final CategorizationRuleRepository categorizationRuleRepository = mock(CategorizationRuleRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategorizationEngine engine =
+            new CategorizationEngine(categorizationRuleRepository, categoryRepository, new LocalInvalidationBus());
+
+    @Test
+    void derivesOnlyLiteralsEveryMatchMustContain() {
+        assertThat(CategorizationEngine.requiredLiteral("uber\\s+eats")).isEqualTo("uber");
+        assertThat(CategorizationEngine.requiredLiteral("netflix\\.com")).isEqualTo("netflix");
+        assertThat(CategorizationEngine.requiredLiteral("colou?r")).isEqualTo("colo");
+        assertThat(CategorizationEngine.requiredLiteral("(shell|bp)station")).isNull();
+        assertThat(CategorizationEngine.requiredLiteral("[0-9]+ payroll")).isEqualTo(" payroll");
+        assertThat(CategorizationEngine.requiredLiteral("x{2}rent")).isEqualTo("rent");
+        assertThat(CategorizationEngine.requiredLiteral("(?i)tax(es)?")).isEqualTo("tax");
+        assertThat(CategorizationEngine.requiredLiteral("^ab.*")).isNull();
+    }
+
+    @Test
+    void regexRunsOnlyWhereItsLiteralOccursAndMustStillMatch() {
+        Categorizer categorizer = compile(
+                List.of(category(10L, "Streaming", "EXPENSE")),
+                List.of(rule(10L, MatchType.REGEX, "netflix\\.com/\\d+", 0)));
+
+        assertThat(categorizer.categorize("NETFLIX.COM/123 subscription", new BigDecimal("-15.99"))).isEqualTo("Streaming");
+        assertThat(categorizer.categorize("netflix gift card", new BigDecimal("-15.99"))).isNull();
+        assertThat(categorizer.categorize("hulu.com/123", new BigDecimal("-15.99"))).isNull();
+    }
+
+    @Test
+    void regexWithoutALiteralIsCheckedDirectly() {
+        Categorizer categorizer = compile(
+                List.of(category(10L, "Fuel", "EXPENSE")),
+                List.of(rule(10L, MatchType.REGEX, "shell|bp", 0)));
+
+        assertThat(categorizer.categorize("BP 4471 Main St", new BigDecimal("-40.00"))).isEqualTo("Fuel");
+    }
+
+    @Test
+    void highestPriorityRuleWinsWhereverItOccurs() {
+        Categorizer categorizer = compile(
+                List.of(category(10L, "Groceries", "EXPENSE"), category(11L, "Shopping", "EXPENSE"),
+                        category(12L, "Large", "EXPENSE")),
+                List.of(rule(10L, MatchType.KEYWORD, "whole foods", 0),
+                        amountRule(12L, new BigDecimal("500.00"), null, 1),
+                        rule(11L, MatchType.KEYWORD, "amazon", 2)));
+
+        // "amazon" occurs first in the text, but the grocery rule has the better priority
+        assertThat(categorizer.categorize("amazon.com whole foods market", new BigDecimal("-80.00"))).isEqualTo("Groceries");
+        // an unindexed amount rule beats an indexed keyword rule of lower priority
+        assertThat(categorizer.categorize("amazon.com", new BigDecimal("-800.00"))).isEqualTo("Large");
+        assertThat(categorizer.categorize("amazon.com", new BigDecimal("-80.00"))).isEqualTo("Shopping");
+    }
+
+    @Test
+    void amountRulesMatchOnTheRangeAlone() {
+        Categorizer categorizer = compile(
+                List.of(category(10L, "Small", "EXPENSE"), category(11L, "Bonus", "INCOME")),
+                List.of(amountRule(10L, null, new BigDecimal("5.00"), 0),
+                        amountRule(11L, new BigDecimal("1000.00"), new BigDecimal("5000.00"), 1)));
+
+        assertThat(categorizer.categorize(null, new BigDecimal("-4.50"))).isEqualTo("Small");
+        assertThat(categorizer.categorize("anything", new BigDecimal("-5.00"))).isEqualTo("Small");
+        assertThat(categorizer.categorize("anything", new BigDecimal("-5.01"))).isNull();
+        assertThat(categorizer.categorize("anything", new BigDecimal("2500.00"))).isEqualTo("Bonus");
+        assertThat(categorizer.categorize("anything", new BigDecimal("5000.01"))).isNull();
+    }
+
+    @Test
+    void signMustFitTheCategoryType() {
+        Categorizer categorizer = compile(
+                List.of(category(10L, "Refunds", "EXPENSE"), category(11L, "Salary", "INCOME")),
+                List.of(rule(10L, MatchType.KEYWORD, "acme", 0),
+                        rule(11L, MatchType.KEYWORD, "acme", 1)));
+
+        assertThat(categorizer.categorize("ACME Corp", new BigDecimal("-20.00"))).isEqualTo("Refunds");
+        assertThat(categorizer.categorize("ACME Corp", new BigDecimal("3000.00"))).isEqualTo("Salary");
+    }
+
+    @Test
+    void rulesOfDeletedCategoriesAreSkipped() {
+        Categorizer categorizer = compile(
+                List.of(category(10L, "Coffee", "EXPENSE")),
+                List.of(rule(99L, MatchType.KEYWORD, "starbucks", 0), rule(10L, MatchType.KEYWORD, "starbucks", 1)));
+
+        assertThat(categorizer.size()).isEqualTo(1);
+        assertThat(categorizer.categorize("Starbucks #12", new BigDecimal("-4.00"))).isEqualTo("Coffee");
+    }
+
+    private Categorizer compile(List<Category> categories, List<CategorizationRule> rules) {
+        when(categoryRepository.findByUserId(USER_ID)).thenReturn(categories);
+        when(categorizationRuleRepository.findByUserIdOrderByPriorityAscIdAsc(USER_ID)).thenReturn(new ArrayList<>(rules));
+        return engine.forUser(USER_ID);
+    }
+
+    static Category category(Long id, String name, String type) {
+        Category category = new Category(name, type, USER_ID);
+        category.setId(id);
+        return category;
+    }
+
+    static CategorizationRule rule(Long categoryId, MatchType matchType, String pattern, int priority) {
+        CategorizationRule rule = new CategorizationRule();
+        rule.setUserId(USER_ID);
+        rule.setCategoryId(categoryId);
+        rule.setMatchType(matchType);
+        rule.setPattern(pattern);
+        rule.setPriority(priority);
+        return rule;
+    }
+
+    private static CategorizationRule amountRule(Long categoryId, BigDecimal min, BigDecimal max, int priority) {
+        CategorizationRule rule = rule(categoryId, MatchType.AMOUNT, null, priority);
+        rule.setMinAmount(min);
+        rule.setMaxAmount(max);
+        return rule;
+    }
+}
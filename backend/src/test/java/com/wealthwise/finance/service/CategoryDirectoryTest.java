@@ -0,0 +1,102 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategoryDirectoryTest {
+    private static final Long USER_ID = 1L;
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategoryDirectory directory = new CategoryDirectory(categoryRepository, new LocalInvalidationBus());
+    private final AtomicLong ids = new AtomicLong(50);
+
+    @AfterEach
+    void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void categoryCreatedInATransactionIsInvisibleToOthersUntilCommit() throws Exception {
+        stubCategories(category(10L, "Food", "EXPENSE"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        Long travel = directory.resolveId(USER_ID, "EXPENSE", "Travel");
+
+        assertThat(directory.resolveId(USER_ID, "EXPENSE", " travel ")).isEqualTo(travel);
+        assertThat(directory.nameOf(USER_ID, travel, null)).isEqualTo("Travel");
+        assertThat(CompletableFuture.supplyAsync(() -> directory.findId(USER_ID, "EXPENSE", "Travel")).get()).isNull();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(directory.findId(USER_ID, "EXPENSE", "Travel")).isEqualTo(travel);
+        assertThat(directory.nameOf(USER_ID, travel, null)).isEqualTo("Travel");
+    }
+
+    @Test
+    void categoryOfARolledBackTransactionIsNeverPublished() {
+        stubCategories(category(10L, "Food", "EXPENSE"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        Long travel = directory.resolveId(USER_ID, "EXPENSE", "Travel");
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(directory.findId(USER_ID, "EXPENSE", "Travel")).isNull();
+        assertThat(directory.nameOf(USER_ID, travel, "travel")).isEqualTo("travel");
+        assertThat(TransactionSynchronizationManager.getResource(directory)).isNull();
+    }
+
+    @Test
+    void explicitIdMustBelongToTheUserAndMatchTheType() {
+        stubCategories(category(10L, "Food", "EXPENSE"), category(11L, "Salary", "INCOME"));
+
+        assertThat(directory.resolveId(USER_ID, "EXPENSE", 10L, null)).isEqualTo(10L);
+        assertThat(directory.resolveId(USER_ID, "INCOME", 11L, "ignored")).isEqualTo(11L);
+        assertThatThrownBy(() -> directory.resolveId(USER_ID, "INCOME", 10L, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not an INCOME category");
+        assertThatThrownBy(() -> directory.resolveId(USER_ID, "EXPENSE", 99L, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not belong");
+    }
+
+    private void stubCategories(Category... categories) {
+        when(categoryRepository.findByUserId(USER_ID)).thenReturn(List.of(categories));
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            category.setId(ids.getAndIncrement());
+            return category;
+        });
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static Category category(Long id, String name, String type) {
+        Category category = new Category(name, type, USER_ID);
+        category.setId(id);
+        return category;
+    }
+}
@@ -0,0 +1,94 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.Category;
+import com.wealthwise.finance.entity.TransactionTag.Target;
+import com.wealthwise.finance.repository.CategorizationRuleRepository;
+import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.repository.DataVersionRepository;
+import com.wealthwise.finance.repository.TransactionTagRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two nodes sharing one database (the mocked repositories) and one {@link LocalInvalidationBus}, which stands in
+ * for a cross-node bus: a write bumped on one node must drop the other node's per-user caches, and only those of
+ * the affected user and domain.
+ */
+class CrossNodeInvalidationTest {
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategorizationRuleRepository categorizationRuleRepository = mock(CategorizationRuleRepository.class);
+    private final TransactionTagRepository transactionTagRepository = mock(TransactionTagRepository.class);
+
+    private DataVersionRegistry registryA;
+    private CategoryDirectory directoryB;
+    private CategorizationEngine engineB;
+    private TagIndex tagIndexB;
+
+    @BeforeEach
+    void startNodes() {
+        InvalidationBus bus = new LocalInvalidationBus();
+        registryA = new DataVersionRegistry(mock(DataVersionRepository.class), bus);
+        new DataVersionRegistry(mock(DataVersionRepository.class), bus);
+        directoryB = new CategoryDirectory(categoryRepository, bus);
+        engineB = new CategorizationEngine(categorizationRuleRepository, categoryRepository, bus);
+        tagIndexB = new TagIndex(transactionTagRepository, bus);
+    }
+
+    @Test
+    void renameOnOneNodeIsSeenByTheOther() {
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(category(10L, "Food", 1L)));
+        when(categoryRepository.findByUserId(2L)).thenReturn(List.of(category(20L, "Rent", 2L)));
+        assertThat(directoryB.nameOf(1L, 10L, null)).isEqualTo("Food");
+        assertThat(directoryB.nameOf(2L, 20L, null)).isEqualTo("Rent");
+
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(category(10L, "Groceries", 1L)));
+        registryA.bump(1L, Domain.LEDGER);
+
+        assertThat(directoryB.nameOf(1L, 10L, null)).isEqualTo("Groceries");
+        assertThat(directoryB.nameOf(2L, 20L, null)).isEqualTo("Rent");
+        verify(categoryRepository, times(1)).findByUserId(2L);
+    }
+
+    @Test
+    void ruleChangeOnOneNodeRecompilesOnTheOther() {
+        engineB.forUser(1L);
+        engineB.forUser(1L);
+        verify(categorizationRuleRepository, times(1)).findByUserIdOrderByPriorityAscIdAsc(1L);
+
+        registryA.bump(1L, Domain.LEDGER);
+        engineB.forUser(1L);
+
+        verify(categorizationRuleRepository, times(2)).findByUserIdOrderByPriorityAscIdAsc(1L);
+    }
+
+    @Test
+    void tagChangeDropsOnlyTheIndexOfItsDomain() {
+        when(transactionTagRepository.findPairs(1L, Target.EXPENSE)).thenReturn(List.<Object[]>of(new Object[] {5L, "trip"}));
+        when(transactionTagRepository.findPairs(1L, Target.TRADE)).thenReturn(List.of());
+        assertThat(tagIndexB.counts(1L, Target.EXPENSE)).containsEntry("trip", 1);
+        tagIndexB.counts(1L, Target.TRADE);
+
+        when(transactionTagRepository.findPairs(1L, Target.EXPENSE))
+                .thenReturn(List.of(new Object[] {5L, "trip"}, new Object[] {6L, "trip"}));
+        registryA.bump(1L, TagService.domainOf(Target.EXPENSE));
+
+        assertThat(tagIndexB.counts(1L, Target.EXPENSE)).containsEntry("trip", 2);
+        tagIndexB.counts(1L, Target.TRADE);
+        verify(transactionTagRepository, times(1)).findPairs(1L, Target.TRADE);
+    }
+
+    private static Category category(Long id, String name, Long userId) {
+        Category category = new Category(name, "EXPENSE", userId);
+        category.setId(id);
+        return category;
+    }
+}
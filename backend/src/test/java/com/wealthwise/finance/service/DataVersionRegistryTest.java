@@ -0,0 +1,94 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.repository.DataVersionRepository;
+import com.wealthwise.finance.service.DataVersionRegistry.Domain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataVersionRegistryTest {
+    private static final Long USER_ID = 1L;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataVersionRegistry registry;
+
+    @BeforeEach
+    void createUsers() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:data-versions;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.update("INSERT INTO users VALUES (1)");
+        registry = new DataVersionRegistry(new DataVersionRepository(jdbcTemplate), new LocalInvalidationBus());
+    }
+
+    @AfterEach
+    void dropTables() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void missingCounterColumnsFailStartup() {
+        jdbcTemplate.execute("ALTER TABLE users ADD COLUMN ledger_version BIGINT NOT NULL DEFAULT 0");
+
+        assertThatThrownBy(() -> registry.useCounters(true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("trades_version")
+                .hasMessageNotContaining("ledger_version");
+    }
+
+    @Test
+    void bumpIncrementsTheCounterOncePerTransaction() {
+        addCounterColumns();
+        registry.useCounters(true);
+        long before = registry.version(USER_ID, Domain.LEDGER);
+
+        TransactionSynchronizationManager.initSynchronization();
+        registry.bump(USER_ID, Domain.LEDGER);
+        registry.bump(USER_ID, Domain.LEDGER);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT ledger_version FROM users WHERE id = 1", Long.class))
+                .isEqualTo(before + 1);
+    }
+
+    @Test
+    void failedIncrementPropagatesAndKeepsUsingTheCounters() {
+        addCounterColumns();
+        registry.useCounters(true);
+        jdbcTemplate.execute("ALTER TABLE users DROP COLUMN ledger_version");
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThatThrownBy(() -> registry.bump(USER_ID, Domain.LEDGER)).isInstanceOf(DataAccessException.class);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // no silent switch to node-local versions: reads still go to the counter
+        assertThatThrownBy(() -> registry.version(USER_ID, Domain.LEDGER)).isInstanceOf(DataAccessException.class);
+        jdbcTemplate.execute("ALTER TABLE users ADD COLUMN ledger_version BIGINT NOT NULL DEFAULT 7");
+        assertThat(registry.version(USER_ID, Domain.LEDGER)).isEqualTo(7L);
+    }
+
+    @Test
+    void localVersionsNeverTouchTheUsersTable() {
+        registry.useCounters(false);
+        long before = registry.version(USER_ID, Domain.LEDGER);
+
+        registry.bump(USER_ID, Domain.LEDGER);
+
+        assertThat(registry.version(USER_ID, Domain.LEDGER)).isGreaterThan(before);
+    }
+
+    private void addCounterColumns() {
+        for (Domain domain : Domain.values()) {
+            jdbcTemplate.execute("ALTER TABLE users ADD COLUMN " + domain.getColumn() + " BIGINT NOT NULL DEFAULT 0");
+        }
+    }
+}
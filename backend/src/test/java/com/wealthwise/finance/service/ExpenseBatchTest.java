@@ -0,0 +1,218 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.BatchResultDto;
+import com.wealthwise.finance.dto.BatchResultDto.Status;
+import com.wealthwise.finance.dto.ExpenseDto;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.entity.TransactionTag.Target;
+import com.wealthwise.finance.entity.User;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the expense batch endpoints' service methods against H2 with the real batch writer, so the per-item
+ * results come from actual update counts rather than stubs.
+ */
+class ExpenseBatchTest {
+    private static final Long OWNER = 1L;
+    private static final Long OTHER = 2L;
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CategoryDirectory categoryDirectory = mock(CategoryDirectory.class);
+    private final CategoryRollupRepository categoryRollupRepository = mock(CategoryRollupRepository.class);
+    private final TagService tagService = mock(TagService.class);
+    private final DataVersionRegistry dataVersionRegistry = mock(DataVersionRegistry.class);
+    private ExpenseService service;
+
+    @BeforeEach
+    void createTables() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:expense-batch;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        new ResourceDatabasePopulator(new ClassPathResource("ledger-schema.sql")).execute(dataSource);
+
+        when(userRepository.findExistingIds(any())).thenReturn(Set.of(OWNER, OTHER));
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(expenseRepository.findOwners(any())).thenAnswer(invocation -> owners(invocation.getArgument(0)));
+        when(categoryDirectory.resolveId(anyLong(), eq("EXPENSE"), any(), anyString())).thenReturn(7L);
+        when(categoryDirectory.nameOf(anyLong(), any(), any())).thenAnswer(invocation -> invocation.getArgument(2));
+
+        BatchRequestValidator validator = new BatchRequestValidator(
+                Validation.buildDefaultValidatorFactory().getValidator(), userRepository);
+        service = new ExpenseService(expenseRepository, userRepository, mock(RecurringTransactionService.class),
+                new LedgerBatchWriter(jdbcTemplate), validator, categoryDirectory, categoryRollupRepository,
+                tagService, dataVersionRegistry);
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void createReportsInvalidRowsAndInsertsTheRest() {
+        List<ExpenseDto> rows = Arrays.asList(
+                expense(null, OWNER, "Rent", "1200.00"),
+                expense(null, OWNER, "", "5.00"),
+                null,
+                expense(null, OWNER, "Refund", "-3.00"),
+                expense(null, 99L, "Taxi", "12.00"),
+                expense(null, OTHER, "Coffee", "3.50"));
+
+        BatchResultDto result = service.createExpenses(rows);
+
+        assertThat(result.getTotal()).isEqualTo(6);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getItems()).extracting(BatchResultDto.Item::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(result.getItems()).extracting(BatchResultDto.Item::getStatus).containsExactly(
+                Status.CREATED, Status.INVALID, Status.INVALID, Status.INVALID, Status.INVALID, Status.CREATED);
+        assertThat(result.getItems().get(1).getErrors()).containsExactly("name: Name is required");
+        assertThat(result.getItems().get(2).getErrors()).containsExactly("Item is required");
+        assertThat(result.getItems().get(3).getErrors()).containsExactly("amount: Amount must be positive");
+        assertThat(result.getItems().get(4).getErrors()).containsExactly("User not found with id: 99");
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM expenses ORDER BY id", Long.class);
+        assertThat(ids).hasSize(2);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(ids.get(0));
+        assertThat(result.getItems().get(5).getId()).isEqualTo(ids.get(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM expenses WHERE id = ?", String.class, ids.get(1)))
+                .isEqualTo("Coffee");
+        verify(categoryRollupRepository).add(TransactionType.EXPENSE, ids);
+        verify(dataVersionRegistry).bump(OWNER, DataVersionRegistry.Domain.LEDGER);
+        verify(dataVersionRegistry).bump(OTHER, DataVersionRegistry.Domain.LEDGER);
+    }
+
+    @Test
+    void updateReportsMissingForeignAndInvalidRowsAndOnlyWritesTheOwnersRows() {
+        long own = insert(OWNER, "Rent");
+        long foreign = insert(OTHER, "Gym");
+        // listed as the owner's row, but gone by the time the batch writes
+        long vanished = insert(OWNER, "Phone");
+        when(expenseRepository.findOwners(any())).thenAnswer(invocation -> {
+            List<Object[]> owners = owners(invocation.getArgument(0));
+            jdbcTemplate.update("DELETE FROM expenses WHERE id = ?", vanished);
+            return owners;
+        });
+
+        BatchResultDto result = service.updateExpenses(Arrays.asList(
+                expense(own, OWNER, "Rent (new lease)", "1300.00"),
+                expense(foreign, OWNER, "Gym", "1.00"),
+                expense(null, OWNER, "No id", "1.00"),
+                expense(own, OWNER, "Rent", "0"),
+                expense(vanished, OWNER, "Phone", "40.00"),
+                expense(12345L, OWNER, "Missing", "1.00")));
+
+        assertThat(result.getItems()).extracting(BatchResultDto.Item::getStatus).containsExactly(
+                Status.UPDATED, Status.NOT_FOUND, Status.INVALID, Status.INVALID, Status.NOT_FOUND, Status.NOT_FOUND);
+        assertThat(result.getItems()).extracting(BatchResultDto.Item::getId)
+                .containsExactly(own, foreign, null, own, vanished, 12345L);
+        assertThat(result.getItems().get(2).getErrors()).containsExactly("id: must not be null");
+        assertThat(result.getItems().get(4).getErrors()).containsExactly("Expense not found with id: " + vanished);
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(5);
+
+        assertThat(amountOf(own)).isEqualByComparingTo("1300.00");
+        assertThat(nameOf(own)).isEqualTo("Rent (new lease)");
+        assertThat(amountOf(foreign)).isEqualByComparingTo("10.00");
+        assertThat(nameOf(foreign)).isEqualTo("Gym");
+    }
+
+    @Test
+    void deleteReportsNullMissingAndForeignIdsAndKeepsThoseRows() {
+        long first = insert(OWNER, "Rent");
+        long foreign = insert(OTHER, "Gym");
+        long second = insert(OWNER, "Phone");
+
+        BatchResultDto result = service.deleteExpenses(OWNER, Arrays.asList(first, foreign, null, 12345L, second));
+
+        assertThat(result.getItems()).extracting(BatchResultDto.Item::getStatus).containsExactly(
+                Status.DELETED, Status.NOT_FOUND, Status.INVALID, Status.NOT_FOUND, Status.DELETED);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM expenses", Long.class)).containsExactly(foreign);
+        verify(categoryRollupRepository).subtract(TransactionType.EXPENSE, List.of(first, second));
+        verify(tagService).detach(Target.EXPENSE, List.of(first, second));
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatchesAsAWhole() {
+        List<Long> oversized = new ArrayList<>(Collections.nCopies(BatchRequestValidator.MAX_BATCH_SIZE + 1, 1L));
+
+        assertThatThrownBy(() -> service.createExpenses(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.deleteExpenses(OWNER, oversized)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses", Integer.class)).isZero();
+    }
+
+    private long insert(Long userId, String name) {
+        ExpenseDto dto = expense(null, userId, name, "10.00");
+        service.createExpenses(List.of(dto));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM expenses", Long.class);
+    }
+
+    private List<Object[]> owners(Collection<Long> ids) {
+        return namedJdbcTemplate.query("SELECT id, user_id FROM expenses WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                (rs, i) -> new Object[] {rs.getLong("id"), rs.getLong("user_id")});
+    }
+
+    private BigDecimal amountOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT amount FROM expenses WHERE id = ?", BigDecimal.class, id);
+    }
+
+    private String nameOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT name FROM expenses WHERE id = ?", String.class, id);
+    }
+
+    private static ExpenseDto expense(Long id, Long userId, String name, String amount) {
+        ExpenseDto dto = new ExpenseDto();
+        dto.setId(id);
+        dto.setUserId(userId);
+        dto.setName(name);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setCategory("Housing");
+        dto.setExpenseDate(LocalDate.of(2026, 3, 1));
+        return dto;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,85 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.repository.H2UpsertDataSource;
+import com.wealthwise.finance.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MonthlyBalanceBackfillServiceTest {
+    private JdbcTemplate jdbcTemplate;
+    private MonthlyBalanceBackfillService service;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new H2UpsertDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:backfill;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH", "sa", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("ledger-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE monthly_balances (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, year INT NOT NULL, month INT NOT NULL, period INT, " +
+                "opening_balance NUMERIC(12, 2), closing_balance NUMERIC(12, 2), total_income NUMERIC(12, 2), " +
+                "total_expense NUMERIC(12, 2), created_at TIMESTAMP, updated_at TIMESTAMP, " +
+                "CONSTRAINT uk_monthly_balances_user_month UNIQUE (user_id, year, month))");
+        service = new MonthlyBalanceBackfillService(mock(UserRepository.class), mock(DataVersionRegistry.class),
+                dataSource, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                Executors.defaultThreadFactory(), 1, 500, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void carriesBalancesAcrossEmptyMonths() {
+        jdbcTemplate.update("INSERT INTO income (user_id, amount, income_date) VALUES (1, 100.00, DATE '2026-01-10')");
+        jdbcTemplate.update("INSERT INTO expenses (user_id, amount, expense_date) VALUES (1, 30.00, DATE '2026-01-20')");
+        jdbcTemplate.update("INSERT INTO expenses (user_id, amount, expense_date) VALUES (1, 20.00, DATE '2026-03-02')");
+
+        assertThat(service.backfillUser(1L)).isEqualTo(3);
+
+        assertThat(closingBalances(1L)).containsExactly("202601:70.00", "202602:70.00", "202603:50.00");
+    }
+
+    @Test
+    void dropsMonthsOutsideTheRecomputedRange() {
+        jdbcTemplate.update("INSERT INTO income (user_id, amount, income_date) VALUES (1, 100.00, DATE '2025-11-05')");
+        jdbcTemplate.update("INSERT INTO income (user_id, amount, income_date) VALUES (1, 50.00, DATE '2026-01-05')");
+        jdbcTemplate.update("INSERT INTO income (user_id, amount, income_date) VALUES (1, 10.00, DATE '2026-04-05')");
+        jdbcTemplate.update("INSERT INTO income (user_id, amount, income_date) VALUES (2, 10.00, DATE '2025-11-05')");
+        service.backfillUser(1L);
+        service.backfillUser(2L);
+
+        // the first and last entries were deleted since the last backfill
+        jdbcTemplate.update("DELETE FROM income WHERE user_id = 1 AND income_date <> DATE '2026-01-05'");
+        service.backfillUser(1L);
+
+        assertThat(closingBalances(1L)).containsExactly("202601:50.00");
+        assertThat(closingBalances(2L)).containsExactly("202511:10.00");
+
+        jdbcTemplate.update("DELETE FROM income WHERE user_id = 1");
+        assertThat(service.backfillUser(1L)).isZero();
+        assertThat(closingBalances(1L)).isEmpty();
+        assertThat(closingBalances(2L)).hasSize(1);
+    }
+
+    private List<String> closingBalances(Long userId) {
+        return jdbcTemplate.queryForList("SELECT period || ':' || closing_balance FROM monthly_balances " +
+                "WHERE user_id = ? ORDER BY period", String.class, userId);
+    }
+}
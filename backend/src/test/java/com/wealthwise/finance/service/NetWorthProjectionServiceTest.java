@@ -0,0 +1,164 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.controller.NetWorthController;
+import com.wealthwise.finance.dto.NetWorthProjectionDto;
+import com.wealthwise.finance.dto.NetWorthProjectionDto.Point;
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.entity.RecurringTransaction.Frequency;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.exception.GlobalExceptionHandler;
+import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class NetWorthProjectionServiceTest {
+    private static final Logger log = LoggerFactory.getLogger(NetWorthProjectionServiceTest.class);
+    private static final Long USER_ID = 1L;
+
+    private final AssetService assetService = mock(AssetService.class);
+    private final RecurringTransactionRepository recurringTransactionRepository = mock(RecurringTransactionRepository.class);
+    private final NetWorthProjectionService service =
+            new NetWorthProjectionService(assetService, recurringTransactionRepository, new RecurrenceEngine());
+
+    @Test
+    void buildsTheCurveFromTheActiveRules() {
+        YearMonth firstMonth = YearMonth.now();
+        when(assetService.getNetWorth(USER_ID)).thenReturn(new BigDecimal("10000.00"));
+        RecurringTransaction salary = monthlyRule(TransactionType.INCOME, "3000.00", firstMonth.minusYears(1).atDay(1), null);
+        RecurringTransaction loan = monthlyRule(TransactionType.EXPENSE, "200.00", firstMonth.minusYears(1).atDay(1),
+                firstMonth.plusMonths(5).atDay(28));
+        RecurringTransaction rent = monthlyRule(TransactionType.EXPENSE, "1200.50", firstMonth.plusMonths(2).atDay(1), null);
+        when(recurringTransactionRepository.findByUserIdAndIsActive(USER_ID, true)).thenReturn(List.of(salary, loan, rent));
+
+        NetWorthProjectionDto projection = service.projectNetWorth(USER_ID, 12);
+
+        // every rule falls on the 28th, which is only still ahead in the current month before that day
+        boolean dueThisMonth = LocalDate.now().getDayOfMonth() < 28;
+        List<BigDecimal> expectedChanges = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            BigDecimal change = BigDecimal.ZERO.setScale(2);
+            if (i > 0 || dueThisMonth) {
+                change = change.add(new BigDecimal("3000.00"));
+                if (i <= 5) {
+                    change = change.subtract(new BigDecimal("200.00"));
+                }
+                if (i >= 2) {
+                    change = change.subtract(new BigDecimal("1200.50"));
+                }
+            }
+            expectedChanges.add(change);
+        }
+        assertThat(projection.getMonths()).isEqualTo(12);
+        assertThat(projection.getCurrentNetWorth()).isEqualByComparingTo("10000.00");
+        assertThat(projection.getPoints()).extracting(Point::getMonthlyChange).containsExactlyElementsOf(expectedChanges);
+
+        BigDecimal cumulative = BigDecimal.ZERO;
+        for (int i = 0; i < 12; i++) {
+            Point point = projection.getPoints().get(i);
+            cumulative = cumulative.add(expectedChanges.get(i));
+            assertThat(point.getYear()).isEqualTo(firstMonth.plusMonths(i).getYear());
+            assertThat(point.getMonth()).isEqualTo(firstMonth.plusMonths(i).getMonthValue());
+            assertThat(point.getCumulativeChange()).isEqualByComparingTo(cumulative);
+            assertThat(point.getNetWorth()).isEqualByComparingTo(new BigDecimal("10000.00").add(cumulative));
+        }
+    }
+
+    @Test
+    void horizonIsCappedAtThreeHundredSixtyMonths() {
+        when(assetService.getNetWorth(USER_ID)).thenReturn(BigDecimal.ZERO);
+        when(recurringTransactionRepository.findByUserIdAndIsActive(USER_ID, true)).thenReturn(List.of());
+
+        NetWorthProjectionDto projection = service.projectNetWorth(USER_ID, NetWorthProjectionService.MAX_MONTHS);
+
+        YearMonth last = YearMonth.now().plusMonths(NetWorthProjectionService.MAX_MONTHS - 1L);
+        assertThat(projection.getPoints()).hasSize(360);
+        assertThat(projection.getPoints().get(359).getYear()).isEqualTo(last.getYear());
+        assertThat(projection.getPoints().get(359).getMonth()).isEqualTo(last.getMonthValue());
+        assertThatThrownBy(() -> service.projectNetWorth(USER_ID, 361)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.projectNetWorth(USER_ID, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void negativeHorizonIsABadRequest() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new NetWorthController(mock(NetWorthService.class), service))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/networth/user/1/projection").param("months", "-12"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/networth/user/1/projection").param("months", "361"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Timing run at the full horizon: 30 years of 50 monthly and weekly rules, expanded with a cold expansion cache
+     * on every call.
+     */
+    @Test
+    void projectsThirtyYearsOfFiftyRules() {
+        when(assetService.getNetWorth(USER_ID)).thenReturn(new BigDecimal("25000.00"));
+        List<RecurringTransaction> rules = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            RecurringTransaction rule = monthlyRule(i % 3 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    "12.34", LocalDate.now().minusYears(2), null);
+            rule.setDayOfMonth(1 + i % 28);
+            if (i % 5 == 0) {
+                rule.setFrequency(Frequency.WEEKLY);
+                rule.setWeekdayMask(RecurrenceEngine.toWeekdayMask(Set.of(DayOfWeek.of(1 + i % 7))));
+            }
+            rules.add(rule);
+        }
+        when(recurringTransactionRepository.findByUserIdAndIsActive(USER_ID, true)).thenReturn(rules);
+
+        int runs = 20;
+        long total = 0;
+        for (int i = 0; i < runs + 5; i++) {
+            NetWorthProjectionService cold =
+                    new NetWorthProjectionService(assetService, recurringTransactionRepository, new RecurrenceEngine());
+            long start = System.nanoTime();
+            NetWorthProjectionDto projection = cold.projectNetWorth(USER_ID, NetWorthProjectionService.MAX_MONTHS);
+            long elapsed = System.nanoTime() - start;
+            assertThat(projection.getPoints()).hasSize(360);
+            if (i >= 5) {
+                total += elapsed;
+            }
+        }
+        long meanMillis = TimeUnit.NANOSECONDS.toMillis(total / runs);
+        log.info("360-month projection of {} rules: {} ms per call", rules.size(), meanMillis);
+        assertThat(meanMillis).isLessThan(250);
+    }
+
+    private static RecurringTransaction monthlyRule(TransactionType type, String amount, LocalDate start, LocalDate end) {
+        RecurringTransaction rule = new RecurringTransaction();
+        rule.setType(type);
+        rule.setName(type.name());
+        rule.setAmount(new BigDecimal(amount));
+        rule.setCategory("Other");
+        rule.setFrequency(Frequency.MONTHLY);
+        rule.setDayOfMonth(28);
+        rule.setStartDate(start);
+        rule.setEndDate(end);
+        rule.setIsActive(true);
+        return rule;
+    }
+}
@@ -0,0 +1,202 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class RecurrenceEngineTest {
+    private final RecurrenceEngine engine = new RecurrenceEngine();
+
+    @Test
+    void rolledBackEditDoesNotPoisonTheCommittedSchedule() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        RecurringTransaction committed = monthlyRule(15);
+        assertThat(engine.expand(committed, from, to)).hasSize(3);
+
+        // An edit expanded inside a transaction that rolls back carries the next revision but a different schedule.
+        RecurringTransaction rolledBack = monthlyRule(20);
+        rolledBack.setRevision(1);
+        engine.expand(rolledBack, from, to);
+
+        // A later, committed edit reaches the same revision with the original schedule.
+        RecurringTransaction next = monthlyRule(15);
+        next.setRevision(1);
+        assertThat(engine.expand(next, from, to)).containsExactly(
+                LocalDate.of(2026, 1, 15), LocalDate.of(2026, 2, 15), LocalDate.of(2026, 3, 15));
+    }
+
+    @Test
+    void weeklyRuleWithIntervalRunsOnEveryListedWeekdayOfEveryNthWeek() {
+        RecurringTransaction rule = weeklyRule(LocalDate.of(2026, 1, 5), 2, DayOfWeek.MONDAY, DayOfWeek.THURSDAY);
+
+        assertThat(engine.expand(rule, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 15))).containsExactly(
+                LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 8),
+                LocalDate.of(2026, 1, 19), LocalDate.of(2026, 1, 22),
+                LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 5));
+    }
+
+    @Test
+    void weeklyRuleStartingMidweekSkipsEarlierDaysOfTheFirstWeek() {
+        RecurringTransaction rule = weeklyRule(LocalDate.of(2026, 1, 7), 2, DayOfWeek.MONDAY, DayOfWeek.THURSDAY);
+
+        assertThat(engine.expand(rule, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31))).containsExactly(
+                LocalDate.of(2026, 1, 8), LocalDate.of(2026, 1, 19), LocalDate.of(2026, 1, 22));
+    }
+
+    @Test
+    void weeklyWindowStartingBetweenPeriodsBeginsAtTheNextPeriod() {
+        RecurringTransaction rule = weeklyRule(LocalDate.of(2026, 1, 5), 2, DayOfWeek.MONDAY, DayOfWeek.THURSDAY);
+
+        // The week of Jan 12 is an off week, so the window's first occurrence is Monday Jan 19.
+        assertThat(engine.expand(rule, LocalDate.of(2026, 1, 13), LocalDate.of(2026, 1, 25))).containsExactly(
+                LocalDate.of(2026, 1, 19), LocalDate.of(2026, 1, 22));
+    }
+
+    @Test
+    void monthlyRuleOnTheNthWeekday() {
+        RecurringTransaction rule = nthWeekdayRule(2, DayOfWeek.TUESDAY);
+
+        assertThat(engine.expand(rule, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31))).containsExactly(
+                LocalDate.of(2026, 1, 13), LocalDate.of(2026, 2, 10), LocalDate.of(2026, 3, 10));
+    }
+
+    @Test
+    void monthlyRuleOnTheLastWeekday() {
+        RecurringTransaction rule = nthWeekdayRule(-1, DayOfWeek.FRIDAY);
+
+        assertThat(engine.expand(rule, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 4, 30))).containsExactly(
+                LocalDate.of(2026, 1, 30), LocalDate.of(2026, 2, 27),
+                LocalDate.of(2026, 3, 27), LocalDate.of(2026, 4, 24));
+    }
+
+    @Test
+    void fifthWeekdayIsSkippedInMonthsThatDoNotHaveOne() {
+        RecurringTransaction rule = nthWeekdayRule(5, DayOfWeek.FRIDAY);
+
+        // Only January and May 2026 have five Fridays; the other months must not spill into the next one.
+        assertThat(engine.expand(rule, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 5, 31))).containsExactly(
+                LocalDate.of(2026, 1, 30), LocalDate.of(2026, 5, 29));
+    }
+
+    @Test
+    void dayOfMonthIsClampedToShortMonths() {
+        RecurringTransaction rule = monthlyRule(31);
+        rule.setStartDate(LocalDate.of(2026, 1, 31));
+
+        assertThat(engine.expand(rule, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 5, 31))).containsExactly(
+                LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31),
+                LocalDate.of(2026, 4, 30), LocalDate.of(2026, 5, 31));
+        assertThat(engine.expand(rule, LocalDate.of(2028, 2, 1), LocalDate.of(2028, 2, 29)))
+                .containsExactly(LocalDate.of(2028, 2, 29));
+    }
+
+    @Test
+    void yearlyRuleWithIntervalSkipsOffYears() {
+        RecurringTransaction rule = monthlyRule(15);
+        rule.setFrequency(RecurringTransaction.Frequency.YEARLY);
+        rule.setInterval(2);
+        rule.setStartDate(LocalDate.of(2020, 3, 15));
+
+        assertThat(engine.expand(rule, LocalDate.of(2019, 1, 1), LocalDate.of(2027, 12, 31))).containsExactly(
+                LocalDate.of(2020, 3, 15), LocalDate.of(2022, 3, 15),
+                LocalDate.of(2024, 3, 15), LocalDate.of(2026, 3, 15));
+        assertThat(engine.expand(rule, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31))).isEmpty();
+    }
+
+    @Test
+    void yearlyRuleOnLeapDayFallsBackToFebruaryTwentyEighth() {
+        RecurringTransaction rule = monthlyRule(29);
+        rule.setFrequency(RecurringTransaction.Frequency.YEARLY);
+        rule.setStartDate(LocalDate.of(2024, 2, 29));
+
+        assertThat(engine.expand(rule, LocalDate.of(2024, 1, 1), LocalDate.of(2028, 12, 31))).containsExactly(
+                LocalDate.of(2024, 2, 29), LocalDate.of(2025, 2, 28), LocalDate.of(2026, 2, 28),
+                LocalDate.of(2027, 2, 28), LocalDate.of(2028, 2, 29));
+    }
+
+    @Test
+    void windowYearsAfterTheStartMatchesAWalkFromTheStartAndStopsAtTheEndDate() {
+        RecurringTransaction rule = weeklyRule(LocalDate.of(2000, 1, 5), 3, DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+        rule.setEndDate(LocalDate.of(2040, 6, 15));
+        LocalDate from = LocalDate.of(2040, 1, 1);
+        LocalDate to = LocalDate.of(2040, 12, 31);
+
+        List<LocalDate> dates = engine.expand(rule, from, to);
+
+        assertThat(dates).isNotEmpty().isEqualTo(walkWeekly(rule, from, to));
+        assertThat(dates.get(dates.size() - 1)).isBeforeOrEqualTo(rule.getEndDate());
+
+        RecurringTransaction monthly = nthWeekdayRule(-1, DayOfWeek.FRIDAY);
+        monthly.setStartDate(LocalDate.of(1990, 1, 1));
+        monthly.setInterval(5);
+        monthly.setEndDate(LocalDate.of(2040, 9, 1));
+        assertThat(engine.expand(monthly, from, to)).containsExactly(
+                LocalDate.of(2040, 1, 27), LocalDate.of(2040, 6, 29));
+    }
+
+    @Test
+    void expansionCostDoesNotGrowWithTheDistanceFromTheStartDate() {
+        // Walking week by week from 2000 to this window would take about 260 million steps.
+        RecurringTransaction rule = weeklyRule(LocalDate.of(2000, 1, 3), 1, DayOfWeek.WEDNESDAY);
+        LocalDate from = LocalDate.of(5_000_000, 1, 1);
+        LocalDate to = LocalDate.of(5_000_000, 1, 31);
+
+        List<LocalDate> dates = assertTimeoutPreemptively(Duration.ofMillis(500), () -> engine.expand(rule, from, to));
+
+        assertThat(dates).hasSizeBetween(4, 5).allMatch(date -> date.getDayOfWeek() == DayOfWeek.WEDNESDAY);
+    }
+
+    private static List<LocalDate> walkWeekly(RecurringTransaction rule, LocalDate from, LocalDate to) {
+        LocalDate anchor = rule.getStartDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Set<DayOfWeek> weekdays = Set.copyOf(RecurrenceEngine.weekdaysOf(rule.getWeekdayMask()));
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate day = rule.getStartDate(); !day.isAfter(to) && !day.isAfter(rule.getEndDate()); day = day.plusDays(1)) {
+            long week = ChronoUnit.WEEKS.between(anchor, day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+            if (!day.isBefore(from) && weekdays.contains(day.getDayOfWeek()) && week % rule.getInterval() == 0) {
+                dates.add(day);
+            }
+        }
+        return dates;
+    }
+
+    private static RecurringTransaction weeklyRule(LocalDate startDate, int interval, DayOfWeek... weekdays) {
+        RecurringTransaction rule = monthlyRule(1);
+        rule.setFrequency(RecurringTransaction.Frequency.WEEKLY);
+        rule.setInterval(interval);
+        rule.setWeekdayMask(RecurrenceEngine.toWeekdayMask(List.of(weekdays)));
+        rule.setStartDate(startDate);
+        return rule;
+    }
+
+    private static RecurringTransaction nthWeekdayRule(int weekOfMonth, DayOfWeek weekday) {
+        RecurringTransaction rule = monthlyRule(1);
+        rule.setWeekOfMonth(weekOfMonth);
+        rule.setWeekdayMask(RecurrenceEngine.toWeekdayMask(List.of(weekday)));
+        rule.setStartDate(LocalDate.of(2025, 12, 1));
+        return rule;
+    }
+
+    private static RecurringTransaction monthlyRule(int dayOfMonth) {
+        RecurringTransaction rule = new RecurringTransaction();
+        rule.setId(3L);
+        rule.setType(RecurringTransaction.TransactionType.EXPENSE);
+        rule.setAmount(BigDecimal.TEN);
+        rule.setFrequency(RecurringTransaction.Frequency.MONTHLY);
+        rule.setDayOfMonth(dayOfMonth);
+        rule.setStartDate(LocalDate.of(2025, 6, 1));
+        return rule;
+    }
+}
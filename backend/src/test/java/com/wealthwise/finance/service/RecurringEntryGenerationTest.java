@@ -0,0 +1,96 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.entity.User;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import com.wealthwise.finance.repository.StatementCountingDataSource;
+import com.wealthwise.finance.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Regenerating a rule's entries must cost a fixed number of round trips: one bulk delete per ledger table
+ * (through the repositories) and one JDBC batch for the inserts, however many occurrences the rule has.
+ */
+class RecurringEntryGenerationTest {
+    private StatementCountingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private IncomeRepository incomeRepository;
+    private ExpenseRepository expenseRepository;
+    private CategoryRollupRepository categoryRollupRepository;
+    private RecurringTransactionService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new StatementCountingDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:recurring-generation;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("ledger-schema.sql")).execute(dataSource);
+        dataSource.reset();
+
+        incomeRepository = mock(IncomeRepository.class);
+        expenseRepository = mock(ExpenseRepository.class);
+        categoryRollupRepository = mock(CategoryRollupRepository.class);
+        service = new RecurringTransactionService(mock(RecurringTransactionRepository.class),
+                mock(UserRepository.class), incomeRepository, expenseRepository,
+                new LedgerBatchWriter(jdbcTemplate), new RecurrenceEngine(), mock(CategoryDirectory.class),
+                categoryRollupRepository, mock(TagService.class), mock(DataVersionRegistry.class), mock(ReadCache.class));
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void regeneratingAYearOfWeeklyEntriesIsOneInsertBatch() {
+        RecurringTransaction rule = weeklyRule(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY));
+
+        service.generateFutureEntries(rule, 12);
+        int executions = dataSource.executions();
+
+        int rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses WHERE recurring_transaction_id = 7",
+                Integer.class);
+        assertThat(rows).isGreaterThan(150);
+        assertThat(executions).isEqualTo(1);
+        verify(incomeRepository).deleteByRecurringTransactionId(7L);
+        verify(expenseRepository).deleteByRecurringTransactionId(7L);
+        verify(categoryRollupRepository).add(eq(RecurringTransaction.TransactionType.EXPENSE), anyList());
+    }
+
+    private static RecurringTransaction weeklyRule(Set<DayOfWeek> weekdays) {
+        User user = new User();
+        user.setId(1L);
+        RecurringTransaction rule = new RecurringTransaction();
+        rule.setId(7L);
+        rule.setUser(user);
+        rule.setType(RecurringTransaction.TransactionType.EXPENSE);
+        rule.setName("Gym");
+        rule.setAmount(new BigDecimal("12.50"));
+        rule.setCategory("Health");
+        rule.setFrequency(RecurringTransaction.Frequency.WEEKLY);
+        rule.setWeekdayMask(RecurrenceEngine.toWeekdayMask(weekdays));
+        rule.setStartDate(LocalDate.now().minusYears(1));
+        return rule;
+    }
+}
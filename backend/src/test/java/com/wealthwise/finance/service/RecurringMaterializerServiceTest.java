@@ -0,0 +1,134 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.entity.User;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecurringMaterializerServiceTest {
+    private JdbcTemplate jdbcTemplate;
+    private RecurringTransactionRepository recurringTransactionRepository;
+    private DataVersionRegistry dataVersionRegistry;
+    private TransactionTemplate transactionTemplate;
+    private SchedulerLeaseService schedulerLeaseService;
+    private RecurringMaterializerService materializer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:materializer;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("ledger-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        recurringTransactionRepository = mock(RecurringTransactionRepository.class);
+        dataVersionRegistry = mock(DataVersionRegistry.class);
+        transactionTemplate = spy(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        schedulerLeaseService = mock(SchedulerLeaseService.class);
+        when(schedulerLeaseService.tryAcquire(any(), any())).thenReturn(true);
+        materializer = materializer(200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        materializer.shutdown();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void skipsRulesEditedSinceTheyWereReadAndCommitsPerUser() {
+        RecurringTransaction first = rule(1L, 1L, 0);
+        RecurringTransaction edited = rule(2L, 1L, 0);
+        RecurringTransaction other = rule(3L, 2L, 0);
+        // The rule was edited after the materializer read its chunk.
+        jdbcTemplate.update("UPDATE recurring_transactions SET revision = 1 WHERE id = 2");
+        when(recurringTransactionRepository.findActiveAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(other, edited, first));
+
+        long written = materializer.materializeAll();
+
+        assertThat(written).isEqualTo(6);
+        assertThat(entriesOf(1L)).isEqualTo(3);
+        assertThat(entriesOf(2L)).isZero();
+        assertThat(entriesOf(3L)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT materialized_through FROM recurring_transactions WHERE id = 2",
+                LocalDate.class)).isNull();
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(dataVersionRegistry).bump(1L, DataVersionRegistry.Domain.LEDGER);
+        verify(dataVersionRegistry).bump(2L, DataVersionRegistry.Domain.LEDGER);
+    }
+
+    @Test
+    void renewsTheLeaseOnceForEveryCompletedChunk() {
+        materializer.shutdown();
+        materializer = materializer(1);
+        RecurringTransaction first = rule(1L, 1L, 0);
+        RecurringTransaction second = rule(2L, 1L, 0);
+        RecurringTransaction third = rule(3L, 2L, 0);
+        when(recurringTransactionRepository.findActiveAfterId(eq(0L), any(Pageable.class))).thenReturn(List.of(first));
+        when(recurringTransactionRepository.findActiveAfterId(eq(1L), any(Pageable.class))).thenReturn(List.of(second));
+        when(recurringTransactionRepository.findActiveAfterId(eq(2L), any(Pageable.class))).thenReturn(List.of(third));
+        when(recurringTransactionRepository.findActiveAfterId(eq(3L), any(Pageable.class))).thenReturn(List.of());
+
+        assertThat(materializer.materializeAll()).isEqualTo(9);
+        verify(schedulerLeaseService, times(3)).tryAcquire(any(), any());
+    }
+
+    private RecurringMaterializerService materializer(int chunkSize) {
+        return new RecurringMaterializerService(recurringTransactionRepository,
+                new LedgerBatchWriter(jdbcTemplate), mock(CategoryRollupRepository.class), dataVersionRegistry,
+                new RecurrenceEngine(), schedulerLeaseService, Executors.defaultThreadFactory(),
+                jdbcTemplate, transactionTemplate, new SimpleMeterRegistry(),
+                true, 3, chunkSize, 1, Duration.ofMinutes(10), false);
+    }
+
+    private int entriesOf(Long ruleId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses WHERE recurring_transaction_id = ?",
+                Integer.class, ruleId);
+    }
+
+    private RecurringTransaction rule(Long id, Long userId, int revision) {
+        jdbcTemplate.update("INSERT INTO recurring_transactions (id, user_id, revision, is_active) VALUES (?, ?, ?, true)",
+                id, userId, revision);
+        User user = new User();
+        user.setId(userId);
+        RecurringTransaction rule = new RecurringTransaction();
+        rule.setId(id);
+        rule.setUser(user);
+        rule.setType(RecurringTransaction.TransactionType.EXPENSE);
+        rule.setName("Rent");
+        rule.setAmount(new BigDecimal("800.00"));
+        rule.setCategory("Housing");
+        rule.setFrequency(RecurringTransaction.Frequency.MONTHLY);
+        rule.setDayOfMonth(1);
+        rule.setRevision(revision);
+        rule.setStartDate(YearMonth.now().minusYears(1).atDay(1));
+        return rule;
+    }
+}
@@ -0,0 +1,161 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.RecurringTransactionDto;
+import com.wealthwise.finance.entity.RecurringTransaction;
+import com.wealthwise.finance.entity.User;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.DataVersionRepository;
+import com.wealthwise.finance.repository.H2UpsertDataSource;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.StatementCountingDataSource;
+import com.wealthwise.finance.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Updating a recurring rule runs against the real repositories, rollups, tag cleanup and data version counters
+ * on H2, and must cost a fixed number of round trips however many materialized and tagged entries it replaces.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recurring-update;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RecurringTransactionService.class, LedgerBatchWriter.class, RecurrenceEngine.class, CategoryDirectory.class,
+        CategoryRollupRepository.class, TagService.class, TagIndex.class, DataVersionRegistry.class,
+        DataVersionRepository.class, DataVersionListener.class, LocalInvalidationBus.class,
+        RecurringTransactionUpdateTest.Config.class})
+class RecurringTransactionUpdateTest {
+    @Autowired
+    private RecurringTransactionService service;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DataVersionRegistry dataVersionRegistry;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource target && !(bean instanceof StatementCountingDataSource)
+                            ? new StatementCountingDataSource(new H2UpsertDataSource(target)) : bean;
+                }
+            };
+        }
+
+        @Bean
+        ReadCache readCache() {
+            return mock(ReadCache.class);
+        }
+    }
+
+    @Test
+    void updateCostsTheSameRoundTripsHoweverManyEntriesItReplaces() {
+        for (DataVersionRegistry.Domain domain : DataVersionRegistry.Domain.values()) {
+            jdbcTemplate.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS " + domain.getColumn() +
+                    " BIGINT NOT NULL DEFAULT 0");
+        }
+        dataVersionRegistry.useCounters(true);
+        User user = new User();
+        user.setUsername("recurring");
+        user.setEmail("recurring@example.com");
+        Long userId = userRepository.save(user).getId();
+
+        RecurringTransactionDto monthly = rule(userId, RecurringTransaction.Frequency.MONTHLY, null);
+        RecurringTransactionDto weekly = rule(userId, RecurringTransaction.Frequency.WEEKLY,
+                Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY));
+        int monthlyStatements = countUpdate(monthly);
+        int weeklyStatements = countUpdate(weekly);
+
+        assertThat(entries(monthly.getId())).isEqualTo(12);
+        assertThat(entries(weekly.getId())).isGreaterThan(150);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_tags", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(entry_count) FROM category_month_totals", Long.class))
+                .isEqualTo(entries(monthly.getId()) + entries(weekly.getId()));
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(total) FROM category_month_totals", BigDecimal.class))
+                .isEqualByComparingTo(jdbcTemplate.queryForObject("SELECT SUM(amount) FROM expenses", BigDecimal.class));
+        // load the rule, reload the user's categories (the create dropped them from the directory),
+        // subtract the old entries from the rollups (income and expenses), bump the ledger counter and flush the
+        // rule (both forced by the first native delete), delete the income and expense tags, bulk delete the
+        // income and expense entries, insert the new entries in one batch and add them to the rollups
+        assertThat(weeklyStatements).isEqualTo(monthlyStatements).isEqualTo(12);
+    }
+
+    /**
+     * Creates the rule, tags every entry it materialized and returns the statements run by one update of it.
+     */
+    private int countUpdate(RecurringTransactionDto dto) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        dto.setId(transaction.execute(status -> service.create(dto)).getId());
+        jdbcTemplate.update("INSERT INTO transaction_tags (user_id, target_type, target_id, tag, created_at) " +
+                "SELECT user_id, 'EXPENSE', id, 'gym', CURRENT_TIMESTAMP FROM expenses WHERE recurring_transaction_id = ?",
+                dto.getId());
+        dto.setAmount(new BigDecimal("15.00"));
+
+        StatementCountingDataSource counting = (StatementCountingDataSource) dataSource;
+        counting.reset();
+        transaction.executeWithoutResult(status -> {
+            service.update(dto.getId(), dto);
+            entityManager.flush();
+        });
+        return counting.executions();
+    }
+
+    private int entries(Long recurringTransactionId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses WHERE recurring_transaction_id = ?",
+                Integer.class, recurringTransactionId);
+    }
+
+    private static RecurringTransactionDto rule(Long userId, RecurringTransaction.Frequency frequency,
+                                                Set<DayOfWeek> weekdays) {
+        RecurringTransactionDto dto = new RecurringTransactionDto();
+        dto.setUserId(userId);
+        dto.setType(RecurringTransaction.TransactionType.EXPENSE);
+        dto.setName("Gym");
+        dto.setAmount(new BigDecimal("12.50"));
+        dto.setCategory("Health");
+        dto.setFrequency(frequency);
+        dto.setDayOfMonth(1);
+        dto.setWeekdays(weekdays);
+        dto.setStartDate(LocalDate.now().minusYears(1));
+        dto.setIsActive(true);
+        return dto;
+    }
+}
@@ -0,0 +1,48 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.SpendingMatrixDto;
+import com.wealthwise.finance.dto.SpendingMatrixDto.Bucket;
+import com.wealthwise.finance.entity.RecurringTransaction.TransactionType;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.SpendingAnalyticsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpendingAnalyticsServiceTest {
+    private final SpendingAnalyticsRepository spendingAnalyticsRepository = mock(SpendingAnalyticsRepository.class);
+    private final CategoryRollupRepository categoryRollupRepository = mock(CategoryRollupRepository.class);
+    private final CategoryDirectory categoryDirectory = mock(CategoryDirectory.class);
+    private final SpendingAnalyticsService service = new SpendingAnalyticsService(spendingAnalyticsRepository,
+            mock(ExpenseRepository.class), categoryRollupRepository, categoryDirectory);
+
+    @Test
+    void uncategorizedSpendingIsOneRowAcrossRollupAndLedgerMonths() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 2, 14);
+        when(categoryDirectory.nameOf(eq(1L), any(), any())).thenAnswer(call -> call.getArgument(2));
+        when(categoryRollupRepository.findByUser(1L, 202601, 202601, TransactionType.EXPENSE)).thenReturn(List.of(
+                new CategoryRollupRepository.Cell(202601, CategoryRollupRepository.UNCATEGORIZED,
+                        TransactionType.EXPENSE, new BigDecimal("30.00"), 2)));
+        when(spendingAnalyticsRepository.sumByBucket(1L, LocalDate.of(2026, 2, 1), to, Bucket.MONTH, true)).thenReturn(List.of(
+                new SpendingAnalyticsRepository.Cell(LocalDate.of(2026, 2, 1), null, new BigDecimal("12.00"), 1)));
+
+        SpendingMatrixDto matrix = service.getSpending(1L, from, to, "month", "category");
+
+        assertThat(matrix.getRows()).singleElement().satisfies(row -> {
+            assertThat(row.getCategoryId()).isNull();
+            assertThat(row.getCategory()).isEqualTo(CategoryRollupService.UNCATEGORIZED_NAME);
+            assertThat(row.getAmounts()).containsExactly(new BigDecimal("30.00"), new BigDecimal("12.00"));
+            assertThat(row.getCount()).isEqualTo(3);
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.ImportResultDto;
+import com.wealthwise.finance.entity.User;
+import com.wealthwise.finance.repository.CategorizationRuleRepository;
+import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.repository.CategoryRollupRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.LedgerBatchWriter;
+import com.wealthwise.finance.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatementImportServiceTest {
+    private static final Long USER_ID = 1L;
+    private static final String STATEMENT = """
+            Date,Description,Amount
+            2026-01-05,Coffee,-3.50
+            2026-01-05,Coffee,-3.50
+            2026-01-06,Salary,2500.00
+            """;
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final IncomeRepository incomeRepository = mock(IncomeRepository.class);
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private final CategoryDirectory categoryDirectory = mock(CategoryDirectory.class);
+
+    @BeforeEach
+    void createTables() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:statement-import;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        new ResourceDatabasePopulator(new ClassPathResource("ledger-schema.sql")).execute(dataSource);
+
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(userRepository.getReferenceById(USER_ID)).thenAnswer(invocation -> {
+            User user = new User();
+            user.setId(USER_ID);
+            return user;
+        });
+        when(incomeRepository.findImportHashes(USER_ID)).thenAnswer(invocation -> hashes("income"));
+        when(expenseRepository.findImportHashes(USER_ID)).thenAnswer(invocation -> hashes("expenses"));
+        when(incomeRepository.findExistingImportHashes(anyLong(), any()))
+                .thenAnswer(invocation -> existing("income", invocation.getArgument(1)));
+        when(expenseRepository.findExistingImportHashes(anyLong(), any()))
+                .thenAnswer(invocation -> existing("expenses", invocation.getArgument(1)));
+        when(categoryDirectory.resolveId(anyLong(), anyString(), anyString())).thenReturn(7L);
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void identicalRowsInOneStatementAreAllImported() {
+        ImportResultDto result = newService().importStatement(USER_ID, csv(STATEMENT), null);
+
+        assertThat(result.getFormat()).isEqualTo("CSV");
+        assertThat(result.getRows()).isEqualTo(3);
+        assertThat(result.getExpenses()).isEqualTo(2);
+        assertThat(result.getIncomes()).isEqualTo(1);
+        assertThat(result.getDuplicates()).isZero();
+        assertThat(count("expenses")).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT import_hash) FROM expenses", Integer.class))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void reimportingTheSameStatementAddsNothing() {
+        StatementImportService service = newService();
+        service.importStatement(USER_ID, csv(STATEMENT), null);
+
+        ImportResultDto again = service.importStatement(USER_ID, csv(STATEMENT), null);
+
+        assertThat(again.getDuplicates()).isEqualTo(3);
+        assertThat(again.getExpenses() + again.getIncomes()).isZero();
+        assertThat(count("expenses")).isEqualTo(2);
+        assertThat(count("income")).isEqualTo(1);
+    }
+
+    @Test
+    void overlappingStatementOnlyAddsTheOccurrencesNotSeenBefore() {
+        newService().importStatement(USER_ID, csv(STATEMENT), null);
+
+        // a fresh service starts with a cold Bloom filter and has to rebuild it from the table
+        ImportResultDto overlap = newService().importStatement(USER_ID, csv("""
+                Date,Description,Amount
+                2026-01-05,  COFFEE ,-3.50
+                2026-01-05,Coffee,-3.50
+                2026-01-05,Coffee,-3.50
+                2026-01-06,Salary,2500.00
+                2026-01-07,Groceries,-80.00
+                """), null);
+
+        assertThat(overlap.getDuplicates()).isEqualTo(3);
+        assertThat(overlap.getExpenses()).isEqualTo(2);
+        assertThat(overlap.getIncomes()).isZero();
+        assertThat(count("expenses")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM expenses WHERE expense_date = DATE '2026-01-05'", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void staleFilterStillCannotInsertADuplicate() {
+        StatementImportService service = newService();
+        service.importStatement(USER_ID, csv(STATEMENT), null);
+        // the database reports nothing as existing, as if the rows were imported by another node after the check
+        when(expenseRepository.findExistingImportHashes(anyLong(), any())).thenReturn(Set.of());
+        when(incomeRepository.findExistingImportHashes(anyLong(), any())).thenReturn(Set.of());
+
+        service.importStatement(USER_ID, csv(STATEMENT), null);
+
+        assertThat(count("expenses")).isEqualTo(2);
+        assertThat(count("income")).isEqualTo(1);
+    }
+
+    private StatementImportService newService() {
+        CategorizationEngine categorizationEngine = new CategorizationEngine(mock(CategorizationRuleRepository.class),
+                mock(CategoryRepository.class), new LocalInvalidationBus());
+        return new StatementImportService(userRepository, incomeRepository, expenseRepository,
+                new LedgerBatchWriter(jdbcTemplate), mock(CategoryRollupRepository.class), categorizationEngine,
+                categoryDirectory, mock(DataVersionRegistry.class));
+    }
+
+    private MockMultipartFile csv(String text) {
+        return new MockMultipartFile("file", "statement.csv", "text/csv", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Long> hashes(String table) {
+        return jdbcTemplate.queryForList("SELECT import_hash FROM " + table + " WHERE import_hash IS NOT NULL", Long.class);
+    }
+
+    private Set<Long> existing(String table, Collection<Long> hashes) {
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT import_hash FROM " + table + " WHERE import_hash IN (:hashes)",
+                new MapSqlParameterSource("hashes", hashes), Long.class));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
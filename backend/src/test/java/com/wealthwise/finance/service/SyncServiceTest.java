@@ -0,0 +1,195 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.ExpenseDto;
+import com.wealthwise.finance.dto.IncomeDto;
+import com.wealthwise.finance.dto.SyncDto;
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.exception.ResourceNotFoundException;
+import com.wealthwise.finance.repository.AssetRepository;
+import com.wealthwise.finance.repository.BudgetRepository;
+import com.wealthwise.finance.repository.CategoryRepository;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.GoalRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.NetWorthRepository;
+import com.wealthwise.finance.repository.RecurringTransactionRepository;
+import com.wealthwise.finance.repository.SyncRepository;
+import com.wealthwise.finance.repository.TradeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pages through change versions stamped into H2 tables the way the change tracking triggers would.
+ */
+class SyncServiceTest {
+    private static final Long USER_ID = 1L;
+
+    private JdbcTemplate jdbcTemplate;
+    private SyncService service;
+
+    @BeforeEach
+    void stampChanges() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sync;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("sync-schema.sql")).execute(dataSource);
+
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 4, 0), (2, 2, 0)");
+        // version 1: two incomes
+        jdbcTemplate.update("INSERT INTO income VALUES (1, 1, 1), (2, 1, 1)");
+        // version 2: one transaction touching six rows, more than the page limits used below
+        jdbcTemplate.update("INSERT INTO expenses VALUES (10, 1, 2), (11, 1, 2), (12, 1, 2), (13, 1, 2), (14, 1, 2)");
+        jdbcTemplate.update("INSERT INTO sync_tombstones (user_id, entity_type, entity_id, change_version, deleted_at) " +
+                "VALUES (1, 'income', 3, 2, CURRENT_TIMESTAMP)");
+        // versions 3 and 4: one row each
+        jdbcTemplate.update("INSERT INTO income VALUES (4, 1, 3)");
+        jdbcTemplate.update("INSERT INTO expenses VALUES (15, 1, 4)");
+        // another user's changes never show up
+        jdbcTemplate.update("INSERT INTO expenses VALUES (99, 2, 1), (98, 2, 2)");
+
+        IncomeRepository incomeRepository = mock(IncomeRepository.class);
+        ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+        IncomeService incomeService = mock(IncomeService.class);
+        ExpenseService expenseService = mock(ExpenseService.class);
+        when(incomeRepository.findAllById(any())).thenAnswer(invocation -> incomes(invocation.getArgument(0)));
+        when(expenseRepository.findAllById(any())).thenAnswer(invocation -> expenses(invocation.getArgument(0)));
+        when(incomeService.convertToDto(any())).thenAnswer(invocation -> {
+            IncomeDto dto = new IncomeDto();
+            dto.setId(invocation.<Income>getArgument(0).getId());
+            return dto;
+        });
+        when(expenseService.convertToDto(any())).thenAnswer(invocation -> {
+            ExpenseDto dto = new ExpenseDto();
+            dto.setId(invocation.<Expense>getArgument(0).getId());
+            return dto;
+        });
+
+        service = new SyncService(new SyncRepository(jdbcTemplate), mock(SchedulerLeaseService.class),
+                incomeRepository, expenseRepository, mock(RecurringTransactionRepository.class),
+                mock(TradeRepository.class), mock(GoalRepository.class), mock(AssetRepository.class),
+                mock(BudgetRepository.class), mock(CategoryRepository.class), mock(NetWorthRepository.class),
+                incomeService, expenseService, mock(RecurringTransactionService.class), mock(TradeService.class),
+                mock(GoalService.class), mock(AssetService.class), mock(BudgetService.class),
+                mock(CategoryService.class), mock(NetWorthService.class));
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void pageEndsBeforeATransactionThatWouldBeSplit() {
+        SyncDto page = service.changesSince(USER_ID, 0L, 3);
+
+        assertThat(page.getVersion()).isEqualTo(1L);
+        assertThat(page.getHasMore()).isTrue();
+        assertThat(ids(page.getUpserts(), "income")).containsExactly(1L, 2L);
+        assertThat(page.getUpserts()).doesNotContainKey("expenses");
+        assertThat(page.getDeletes()).isEmpty();
+    }
+
+    @Test
+    void transactionLargerThanTheLimitComesBackWhole() {
+        SyncDto page = service.changesSince(USER_ID, 1L, 3);
+
+        assertThat(page.getVersion()).isEqualTo(2L);
+        assertThat(page.getHasMore()).isTrue();
+        assertThat(ids(page.getUpserts(), "expenses")).containsExactly(10L, 11L, 12L, 13L, 14L);
+        assertThat(page.getDeletes()).isEqualTo(Map.of("income", List.of(3L)));
+
+        SyncDto single = service.changesSince(USER_ID, 1L, 1);
+        assertThat(single.getVersion()).isEqualTo(2L);
+        assertThat(ids(single.getUpserts(), "expenses")).hasSize(5);
+    }
+
+    @Test
+    void lastPageRunsToTheCurrentVersion() {
+        SyncDto page = service.changesSince(USER_ID, 2L, 3);
+
+        assertThat(page.getVersion()).isEqualTo(4L);
+        assertThat(page.getHasMore()).isFalse();
+        assertThat(ids(page.getUpserts(), "income")).containsExactly(4L);
+        assertThat(ids(page.getUpserts(), "expenses")).containsExactly(15L);
+    }
+
+    @Test
+    void pagingWithAnyLimitDeliversEveryChangeOnceWithoutSplittingVersions() {
+        for (int limit = 1; limit <= 10; limit++) {
+            List<Long> incomes = new ArrayList<>();
+            List<Long> expenses = new ArrayList<>();
+            List<Long> versions = new ArrayList<>();
+            long since = 0;
+            SyncDto page;
+            do {
+                page = service.changesSince(USER_ID, since, limit);
+                assertThat(page.getVersion()).isGreaterThan(since);
+                incomes.addAll(ids(page.getUpserts(), "income"));
+                expenses.addAll(ids(page.getUpserts(), "expenses"));
+                versions.add(page.getVersion());
+                since = page.getVersion();
+            } while (page.getHasMore());
+
+            assertThat(incomes).as("limit %d", limit).containsExactly(1L, 2L, 4L);
+            assertThat(expenses).as("limit %d", limit).containsExactly(10L, 11L, 12L, 13L, 14L, 15L);
+            assertThat(versions).as("limit %d", limit).endsWith(4L);
+        }
+    }
+
+    @Test
+    void clientsOutsideTheTrackedRangeAreToldToReload() {
+        jdbcTemplate.update("UPDATE users SET sync_floor = 2 WHERE id = 1");
+
+        assertThat(service.changesSince(USER_ID, null, 10).getReset()).isTrue();
+        assertThat(service.changesSince(USER_ID, 1L, 10).getReset()).isTrue();
+        assertThat(service.changesSince(USER_ID, 5L, 10).getReset()).isTrue();
+        assertThat(service.changesSince(USER_ID, 2L, 10).getReset()).isFalse();
+        assertThat(service.changesSince(USER_ID, 4L, 10).getUpserts()).isEmpty();
+        assertThatThrownBy(() -> service.changesSince(USER_ID, 0L, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.changesSince(USER_ID, 0L, SyncService.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.changesSince(3L, 0L, 10)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static List<Long> ids(Map<String, List<?>> upserts, String type) {
+        List<Long> ids = new ArrayList<>();
+        for (Object dto : upserts.getOrDefault(type, List.of())) {
+            ids.add(dto instanceof IncomeDto income ? income.getId() : ((ExpenseDto) dto).getId());
+        }
+        return ids;
+    }
+
+    // the repositories return rows in no particular order; the service puts them back in version order
+    private static List<Income> incomes(Iterable<Long> ids) {
+        return StreamSupport.stream(ids.spliterator(), false).sorted((a, b) -> Long.compare(b, a)).map(id -> {
+            Income income = new Income();
+            income.setId(id);
+            return income;
+        }).toList();
+    }
+
+    private static List<Expense> expenses(Iterable<Long> ids) {
+        return StreamSupport.stream(ids.spliterator(), false).sorted((a, b) -> Long.compare(b, a)).map(id -> {
+            Expense expense = new Expense();
+            expense.setId(id);
+            return expense;
+        }).toList();
+    }
+}
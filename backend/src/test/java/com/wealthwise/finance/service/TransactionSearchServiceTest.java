@@ -0,0 +1,139 @@
+package com.wealthwise.finance.service;
+
+import com.wealthwise.finance.dto.SearchHitDto;
+import com.wealthwise.finance.dto.SearchPageDto;
+import com.wealthwise.finance.entity.Expense;
+import com.wealthwise.finance.entity.Income;
+import com.wealthwise.finance.repository.ExpenseRepository;
+import com.wealthwise.finance.repository.IncomeRepository;
+import com.wealthwise.finance.repository.TransactionSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercises the in-memory fallback used when the database is not PostgreSQL.
+ */
+class TransactionSearchServiceTest {
+    private static final Long USER_ID = 1L;
+
+    private final TransactionSearchRepository transactionSearchRepository = mock(TransactionSearchRepository.class);
+    private final IncomeRepository incomeRepository = mock(IncomeRepository.class);
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionSearchService service = new TransactionSearchService(transactionSearchRepository,
+            incomeRepository, expenseRepository, mock(CategoryDirectory.class), jdbcTemplate);
+
+    @BeforeEach
+    void useH2() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+    }
+
+    @Test
+    void ranksExactWordsAbovePrefixesAndFuzzyMatches() {
+        when(expenseRepository.findByUserId(USER_ID)).thenReturn(List.of(
+                expense(1L, "Coffeehouse", null, LocalDate.of(2026, 3, 1)),
+                expense(2L, "Coffee", "morning", LocalDate.of(2026, 1, 1)),
+                expense(3L, "Cofee typo", null, LocalDate.of(2026, 2, 1))));
+
+        assertThat(ids(service.search(USER_ID, "coffee", null, 10, false))).containsExactly(2L, 1L);
+        assertThat(ids(service.search(USER_ID, "coffee", null, 10, true))).containsExactly(2L, 1L, 3L);
+        assertThat(service.search(USER_ID, "coffee", null, 10, true).getHits())
+                .extracting(SearchHitDto::getScore).containsExactly(1.0f, 0.75f, 0.5f);
+        verifyNoInteractions(transactionSearchRepository);
+    }
+
+    @Test
+    void everyQueryWordMustMatchTitleOrDescription() {
+        when(incomeRepository.findByUserId(USER_ID)).thenReturn(List.of(
+                income(1L, "Salary", "ACME payroll", LocalDate.of(2026, 1, 31)),
+                income(2L, "Bonus", "ACME", LocalDate.of(2026, 1, 31))));
+
+        assertThat(ids(service.search(USER_ID, "acme pay", null, 10, false))).containsExactly(1L);
+        assertThat(ids(service.search(USER_ID, "ACME", null, 10, false))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void pagesVisitEveryHitOnceAcrossScoreAndDateTies() {
+        List<Expense> expenses = new ArrayList<>();
+        List<Income> incomes = new ArrayList<>();
+        for (long id = 1; id <= 23; id++) {
+            LocalDate date = LocalDate.of(2026, 1, 1).plusDays(id % 4);
+            expenses.add(expense(id, id % 3 == 0 ? "Groceries" : "Grocer", null, date));
+            // incomes reuse the expense ids on purpose, so type has to break the tie
+            incomes.add(income(id, "Grocery refund", null, date));
+        }
+        when(expenseRepository.findByUserId(USER_ID)).thenReturn(expenses);
+        when(incomeRepository.findByUserId(USER_ID)).thenReturn(incomes);
+
+        List<String> all = keys(service.search(USER_ID, "grocer", null, TransactionSearchService.MAX_PAGE_SIZE, false));
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            SearchPageDto page = service.search(USER_ID, "grocer", cursor, 5, false);
+            assertThat(page.getHits()).hasSizeLessThanOrEqualTo(5);
+            paged.addAll(keys(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(all).hasSize(46).doesNotHaveDuplicates();
+        assertThat(paged).isEqualTo(all);
+        assertThat(pages).isEqualTo(10);
+    }
+
+    @Test
+    void rejectsBadQueriesPageSizesAndCursors() {
+        assertThatThrownBy(() -> service.search(USER_ID, " -- ", null, 10, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(USER_ID, "rent", null, 0, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(USER_ID, "rent", null, TransactionSearchService.MAX_PAGE_SIZE + 1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(USER_ID, "rent", "not-a-cursor", 10, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid search cursor");
+    }
+
+    private static List<Long> ids(SearchPageDto page) {
+        return page.getHits().stream().map(SearchHitDto::getId).toList();
+    }
+
+    private static List<String> keys(SearchPageDto page) {
+        return page.getHits().stream().map(hit -> hit.getType() + ":" + hit.getId()).toList();
+    }
+
+    private static Expense expense(Long id, String name, String description, LocalDate date) {
+        Expense expense = new Expense();
+        expense.setId(id);
+        expense.setName(name);
+        expense.setDescription(description);
+        expense.setAmount(BigDecimal.TEN);
+        expense.setExpenseDate(date);
+        return expense;
+    }
+
+    private static Income income(Long id, String source, String description, LocalDate date) {
+        Income income = new Income();
+        income.setId(id);
+        income.setSource(source);
+        income.setDescription(description);
+        income.setAmount(BigDecimal.TEN);
+        income.setIncomeDate(date);
+        return income;
+    }
+}
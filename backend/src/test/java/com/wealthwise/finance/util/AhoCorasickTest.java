@@ -0,0 +1,84 @@
+package com.wealthwise.finance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickTest {
+
+    @Test
+    void reportsOverlappingAndNestedPatterns() {
+        AhoCorasick automaton = new AhoCorasick.Builder()
+                .add("he", 0).add("she", 1).add("his", 2).add("hers", 3)
+                .build();
+
+        assertThat(matches(automaton, "ushers")).containsExactly(1, 0, 3);
+        assertThat(matches(automaton, "ahishers")).containsExactly(2, 1, 0, 3);
+    }
+
+    @Test
+    void matchesCaseInsensitivelyAndReportsEveryOccurrence() {
+        AhoCorasick automaton = new AhoCorasick.Builder().add("Uber", 7).add("", 8).add(null, 9).build();
+
+        assertThat(matches(automaton, "UBER trip, uber eats")).containsExactly(7, 7);
+        assertThat(matches(automaton, "ube r")).isEmpty();
+    }
+
+    @Test
+    void patternsSharingAnEndStateAreAllReported() {
+        AhoCorasick automaton = new AhoCorasick.Builder().add("rent", 1).add("RENT", 2).add("nt", 3).build();
+
+        assertThat(matches(automaton, "rent")).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    void agreesWithANaiveScanOnRandomDictionaries() {
+        Random random = new Random(37);
+        for (int round = 0; round < 50; round++) {
+            List<String> patterns = new ArrayList<>();
+            AhoCorasick.Builder builder = new AhoCorasick.Builder();
+            for (int i = 0; i < 40; i++) {
+                String pattern = randomText(random, 1 + random.nextInt(4));
+                patterns.add(pattern);
+                builder.add(pattern, i);
+            }
+            AhoCorasick automaton = builder.build();
+            for (int t = 0; t < 20; t++) {
+                String text = randomText(random, random.nextInt(60));
+                assertThat(matches(automaton, text)).containsExactlyInAnyOrderElementsOf(naive(patterns, text));
+            }
+        }
+    }
+
+    private static List<Integer> matches(AhoCorasick automaton, String text) {
+        List<Integer> values = new ArrayList<>();
+        automaton.forEachMatch(text, values::add);
+        return values;
+    }
+
+    private static List<Integer> naive(List<String> patterns, String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i).toLowerCase(Locale.ROOT);
+            for (int at = lower.indexOf(pattern); at >= 0; at = lower.indexOf(pattern, at + 1)) {
+                values.add(i);
+            }
+        }
+        return values;
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            char c = (char) ('a' + random.nextInt(3));
+            text.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.wealthwise.finance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void exactTokensOutscorePrefixes() {
+        InvertedIndex index = index("Whole Foods Market", "Wholesale club", "Food truck", "Hood repair");
+
+        assertThat(index.search(List.of("whole"), false)).isEqualTo(Map.of(0, 1.0f, 1, 0.75f));
+        assertThat(index.search(List.of("foo"), false)).isEqualTo(Map.of(0, 0.75f, 2, 0.75f));
+        assertThat(index.search(List.of("food"), false)).isEqualTo(Map.of(0, 0.75f, 2, 1.0f));
+    }
+
+    @Test
+    void everyTermMustMatchAndScoresAddUp() {
+        InvertedIndex index = index("Whole Foods Market", "Wholesale club", "Food truck");
+
+        assertThat(index.search(List.of("whole", "foods"), false)).isEqualTo(Map.of(0, 2.0f));
+        assertThat(index.search(List.of("who", "tru"), false)).isEmpty();
+        assertThat(index.search(List.of("missing", "whole"), false)).isEmpty();
+        assertThat(index.search(List.of(), false)).isEmpty();
+    }
+
+    @Test
+    void fuzzyMatchesTyposWithinTheLengthDependentDistance() {
+        InvertedIndex index = index("Netflix subscription", "Food truck", "Hood repair");
+
+        assertThat(index.search(List.of("netflx"), false)).isEmpty();
+        assertThat(index.search(List.of("netflx"), true)).isEqualTo(Map.of(0, 0.5f));
+        // two edits are allowed from eight characters on
+        assertThat(index.search(List.of("subscirption"), true)).isEqualTo(Map.of(0, 0.5f));
+        assertThat(index.search(List.of("netfilx"), true)).isEmpty();
+        // terms shorter than four characters are never matched fuzzily
+        assertThat(index.search(List.of("fod"), true)).isEmpty();
+    }
+
+    @Test
+    void fuzzyNeverDowngradesAnExactOrPrefixMatch() {
+        InvertedIndex index = index("Food truck", "Foods and more", "Hood repair");
+
+        assertThat(index.search(List.of("food"), true)).isEqualTo(Map.of(0, 1.0f, 1, 0.75f, 2, 0.5f));
+    }
+
+    @Test
+    void tokenizesOnAnythingButLettersAndDigits() {
+        assertThat(InvertedIndex.tokenize("Café-Bar #12, L'Amour")).containsExactly("café", "bar", "12", "l", "amour");
+        assertThat(InvertedIndex.tokenize("  ")).isEmpty();
+        assertThat(InvertedIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void editDistanceStopsEarlyPastTheLimit() {
+        assertThat(InvertedIndex.editDistance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(InvertedIndex.editDistance("kitten", "kitten", 1)).isZero();
+        assertThat(InvertedIndex.editDistance("abcdef", "uvwxyz", 1)).isEqualTo(2);
+    }
+
+    private static InvertedIndex index(String... texts) {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < texts.length; i++) {
+            index.add(i, texts[i]);
+        }
+        return index;
+    }
+}
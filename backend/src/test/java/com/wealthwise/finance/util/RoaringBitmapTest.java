@@ -0,0 +1,151 @@
+package com.wealthwise.finance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoaringBitmapTest {
+    private static final int ARRAY_MAX = 4096;
+    // per-chunk cardinalities on both sides of the array/bitmap switch
+    private static final int[] DENSITIES = {1, 100, ARRAY_MAX - 1, ARRAY_MAX, ARRAY_MAX + 1, 6000, 40000, 65536};
+
+    @Test
+    void chunkSwitchesToABitmapPastFourThousandValuesAndBack() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        BitSet expected = new BitSet();
+        for (int value = 0; value < 2 * ARRAY_MAX; value += 2) {
+            bitmap.add(value);
+            expected.set(value);
+        }
+        assertSame(expected, bitmap);
+
+        // crosses back below the limit and down to an empty, removed chunk
+        for (int value = 0; value < 2 * ARRAY_MAX; value += 2) {
+            bitmap.remove(value);
+            expected.clear(value);
+            if (value % 1024 == 0 || value == 2 * ARRAY_MAX - 2) {
+                assertSame(expected, bitmap);
+            }
+        }
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    void setOperationsMatchBitSetAcrossContainerKinds() {
+        Random random = new Random(43);
+        for (int densityA : DENSITIES) {
+            for (int densityB : DENSITIES) {
+                BitSet expectedA = new BitSet();
+                BitSet expectedB = new BitSet();
+                // chunks 0 and 5 meet, 1 and 9 only exist on one side
+                RoaringBitmap a = randomBitmap(random, densityA, expectedA, 0, 1, 5);
+                RoaringBitmap b = randomBitmap(random, densityB, expectedB, 0, 5, 9);
+
+                check(a, expectedA, b, expectedB, RoaringBitmap::and, (x, y) -> { x.and(y); return x; });
+                check(a, expectedA, b, expectedB, RoaringBitmap::or, (x, y) -> { x.or(y); return x; });
+                check(a, expectedA, b, expectedB, RoaringBitmap::andNot, (x, y) -> { x.andNot(y); return x; });
+            }
+        }
+    }
+
+    @Test
+    void resultsThatShrinkOrGrowStayUsable() {
+        RoaringBitmap evens = new RoaringBitmap();
+        RoaringBitmap odds = new RoaringBitmap();
+        for (int value = 0; value < 65536; value++) {
+            (value % 2 == 0 ? evens : odds).add(value);
+        }
+        RoaringBitmap fewOdds = new RoaringBitmap();
+        fewOdds.add(1);
+        fewOdds.add(3);
+        fewOdds.add(8);
+
+        // two dense bitmaps whose intersection is sparse
+        RoaringBitmap both = RoaringBitmap.and(RoaringBitmap.or(evens, fewOdds), odds);
+        assertThat(both.toArray()).containsExactly(1, 3);
+        both.add(5);
+        both.remove(1);
+        assertThat(both.toArray()).containsExactly(3, 5);
+
+        // a dense bitmap minus almost everything in it
+        RoaringBitmap left = RoaringBitmap.andNot(evens, RoaringBitmap.andNot(evens, fewOdds));
+        assertThat(left.toArray()).containsExactly(8);
+
+        // two array chunks whose union no longer fits an array
+        RoaringBitmap low = new RoaringBitmap();
+        RoaringBitmap high = new RoaringBitmap();
+        for (int value = 0; value < ARRAY_MAX; value++) {
+            low.add(value);
+            high.add(value + ARRAY_MAX);
+        }
+        RoaringBitmap union = RoaringBitmap.or(low, high);
+        assertThat(union.cardinality()).isEqualTo(2 * ARRAY_MAX);
+        union.remove(0);
+        assertThat(union.contains(0)).isFalse();
+        assertThat(union.contains(2 * ARRAY_MAX - 1)).isTrue();
+        assertThat(low.contains(0)).isTrue();
+    }
+
+    @Test
+    void handlesTheFullNonNegativeRange() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(Integer.MAX_VALUE);
+        bitmap.add(0);
+        bitmap.add(65536);
+
+        assertThat(bitmap.toArray()).containsExactly(0, 65536, Integer.MAX_VALUE);
+        assertThat(bitmap.contains(-1)).isFalse();
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void check(RoaringBitmap a, BitSet expectedA, RoaringBitmap b, BitSet expectedB,
+                              BinaryOperator<RoaringBitmap> operation, BinaryOperator<BitSet> reference) {
+        RoaringBitmap result = operation.apply(a, b);
+        assertSame(reference.apply((BitSet) expectedA.clone(), expectedB), result);
+
+        // results own their containers, so changing one leaves the inputs alone
+        for (int value : result.toArray()) {
+            result.remove(value);
+        }
+        assertSame(expectedA, a);
+        assertSame(expectedB, b);
+    }
+
+    /**
+     * Fills each of the given chunks with {@code density} random values.
+     */
+    private static RoaringBitmap randomBitmap(Random random, int density, BitSet expected, int... chunks) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int chunk : chunks) {
+            int high = chunk << 16;
+            int count = 0;
+            while (count < density) {
+                int value = high | (density == 65536 ? count : random.nextInt(65536));
+                if (!expected.get(value)) {
+                    expected.set(value);
+                    bitmap.add(value);
+                    count++;
+                }
+            }
+        }
+        return bitmap;
+    }
+
+    private static void assertSame(BitSet expected, RoaringBitmap bitmap) {
+        assertThat(bitmap.toArray()).isEqualTo(expected.stream().toArray());
+        assertThat(bitmap.cardinality()).isEqualTo(expected.cardinality());
+        assertThat(bitmap.isEmpty()).isEqualTo(expected.isEmpty());
+        int wrong = 0;
+        for (int value = expected.nextSetBit(0); value >= 0; value = expected.nextSetBit(value + 1)) {
+            if (!bitmap.contains(value) || bitmap.contains(value + 1) != expected.get(value + 1)) {
+                wrong++;
+            }
+        }
+        assertThat(wrong).isZero();
+    }
+}
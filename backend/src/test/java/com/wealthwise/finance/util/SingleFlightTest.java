@@ -0,0 +1,110 @@
+package com.wealthwise.finance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private static final int CALLERS = 16;
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    private final AtomicInteger computations = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        List<Integer> results = runConcurrently(() -> {
+            computations.incrementAndGet();
+            await(release);
+            return 42;
+        });
+
+        assertThat(computations).hasValue(1);
+        assertThat(results).hasSize(CALLERS).containsOnly(42);
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(singleFlight.execute("key", computations::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentCallersShareTheFailure() {
+        assertThatThrownBy(() -> runConcurrently(() -> {
+            computations.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("boom");
+        })).hasRootCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(computations).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    /**
+     * Starts every caller, waits until all of them are blocked (the leader inside the computation, the others on
+     * its result) and only then lets the computation finish.
+     */
+    private List<Integer> runConcurrently(Supplier<Integer> computation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch arrived = new CountDownLatch(CALLERS);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    synchronized (threads) {
+                        threads.add(Thread.currentThread());
+                    }
+                    arrived.countDown();
+                    return singleFlight.execute("key", computation);
+                }));
+            }
+            assertThat(arrived.await(10, TimeUnit.SECONDS)).isTrue();
+            awaitAllWaiting(threads);
+            release.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                try {
+                    results.add(future.get(10, TimeUnit.SECONDS));
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException(ex.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitAllWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            synchronized (threads) {
+                if (threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                    return;
+                }
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Callers did not block on the shared computation");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
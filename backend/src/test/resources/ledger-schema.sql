@@ -0,0 +1,39 @@
+CREATE TABLE income (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    source VARCHAR(255),
+    amount NUMERIC(12, 2),
+    category VARCHAR(255),
+    income_date DATE,
+    description VARCHAR(255),
+    is_recurring BOOLEAN,
+    recurring_transaction_id BIGINT,
+    import_hash BIGINT,
+    created_at TIMESTAMP,
+    category_id BIGINT,
+    CONSTRAINT uk_income_user_import_hash UNIQUE (user_id, import_hash)
+);
+
+CREATE TABLE expenses (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(255),
+    amount NUMERIC(12, 2),
+    category VARCHAR(255),
+    expense_date DATE,
+    description VARCHAR(255),
+    is_recurring BOOLEAN,
+    recurring_transaction_id BIGINT,
+    import_hash BIGINT,
+    created_at TIMESTAMP,
+    category_id BIGINT,
+    CONSTRAINT uk_expenses_user_import_hash UNIQUE (user_id, import_hash)
+);
+
+CREATE TABLE recurring_transactions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    revision INT,
+    is_active BOOLEAN NOT NULL,
+    materialized_through DATE
+);
@@ -0,0 +1,24 @@
+CREATE TABLE users (
+    id BIGINT PRIMARY KEY,
+    change_version BIGINT NOT NULL,
+    sync_floor BIGINT NOT NULL
+);
+
+CREATE TABLE income (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+CREATE TABLE expenses (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+CREATE TABLE recurring_transactions (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+CREATE TABLE trades (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+CREATE TABLE goals (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+CREATE TABLE assets (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+CREATE TABLE budgets (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+CREATE TABLE categories (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+CREATE TABLE net_worth (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, change_version BIGINT NOT NULL);
+
+CREATE TABLE sync_tombstones (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
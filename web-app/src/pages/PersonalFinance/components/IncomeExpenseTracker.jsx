@@ -1,5 +1,5 @@
 import { useState, useEffect } from 'react';
-import { incomeAPI, expenseAPI, categoryAPI, recurringTransactionAPI, monthlyBalanceAPI } from '../../../services/api';
+import { incomeAPI, expenseAPI, categoryAPI, recurringTransactionAPI, monthlyBalanceAPI, ledgerAPI } from '../../../services/api';
 
 const IncomeExpenseTracker = ({ userId = 1, initialView = 'ledger-overview', onViewChange }) => {
   const [view, setView] = useState(initialView);
@@ -19,6 +19,7 @@ const IncomeExpenseTracker = ({ userId = 1, initialView = 'ledger-overview', onV
   const [selectedMonth, setSelectedMonth] = useState(now.getMonth() + 1);
   const [selectedYear, setSelectedYear] = useState(now.getFullYear());
   const [monthlyBalance, setMonthlyBalance] = useState(null);
+  const [ledgerPage, setLedgerPage] = useState({ entries: [], nextCursor: null, totalIncome: 0, totalExpense: 0 });
 
   const [incomeData, setIncomeData] = useState([]);
   const [expenseData, setExpenseData] = useState([]);
@@ -73,6 +74,10 @@ const IncomeExpenseTracker = ({ userId = 1, initialView = 'ledger-overview', onV
     fetchMonthlyBalance();
   }, [selectedMonth, selectedYear]);
 
+  useEffect(() => {
+    fetchLedger();
+  }, [selectedMonth, selectedYear, incomeData, expenseData]);
+
   const fetchData = async () => {
     setLoading(true);
     setError(null);
@@ -111,6 +116,21 @@ const IncomeExpenseTracker = ({ userId = 1, initialView = 'ledger-overview', onV
     }
   };
 
+  const fetchLedger = async (cursor = null) => {
+    try {
+      const month = `${selectedYear}-${String(selectedMonth).padStart(2, '0')}`;
+      const response = await ledgerAPI.getPage(userId, month, cursor, 100);
+      const page = response.data;
+      setLedgerPage(prev => ({
+        ...page,
+        entries: cursor ? [...prev.entries, ...page.entries] : page.entries
+      }));
+    } catch (err) {
+      console.error('Failed to fetch ledger:', err);
+      setLedgerPage({ entries: [], nextCursor: null, totalIncome: 0, totalExpense: 0 });
+    }
+  };
+
   const handlePreviousMonth = () => {
     if (selectedMonth === 1) {
       setSelectedMonth(12);
@@ -374,42 +394,21 @@ const IncomeExpenseTracker = ({ userId = 1, initialView = 'ledger-overview', onV
 
   const totalIncome = filteredIncome.reduce((sum, item) => sum + item.amount, 0);
   const totalExpense = filteredExpense.reduce((sum, item) => sum + item.amount, 0);
-  const finalBalance = totalIncome - totalExpense;
+
+  const ledgerFinalBalance = ledgerPage.totalIncome - ledgerPage.totalExpense;
 
   const getLedgerTransactions = () => {
-    const transactions = [
-      ...filteredIncome.map(item => ({
-        date: new Date(item.incomeDate),
-        description: item.description || item.source,
-        category: item.category,
-        income: item.amount,
-        expense: 0,
-        type: 'income',
-        id: item.id,
-        isRecurring: item.isRecurring || false
-      })),
-      ...filteredExpense.map(item => ({
-        date: new Date(item.expenseDate),
-        description: item.description || item.name,
-        category: item.category,
-        income: 0,
-        expense: item.amount,
-        type: 'expense',
-        id: item.id,
-        isRecurring: item.isRecurring || false
-      }))
-    ];
-    
-    transactions.sort((a, b) => b.date - a.date);
-    
-    // Start running balance from opening balance if available
-    let runningBalance = monthlyBalance?.openingBalance || 0;
-    for (let i = transactions.length - 1; i >= 0; i--) {
-      runningBalance += transactions[i].income - transactions[i].expense;
-      transactions[i].balance = runningBalance;
-    }
-    
-    return transactions;
+    return ledgerPage.entries.map(entry => ({
+      date: new Date(entry.date),
+      description: entry.description,
+      category: entry.category,
+      income: entry.type === 'INCOME' ? entry.amount : 0,
+      expense: entry.type === 'EXPENSE' ? entry.amount : 0,
+      balance: entry.balance,
+      type: entry.type.toLowerCase(),
+      id: entry.id,
+      isRecurring: entry.isRecurring || false
+    }));
   };
 
   return (
@@ -583,16 +582,16 @@ const IncomeExpenseTracker = ({ userId = 1, initialView = 'ledger-overview', onV
                       Totals
                     </td>
                     <td className="px-4 py-4 text-sm text-right text-green-400 font-bold">
-                      +${totalIncome.toFixed(2)}
+                      +${ledgerPage.totalIncome.toFixed(2)}
                     </td>
                     <td className="px-4 py-4 text-sm text-right text-red-400 font-bold">
-                      -${totalExpense.toFixed(2)}
+                      -${ledgerPage.totalExpense.toFixed(2)}
                     </td>
                     <td className="px-4 py-4 text-sm text-right">
                       <div className="flex flex-col items-end">
                         <span className="text-xs text-gray-400 uppercase tracking-wide mb-1">Final Balance</span>
-                        <span className={`text-lg font-bold ${finalBalance >= 0 ? 'text-green-400' : 'text-red-400'}`}>
-                          ${finalBalance.toFixed(2)}
+                        <span className={`text-lg font-bold ${ledgerFinalBalance >= 0 ? 'text-green-400' : 'text-red-400'}`}>
+                          ${ledgerFinalBalance.toFixed(2)}
                         </span>
                       </div>
                     </td>
@@ -601,6 +600,16 @@ const IncomeExpenseTracker = ({ userId = 1, initialView = 'ledger-overview', onV
               )}
             </table>
           </div>
+          {ledgerPage.nextCursor && (
+            <div className="px-6 py-4 border-t border-gray-700 text-center">
+              <button
+                onClick={() => fetchLedger(ledgerPage.nextCursor)}
+                className="px-4 py-2 bg-purple-900/30 text-purple-400 rounded-lg font-medium hover:bg-purple-700/30 transition-colors"
+              >
+                Load more
+              </button>
+            </div>
+          )}
         </div>
         </div>
       )}
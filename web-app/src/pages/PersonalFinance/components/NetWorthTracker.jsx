@@ -1,5 +1,5 @@
 import { useState, useEffect } from 'react';
-import { assetAPI, recurringTransactionAPI, incomeAPI, expenseAPI, monthlyBalanceAPI } from '../../../services/api';
+import { assetAPI, netWorthAPI } from '../../../services/api';
 
 const NetWorthTracker = ({ userId = 1 }) => {
   const [assets, setAssets] = useState([]);
@@ -47,50 +47,19 @@ const NetWorthTracker = ({ userId = 1 }) => {
 
   const calculateProjection = async () => {
     try {
-      const currentDate = new Date();
-      const projections = [];
-      
-      const summaryRes = await assetAPI.getSummary(userId);
-      const currentNetWorth = summaryRes.data?.netWorth || 0;
-      
-      let cumulativeBalance = 0;
-      
-      for (let i = 0; i < 12; i++) {
-        const date = new Date(currentDate.getFullYear(), currentDate.getMonth() + i, 1);
-        const year = date.getFullYear();
-        const month = date.getMonth() + 1;
-        const monthName = date.toLocaleDateString('en-US', { month: 'short', year: 'numeric' });
-        
-        try {
-          const balanceRes = await monthlyBalanceAPI.getProjectedBalance(year, month);
-          const balanceData = balanceRes.data || {};
-          
-          const openingBalance = balanceData.openingBalance || 0;
-          const projectedClosing = balanceData.projectedClosingBalance || 0;
-          const monthlyDelta = projectedClosing - openingBalance;
-          
-          cumulativeBalance += monthlyDelta;
-          
-          const projectedNetWorth = currentNetWorth + cumulativeBalance;
-          
-          projections.push({
-            month: monthName,
-            netWorth: projectedNetWorth,
-            monthIndex: i,
-            monthlyChange: monthlyDelta,
-            cumulativeBalance: cumulativeBalance
-          });
-        } catch (err) {
-          console.error(`Failed to get balance for ${monthName}:`, err);
-          projections.push({
-            month: monthName,
-            netWorth: currentNetWorth + cumulativeBalance,
-            monthIndex: i,
-            monthlyChange: 0,
-            cumulativeBalance: cumulativeBalance
-          });
-        }
-      }
+      const projectionRes = await netWorthAPI.getProjection(userId, 12);
+      const points = projectionRes.data?.points || [];
+
+      const projections = points.map((point, i) => {
+        const date = new Date(point.year, point.month - 1, 1);
+        return {
+          month: date.toLocaleDateString('en-US', { month: 'short', year: 'numeric' }),
+          netWorth: Number(point.netWorth),
+          monthIndex: i,
+          monthlyChange: Number(point.monthlyChange),
+          cumulativeBalance: Number(point.cumulativeChange)
+        };
+      });
       
       setProjectionData(projections);
     } catch (err) {
@@ -1,8 +1,8 @@
 import { useState, useEffect } from 'react';
-import { expenseAPI } from '../../../services/api';
+import { analyticsAPI } from '../../../services/api';
 
 const SpendingAnalytics = ({ userId = 1 }) => {
-  const [expenses, setExpenses] = useState([]);
+  const [spending, setSpending] = useState(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [timeRange, setTimeRange] = useState('month');
@@ -35,8 +35,8 @@ const SpendingAnalytics = ({ userId = 1 }) => {
       const start = startDate.toISOString().split('T')[0];
       const end = now.toISOString().split('T')[0];
 
-      const response = await expenseAPI.getByDateRange(userId, start, end);
-      setExpenses(response.data || []);
+      const response = await analyticsAPI.getSpending(userId, start, end, 'month', 'category');
+      setSpending(response.data);
     } catch (err) {
       setError('Failed to fetch expenses');
       console.error(err);
@@ -47,24 +47,22 @@ const SpendingAnalytics = ({ userId = 1 }) => {
 
   const getCategoryData = () => {
     const categoryTotals = {};
-    expenses.forEach(expense => {
-      const category = expense.category || 'Other';
-      categoryTotals[category] = (categoryTotals[category] || 0) + expense.amount;
+    (spending?.rows || []).forEach(row => {
+      const category = row.category || 'Other';
+      categoryTotals[category] = (categoryTotals[category] || 0) + row.total;
     });
     return categoryTotals;
   };
 
   const getMonthlyTrend = () => {
-    const monthlyData = {};
-    expenses.forEach(expense => {
-      const month = expense.date.substring(0, 7);
-      monthlyData[month] = (monthlyData[month] || 0) + expense.amount;
-    });
-    return Object.entries(monthlyData).sort(([a], [b]) => a.localeCompare(b));
+    if (!spending) return [];
+    return spending.buckets.map((bucket, i) => [bucket.substring(0, 7), spending.bucketTotals[i]]);
   };
 
   const categoryData = getCategoryData();
-  const totalSpent = expenses.reduce((sum, exp) => sum + exp.amount, 0);
+  const totalSpent = spending?.total || 0;
+  const transactionCount = spending?.count || 0;
+  const topExpenses = spending?.topExpenses || [];
   const averagePerCategory = Object.keys(categoryData).length > 0 
     ? totalSpent / Object.keys(categoryData).length 
     : 0;
@@ -119,7 +117,7 @@ const SpendingAnalytics = ({ userId = 1 }) => {
         </div>
         <div className="bg-gradient-to-br from-purple-600 to-purple-700 text-white rounded-lg p-6 border border-purple-800">
           <p className="text-sm opacity-90 mb-1">Total Transactions</p>
-          <p className="text-3xl font-bold">{expenses.length}</p>
+          <p className="text-3xl font-bold">{transactionCount}</p>
         </div>
         <div className="bg-gradient-to-br from-green-600 to-green-700 text-white rounded-lg p-6 border border-green-800">
           <p className="text-sm opacity-90 mb-1">Avg per Category</p>
@@ -127,7 +125,7 @@ const SpendingAnalytics = ({ userId = 1 }) => {
         </div>
       </div>
 
-      {expenses.length === 0 ? (
+      {transactionCount === 0 ? (
         <div className="bg-gray-900 border border-gray-700 rounded-lg p-8 text-center">
           <p className="text-gray-400">No expenses recorded for this period</p>
         </div>
@@ -201,10 +199,7 @@ const SpendingAnalytics = ({ userId = 1 }) => {
           <div className="bg-gray-800 border border-gray-700 rounded-lg p-6">
             <h4 className="text-lg font-bold text-white mb-4">Top Expenses</h4>
             <div className="space-y-2">
-              {expenses
-                .sort((a, b) => b.amount - a.amount)
-                .slice(0, 5)
-                .map((expense, index) => (
+              {topExpenses.map((expense, index) => (
                   <div key={expense.id} className="flex justify-between items-center p-3 bg-gray-900 rounded-lg">
                     <div className="flex items-center gap-3">
                       <div className="w-8 h-8 bg-blue-600 text-white rounded-full flex items-center justify-center font-bold">
@@ -36,7 +36,7 @@ const WealthView = ({ userId = 1, onAddIncome, onAddExpense }) => {
       const [incomeRes, expenseRes, recurringRes, balanceRes] = await Promise.all([
         incomeAPI.getByDateRange(userId, startDate, endDate),
         expenseAPI.getByDateRange(userId, startDate, endDate),
-        recurringTransactionAPI.generateInstances(userId, year, month),
+        recurringTransactionAPI.getInstances(userId, startDate, endDate),
         monthlyBalanceAPI.getMonthlyBalance(year, month)
       ]);
 
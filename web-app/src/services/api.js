@@ -9,6 +9,11 @@ const api = axios.create({
   },
 });
 
+// Spring binds comma-separated values to collections; axios would send arrays as key[]=value.
+const filterParams = (filter) => Object.fromEntries(
+  Object.entries(filter || {}).map(([key, value]) => [key, Array.isArray(value) ? value.join(',') : value])
+);
+
 export const userAPI = {
   getAll: () => api.get('/users'),
   getById: (id) => api.get(`/users/${id}`),
@@ -25,6 +30,11 @@ export const incomeAPI = {
   create: (income) => api.post('/income', income),
   update: (id, income) => api.put(`/income/${id}`, income),
   delete: (id) => api.delete(`/income/${id}`),
+  createBatch: (incomes) => api.post('/income/batch', incomes),
+  updateBatch: (incomes) => api.put('/income/batch', incomes),
+  deleteBatch: (userId, ids) => api.delete('/income/batch', { params: { userId }, data: ids }),
+  filter: (userId, filter, page = 0, size = 50, sort = 'date', direction = 'desc') =>
+    api.get(`/income/user/${userId}/filter`, { params: { ...filterParams(filter), page, size, sort, direction } }),
 };
 
 export const expenseAPI = {
@@ -35,6 +45,11 @@ export const expenseAPI = {
   create: (expense) => api.post('/expenses', expense),
   update: (id, expense) => api.put(`/expenses/${id}`, expense),
   delete: (id) => api.delete(`/expenses/${id}`),
+  createBatch: (expenses) => api.post('/expenses/batch', expenses),
+  updateBatch: (expenses) => api.put('/expenses/batch', expenses),
+  deleteBatch: (userId, ids) => api.delete('/expenses/batch', { params: { userId }, data: ids }),
+  filter: (userId, filter, page = 0, size = 50, sort = 'date', direction = 'desc') =>
+    api.get(`/expenses/user/${userId}/filter`, { params: { ...filterParams(filter), page, size, sort, direction } }),
 };
 
 export const budgetAPI = {
@@ -55,6 +70,7 @@ export const goalAPI = {
 
 export const netWorthAPI = {
   getByUser: (userId) => api.get(`/networth/user/${userId}`),
+  getProjection: (userId, months) => api.get(`/networth/user/${userId}/projection`, { params: { months } }),
   getById: (id) => api.get(`/networth/${id}`),
   create: (netWorth) => api.post('/networth', netWorth),
   update: (id, netWorth) => api.put(`/networth/${id}`, netWorth),
@@ -70,6 +86,16 @@ export const categoryAPI = {
   delete: (id) => api.delete(`/categories/${id}`),
 };
 
+export const categorizationRuleAPI = {
+  getByUser: (userId) => api.get(`/categorization-rules/user/${userId}`),
+  getById: (id) => api.get(`/categorization-rules/${id}`),
+  create: (rule) => api.post('/categorization-rules', rule),
+  update: (id, rule) => api.put(`/categorization-rules/${id}`, rule),
+  delete: (id) => api.delete(`/categorization-rules/${id}`),
+  categorize: (userId, description, amount) =>
+    api.get(`/categorization-rules/user/${userId}/categorize`, { params: { description, amount } }),
+};
+
 export const recurringTransactionAPI = {
   getByUser: (userId) => api.get(`/recurring/user/${userId}`),
   getActiveByUser: (userId) => api.get(`/recurring/user/${userId}/active`),
@@ -78,6 +104,7 @@ export const recurringTransactionAPI = {
   update: (id, transaction) => api.put(`/recurring/${id}`, transaction),
   delete: (id) => api.delete(`/recurring/${id}`),
   generateInstances: (userId, year, month) => api.get(`/recurring/user/${userId}/generate/${year}/${month}`),
+  getInstances: (userId, from, to) => api.get(`/recurring/user/${userId}/instances`, { params: { from, to } }),
 };
 
 export const assetAPI = {
@@ -90,6 +117,47 @@ export const assetAPI = {
   delete: (id) => api.delete(`/assets/${id}`),
 };
 
+export const ledgerAPI = {
+  getPage: (userId, month, cursor, limit) => api.get(`/ledger/user/${userId}`, { params: { month, cursor, limit } }),
+};
+
+export const analyticsAPI = {
+  getSpending: (userId, from, to, bucket = 'month', groupBy = 'category') =>
+    api.get(`/analytics/user/${userId}/spending`, { params: { from, to, bucket, groupBy } }),
+  getCategoryTotals: (userId, from, to, type = 'EXPENSE') =>
+    api.get(`/analytics/user/${userId}/category-totals`, { params: { from, to, type } }),
+  verifyCategoryTotals: (userId) => api.get(`/analytics/user/${userId}/category-totals/verify`),
+  rebuildCategoryTotals: (userId) => api.post(`/analytics/user/${userId}/category-totals/rebuild`),
+};
+
+export const searchAPI = {
+  searchTransactions: (userId, q, cursor, limit, fuzzy = true) =>
+    api.get(`/search/user/${userId}/transactions`, { params: { q, cursor, limit, fuzzy } }),
+};
+
+export const syncAPI = {
+  getChanges: (userId, since, limit) => api.get(`/sync/user/${userId}`, { params: { since, limit } }),
+};
+
+export const tagAPI = {
+  getCounts: (userId, target) => api.get(`/tags/user/${userId}/${target}`),
+  match: (userId, target, { all, any, none } = {}, limit) =>
+    api.get(`/tags/user/${userId}/${target}/match`, { params: { ...filterParams({ all, any, none }), limit } }),
+  getTags: (userId, target, id) => api.get(`/tags/user/${userId}/${target}/${id}`),
+  setTags: (userId, target, id, tags) => api.put(`/tags/user/${userId}/${target}/${id}`, tags),
+};
+
+export const importAPI = {
+  uploadStatement: (userId, file, format) => {
+    const form = new FormData();
+    form.append('file', file);
+    return api.post('/import/statement', form, {
+      params: { userId, format },
+      headers: { 'Content-Type': 'multipart/form-data' },
+    });
+  },
+};
+
 export const monthlyBalanceAPI = {
   getMonthlyBalance: (year, month) => api.get(`/monthly-balances/${year}/${month}`),
   getProjectedBalance: (year, month) => api.get(`/monthly-balances/projection/${year}/${month}`),
@@ -99,6 +167,8 @@ export const monthlyBalanceAPI = {
 
 export const tradeAPI = {
   getAll: () => api.get('/trades'),
+  filter: (filter, page = 0, size = 50, sort = 'date', direction = 'desc') =>
+    api.get('/trades/filter', { params: { ...filterParams(filter), page, size, sort, direction } }),
   getById: (id) => api.get(`/trades/${id}`),
   create: (trade) => api.post('/trades', trade),
   update: (id, trade) => api.put(`/trades/${id}`, trade),